@@ -0,0 +1,58 @@
+// Teste de carga de POST /pagamentos (k6)
+//
+// Compara a vazão com threads de plataforma e com virtual threads:
+//   1) ./mvnw spring-boot:run                                                  -> make carga
+//   2) ./mvnw -Pjava21 spring-boot:run -Dspring-boot.run.profiles=virtual      -> make carga
+//
+// Variáveis: BASE_URL (padrão http://localhost:8080), VUS (padrão 400), DURACAO (padrão 60s)
+import http from 'k6/http';
+import { check } from 'k6';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+  scenarios: {
+    pagamentos: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 400),
+      duration: __ENV.DURACAO || '60s',
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const resposta = http.post(`${BASE_URL}/admin/tokens/admin`);
+  check(resposta, { 'token gerado': (r) => r.status === 200 });
+  return { token: resposta.json('token') };
+}
+
+export default function (dados) {
+  const id = String(Date.now()).slice(-7) + String(exec.scenario.iterationInTest).padStart(6, '0').slice(-6);
+
+  const corpo = JSON.stringify({
+    transacao: {
+      cartao: '4444********1234',
+      id: id,
+      descricao: {
+        valor: '500.50',
+        dataHora: '01/05/2021 18:30:00',
+        estabelecimento: 'Teste de Carga',
+      },
+      formaPagamento: { tipo: 'AVISTA', parcelas: '1' },
+    },
+  });
+
+  const resposta = http.post(`${BASE_URL}/pagamentos`, corpo, {
+    headers: {
+      'Content-Type': 'application/json',
+      Authorization: `Bearer ${dados.token}`,
+      'Chave-Idempotencia': `carga-${exec.vu.idInTest}-${exec.scenario.iterationInTest}`,
+    },
+  });
+
+  check(resposta, { 'pagamento criado': (r) => r.status === 201 });
+}
@@ -0,0 +1,77 @@
+-- ============================================================================
+-- Benchmark: UUID v4 (aleatório) x UUID v7 (ordenado pelo tempo) em índices B-tree
+--
+-- Reproduz o formato de pagamento.pagamento.id_transacao (VARCHAR(50) com
+-- UNIQUE + índice não único) e mede, para cada estratégia:
+-- - Tempo do INSERT de :linhas registros (\timing)
+-- - Tamanho dos índices e da tabela ao final
+-- - Blocos lidos fora do shared_buffers durante o INSERT
+--
+-- Uso (PostgreSQL do docker-compose):
+--   make bench-ids                     # 50 milhões de linhas por estratégia
+--   make bench-ids LINHAS=5000000
+--
+-- Roda em um schema próprio (benchmark), removido ao final.
+-- ============================================================================
+
+\set ON_ERROR_STOP on
+\if :{?linhas}
+\else
+    \set linhas 50000000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS benchmark CASCADE;
+CREATE SCHEMA benchmark;
+
+-- UUID v7 a partir de um instante (gen_random_uuid com os 48 bits altos trocados
+-- pelo timestamp em ms e a versão ajustada de 4 para 7)
+CREATE FUNCTION benchmark.uuid_v7(instante TIMESTAMPTZ) RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM instante) * 1000)::BIGINT) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::UUID
+$$ LANGUAGE sql VOLATILE;
+
+CREATE TABLE benchmark.uuid_aleatorio (
+    id BIGSERIAL PRIMARY KEY,
+    id_transacao VARCHAR(50) NOT NULL UNIQUE,
+    criado_em TIMESTAMPTZ NOT NULL
+);
+CREATE INDEX idx_uuid_aleatorio_id_transacao ON benchmark.uuid_aleatorio(id_transacao);
+
+CREATE TABLE benchmark.uuid_v7 (LIKE benchmark.uuid_aleatorio INCLUDING ALL);
+
+-- Um registro por milissegundo, na ordem de chegada (como em produção)
+\echo '== UUID v4 (aleatório) =='
+SELECT pg_stat_reset();
+INSERT INTO benchmark.uuid_aleatorio (id_transacao, criado_em)
+SELECT gen_random_uuid()::TEXT, TIMESTAMPTZ '2025-01-01' + s * INTERVAL '1 millisecond'
+FROM generate_series(1, :linhas) AS s;
+
+SELECT sum(idx_blks_read) AS blocos_indice_lidos_disco, sum(idx_blks_hit) AS blocos_indice_em_cache
+FROM pg_statio_user_indexes WHERE schemaname = 'benchmark' AND relname = 'uuid_aleatorio';
+
+\echo '== UUID v7 (ordenado pelo tempo) =='
+SELECT pg_stat_reset();
+INSERT INTO benchmark.uuid_v7 (id_transacao, criado_em)
+SELECT benchmark.uuid_v7(TIMESTAMPTZ '2025-01-01' + s * INTERVAL '1 millisecond')::TEXT,
+       TIMESTAMPTZ '2025-01-01' + s * INTERVAL '1 millisecond'
+FROM generate_series(1, :linhas) AS s;
+
+SELECT sum(idx_blks_read) AS blocos_indice_lidos_disco, sum(idx_blks_hit) AS blocos_indice_em_cache
+FROM pg_statio_user_indexes WHERE schemaname = 'benchmark' AND relname = 'uuid_v7';
+
+\echo '== Tamanhos =='
+SELECT i.relname AS tabela,
+       i.indexrelname AS indice,
+       pg_size_pretty(pg_relation_size(i.indexrelid)) AS tamanho_indice,
+       pg_size_pretty(pg_relation_size(i.relid)) AS tamanho_tabela
+FROM pg_stat_user_indexes i
+WHERE i.schemaname = 'benchmark'
+ORDER BY i.relname, i.indexrelname;
+
+DROP SCHEMA benchmark CASCADE;
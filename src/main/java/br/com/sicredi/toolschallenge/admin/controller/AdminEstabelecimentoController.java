@@ -0,0 +1,77 @@
+package br.com.sicredi.toolschallenge.admin.controller;
+
+import br.com.sicredi.toolschallenge.infra.analise.AgregadorEstabelecimentos;
+import br.com.sicredi.toolschallenge.infra.analise.PainelEstabelecimentos;
+import br.com.sicredi.toolschallenge.shared.config.AnaliseEstabelecimentoProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller administrativo dos indicadores por estabelecimento.
+ *
+ * Endpoints:
+ * - GET    /admin/estabelecimentos/indicadores  - Top-K por volume e "outros" na janela deslizante
+ */
+@RestController
+@RequestMapping("/admin/estabelecimentos")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Admin", description = "Operações administrativas - Indicadores por estabelecimento")
+public class AdminEstabelecimentoController {
+
+    private final AgregadorEstabelecimentos agregador;
+    private final AnaliseEstabelecimentoProperties properties;
+
+    /**
+     * Indicadores dos estabelecimentos de maior volume na janela deslizante.
+     *
+     * @param top Estabelecimentos individualizados (opcional)
+     * @return 200 OK com top-K e "outros"
+     */
+    @GetMapping("/indicadores")
+    @PreAuthorize("hasAuthority('pagamentos:read') and hasAuthority('estornos:read')")
+    @Operation(
+        summary = "Consultar indicadores por estabelecimento",
+        description = "TPS, taxa de aprovação, p95 da latência do adquirente e taxa de estorno na janela deslizante (em memória, por instância). Os estabelecimentos fora do top são somados em 'outros'."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Indicadores da janela atual",
+            content = @Content(schema = @Schema(implementation = PainelEstabelecimentos.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Top menor que 1",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Não autenticado: token JWT ausente ou inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Acesso negado: requer 'pagamentos:read' e 'estornos:read'",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        )
+    })
+    public ResponseEntity<PainelEstabelecimentos> consultarIndicadores(
+        @Parameter(description = "Estabelecimentos individualizados (padrão: analise-estabelecimento.top-k, máximo: top-k-maximo)", example = "10")
+        @RequestParam(required = false) Integer top
+    ) {
+        log.info("GET /admin/estabelecimentos/indicadores - top={}", top);
+
+        return ResponseEntity.ok(agregador.painel(properties.topKEfetivo(top)));
+    }
+}
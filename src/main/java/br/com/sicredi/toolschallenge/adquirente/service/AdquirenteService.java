@@ -30,9 +30,11 @@ import org.springframework.stereotype.Service;
  *    - Até 3 tentativas com 500ms de intervalo
  *    - Só retenta em casos de falha temporária
  * 
- * 3. Bulkhead (Thread Pool):
- *    - Máximo 10 threads concorrentes
- *    - Isola recursos e previne esgotamento de threads
+ * 3. Bulkhead (Semáforo):
+ *    - Limita as chamadas simultâneas ao adquirente (max-concurrent-calls)
+ *    - Executa na própria thread chamadora, sem troca para outro pool
+ *      (com virtual threads, a espera pelo adquirente não ocupa thread de plataforma)
+ *    - O tipo THREADPOOL só se aplica a métodos que retornam CompletionStage
  * 
  * 4. Fallback:
  *    - Retorna resposta PENDENTE quando adquirente indisponível
@@ -99,7 +101,7 @@ public class AdquirenteService {
      * Autoriza pagamento com resiliência completa.
      * 
      * Ordem de execução:
-     * 1. Bulkhead verifica se há thread disponível
+     * 1. Bulkhead verifica se há vaga para chamada simultânea
      * 2. Circuit Breaker verifica se está CLOSED
      * 3. Retry executa até 3 tentativas se falhar
      * 4. Fallback ativado se todas tentativas falharem
@@ -111,7 +113,7 @@ public class AdquirenteService {
     @Timed(value = "adquirente.autorizacao.latency", description = "Latência de autorização com adquirente", histogram = true)
     @CircuitBreaker(name = "adquirente", fallbackMethod = "autorizarPagamentoFallback")
     @Retry(name = "adquirente")
-    @Bulkhead(name = "adquirente", type = Bulkhead.Type.THREADPOOL)
+    @Bulkhead(name = "adquirente", type = Bulkhead.Type.SEMAPHORE)
     public AutorizacaoResponse autorizarPagamento(AutorizacaoRequest request) {
         log.info("Autorizando pagamento com resiliência: cartão={}", 
             maskCartao(request.numeroCartao()));
@@ -128,7 +130,7 @@ public class AdquirenteService {
      * Fallback executado quando:
      * - Circuit Breaker está OPEN
      * - Retry esgotou todas as tentativas
-     * - Bulkhead está cheio (sem threads disponíveis)
+     * - Bulkhead está cheio (limite de chamadas simultâneas atingido)
      * 
      * Retorna resposta indicando PENDENTE para reprocessamento posterior.
      */
@@ -156,7 +158,7 @@ public class AdquirenteService {
     @Timed(value = "adquirente.estorno.latency", description = "Latência de processamento de estorno", histogram = true)
     @CircuitBreaker(name = "adquirente", fallbackMethod = "processarEstornoFallback")
     @Retry(name = "adquirente")
-    @Bulkhead(name = "adquirente", type = Bulkhead.Type.THREADPOOL)
+    @Bulkhead(name = "adquirente", type = Bulkhead.Type.SEMAPHORE)
     public AutorizacaoResponse processarEstorno(AutorizacaoRequest request) {
         log.info("Processando estorno com resiliência");
         
@@ -3,8 +3,10 @@ package br.com.sicredi.toolschallenge.estorno.controller;
 import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoRequestDTO;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoResponseDTO;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoResumo;
 import br.com.sicredi.toolschallenge.estorno.service.EstornoService;
 import br.com.sicredi.toolschallenge.infra.idempotencia.annotation.Idempotente;
+import br.com.sicredi.toolschallenge.shared.paginacao.PaginaDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,11 +17,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -32,6 +36,7 @@ import java.util.concurrent.TimeUnit;
  * - GET    /estornos                      - Listar todos os estornos
  * - GET    /estornos/pagamento/{idTransacao} - Listar estornos de um pagamento
  * - GET    /estornos/status/{status}      - Listar por status
+ * - GET    /estornos/busca                - Buscar com filtros, paginada por cursor
  */
 @RestController
 @RequestMapping("/estornos")
@@ -306,10 +311,10 @@ public class EstornoController {
             content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
         )
     })
-    public ResponseEntity<List<EstornoResponseDTO>> listarEstornos() {
+    public ResponseEntity<List<EstornoResumo>> listarEstornos() {
         log.info("GET /estornos - Listando todos os estornos");
 
-        List<EstornoResponseDTO> estornos = service.listarEstornos();
+        List<EstornoResumo> estornos = service.listarEstornos();
 
         log.info("Retornando {} estornos", estornos.size());
 
@@ -344,16 +349,79 @@ public class EstornoController {
             content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
         )
     })
-    public ResponseEntity<List<EstornoResponseDTO>> listarPorStatus(
+    public ResponseEntity<List<EstornoResumo>> listarPorStatus(
         @Parameter(description = "Status do estorno", example = "CANCELADO")
         @PathVariable StatusEstorno status
     ) {
         log.info("GET /estornos/status/{} - Listando por status", status);
 
-        List<EstornoResponseDTO> estornos = service.listarPorStatus(status);
+        List<EstornoResumo> estornos = service.listarPorStatus(status);
 
         log.info("Retornando {} estornos com status {}", estornos.size(), status);
 
         return ResponseEntity.ok(estornos);
     }
+
+    /**
+     * Busca estornos com filtros opcionais, paginada por cursor.
+     * 
+     * @param status Status (opcional)
+     * @param estabelecimento Estabelecimento (opcional)
+     * @param de Criados a partir de, inclusive (opcional, ISO-8601)
+     * @param ate Criados antes de, exclusive (opcional, ISO-8601)
+     * @param limite Itens por página (opcional)
+     * @param cursor Cursor opaco devolvido na página anterior (opcional)
+     * @return 200 OK com a página e o cursor da próxima
+     */
+    @GetMapping("/busca")
+    @PreAuthorize("hasAuthority('estornos:read')")
+    @Operation(
+        summary = "Buscar estornos com paginação por cursor",
+        description = "Filtra por status, estabelecimento e período de criação, mais recentes primeiro. " +
+            "Para a próxima página, repita a busca com os mesmos filtros e o 'proximoCursor' recebido; " +
+            "sem 'proximoCursor', não há mais páginas."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de estornos retornada com sucesso"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor, limite ou período inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Não autenticado: token JWT ausente ou inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Acesso negado: token válido mas sem permissão 'estornos:read'",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        )
+    })
+    public ResponseEntity<PaginaDTO<EstornoResumo>> buscarEstornos(
+        @Parameter(description = "Status do estorno", example = "CANCELADO")
+        @RequestParam(required = false) StatusEstorno status,
+        @Parameter(description = "Estabelecimento do pagamento original", example = "PetShop Mundo Cão")
+        @RequestParam(required = false) String estabelecimento,
+        @Parameter(description = "Criados a partir de (inclusive)", example = "2025-11-01T00:00:00-03:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime de,
+        @Parameter(description = "Criados antes de (exclusive)", example = "2025-11-02T00:00:00-03:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime ate,
+        @Parameter(description = "Itens por página (padrão 50, máximo 500)", example = "50")
+        @RequestParam(required = false) Integer limite,
+        @Parameter(description = "Cursor opaco da página anterior")
+        @RequestParam(required = false) String cursor
+    ) {
+        log.info("GET /estornos/busca - Buscando estornos");
+
+        PaginaDTO<EstornoResumo> pagina = service.buscarEstornos(status, estabelecimento, de, ate, cursor, limite);
+
+        log.info("Retornando {} estornos (próxima página: {})", pagina.itens().size(), pagina.proximoCursor() != null);
+
+        return ResponseEntity.ok(pagina);
+    }
 }
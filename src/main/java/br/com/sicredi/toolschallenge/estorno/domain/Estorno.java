@@ -24,8 +24,9 @@ import java.time.OffsetDateTime;
     indexes = {
         @Index(name = "idx_estorno_id_transacao", columnList = "id_transacao"),
         @Index(name = "idx_estorno_id_estorno", columnList = "id_estorno"),
-        @Index(name = "idx_estorno_status", columnList = "status"),
-        @Index(name = "idx_estorno_data_hora", columnList = "data_hora")
+        @Index(name = "idx_estorno_filtros", columnList = "status, criado_em DESC, id DESC"),
+        @Index(name = "idx_estorno_data_hora", columnList = "data_hora"),
+        @Index(name = "idx_estorno_criado_em", columnList = "criado_em DESC, id DESC")
     },
     uniqueConstraints = {
         @UniqueConstraint(name = "uk_estorno_id_estorno", columnNames = "id_estorno"),
@@ -0,0 +1,46 @@
+package br.com.sicredi.toolschallenge.estorno.dto;
+
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.shared.paginacao.CursorKeyset;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Projeção de leitura de estorno para as listagens.
+ *
+ * Uma linha do JOIN estorno × pagamento original, preenchida por expressão
+ * construtora JPQL: uma consulta por listagem, sem hidratar nenhuma das duas
+ * entidades e sem montar os DTOs aninhados. O JSON é escrito direto pelo
+ * {@link EstornoResumoSerializer}, no mesmo formato de {@link EstornoResponseDTO}.
+ *
+ * Campos do estorno: id, criadoEm (cursor, fora do JSON), status, nsu, codigoAutorizacao.
+ * Demais campos: do pagamento original, como em {@link EstornoMapper#paraDTO}.
+ */
+@JsonSerialize(using = EstornoResumoSerializer.class)
+@Schema(implementation = EstornoResponseDTO.class)
+public record EstornoResumo(
+        Long id,
+        OffsetDateTime criadoEm,
+        StatusEstorno status,
+        String nsu,
+        String codigoAutorizacao,
+        String idTransacao,
+        String cartaoMascarado,
+        BigDecimal valor,
+        OffsetDateTime dataHora,
+        String estabelecimento,
+        TipoPagamento tipoPagamento,
+        Integer parcelas
+) {
+
+    /**
+     * @return Cursor que aponta para este estorno
+     */
+    public CursorKeyset cursor() {
+        return new CursorKeyset(criadoEm, id);
+    }
+}
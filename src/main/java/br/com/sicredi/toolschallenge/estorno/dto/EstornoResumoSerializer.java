@@ -0,0 +1,64 @@
+package br.com.sicredi.toolschallenge.estorno.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve {@link EstornoResumo} no formato de {@link EstornoResponseDTO}:
+ *
+ * <pre>
+ * { "transacao": { "cartao", "id",
+ *                  "descricao": { "valor", "dataHora", "estabelecimento", "nsu", "codigoAutorizacao", "status" },
+ *                  "formaPagamento": { "tipo", "parcelas" } } }
+ * </pre>
+ *
+ * Como nos DTOs, só o nível raiz omite nulos; dentro de transacao os campos
+ * nulos são escritos como null. dataHora segue o formato do EstornoMapper.
+ */
+public class EstornoResumoSerializer extends StdSerializer<EstornoResumo> {
+
+    private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    public EstornoResumoSerializer() {
+        super(EstornoResumo.class);
+    }
+
+    @Override
+    public void serialize(EstornoResumo estorno, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeObjectFieldStart("transacao");
+        gen.writeStringField("cartao", estorno.cartaoMascarado());
+        gen.writeStringField("id", estorno.idTransacao());
+
+        gen.writeObjectFieldStart("descricao");
+        gen.writeFieldName("valor");
+        if (estorno.valor() != null) {
+            gen.writeNumber(estorno.valor());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeStringField("dataHora", estorno.dataHora() != null ? DATA_HORA.format(estorno.dataHora()) : null);
+        gen.writeStringField("estabelecimento", estorno.estabelecimento());
+        gen.writeStringField("nsu", estorno.nsu());
+        gen.writeStringField("codigoAutorizacao", estorno.codigoAutorizacao());
+        gen.writeStringField("status", estorno.status() != null ? estorno.status().name() : null);
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("formaPagamento");
+        gen.writeStringField("tipo", estorno.tipoPagamento() != null ? estorno.tipoPagamento().name() : null);
+        gen.writeFieldName("parcelas");
+        if (estorno.parcelas() != null) {
+            gen.writeNumber(estorno.parcelas());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeEndObject();
+
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+}
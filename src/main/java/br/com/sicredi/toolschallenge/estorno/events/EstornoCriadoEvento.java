@@ -26,6 +26,8 @@ public class EstornoCriadoEvento {
     private Long idEstorno;
     private Long idPagamento;
     private String idTransacao;
+    /** ID da transação do pagamento estornado (idTransacao acima é o ID do estorno) */
+    private String idTransacaoPagamento;
     private BigDecimal valorEstorno;
     private String motivo;
     private String status;
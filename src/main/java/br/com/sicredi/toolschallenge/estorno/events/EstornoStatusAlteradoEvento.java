@@ -25,6 +25,8 @@ public class EstornoStatusAlteradoEvento {
     private Long idEstorno;
     private Long idPagamento;
     private String idTransacao;
+    /** ID da transação do pagamento estornado (idTransacao acima é o ID do estorno) */
+    private String idTransacaoPagamento;
     private String statusAnterior;
     private String statusNovo;
     private OffsetDateTime alteradoEm;
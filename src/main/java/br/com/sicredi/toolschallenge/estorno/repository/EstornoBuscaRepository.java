@@ -0,0 +1,81 @@
+package br.com.sicredi.toolschallenge.estorno.repository;
+
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoResumo;
+import br.com.sicredi.toolschallenge.shared.paginacao.CursorKeyset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busca de estornos com filtros opcionais e paginação keyset sobre (criado_em, id).
+ * 
+ * Mesma estratégia do PagamentoBuscaRepository, com os índices (V14):
+ * - status: idx_estorno_filtros
+ * - sem filtro ou só período: idx_estorno_criado_em
+ * 
+ * Devolve projeções ({@link EstornoRepository#SELECT_RESUMO}): cada estorno
+ * já vem com os dados do pagamento original, pelo JOIN em id_transacao
+ * (idx_pagamento_id_transacao). O estorno não guarda o estabelecimento: o
+ * filtro é aplicado no pagamento do JOIN, avaliado só nas linhas percorridas
+ * em ordem pelo índice do estorno até completar a página.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EstornoBuscaRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Busca a página seguinte ao cursor, mais recentes primeiro.
+     * 
+     * @param status Status (opcional)
+     * @param estabelecimento Estabelecimento do pagamento original (opcional)
+     * @param de Criados a partir de, inclusive (opcional)
+     * @param ate Criados antes de, exclusive (opcional)
+     * @param apos Último item da página anterior (null: primeira página)
+     * @param limite Quantidade máxima de estornos
+     * @return Projeções ordenadas por (criado_em, id) decrescente
+     */
+    public List<EstornoResumo> buscar(StatusEstorno status, String estabelecimento,
+                                      OffsetDateTime de, OffsetDateTime ate,
+                                      CursorKeyset apos, int limite) {
+        StringBuilder jpql = new StringBuilder(EstornoRepository.SELECT_RESUMO).append(" WHERE 1 = 1");
+        Map<String, Object> parametros = new HashMap<>();
+
+        if (status != null) {
+            jpql.append(" AND e.status = :status");
+            parametros.put("status", status);
+        }
+        if (estabelecimento != null) {
+            jpql.append(" AND p.estabelecimento = :estabelecimento");
+            parametros.put("estabelecimento", estabelecimento);
+        }
+        if (de != null) {
+            jpql.append(" AND e.criadoEm >= :de");
+            parametros.put("de", de);
+        }
+        if (ate != null) {
+            jpql.append(" AND e.criadoEm < :ate");
+            parametros.put("ate", ate);
+        }
+        if (apos != null) {
+            // O primeiro termo delimita a faixa do índice; o segundo desempata pelo id
+            jpql.append(" AND e.criadoEm <= :cursorCriadoEm")
+                .append(" AND (e.criadoEm < :cursorCriadoEm OR e.id < :cursorId)");
+            parametros.put("cursorCriadoEm", apos.criadoEm());
+            parametros.put("cursorId", apos.id());
+        }
+        jpql.append(" ORDER BY e.criadoEm DESC, e.id DESC");
+
+        TypedQuery<EstornoResumo> query = entityManager.createQuery(jpql.toString(), EstornoResumo.class);
+        parametros.forEach(query::setParameter);
+        return query.setMaxResults(limite).getResultList();
+    }
+}
@@ -2,6 +2,8 @@ package br.com.sicredi.toolschallenge.estorno.repository;
 
 import br.com.sicredi.toolschallenge.estorno.domain.Estorno;
 import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoResumo;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,6 +24,15 @@ import java.util.Optional;
 @Repository
 public interface EstornoRepository extends JpaRepository<Estorno, Long> {
     
+    /**
+     * Início das consultas de listagem: projeção {@link EstornoResumo} do
+     * estorno com o pagamento original, em um único JOIN e sem hidratar entidades.
+     */
+    String SELECT_RESUMO = "SELECT new br.com.sicredi.toolschallenge.estorno.dto.EstornoResumo("
+        + "e.id, e.criadoEm, e.status, e.nsu, e.codigoAutorizacao, p.idTransacao, p.cartaoMascarado, "
+        + "p.valor, p.dataHora, p.estabelecimento, p.tipoPagamento, p.parcelas) "
+        + "FROM Estorno e JOIN Pagamento p ON p.idTransacao = e.idTransacao";
+    
     /**
      * Busca estorno pelo ID único do estorno.
      * 
@@ -68,12 +79,15 @@ public interface EstornoRepository extends JpaRepository<Estorno, Long> {
     List<Estorno> findByStatus(StatusEstorno status);
     
     /**
-     * Busca estornos por status ordenados por data de criação (mais recentes primeiro).
+     * Lista estornos por status ordenados por data de criação (mais recentes primeiro).
+     * Usa idx_estorno_filtros (status, criado_em DESC, id DESC) e para no limite.
      * 
      * @param status Status do estorno
-     * @return Lista ordenada de estornos
+     * @param limite Quantidade máxima de estornos
+     * @return Projeções ordenadas
      */
-    List<Estorno> findByStatusOrderByCriadoEmDesc(StatusEstorno status);
+    @Query(SELECT_RESUMO + " WHERE e.status = :status ORDER BY e.criadoEm DESC, e.id DESC")
+    List<EstornoResumo> findResumosByStatus(@Param("status") StatusEstorno status, Limit limite);
     
     /**
      * Busca estornos pendentes (para processamento assíncrono).
@@ -100,18 +114,49 @@ public interface EstornoRepository extends JpaRepository<Estorno, Long> {
      * Conta estornos por status em um período.
      * Útil para dashboards e métricas.
      * 
+     * <p>Soma os buckets de consulta.contagem_status (mantida por trigger), com a
+     * mesma precisão de PagamentoRepository#countByStatusAndPeriodo.
+     * 
      * @param status Status do estorno
      * @param dataInicio Data/hora de início
      * @param dataFim Data/hora de fim
      * @return Quantidade de estornos
      */
-    @Query("SELECT COUNT(e) FROM Estorno e WHERE e.status = :status AND e.criadoEm BETWEEN :dataInicio AND :dataFim")
+    @Query(value = """
+            SELECT CAST(COALESCE(SUM(c.quantidade), 0) AS BIGINT)
+            FROM consulta.contagem_status c
+            WHERE c.tipo = 'ESTORNO' AND c.status = :#{#status.name()}
+              AND c.inicio BETWEEN :dataInicio AND :dataFim
+            """, nativeQuery = true)
     Long countByStatusAndPeriodo(
         @Param("status") StatusEstorno status,
         @Param("dataInicio") OffsetDateTime dataInicio,
         @Param("dataFim") OffsetDateTime dataFim
     );
     
+    /**
+     * Conta estornos de pagamentos de um estabelecimento por status em um período.
+     * 
+     * @param status Status do estorno
+     * @param estabelecimento Nome do estabelecimento do pagamento original
+     * @param dataInicio Data/hora de início
+     * @param dataFim Data/hora de fim
+     * @return Quantidade de estornos
+     */
+    @Query(value = """
+            SELECT CAST(COALESCE(SUM(c.quantidade), 0) AS BIGINT)
+            FROM consulta.contagem_status c
+            WHERE c.tipo = 'ESTORNO' AND c.status = :#{#status.name()}
+              AND c.inicio BETWEEN :dataInicio AND :dataFim
+              AND c.estabelecimento = :estabelecimento
+            """, nativeQuery = true)
+    Long countByStatusEstabelecimentoAndPeriodo(
+        @Param("status") StatusEstorno status,
+        @Param("estabelecimento") String estabelecimento,
+        @Param("dataInicio") OffsetDateTime dataInicio,
+        @Param("dataFim") OffsetDateTime dataFim
+    );
+    
     /**
      * Busca estornos por NSU.
      * 
@@ -121,10 +166,10 @@ public interface EstornoRepository extends JpaRepository<Estorno, Long> {
     Optional<Estorno> findByNsu(String nsu);
     
     /**
-     * Busca os últimos N estornos (para monitoramento).
+     * Lista os últimos N estornos (para monitoramento).
      * 
-     * @return Lista dos estornos mais recentes
+     * @return Projeções dos estornos mais recentes
      */
-    @Query("SELECT e FROM Estorno e ORDER BY e.criadoEm DESC LIMIT 100")
-    List<Estorno> findUltimosEstornos();
+    @Query(SELECT_RESUMO + " ORDER BY e.criadoEm DESC, e.id DESC LIMIT 100")
+    List<EstornoResumo> findUltimosResumos();
 }
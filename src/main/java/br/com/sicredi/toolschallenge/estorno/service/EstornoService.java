@@ -4,20 +4,30 @@ import br.com.sicredi.toolschallenge.estorno.domain.Estorno;
 import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoRequestDTO;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoResponseDTO;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoResumo;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoMapper;
 import br.com.sicredi.toolschallenge.estorno.events.EstornoCriadoEvento;
 import br.com.sicredi.toolschallenge.estorno.events.EstornoStatusAlteradoEvento;
+import br.com.sicredi.toolschallenge.estorno.repository.EstornoBuscaRepository;
 import br.com.sicredi.toolschallenge.estorno.repository.EstornoRepository;
+import br.com.sicredi.toolschallenge.infra.analise.AgregadorEstabelecimentos;
+import br.com.sicredi.toolschallenge.infra.cache.CacheConsulta;
+import br.com.sicredi.toolschallenge.infra.identificador.GeradorIdentificador;
 import br.com.sicredi.toolschallenge.infra.outbox.publisher.EventoPublisher;
+import br.com.sicredi.toolschallenge.infra.replica.TransacaoLeitura;
+import br.com.sicredi.toolschallenge.infra.snowflake.GeradorSnowflake;
 import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
 import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
 import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
 import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
 import br.com.sicredi.toolschallenge.shared.exception.RecursoNaoEncontradoException;
+import br.com.sicredi.toolschallenge.shared.paginacao.CursorKeyset;
+import br.com.sicredi.toolschallenge.shared.paginacao.PaginaDTO;
 import br.com.sicredi.toolschallenge.adquirente.service.AdquirenteService;
 import br.com.sicredi.toolschallenge.adquirente.dto.AutorizacaoRequest;
 import br.com.sicredi.toolschallenge.adquirente.dto.AutorizacaoResponse;
 import br.com.sicredi.toolschallenge.adquirente.domain.StatusAutorizacao;
+import br.com.sicredi.toolschallenge.shared.config.BuscaProperties;
 import br.com.sicredi.toolschallenge.shared.config.ReprocessamentoProperties;
 import io.micrometer.core.annotation.Counted;
 import io.micrometer.core.annotation.Timed;
@@ -28,14 +38,14 @@ import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Random;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -61,14 +71,20 @@ import java.util.stream.Collectors;
 public class EstornoService {
 
     private final EstornoRepository repository;
+    private final EstornoBuscaRepository estornoBuscaRepository;
     private final PagamentoRepository pagamentoRepository;
     private final EstornoMapper mapper;
     private final EventoPublisher eventoPublisher;
     private final ApplicationEventPublisher eventPublisher;
     private final AdquirenteService adquirenteService;
     private final ReprocessamentoProperties reprocessamentoProperties;
+    private final BuscaProperties buscaProperties;
     private final MeterRegistry meterRegistry;
-    private final Random random = new Random();
+    private final GeradorSnowflake geradorSnowflake;
+    private final GeradorIdentificador geradorIdentificador;
+    private final CacheConsulta<EstornoResponseDTO> cacheEstornos;
+    private final TransacaoLeitura transacaoLeitura;
+    private final AgregadorEstabelecimentos agregadorEstabelecimentos;
     
     @Autowired(required = false)
     private RedissonClient redissonClient;
@@ -176,10 +192,10 @@ public class EstornoService {
 
             // 6. Criar estorno
             Estorno estorno = mapper.paraEntidade(request);
-            estorno.setIdEstorno(UUID.randomUUID().toString());
+            estorno.setIdEstorno(geradorIdentificador.novoIdEstorno());
             estorno.setDataHora(agora);
             estorno.setStatus(StatusEstorno.PENDENTE);
-            estorno.setSnowflakeId(gerarSnowflakeId());
+            estorno.setSnowflakeId(geradorSnowflake.proximoId());
 
             // Salvar como PENDENTE
             estorno = repository.save(estorno);
@@ -224,26 +240,35 @@ public class EstornoService {
     /**
      * Busca estorno por ID.
      * 
+     * Consulta o cache de duas camadas (local + Redis) antes do banco: no acerto,
+     * nem o estorno nem o pagamento são lidos. A entrada é invalidada pelo
+     * evento de status alterado.
+     * 
      * @param idEstorno UUID do estorno
      * @return DTO de resposta
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public EstornoResponseDTO buscarPorIdEstorno(String idEstorno) {
         log.info("Buscando estorno por ID: {}", idEstorno);
 
-        Estorno estorno = repository.findByIdEstorno(idEstorno)
-            .orElseThrow(() -> {
-                log.warn("Estorno não encontrado: {}", idEstorno);
-                return new RecursoNaoEncontradoException("Estorno", idEstorno);
-            });
+        // Sem transação no método: acerto no cache não ocupa conexão do pool;
+        // a carga abre transação somente leitura (réplica, se habilitada)
+        return cacheEstornos.obter(idEstorno, () -> transacaoLeitura.executar(() -> {
+            Estorno estorno = repository.findByIdEstorno(idEstorno)
+                .orElseThrow(() -> {
+                    log.warn("Estorno não encontrado: {}", idEstorno);
+                    return new RecursoNaoEncontradoException("Estorno", idEstorno);
+                });
 
-        // Buscar pagamento original para montar TransacaoDTO completa
-        Pagamento pagamento = pagamentoRepository.findByIdTransacao(estorno.getIdTransacao())
-            .orElseThrow(() -> {
-                log.error("Pagamento não encontrado para estorno: {}", estorno.getIdTransacao());
-                return new RecursoNaoEncontradoException("Pagamento", estorno.getIdTransacao());
-            });
+            // Buscar pagamento original para montar TransacaoDTO completa
+            Pagamento pagamento = pagamentoRepository.findByIdTransacao(estorno.getIdTransacao())
+                .orElseThrow(() -> {
+                    log.error("Pagamento não encontrado para estorno: {}", estorno.getIdTransacao());
+                    return new RecursoNaoEncontradoException("Pagamento", estorno.getIdTransacao());
+                });
 
-        return mapper.paraDTO(estorno, pagamento);
+            return mapper.paraDTO(estorno, pagamento);
+        }));
     }
 
     /**
@@ -272,42 +297,67 @@ public class EstornoService {
     /**
      * Lista todos os estornos (últimos 100).
      * 
-     * @return Lista de DTOs de resposta
+     * As listagens devolvem projeções ({@link EstornoResumo}) do estorno com o
+     * pagamento original, lidas em uma única consulta (JOIN), sem entidades
+     * hidratadas nem DTOs aninhados; o JSON é escrito direto da projeção.
+     * 
+     * @return Projeções de resposta
      */
-    public List<EstornoResponseDTO> listarEstornos() {
+    public List<EstornoResumo> listarEstornos() {
         log.info("Listando últimos estornos");
 
-        List<Estorno> estornos = repository.findUltimosEstornos();
-
-        return estornos.stream()
-            .map(estorno -> {
-                // Buscar pagamento para cada estorno
-                Pagamento pagamento = pagamentoRepository.findByIdTransacao(estorno.getIdTransacao())
-                    .orElseThrow(() -> new RecursoNaoEncontradoException("Pagamento", estorno.getIdTransacao()));
-                return mapper.paraDTO(estorno, pagamento);
-            })
-            .collect(Collectors.toList());
+        return repository.findUltimosResumos();
     }
 
     /**
-     * Lista estornos por status.
+     * Lista estornos por status (os mais recentes, até busca.limite-maximo).
+     * Para percorrer todos, use {@link #buscarEstornos}.
      * 
      * @param status Status do estorno
-     * @return Lista de DTOs de resposta
+     * @return Projeções de resposta
      */
-    public List<EstornoResponseDTO> listarPorStatus(StatusEstorno status) {
+    public List<EstornoResumo> listarPorStatus(StatusEstorno status) {
         log.info("Listando estornos por status: {}", status);
 
-        List<Estorno> estornos = repository.findByStatusOrderByCriadoEmDesc(status);
+        return repository.findResumosByStatus(status, Limit.of(buscaProperties.getLimiteMaximo()));
+    }
+
+    /**
+     * Busca estornos com filtros opcionais, paginada por cursor (keyset).
+     * 
+     * Lê um item além do limite para saber se há próxima página; o cursor
+     * aponta para o último item entregue.
+     * 
+     * @param status Status (opcional)
+     * @param estabelecimento Estabelecimento do pagamento original (opcional)
+     * @param de Criados a partir de, inclusive (opcional)
+     * @param ate Criados antes de, exclusive (opcional)
+     * @param cursor Cursor opaco da página anterior (opcional)
+     * @param limite Itens por página (opcional)
+     * @return Página de projeções de resposta
+     */
+    public PaginaDTO<EstornoResumo> buscarEstornos(StatusEstorno status, String estabelecimento,
+                                                   OffsetDateTime de, OffsetDateTime ate,
+                                                   String cursor, Integer limite) {
+        if (de != null && ate != null && !de.isBefore(ate)) {
+            throw new NegocioException("Data inicial deve ser anterior à data final");
+        }
+        int tamanhoPagina = buscaProperties.limiteEfetivo(limite);
+        CursorKeyset apos = CursorKeyset.decodificar(cursor);
 
-        return estornos.stream()
-            .map(estorno -> {
-                // Buscar pagamento para cada estorno
-                Pagamento pagamento = pagamentoRepository.findByIdTransacao(estorno.getIdTransacao())
-                    .orElseThrow(() -> new RecursoNaoEncontradoException("Pagamento", estorno.getIdTransacao()));
-                return mapper.paraDTO(estorno, pagamento);
-            })
-            .collect(Collectors.toList());
+        log.info("Buscando estornos: status={}, estabelecimento={}, de={}, ate={}, limite={}, cursor={}",
+            status, estabelecimento, de, ate, tamanhoPagina, apos);
+
+        List<EstornoResumo> estornos = estornoBuscaRepository.buscar(
+            status, estabelecimento, de, ate, apos, tamanhoPagina + 1);
+
+        String proximoCursor = null;
+        if (estornos.size() > tamanhoPagina) {
+            estornos = estornos.subList(0, tamanhoPagina);
+            proximoCursor = estornos.get(tamanhoPagina - 1).cursor().codificar();
+        }
+
+        return new PaginaDTO<>(estornos, proximoCursor);
     }
 
     /**
@@ -351,6 +401,7 @@ public class EstornoService {
                 estorno.setCodigoAutorizacao(response.codigoAutorizacao());
                 log.info("Estorno CANCELADO (aprovado) - ID: {}, NSU: {}, Código: {}", 
                     estorno.getIdEstorno(), response.nsu(), response.codigoAutorizacao());
+                agregadorEstabelecimentos.registrarEstorno(pagamento.getEstabelecimento());
                 
             } else if (response.status() == StatusAutorizacao.NEGADO) {
                 estorno.setStatus(StatusEstorno.NEGADO);
@@ -370,17 +421,6 @@ public class EstornoService {
         }
     }
 
-    /**
-     * Gera Snowflake ID simulado (time-sortable unique ID).
-     * 
-     * @return Snowflake ID (15 dígitos)
-     */
-    private Long gerarSnowflakeId() {
-        long timestamp = System.currentTimeMillis() % 100000000L;
-        long randomPart = random.nextInt(10000000);
-        return (timestamp * 10000000L) + randomPart;
-    }
-
     /**
      * Publica evento de estorno criado no outbox.
      * 
@@ -393,6 +433,7 @@ public class EstornoService {
                     .idEstorno(estorno.getId())
                     .idPagamento(pagamento.getId())
                     .idTransacao(estorno.getIdEstorno())
+                    .idTransacaoPagamento(pagamento.getIdTransacao())
                     .valorEstorno(estorno.getValor())
                     .motivo(estorno.getMotivo())
                     .status(estorno.getStatus().name())
@@ -424,6 +465,7 @@ public class EstornoService {
                     .idEstorno(estorno.getId())
                     .idPagamento(pagamento.getId())
                     .idTransacao(estorno.getIdEstorno())
+                    .idTransacaoPagamento(pagamento.getIdTransacao())
                     .statusAnterior(statusAnterior.name())
                     .statusNovo(estorno.getStatus().name())
                     .alteradoEm(OffsetDateTime.now())
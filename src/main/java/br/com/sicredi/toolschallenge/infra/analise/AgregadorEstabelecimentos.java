@@ -0,0 +1,301 @@
+package br.com.sicredi.toolschallenge.infra.analise;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.shared.config.AnaliseEstabelecimentoProperties;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Indicadores por estabelecimento em janela deslizante, em memória:
+ * TPS, taxa de aprovação, p95 da latência do adquirente e taxa de estorno.
+ *
+ * Alimentado pelas decisões do adquirente em PagamentoService e
+ * EstornoService (criação, lote, assíncrono e reprocessamento): cada
+ * pagamento conta uma vez, quando sai de PENDENTE para AUTORIZADO ou NEGADO.
+ * Os indicadores são da instância: cada réplica da aplicação vê o seu tráfego.
+ *
+ * - Janela: buffer circular de fatias com contadores long[] e histograma
+ *   HdrHistogram por fatia (sem boxing nem alocação por evento)
+ * - Concorrência: travas listradas (64 ReentrantLock compartilhados entre os
+ *   estabelecimentos pelo hash), seção crítica de poucos incrementos; sem
+ *   synchronized, que prenderia a virtual thread à carrier
+ * - Cardinalidade: no máximo maximoEstabelecimentos janelas; o excedente é
+ *   somado em "outros". Estabelecimentos sem movimento na janela são
+ *   removidos por {@link #removerInativos()}
+ * - Consulta: {@link #painel(int)} devolve os top-K por volume e soma os
+ *   demais em "outros"
+ */
+@Component
+public class AgregadorEstabelecimentos {
+
+    public static final String OUTROS = "outros";
+
+    private static final int TRAVAS = 64;
+
+    private final boolean habilitado;
+    private final int janelaSegundos;
+    private final int fatias;
+    private final long nanosPorFatia;
+    private final int maximoEstabelecimentos;
+    private final LongSupplier relogioNanos;
+    private final long inicioNanos;
+
+    private final ReentrantLock[] travas = new ReentrantLock[TRAVAS];
+    private final Map<String, JanelaEstabelecimento> janelas = new ConcurrentHashMap<>();
+    private final JanelaEstabelecimento excedentes;
+
+    @Autowired
+    public AgregadorEstabelecimentos(AnaliseEstabelecimentoProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AgregadorEstabelecimentos(AnaliseEstabelecimentoProperties properties, LongSupplier relogioNanos) {
+        if (properties.getJanelaSegundos() < 1 || properties.getFatias() < 1) {
+            throw new IllegalArgumentException("janela-segundos e fatias devem ser maiores que zero");
+        }
+        this.habilitado = properties.isEnabled();
+        this.janelaSegundos = properties.getJanelaSegundos();
+        this.fatias = properties.getFatias();
+        this.nanosPorFatia = TimeUnit.SECONDS.toNanos(janelaSegundos) / fatias;
+        this.maximoEstabelecimentos = properties.getMaximoEstabelecimentos();
+        this.relogioNanos = relogioNanos;
+        this.inicioNanos = relogioNanos.getAsLong();
+
+        for (int i = 0; i < TRAVAS; i++) {
+            travas[i] = new ReentrantLock();
+        }
+        this.excedentes = new JanelaEstabelecimento(fatias, new ReentrantLock());
+    }
+
+    /**
+     * Registra a decisão final do adquirente sobre um pagamento.
+     * Deve ser chamado uma única vez por pagamento, na saída de PENDENTE.
+     *
+     * @param estabelecimento Estabelecimento do pagamento
+     * @param status AUTORIZADO ou NEGADO (demais são ignorados)
+     */
+    public void registrarAutorizacao(String estabelecimento, StatusPagamento status) {
+        if (status == null) {
+            return;
+        }
+        int contador = switch (status) {
+            case AUTORIZADO -> JanelaEstabelecimento.AUTORIZADOS;
+            case NEGADO -> JanelaEstabelecimento.NEGADOS;
+            default -> -1;
+        };
+        if (contador >= 0) {
+            registrar(estabelecimento, contador, -1);
+        }
+    }
+
+    /**
+     * Registra a latência de uma chamada de autorização ao adquirente.
+     *
+     * @param estabelecimento Estabelecimento do pagamento
+     * @param latenciaNanos Duração da chamada
+     */
+    public void registrarLatenciaAdquirente(String estabelecimento, long latenciaNanos) {
+        registrar(estabelecimento, -1, TimeUnit.NANOSECONDS.toMillis(Math.max(latenciaNanos, 0)));
+    }
+
+    /**
+     * Registra um estorno aprovado pelo adquirente (CANCELADO).
+     *
+     * @param estabelecimento Estabelecimento do pagamento estornado
+     */
+    public void registrarEstorno(String estabelecimento) {
+        registrar(estabelecimento, JanelaEstabelecimento.ESTORNOS, -1);
+    }
+
+    /**
+     * Indicadores dos estabelecimentos de maior volume (decisões de autorização
+     * mais estornos) na janela; os demais são somados em "outros".
+     *
+     * @param topK Quantidade de estabelecimentos individualizados
+     * @return Painel com top-K e "outros"
+     */
+    public PainelEstabelecimentos painel(int topK) {
+        long decorrido = relogioNanos.getAsLong() - inicioNanos;
+        long fatiaAtual = decorrido / nanosPorFatia;
+
+        // 1ª passada: só contadores, para ordenar por volume sem copiar histogramas
+        List<Totais> ativos = new ArrayList<>();
+        janelas.forEach((estabelecimento, janela) -> {
+            Totais totais = new Totais(estabelecimento, janela);
+            janela.trava.lock();
+            try {
+                janela.somarContadores(fatiaAtual, totais.contadores);
+            } finally {
+                janela.trava.unlock();
+            }
+            if (totais.volume() > 0) {
+                ativos.add(totais);
+            }
+        });
+        ativos.sort(Comparator.comparingLong(Totais::volume).reversed()
+            .thenComparing(Totais::estabelecimento));
+
+        // 2ª passada: latências do top-K e soma dos demais em "outros"
+        double segundos = segundosNaJanela(decorrido);
+        int quantidade = Math.min(Math.max(topK, 0), ativos.size());
+        List<IndicadoresEstabelecimento> estabelecimentos = new ArrayList<>(quantidade);
+        for (Totais totais : ativos.subList(0, quantidade)) {
+            Histogram latencia = JanelaEstabelecimento.novoHistograma();
+            totais.janela.trava.lock();
+            try {
+                totais.janela.somarLatencias(fatiaAtual, latencia);
+            } finally {
+                totais.janela.trava.unlock();
+            }
+            estabelecimentos.add(indicadores(totais.estabelecimento, totais.contadores, latencia, segundos));
+        }
+
+        long[] contadoresOutros = new long[JanelaEstabelecimento.CONTADORES];
+        Histogram latenciaOutros = JanelaEstabelecimento.novoHistograma();
+        for (Totais totais : ativos.subList(quantidade, ativos.size())) {
+            somar(contadoresOutros, totais.contadores);
+            totais.janela.trava.lock();
+            try {
+                totais.janela.somarLatencias(fatiaAtual, latenciaOutros);
+            } finally {
+                totais.janela.trava.unlock();
+            }
+        }
+        excedentes.trava.lock();
+        try {
+            excedentes.somarContadores(fatiaAtual, contadoresOutros);
+            excedentes.somarLatencias(fatiaAtual, latenciaOutros);
+        } finally {
+            excedentes.trava.unlock();
+        }
+
+        return new PainelEstabelecimentos(janelaSegundos, ativos.size(), estabelecimentos,
+            indicadores(OUTROS, contadoresOutros, latenciaOutros, segundos));
+    }
+
+    /**
+     * Remove as janelas sem eventos na janela atual, liberando espaço para
+     * novos estabelecimentos.
+     *
+     * @return Estabelecimentos removidos
+     */
+    public int removerInativos() {
+        long fatiaAtual = fatiaAtual();
+        int removidos = 0;
+        for (Map.Entry<String, JanelaEstabelecimento> entrada : janelas.entrySet()) {
+            JanelaEstabelecimento janela = entrada.getValue();
+            janela.trava.lock();
+            try {
+                if (janela.inativa(fatiaAtual) && janelas.remove(entrada.getKey(), janela)) {
+                    janela.removida = true;
+                    removidos++;
+                }
+            } finally {
+                janela.trava.unlock();
+            }
+        }
+        return removidos;
+    }
+
+    private void registrar(String estabelecimento, int contador, long latenciaMs) {
+        if (!habilitado) {
+            return;
+        }
+        long fatia = fatiaAtual();
+        while (true) {
+            JanelaEstabelecimento janela = janela(estabelecimento);
+            janela.trava.lock();
+            try {
+                if (!janela.removida) {
+                    janela.registrar(fatia, contador, latenciaMs);
+                    return;
+                }
+            } finally {
+                janela.trava.unlock();
+            }
+        }
+    }
+
+    private JanelaEstabelecimento janela(String estabelecimento) {
+        if (estabelecimento == null) {
+            return excedentes;
+        }
+        JanelaEstabelecimento janela = janelas.get(estabelecimento);
+        if (janela != null) {
+            return janela;
+        }
+        // Limite aproximado sob concorrência (size() não é atômico com a inserção)
+        if (janelas.size() >= maximoEstabelecimentos) {
+            return excedentes;
+        }
+        return janelas.computeIfAbsent(estabelecimento,
+            chave -> new JanelaEstabelecimento(fatias, travas[Math.floorMod(chave.hashCode(), TRAVAS)]));
+    }
+
+    /**
+     * Fatias contadas a partir da criação do agregador (System.nanoTime() só
+     * tem significado como diferença e pode ser negativo).
+     */
+    private long fatiaAtual() {
+        return (relogioNanos.getAsLong() - inicioNanos) / nanosPorFatia;
+    }
+
+    /**
+     * Duração efetiva da janela: fatias completas mais o decorrido da fatia
+     * atual (e nunca antes da criação do agregador).
+     *
+     * @param decorrido Nanossegundos desde a criação do agregador
+     */
+    private double segundosNaJanela(long decorrido) {
+        long janela = Math.min((fatias - 1) * nanosPorFatia + decorrido % nanosPorFatia, decorrido);
+        return Math.max(janela, nanosPorFatia) / 1e9;
+    }
+
+    private static IndicadoresEstabelecimento indicadores(String estabelecimento, long[] contadores,
+                                                          Histogram latencia, double segundos) {
+        long autorizados = contadores[JanelaEstabelecimento.AUTORIZADOS];
+        long negados = contadores[JanelaEstabelecimento.NEGADOS];
+        long estornos = contadores[JanelaEstabelecimento.ESTORNOS];
+
+        return new IndicadoresEstabelecimento(
+            estabelecimento,
+            autorizados,
+            negados,
+            estornos,
+            (autorizados + negados) / segundos,
+            autorizados + negados == 0 ? null : (double) autorizados / (autorizados + negados),
+            latencia.getTotalCount() == 0 ? null : latencia.getValueAtPercentile(95.0),
+            autorizados == 0 ? null : (double) estornos / autorizados);
+    }
+
+    private static void somar(long[] destino, long[] origem) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] += origem[i];
+        }
+    }
+
+    private record Totais(String estabelecimento, JanelaEstabelecimento janela, long[] contadores) {
+
+        Totais(String estabelecimento, JanelaEstabelecimento janela) {
+            this(estabelecimento, janela, new long[JanelaEstabelecimento.CONTADORES]);
+        }
+
+        long volume() {
+            long volume = 0;
+            for (long contador : contadores) {
+                volume += contador;
+            }
+            return volume;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.sicredi.toolschallenge.infra.analise;
+
+import br.com.sicredi.toolschallenge.shared.config.AnaliseEstabelecimentoProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Publica no Micrometer os indicadores do {@link AgregadorEstabelecimentos}.
+ *
+ * A cada intervalo remove os estabelecimentos inativos e substitui as linhas
+ * dos gauges pelos top-K atuais mais "outros": estabelecimentos que saem do
+ * top-K deixam de ser publicados, então a cardinalidade da tag
+ * estabelecimento fica limitada a top-k + 1.
+ *
+ * Métricas (tag estabelecimento):
+ * - estabelecimento.tps
+ * - estabelecimento.aprovacao.taxa
+ * - estabelecimento.adquirente.latencia.p95 (ms)
+ * - estabelecimento.estorno.taxa
+ */
+@Component
+@ConditionalOnProperty(name = "analise-estabelecimento.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AgregadorEstabelecimentosMetricas {
+
+    private final AgregadorEstabelecimentos agregador;
+    private final AnaliseEstabelecimentoProperties properties;
+
+    private final MultiGauge tps;
+    private final MultiGauge taxaAprovacao;
+    private final MultiGauge latenciaP95;
+    private final MultiGauge taxaEstorno;
+
+    public AgregadorEstabelecimentosMetricas(AgregadorEstabelecimentos agregador,
+                                             AnaliseEstabelecimentoProperties properties,
+                                             MeterRegistry meterRegistry) {
+        this.agregador = agregador;
+        this.properties = properties;
+        this.tps = MultiGauge.builder("estabelecimento.tps")
+                .description("Decisões de autorização por segundo na janela deslizante")
+                .register(meterRegistry);
+        this.taxaAprovacao = MultiGauge.builder("estabelecimento.aprovacao.taxa")
+                .description("Autorizados / (autorizados + negados) na janela deslizante")
+                .register(meterRegistry);
+        this.latenciaP95 = MultiGauge.builder("estabelecimento.adquirente.latencia.p95")
+                .baseUnit("milliseconds")
+                .description("Percentil 95 da latência do adquirente na autorização, na janela deslizante")
+                .register(meterRegistry);
+        this.taxaEstorno = MultiGauge.builder("estabelecimento.estorno.taxa")
+                .description("Estornos aprovados / pagamentos autorizados na janela deslizante")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${analise-estabelecimento.intervalo-metricas-ms:10000}")
+    public void atualizar() {
+        try {
+            int removidos = agregador.removerInativos();
+            if (removidos > 0) {
+                log.debug("Estabelecimentos sem movimento removidos da janela: {}", removidos);
+            }
+
+            PainelEstabelecimentos painel = agregador.painel(properties.getTopK());
+            List<IndicadoresEstabelecimento> linhas = new ArrayList<>(painel.estabelecimentos());
+            linhas.add(painel.outros());
+
+            tps.register(linhas(linhas, IndicadoresEstabelecimento::tps), true);
+            taxaAprovacao.register(linhas(linhas, IndicadoresEstabelecimento::taxaAprovacao), true);
+            latenciaP95.register(linhas(linhas, IndicadoresEstabelecimento::latenciaP95Ms), true);
+            taxaEstorno.register(linhas(linhas, IndicadoresEstabelecimento::taxaEstorno), true);
+        } catch (Exception e) {
+            log.error("Erro ao atualizar métricas por estabelecimento: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Uma linha por estabelecimento com valor (taxas sem base de cálculo não são publicadas).
+     */
+    private static List<MultiGauge.Row<?>> linhas(List<IndicadoresEstabelecimento> indicadores,
+                                                  Function<IndicadoresEstabelecimento, Number> valor) {
+        return indicadores.stream()
+            .filter(indicador -> Objects.nonNull(valor.apply(indicador)))
+            .<MultiGauge.Row<?>>map(indicador ->
+                MultiGauge.Row.of(Tags.of("estabelecimento", indicador.estabelecimento()), valor.apply(indicador)))
+            .toList();
+    }
+}
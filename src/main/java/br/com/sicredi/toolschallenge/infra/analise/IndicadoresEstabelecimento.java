@@ -0,0 +1,31 @@
+package br.com.sicredi.toolschallenge.infra.analise;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Indicadores de um estabelecimento (ou de "outros") na janela deslizante.
+ *
+ * Taxas e latência são omitidas quando não há base de cálculo
+ * (ex.: taxaEstorno sem pagamentos autorizados na janela).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Indicadores do estabelecimento na janela deslizante")
+public record IndicadoresEstabelecimento(
+        @Schema(description = "Estabelecimento ou 'outros'", example = "Loja Exemplo")
+        String estabelecimento,
+        @Schema(description = "Pagamentos autorizados pelo adquirente", example = "950")
+        long autorizados,
+        @Schema(description = "Pagamentos negados pelo adquirente", example = "40")
+        long negados,
+        @Schema(description = "Estornos aprovados pelo adquirente (CANCELADO)", example = "12")
+        long estornos,
+        @Schema(description = "Decisões de autorização (AUTORIZADO + NEGADO) por segundo", example = "16.5")
+        double tps,
+        @Schema(description = "autorizados / (autorizados + negados)", example = "0.9596")
+        Double taxaAprovacao,
+        @Schema(description = "Percentil 95 da latência do adquirente na autorização (ms)", example = "180")
+        Long latenciaP95Ms,
+        @Schema(description = "estornos / autorizados", example = "0.0126")
+        Double taxaEstorno) {
+}
@@ -0,0 +1,121 @@
+package br.com.sicredi.toolschallenge.infra.analise;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntCountsHistogram;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Janela deslizante de um estabelecimento: buffer circular de fatias de tempo,
+ * cada uma com seus contadores e seu histograma de latência do adquirente.
+ *
+ * Não é thread-safe: todo acesso acontece com {@link #trava} adquirida
+ * (ver {@link AgregadorEstabelecimentos}).
+ *
+ * Uma posição do buffer guarda a fatia absoluta (tempo / duração da fatia)
+ * em {@code epocas}; ao ser reaproveitada por uma fatia mais nova, é zerada.
+ */
+final class JanelaEstabelecimento {
+
+    static final int AUTORIZADOS = 0;
+    static final int NEGADOS = 1;
+    static final int ESTORNOS = 2;
+    static final int CONTADORES = 3;
+
+    static final long LATENCIA_MAXIMA_MS = 60_000;
+    private static final int DIGITOS_SIGNIFICATIVOS = 2;
+
+    final ReentrantLock trava;
+
+    private final int fatias;
+    private final long[] epocas;
+    private final long[] contadores;
+    private final IntCountsHistogram[] latencias;
+    private long ultimaFatia = -1;
+
+    /**
+     * Marcada ao sair do mapa do agregador: quem obteve a janela antes da
+     * remoção busca (ou cria) a janela nova.
+     */
+    boolean removida;
+
+    JanelaEstabelecimento(int fatias, ReentrantLock trava) {
+        this.trava = trava;
+        this.fatias = fatias;
+        this.epocas = new long[fatias];
+        this.contadores = new long[fatias * CONTADORES];
+        this.latencias = new IntCountsHistogram[fatias];
+        Arrays.fill(epocas, -1);
+    }
+
+    static Histogram novoHistograma() {
+        return new Histogram(1, LATENCIA_MAXIMA_MS, DIGITOS_SIGNIFICATIVOS);
+    }
+
+    /**
+     * @param fatia Fatia absoluta do evento
+     * @param contador Índice do contador a incrementar (-1: nenhum)
+     * @param latenciaMs Latência do adquirente (-1: sem latência)
+     */
+    void registrar(long fatia, int contador, long latenciaMs) {
+        int posicao = (int) (fatia % fatias);
+        if (epocas[posicao] > fatia) {
+            // Evento atrasado de uma fatia que já saiu da janela
+            return;
+        }
+        if (epocas[posicao] != fatia) {
+            Arrays.fill(contadores, posicao * CONTADORES, (posicao + 1) * CONTADORES, 0L);
+            if (latencias[posicao] != null) {
+                latencias[posicao].reset();
+            }
+            epocas[posicao] = fatia;
+        }
+
+        if (contador >= 0) {
+            contadores[posicao * CONTADORES + contador]++;
+        }
+        if (latenciaMs >= 0) {
+            if (latencias[posicao] == null) {
+                latencias[posicao] = new IntCountsHistogram(1, LATENCIA_MAXIMA_MS, DIGITOS_SIGNIFICATIVOS);
+            }
+            latencias[posicao].recordValue(Math.min(latenciaMs, LATENCIA_MAXIMA_MS));
+        }
+        ultimaFatia = Math.max(ultimaFatia, fatia);
+    }
+
+    /**
+     * Soma os contadores das fatias dentro da janela que termina em fatiaAtual.
+     */
+    void somarContadores(long fatiaAtual, long[] totais) {
+        for (int posicao = 0; posicao < fatias; posicao++) {
+            if (naJanela(posicao, fatiaAtual)) {
+                for (int contador = 0; contador < CONTADORES; contador++) {
+                    totais[contador] += contadores[posicao * CONTADORES + contador];
+                }
+            }
+        }
+    }
+
+    /**
+     * Soma as latências das fatias dentro da janela que termina em fatiaAtual.
+     */
+    void somarLatencias(long fatiaAtual, Histogram total) {
+        for (int posicao = 0; posicao < fatias; posicao++) {
+            if (latencias[posicao] != null && naJanela(posicao, fatiaAtual)) {
+                total.add(latencias[posicao]);
+            }
+        }
+    }
+
+    /**
+     * Sem eventos na janela que termina em fatiaAtual.
+     */
+    boolean inativa(long fatiaAtual) {
+        return fatiaAtual - ultimaFatia >= fatias;
+    }
+
+    private boolean naJanela(int posicao, long fatiaAtual) {
+        return epocas[posicao] >= 0 && fatiaAtual - epocas[posicao] < fatias;
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.sicredi.toolschallenge.infra.analise;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Resposta de GET /admin/estabelecimentos/indicadores: os estabelecimentos de
+ * maior volume na janela e a soma dos demais em "outros".
+ */
+@Schema(description = "Indicadores dos estabelecimentos de maior volume na janela deslizante")
+public record PainelEstabelecimentos(
+        @Schema(description = "Duração da janela", example = "60")
+        int janelaSegundos,
+        @Schema(description = "Estabelecimentos acompanhados individualmente com movimento na janela", example = "235")
+        int estabelecimentosAtivos,
+        @Schema(description = "Estabelecimentos de maior volume, do maior para o menor")
+        List<IndicadoresEstabelecimento> estabelecimentos,
+        @Schema(description = "Soma dos demais estabelecimentos")
+        IndicadoresEstabelecimento outros) {
+}
@@ -0,0 +1,283 @@
+package br.com.sicredi.toolschallenge.infra.auditoria.escritor;
+
+import br.com.sicredi.toolschallenge.infra.auditoria.EventoAuditoria;
+import br.com.sicredi.toolschallenge.shared.config.AuditoriaProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritor de eventos de auditoria em lote.
+ *
+ * Em vez de uma transação (REQUIRES_NEW) por evento no executor @Async, os
+ * eventos entram em um buffer circular limitado (auditoria.capacidade-buffer)
+ * e uma thread dedicada os grava com um único INSERT em lote (JDBC batch):
+ * - Quando o lote atinge auditoria.tamanho-lote eventos, ou
+ * - Quando auditoria.intervalo-flush-ms se passa desde o primeiro evento do lote
+ *
+ * Backpressure: com o buffer cheio, o evento é gravado de forma síncrona na
+ * thread chamadora (caller-runs), o que desacelera o produtor sem perder eventos.
+ * No desligamento, o buffer é drenado antes do DataSource ser fechado.
+ *
+ * Falha do lote: os eventos são regravados um a um, para que um evento inválido
+ * não leve o lote inteiro. Um evento recusado pelo banco (violação de integridade)
+ * ou que não serializa é descartado sozinho; em erro de acesso (banco
+ * indisponível, timeout) os eventos restantes são tentados de novo até
+ * auditoria.tentativas-gravacao vezes, com espera crescente a partir de
+ * auditoria.backoff-gravacao-ms. Na thread chamadora há uma única tentativa,
+ * sem espera, para não segurar a requisição.
+ *
+ * Métricas:
+ * - auditoria.buffer.tamanho: eventos aguardando gravação
+ * - auditoria.buffer.rejeitados: eventos gravados na thread chamadora (buffer cheio)
+ * - auditoria.escritor.gravados: eventos gravados
+ * - auditoria.escritor.falhas: eventos perdidos por erro de gravação (após as novas tentativas)
+ * - auditoria.escritor.lote: latência de cada INSERT em lote
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditoriaEscritorLote {
+
+    static final String SQL_INSERT = """
+            INSERT INTO infra.evento_auditoria
+                (evento_tipo, agregado_tipo, agregado_id, usuario, dados, metadados, criado_em)
+            VALUES (?, ?, ?, ?, ?::jsonb, ?::jsonb, ?)
+            """;
+
+    // Espera máxima de cada poll, para perceber o encerramento rapidamente
+    private static final long FATIA_ESPERA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditoriaProperties auditoriaProperties;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<EventoAuditoria> buffer;
+    private Thread thread;
+    private volatile boolean executando = false;
+
+    private Counter rejeitados;
+    private Counter gravados;
+    private Counter falhas;
+    private Timer tempoLote;
+
+    @PostConstruct
+    public void iniciar() {
+        buffer = new ArrayBlockingQueue<>(Math.max(1, auditoriaProperties.getCapacidadeBuffer()));
+
+        meterRegistry.gauge("auditoria.buffer.tamanho", buffer, BlockingQueue::size);
+        rejeitados = meterRegistry.counter("auditoria.buffer.rejeitados");
+        gravados = meterRegistry.counter("auditoria.escritor.gravados");
+        falhas = meterRegistry.counter("auditoria.escritor.falhas");
+        tempoLote = meterRegistry.timer("auditoria.escritor.lote");
+
+        executando = true;
+        thread = new Thread(this::executar, "auditoria-escritor");
+        thread.setDaemon(true);
+        thread.start();
+
+        log.info("Escritor de auditoria iniciado: capacidade={}, lote={}, intervalo={}ms",
+                auditoriaProperties.getCapacidadeBuffer(),
+                auditoriaProperties.getTamanhoLote(),
+                auditoriaProperties.getIntervaloFlushMs());
+    }
+
+    /**
+     * Drena o buffer antes do desligamento.
+     * Eventos que não couberem no prazo de encerramento são gravados aqui mesmo.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        executando = false;
+        thread.join(TimeUnit.SECONDS.toMillis(auditoriaProperties.getTimeoutEncerramentoSegundos()));
+
+        List<EventoAuditoria> restantes = new ArrayList<>();
+        buffer.drainTo(restantes);
+        if (!restantes.isEmpty()) {
+            gravar(restantes, auditoriaProperties.getTentativasGravacao());
+        }
+
+        log.info("Escritor de auditoria encerrado ({} eventos drenados no desligamento)", restantes.size());
+    }
+
+    /**
+     * Enfileira um evento para gravação em lote.
+     * Com o buffer cheio (ou o escritor encerrado), grava na thread chamadora.
+     *
+     * @param evento Evento de auditoria
+     */
+    public void enfileirar(EventoAuditoria evento) {
+        if (executando && buffer.offer(evento)) {
+            return;
+        }
+
+        rejeitados.increment();
+        log.debug("Buffer de auditoria cheio, gravando evento {} na thread chamadora", evento.getEventoTipo());
+        gravar(List.of(evento), 1);
+    }
+
+    /**
+     * Quantidade de eventos aguardando gravação.
+     */
+    public int tamanhoBuffer() {
+        return buffer.size();
+    }
+
+    private void executar() {
+        int tamanhoLote = Math.max(1, auditoriaProperties.getTamanhoLote());
+        long intervaloNanos = TimeUnit.MILLISECONDS.toNanos(auditoriaProperties.getIntervaloFlushMs());
+
+        while (executando || !buffer.isEmpty()) {
+            try {
+                EventoAuditoria primeiro = buffer.poll(FATIA_ESPERA_NANOS, TimeUnit.NANOSECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+
+                List<EventoAuditoria> lote = new ArrayList<>(tamanhoLote);
+                lote.add(primeiro);
+                long prazo = System.nanoTime() + intervaloNanos;
+
+                // No encerramento não espera o prazo: grava o que houver
+                while (lote.size() < tamanhoLote && executando) {
+                    if (buffer.drainTo(lote, tamanhoLote - lote.size()) > 0) {
+                        continue;
+                    }
+                    long restante = prazo - System.nanoTime();
+                    if (restante <= 0) {
+                        break;
+                    }
+                    EventoAuditoria proximo = buffer.poll(Math.min(restante, FATIA_ESPERA_NANOS), TimeUnit.NANOSECONDS);
+                    if (proximo != null) {
+                        lote.add(proximo);
+                    }
+                }
+                buffer.drainTo(lote, tamanhoLote - lote.size());
+
+                gravar(lote, auditoriaProperties.getTentativasGravacao());
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Erro no escritor de auditoria: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Grava os eventos com um único INSERT em lote. Se o lote falhar, regrava
+     * um a um, com novas tentativas para os eventos que falharem por erro de acesso.
+     * Não propaga exceção para não impactar o fluxo principal.
+     *
+     * @param lote Eventos a gravar
+     * @param tentativas Tentativas da gravação um a um
+     */
+    private void gravar(List<EventoAuditoria> lote, int tentativas) {
+        List<Object[]> parametros = new ArrayList<>(lote.size());
+        for (EventoAuditoria evento : lote) {
+            try {
+                parametros.add(parametros(evento));
+            } catch (JsonProcessingException e) {
+                falhas.increment();
+                log.error("Evento de auditoria {} ({}/{}) descartado: dados não serializáveis: {}",
+                        evento.getEventoTipo(), evento.getAgregadoTipo(), evento.getAgregadoId(), e.getMessage());
+            }
+        }
+        if (parametros.isEmpty()) {
+            return;
+        }
+
+        try {
+            tempoLote.record(() -> jdbcTemplate.batchUpdate(SQL_INSERT, parametros));
+            gravados.increment(parametros.size());
+
+            log.debug("Lote de auditoria gravado: {} eventos", parametros.size());
+            return;
+
+        } catch (Exception e) {
+            log.warn("Erro ao gravar lote de {} eventos de auditoria, gravando um a um: {}",
+                    parametros.size(), e.getMessage());
+        }
+
+        List<Object[]> pendentes = parametros;
+        long esperaMs = auditoriaProperties.getBackoffGravacaoMs();
+        for (int tentativa = 1; ; tentativa++) {
+            pendentes = gravarUmAUm(pendentes);
+            if (pendentes.isEmpty() || tentativa >= tentativas) {
+                break;
+            }
+            try {
+                Thread.sleep(esperaMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            esperaMs *= 2;
+        }
+
+        if (!pendentes.isEmpty()) {
+            falhas.increment(pendentes.size());
+            log.error("{} eventos de auditoria perdidos após {} tentativas de gravação", pendentes.size(), tentativas);
+        }
+    }
+
+    /**
+     * Grava os eventos um a um. Eventos recusados pelo banco são descartados;
+     * no primeiro erro de acesso, para e devolve os eventos ainda não gravados.
+     *
+     * @param parametros Parâmetros do INSERT de cada evento
+     * @return Eventos a tentar de novo
+     */
+    private List<Object[]> gravarUmAUm(List<Object[]> parametros) {
+        for (int i = 0; i < parametros.size(); i++) {
+            try {
+                jdbcTemplate.update(SQL_INSERT, parametros.get(i));
+                gravados.increment();
+            } catch (DataIntegrityViolationException e) {
+                falhas.increment();
+                log.error("Evento de auditoria {} ({}) descartado: {}",
+                        parametros.get(i)[0], parametros.get(i)[2], e.getMessage());
+            } catch (Exception e) {
+                log.warn("Erro ao gravar evento de auditoria, {} eventos aguardam nova tentativa: {}",
+                        parametros.size() - i, e.getMessage());
+                return new ArrayList<>(parametros.subList(i, parametros.size()));
+            }
+        }
+        return List.of();
+    }
+
+    private Object[] parametros(EventoAuditoria evento) throws JsonProcessingException {
+        return new Object[]{
+                evento.getEventoTipo(),
+                evento.getAgregadoTipo(),
+                evento.getAgregadoId(),
+                evento.getUsuario() != null ? evento.getUsuario() : "SISTEMA",
+                json(evento.getDados()),
+                json(evento.getMetadados()),
+                evento.getCriadoEm() != null ? evento.getCriadoEm() : OffsetDateTime.now()
+        };
+    }
+
+    private String json(Map<String, Object> valor) throws JsonProcessingException {
+        return valor != null ? objectMapper.writeValueAsString(valor) : null;
+    }
+}
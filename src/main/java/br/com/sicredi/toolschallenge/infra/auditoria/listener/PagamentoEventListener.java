@@ -3,10 +3,12 @@ package br.com.sicredi.toolschallenge.infra.auditoria.listener;
 import br.com.sicredi.toolschallenge.infra.auditoria.service.AuditoriaService;
 import br.com.sicredi.toolschallenge.pagamento.events.PagamentoCriadoEvento;
 import br.com.sicredi.toolschallenge.pagamento.events.PagamentoStatusAlteradoEvento;
+import br.com.sicredi.toolschallenge.shared.config.ExecutorConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -15,6 +17,7 @@ import java.util.Map;
 /**
  * Listener para eventos de domínio de Pagamento.
  * Registra eventos na auditoria para rastreabilidade completa.
+ * Executa no executor de auditoria, fora da thread da requisição.
  */
 @Slf4j
 @Component
@@ -27,6 +30,7 @@ public class PagamentoEventListener {
     /**
      * Escuta eventos de criação de pagamento
      */
+    @Async(ExecutorConfig.EXECUTOR_AUDITORIA)
     @EventListener
     public void onPagamentoCriado(PagamentoCriadoEvento evento) {
         log.debug("Recebido evento de pagamento criado: {}", evento.getIdPagamento());
@@ -49,6 +53,7 @@ public class PagamentoEventListener {
     /**
      * Escuta eventos de alteração de status de pagamento
      */
+    @Async(ExecutorConfig.EXECUTOR_AUDITORIA)
     @EventListener
     public void onPagamentoStatusAlterado(PagamentoStatusAlteradoEvento evento) {
         log.debug("Recebido evento de status alterado: {} -> {}", 
@@ -2,10 +2,10 @@ package br.com.sicredi.toolschallenge.infra.auditoria.repository;
 
 import br.com.sicredi.toolschallenge.infra.auditoria.EventoAuditoria;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -38,8 +38,11 @@ public interface EventoAuditoriaRepository extends JpaRepository<EventoAuditoria
     /**
      * Busca eventos por tipo de evento
      */
-    List<EventoAuditoria> findByEventoTipoOrderByCriadoEmDesc(String eventoTipo);    /**
-     * Busca eventos em um período
+    List<EventoAuditoria> findByEventoTipoOrderByCriadoEmDesc(String eventoTipo);
+
+    /**
+     * Busca eventos em um período.
+     * O filtro em criado_em restringe a leitura às partições mensais do intervalo.
      */
     @Query("SELECT e FROM EventoAuditoria e WHERE e.criadoEm BETWEEN :dataInicio AND :dataFim ORDER BY e.criadoEm DESC")
     List<EventoAuditoria> findByPeriodo(
@@ -58,6 +61,24 @@ public interface EventoAuditoriaRepository extends JpaRepository<EventoAuditoria
     @Query("SELECT COUNT(e) FROM EventoAuditoria e WHERE e.agregadoTipo = :agregadoTipo")
     Long countByAgregadoTipo(@Param("agregadoTipo") String agregadoTipo);
 
+    /**
+     * Total de eventos de auditoria, somado de consulta.contagem_auditoria
+     * (mantida por trigger e descontada na retenção) em vez de COUNT na tabela.
+     */
+    @Query(value = "SELECT CAST(COALESCE(SUM(quantidade), 0) AS BIGINT) FROM consulta.contagem_auditoria",
+           nativeQuery = true)
+    long somarContagem();
+
+    /**
+     * Total de eventos de um tipo de agregado, somado de consulta.contagem_auditoria
+     */
+    @Query(value = """
+            SELECT CAST(COALESCE(SUM(quantidade), 0) AS BIGINT)
+            FROM consulta.contagem_auditoria
+            WHERE agregado_tipo = :agregadoTipo
+            """, nativeQuery = true)
+    long somarContagemPorAgregadoTipo(@Param("agregadoTipo") String agregadoTipo);
+
     /**
      * Busca últimos eventos
      */
@@ -65,9 +86,38 @@ public interface EventoAuditoriaRepository extends JpaRepository<EventoAuditoria
     List<EventoAuditoria> findUltimosEventos(org.springframework.data.domain.Pageable pageable);
 
     /**
-     * Remove eventos antigos (para limpeza periódica)
+     * Busca últimos eventos a partir de uma data.
+     * O limite inferior em criado_em permite ler apenas as partições recentes.
+     */
+    @Query("SELECT e FROM EventoAuditoria e WHERE e.criadoEm >= :desde ORDER BY e.criadoEm DESC")
+    List<EventoAuditoria> findUltimosEventosDesde(
+            @Param("desde") OffsetDateTime desde,
+            org.springframework.data.domain.Pageable pageable
+    );
+
+    /**
+     * Pré-cria as partições mensais de auditoria dos próximos meses.
+     *
+     * @param mesesFuturos Quantidade de meses à frente
+     * @return Quantidade de partições criadas
+     */
+    @Query(value = "SELECT infra.criar_particoes_auditoria(:mesesFuturos)", nativeQuery = true)
+    int criarParticoesFuturas(@Param("mesesFuturos") int mesesFuturos);
+
+    /**
+     * Remove (DETACH + DROP) uma partição mensal expirada, descontando as
+     * contagens do mês. Delega para a função infra.remover_particao_auditoria
+     * (migration V19).
+     *
+     * Roda em transação própria: o DETACH mantém ACCESS EXCLUSIVE em
+     * infra.evento_auditoria até o commit, então cada partição é removida e
+     * liberada antes da próxima.
+     *
+     * @param diasRetencao Retenção em dias
+     * @param lockTimeoutMs Espera máxima pelo lock do DETACH
+     * @return 1 se removeu uma partição, 0 se não há mais partições expiradas, -1 em lock_timeout
      */
-    @Modifying
-    @Query("DELETE FROM EventoAuditoria e WHERE e.criadoEm < :dataLimite")
-    void deleteEventosAntigos(@Param("dataLimite") OffsetDateTime dataLimite);
-}
\ No newline at end of file
+    @Transactional
+    @Query(value = "SELECT infra.remover_particao_auditoria(:diasRetencao, :lockTimeoutMs)", nativeQuery = true)
+    int removerParticaoExpirada(@Param("diasRetencao") int diasRetencao, @Param("lockTimeoutMs") int lockTimeoutMs);
+}
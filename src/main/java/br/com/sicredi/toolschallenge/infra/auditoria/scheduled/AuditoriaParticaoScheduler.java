@@ -0,0 +1,59 @@
+package br.com.sicredi.toolschallenge.infra.auditoria.scheduled;
+
+import br.com.sicredi.toolschallenge.infra.auditoria.service.AuditoriaService;
+import br.com.sicredi.toolschallenge.shared.config.AuditoriaProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler de manutenção das partições mensais de infra.evento_auditoria.
+ *
+ * - Na inicialização e diariamente: pré-cria as partições dos próximos meses
+ * - Diariamente: remove (DETACH + DROP) as partições fora da retenção
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditoriaParticaoScheduler {
+
+    private final AuditoriaService auditoriaService;
+    private final AuditoriaProperties auditoriaProperties;
+
+    /**
+     * Garante as partições futuras ao subir a aplicação
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void garantirParticoesNaInicializacao() {
+        criarParticoesFuturas();
+    }
+
+    /**
+     * Manutenção das partições (executa diariamente à 00:30).
+     * Mantém eventos dos últimos auditoria.dias-retencao dias.
+     */
+    @Scheduled(cron = "0 30 0 * * *")
+    public void manterParticoes() {
+        criarParticoesFuturas();
+
+        log.info("Iniciando limpeza de eventos de auditoria antigos");
+
+        try {
+            auditoriaService.limparEventosAntigos(auditoriaProperties.getDiasRetencao());
+            log.info("Limpeza de eventos de auditoria concluída com sucesso");
+        } catch (Exception e) {
+            log.error("Erro ao limpar eventos de auditoria antigos: {}", e.getMessage(), e);
+        }
+    }
+
+    private void criarParticoesFuturas() {
+        try {
+            auditoriaService.criarParticoesFuturas(auditoriaProperties.getMesesParticoesFuturas());
+        } catch (Exception e) {
+            log.error("Erro ao criar partições de auditoria: {}", e.getMessage(), e);
+        }
+    }
+}
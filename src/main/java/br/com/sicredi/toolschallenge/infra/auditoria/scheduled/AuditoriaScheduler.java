@@ -9,7 +9,9 @@ import org.springframework.stereotype.Component;
 import java.util.Map;
 
 /**
- * Scheduler para tarefas periódicas de auditoria
+ * Scheduler para tarefas periódicas de auditoria.
+ * A manutenção das partições (criação e retenção) fica no
+ * {@link AuditoriaParticaoScheduler}.
  */
 @Slf4j
 @Component
@@ -18,23 +20,6 @@ public class AuditoriaScheduler {
 
     private final AuditoriaService auditoriaService;
 
-    /**
-     * Limpa eventos de auditoria antigos (executa diariamente à meia-noite)
-     * Mantém eventos dos últimos 90 dias
-     */
-    @Scheduled(cron = "0 0 0 * * *")
-    public void limparEventosAntigos() {
-        log.info("Iniciando limpeza de eventos de auditoria antigos");
-        
-        try {
-            int diasRetencao = 90; // 90 dias de retenção
-            auditoriaService.limparEventosAntigos(diasRetencao);
-            log.info("Limpeza de eventos de auditoria concluída com sucesso");
-        } catch (Exception e) {
-            log.error("Erro ao limpar eventos de auditoria antigos: {}", e.getMessage(), e);
-        }
-    }
-
     /**
      * Gera métricas de auditoria (executa a cada 1 hora)
      */
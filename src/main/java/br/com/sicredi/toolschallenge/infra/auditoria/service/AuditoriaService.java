@@ -1,13 +1,13 @@
 package br.com.sicredi.toolschallenge.infra.auditoria.service;
 
 import br.com.sicredi.toolschallenge.infra.auditoria.EventoAuditoria;
+import br.com.sicredi.toolschallenge.infra.auditoria.escritor.AuditoriaEscritorLote;
 import br.com.sicredi.toolschallenge.infra.auditoria.repository.EventoAuditoriaRepository;
+import br.com.sicredi.toolschallenge.shared.config.AuditoriaProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
@@ -25,14 +25,14 @@ import java.util.Map;
 public class AuditoriaService {
 
     private final EventoAuditoriaRepository repository;
+    private final AuditoriaProperties auditoriaProperties;
+    private final AuditoriaEscritorLote escritorLote;
 
     /**
      * Registra um evento de auditoria de forma assíncrona.
-     * Usa propagação REQUIRES_NEW para garantir que a auditoria seja salva
-     * mesmo se a transação principal falhar.
+     * O evento é enfileirado no {@link AuditoriaEscritorLote}, que grava em lote
+     * fora da transação principal (a auditoria é salva mesmo se ela falhar).
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void registrarEvento(
             String agregadoTipo,
             String agregadoId,
@@ -49,7 +49,7 @@ public class AuditoriaService {
                     .usuario("SISTEMA")
                     .build();
 
-            repository.save(evento);
+            escritorLote.enfileirar(evento);
             
             log.debug("Evento de auditoria registrado: tipo={}, agregado={}/{}", 
                     eventoTipo, agregadoTipo, agregadoId);
@@ -63,8 +63,6 @@ public class AuditoriaService {
     /**
      * Registra evento com metadados adicionais
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void registrarEventoComMetadados(
             String agregadoTipo,
             String agregadoId,
@@ -83,7 +81,7 @@ public class AuditoriaService {
                     .usuario("SISTEMA")
                     .build();
 
-            repository.save(evento);
+            escritorLote.enfileirar(evento);
             
             log.debug("Evento de auditoria registrado com metadados: tipo={}, agregado={}/{}", 
                     eventoTipo, agregadoTipo, agregadoId);
@@ -118,32 +116,95 @@ public class AuditoriaService {
     }
 
     /**
-     * Busca últimos eventos
+     * Busca últimos eventos.
+     * Procura primeiro na janela recente (auditoria.janela-ultimos-eventos-dias),
+     * que lê só as partições mais novas; só varre todas as partições se a
+     * janela não tiver eventos suficientes.
      */
     @Transactional(readOnly = true)
     public List<EventoAuditoria> buscarUltimosEventos(int quantidade) {
-        return repository.findUltimosEventos(PageRequest.of(0, quantidade));
+        PageRequest pagina = PageRequest.of(0, quantidade);
+        OffsetDateTime desde = OffsetDateTime.now().minusDays(auditoriaProperties.getJanelaUltimosEventosDias());
+
+        List<EventoAuditoria> recentes = repository.findUltimosEventosDesde(desde, pagina);
+        if (recentes.size() >= quantidade) {
+            return recentes;
+        }
+
+        return repository.findUltimosEventos(pagina);
     }
 
     /**
-     * Estatísticas de auditoria
+     * Estatísticas de auditoria.
+     * Somadas das contagens por minuto/hora/dia (consulta.contagem_auditoria),
+     * sem varrer as partições de infra.evento_auditoria.
      */
     @Transactional(readOnly = true)
     public Map<String, Long> obterEstatisticas() {
         Map<String, Long> stats = new HashMap<>();
-        stats.put("totalEventos", repository.count());
-        stats.put("eventosPagamento", repository.countByAgregadoTipo("PAGAMENTO"));
-        stats.put("eventosEstorno", repository.countByAgregadoTipo("ESTORNO"));
+        stats.put("totalEventos", repository.somarContagem());
+        stats.put("eventosPagamento", repository.somarContagemPorAgregadoTipo("PAGAMENTO"));
+        stats.put("eventosEstorno", repository.somarContagemPorAgregadoTipo("ESTORNO"));
         return stats;
     }
 
     /**
-     * Limpeza de eventos antigos (executado periodicamente)
+     * Limpeza de eventos antigos (executado periodicamente).
+     * Remove partições mensais inteiras (DETACH + DROP) em vez de DELETE linha a linha,
+     * uma por transação.
+     *
+     * Se o DETACH não obtiver o lock em auditoria.lock-timeout-remocao-particao-ms,
+     * tenta de novo até auditoria.tentativas-remocao-particao vezes.
+     *
+     * Sem @Transactional: cada chamada ao repositório é uma transação.
+     *
+     * @param diasRetencao Retenção em dias
+     * @return Quantidade de partições removidas
+     */
+    public int limparEventosAntigos(int diasRetencao) {
+        int lockTimeoutMs = auditoriaProperties.getLockTimeoutRemocaoParticaoMs();
+        int removidas = 0;
+        int timeouts = 0;
+
+        while (true) {
+            int resultado = repository.removerParticaoExpirada(diasRetencao, lockTimeoutMs);
+            if (resultado == 0) {
+                break;
+            }
+            if (resultado > 0) {
+                removidas++;
+                continue;
+            }
+
+            timeouts++;
+            if (timeouts > auditoriaProperties.getTentativasRemocaoParticao()) {
+                log.warn("Remoção de partições de auditoria interrompida: lock_timeout em {} tentativas", timeouts);
+                break;
+            }
+            try {
+                Thread.sleep((long) lockTimeoutMs * timeouts);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        log.info("Removidas {} partições de auditoria com eventos anteriores a {} dias", removidas, diasRetencao);
+        return removidas;
+    }
+
+    /**
+     * Pré-cria as partições mensais de auditoria dos próximos meses.
+     *
+     * @param mesesFuturos Quantidade de meses à frente
+     * @return Quantidade de partições criadas
      */
     @Transactional
-    public void limparEventosAntigos(int diasRetencao) {
-        OffsetDateTime dataLimite = OffsetDateTime.now().minusDays(diasRetencao);
-        repository.deleteEventosAntigos(dataLimite);
-        log.info("Eventos de auditoria anteriores a {} foram removidos", dataLimite);
+    public int criarParticoesFuturas(int mesesFuturos) {
+        int criadas = repository.criarParticoesFuturas(mesesFuturos);
+        if (criadas > 0) {
+            log.info("Criadas {} partições de auditoria", criadas);
+        }
+        return criadas;
     }
 }
@@ -0,0 +1,232 @@
+package br.com.sicredi.toolschallenge.infra.cache;
+
+import br.com.sicredi.toolschallenge.shared.config.CacheConsultaProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache de respostas de consulta em duas camadas:
+ * - Local (Caffeine): em memória, sem rede
+ * - Redis: compartilhado entre instâncias
+ *
+ * Fluxo de leitura:
+ * 1. Camada local
+ * 2. Redis (e recarrega a camada local)
+ * 3. Banco, via carregador (e grava nas duas camadas)
+ *
+ * TTL por entrada: respostas em status terminal não mudam mais e ficam em
+ * cache por muito tempo; as demais (PENDENTE) ficam poucos segundos.
+ *
+ * Single-flight: consultas simultâneas à mesma chave sem cache aguardam o
+ * mesmo carregamento, então uma rajada de polling gera uma consulta ao banco
+ * por instância. Exceções do carregador (ex.: RecursoNaoEncontradoException)
+ * são repassadas a todos e não são cacheadas.
+ *
+ * Invalidação: {@link #invalidar(String)} remove a chave das duas camadas e
+ * descarta carregamentos em andamento (que leram o estado anterior). As
+ * demais instâncias removem da camada local ao receber a mensagem no canal
+ * de invalidação ({@link #invalidarLocal(String)}).
+ *
+ * Métricas:
+ * - cache.consulta{cache, resultado=local|redis|origem}
+ */
+@Slf4j
+public class CacheConsulta<V> {
+
+    private static final String REDIS_PREFIX = "cache-consulta:";
+
+    private final String nome;
+    private final Class<V> tipo;
+    private final Predicate<V> terminal;
+    private final CacheConsultaProperties properties;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, Entrada<V>> local;
+    private final ConcurrentMap<String, CompletableFuture<V>> carregamentos = new ConcurrentHashMap<>();
+
+    public CacheConsulta(String nome, Class<V> tipo, Predicate<V> terminal, CacheConsultaProperties properties,
+                         RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.nome = nome;
+        this.tipo = tipo;
+        this.terminal = terminal;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        long ttlTerminal = TimeUnit.SECONDS.toNanos(properties.getTtlLocalTerminalSegundos());
+        long ttlNaoTerminal = TimeUnit.SECONDS.toNanos(properties.getTtlNaoTerminalSegundos());
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximoEntradasLocal())
+                .expireAfter(new Expiry<String, Entrada<V>>() {
+                    @Override
+                    public long expireAfterCreate(String chave, Entrada<V> entrada, long agora) {
+                        return entrada.terminal() ? ttlTerminal : ttlNaoTerminal;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, Entrada<V> entrada, long agora, long restante) {
+                        return expireAfterCreate(chave, entrada, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, Entrada<V> entrada, long agora, long restante) {
+                        return restante;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Cache que sempre delega ao carregador (cache-consulta.enabled=false).
+     *
+     * @param nome Nome do cache
+     * @return Cache sem camadas
+     */
+    public static <V> CacheConsulta<V> desabilitado(String nome) {
+        CacheConsultaProperties properties = new CacheConsultaProperties();
+        properties.setEnabled(false);
+        return new CacheConsulta<>(nome, null, valor -> false, properties, null, null, null);
+    }
+
+    /**
+     * Obtém a resposta da chave, carregando do banco apenas se nenhuma camada a tiver.
+     *
+     * @param chave Identificador de negócio (id_transacao, id_estorno)
+     * @param carregador Consulta ao banco
+     * @return Resposta
+     */
+    public V obter(String chave, Supplier<V> carregador) {
+        if (!properties.isEnabled()) {
+            return carregador.get();
+        }
+
+        Entrada<V> entrada = local.getIfPresent(chave);
+        if (entrada != null) {
+            contar("local");
+            return entrada.valor();
+        }
+
+        CompletableFuture<V> novo = new CompletableFuture<>();
+        CompletableFuture<V> emAndamento = carregamentos.putIfAbsent(chave, novo);
+        if (emAndamento != null) {
+            return aguardar(emAndamento);
+        }
+
+        try {
+            V valor = buscarNoRedis(chave);
+            boolean doRedis = valor != null;
+            if (!doRedis) {
+                valor = carregador.get();
+            }
+            contar(doRedis ? "redis" : "origem");
+
+            // Invalidado durante o carregamento: entrega o valor lido, mas não o cacheia
+            if (carregamentos.remove(chave, novo)) {
+                boolean valorTerminal = terminal.test(valor);
+                local.put(chave, new Entrada<>(valor, valorTerminal));
+                if (!doRedis) {
+                    salvarNoRedis(chave, valor, valorTerminal);
+                }
+            }
+
+            novo.complete(valor);
+            return valor;
+
+        } catch (RuntimeException e) {
+            carregamentos.remove(chave, novo);
+            novo.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Remove a chave das duas camadas e descarta carregamentos em andamento.
+     * As demais instâncias são avisadas pelo CacheConsultaInvalidador.
+     *
+     * @param chave Identificador de negócio
+     */
+    public void invalidar(String chave) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        invalidarLocal(chave);
+        try {
+            redisTemplate.delete(chaveRedis(chave));
+        } catch (Exception e) {
+            log.warn("Erro ao invalidar cache {} no Redis para chave {}: {}", nome, chave, e.getMessage());
+        }
+    }
+
+    /**
+     * Remove a chave apenas da camada local (invalidação recebida de outra instância).
+     *
+     * @param chave Identificador de negócio
+     */
+    public void invalidarLocal(String chave) {
+        carregamentos.remove(chave);
+        local.invalidate(chave);
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    private V aguardar(CompletableFuture<V> carregamento) {
+        try {
+            return carregamento.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private V buscarNoRedis(String chave) {
+        try {
+            Object json = redisTemplate.opsForValue().get(chaveRedis(chave));
+            return json != null ? objectMapper.readValue(json.toString(), tipo) : null;
+        } catch (Exception e) {
+            log.warn("Erro ao buscar cache {} no Redis para chave {}: {}", nome, chave, e.getMessage());
+            return null;
+        }
+    }
+
+    private void salvarNoRedis(String chave, V valor, boolean valorTerminal) {
+        try {
+            long ttl = valorTerminal ? properties.getTtlRedisTerminalSegundos() : properties.getTtlNaoTerminalSegundos();
+            redisTemplate.opsForValue().set(chaveRedis(chave), objectMapper.writeValueAsString(valor), ttl, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Erro ao salvar cache {} no Redis para chave {}: {}", nome, chave, e.getMessage());
+        }
+    }
+
+    private String chaveRedis(String chave) {
+        return REDIS_PREFIX + nome + ":" + chave;
+    }
+
+    private void contar(String resultado) {
+        meterRegistry.counter("cache.consulta", "cache", nome, "resultado", resultado).increment();
+    }
+
+    private record Entrada<V>(V valor, boolean terminal) {
+    }
+}
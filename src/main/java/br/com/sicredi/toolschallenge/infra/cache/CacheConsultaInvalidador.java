@@ -0,0 +1,85 @@
+package br.com.sicredi.toolschallenge.infra.cache;
+
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoResponseDTO;
+import br.com.sicredi.toolschallenge.estorno.events.EstornoStatusAlteradoEvento;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import br.com.sicredi.toolschallenge.pagamento.events.PagamentoStatusAlteradoEvento;
+import br.com.sicredi.toolschallenge.shared.config.CacheConsultaProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalida o cache de consultas a partir dos eventos de status alterado.
+ *
+ * Os mesmos eventos de domínio que vão para o outbox e para a auditoria
+ * (PagamentoStatusAlteradoEvento, EstornoStatusAlteradoEvento) removem a
+ * resposta do cache após o commit: antes dele, outra consulta poderia
+ * recarregar o estado anterior do banco.
+ *
+ * A invalidação é propagada às demais instâncias pelo canal Redis
+ * cache-consulta.canal-invalidacao (mensagem "{cache}:{chave}"), já que a
+ * camada local (Caffeine) é de cada instância.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheConsultaInvalidador implements MessageListener {
+
+    private final CacheConsulta<PagamentoResponseDTO> cachePagamentos;
+    private final CacheConsulta<EstornoResponseDTO> cacheEstornos;
+    private final CacheConsultaProperties cacheConsultaProperties;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPagamentoStatusAlterado(PagamentoStatusAlteradoEvento evento) {
+        invalidar(cachePagamentos, evento.getIdTransacao());
+    }
+
+    // No evento de estorno, idTransacao carrega o id_estorno
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEstornoStatusAlterado(EstornoStatusAlteradoEvento evento) {
+        invalidar(cacheEstornos, evento.getIdTransacao());
+    }
+
+    /**
+     * Recebe invalidações publicadas por qualquer instância (inclusive esta).
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object corpo = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (corpo == null) {
+            return;
+        }
+
+        String[] partes = corpo.toString().split(":", 2);
+        if (partes.length != 2) {
+            log.warn("Mensagem de invalidação de cache inválida: {}", corpo);
+            return;
+        }
+
+        if (cachePagamentos.getNome().equals(partes[0])) {
+            cachePagamentos.invalidarLocal(partes[1]);
+        } else if (cacheEstornos.getNome().equals(partes[0])) {
+            cacheEstornos.invalidarLocal(partes[1]);
+        }
+    }
+
+    private void invalidar(CacheConsulta<?> cache, String chave) {
+        if (!cacheConsultaProperties.isEnabled() || chave == null) {
+            return;
+        }
+
+        cache.invalidar(chave);
+        try {
+            redisTemplate.convertAndSend(cacheConsultaProperties.getCanalInvalidacao(), cache.getNome() + ":" + chave);
+        } catch (Exception e) {
+            log.warn("Erro ao propagar invalidação do cache {} para chave {}: {}", cache.getNome(), chave, e.getMessage());
+        }
+        log.debug("Cache {} invalidado para chave {}", cache.getNome(), chave);
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.sicredi.toolschallenge.infra.contagem.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Manutenção das contagens agregadas do schema consulta.
+ *
+ * Os incrementos são feitos pelos triggers da V16 (mesma transação da escrita);
+ * as consultas por período estão em PagamentoRepository, EstornoRepository e
+ * EventoAuditoriaRepository.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContagemRepository {
+
+    static final String SQL_COMPACTAR = "SELECT consulta.compactar_contagens(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Compacta buckets de minuto em hora e de hora em dia (UTC).
+     * Cada passo é um único comando atômico: dispensa transação.
+     *
+     * @param horasMinuto Horas mantidas em buckets de minuto
+     * @param diasHora Dias mantidos em buckets de hora
+     * @return Linhas compactadas
+     */
+    public int compactar(int horasMinuto, int diasHora) {
+        Integer compactadas = jdbcTemplate.queryForObject(SQL_COMPACTAR, Integer.class, horasMinuto, diasHora);
+        return compactadas == null ? 0 : compactadas;
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.sicredi.toolschallenge.infra.contagem.scheduled;
+
+import br.com.sicredi.toolschallenge.infra.contagem.repository.ContagemRepository;
+import br.com.sicredi.toolschallenge.shared.config.ContagemProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler de compactação das contagens agregadas.
+ *
+ * - A cada hora: buckets de minuto mais antigos que contagem.horas-minuto viram
+ *   buckets de hora; buckets de hora mais antigos que contagem.dias-hora viram
+ *   buckets de dia
+ *
+ * Mantém as tabelas de contagem em poucos milhares de linhas, de modo que as
+ * contagens por período somam centenas de buckets.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "contagem.enabled", havingValue = "true", matchIfMissing = true)
+public class ContagemCompactacaoScheduler {
+
+    private final ContagemRepository contagemRepository;
+    private final ContagemProperties contagemProperties;
+
+    /**
+     * Compactação (executa a cada hora, aos 5 minutos)
+     */
+    @Scheduled(cron = "0 5 * * * *")
+    public void compactar() {
+        try {
+            long inicio = System.nanoTime();
+            int compactadas = contagemRepository.compactar(
+                    contagemProperties.getHorasMinuto(), contagemProperties.getDiasHora());
+            log.info("Contagens compactadas: {} buckets em {}ms",
+                    compactadas, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Erro ao compactar contagens: {}", e.getMessage(), e);
+        }
+    }
+}
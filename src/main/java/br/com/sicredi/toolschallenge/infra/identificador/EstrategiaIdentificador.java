@@ -0,0 +1,26 @@
+package br.com.sicredi.toolschallenge.infra.identificador;
+
+/**
+ * Estratégia de geração dos identificadores de negócio (id_transacao, id_estorno).
+ *
+ * @see GeradorIdentificador
+ */
+public enum EstrategiaIdentificador {
+
+    /**
+     * UUID versão 4 (UUID.randomUUID()).
+     *
+     * Totalmente aleatório: cada INSERT cai em um ponto qualquer dos índices
+     * B-tree, o que causa page splits e leituras fora do cache conforme a
+     * tabela cresce. Usa SecureRandom compartilhado.
+     */
+    UUID_ALEATORIO,
+
+    /**
+     * UUID versão 7 (RFC 9562): 48 bits de timestamp Unix em ms + 74 bits aleatórios.
+     *
+     * Ordenado pelo tempo: INSERTs vão para a borda direita dos índices,
+     * mantendo as páginas quentes em cache e o índice compacto.
+     */
+    UUID_V7
+}
@@ -0,0 +1,45 @@
+package br.com.sicredi.toolschallenge.infra.identificador;
+
+import br.com.sicredi.toolschallenge.shared.config.IdentificadorProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Gera os identificadores de negócio dos agregados.
+ *
+ * A estratégia é escolhida por agregado (identificador.pagamento e
+ * identificador.estorno). Com UUID_V7, os INSERTs em
+ * uk_pagamento_id_transacao, idx_pagamento_id_transacao, idx_estorno_id_estorno
+ * e no índice da FK estorno.id_transacao vão para a borda direita do B-tree
+ * em vez de pontos aleatórios.
+ */
+@Component
+@RequiredArgsConstructor
+public class GeradorIdentificador {
+
+    private final IdentificadorProperties identificadorProperties;
+    private final GeradorUuidV7 geradorUuidV7 = new GeradorUuidV7();
+
+    /**
+     * @return Novo id_transacao de pagamento
+     */
+    public String novoIdTransacao() {
+        return gerar(identificadorProperties.getPagamento());
+    }
+
+    /**
+     * @return Novo id_estorno
+     */
+    public String novoIdEstorno() {
+        return gerar(identificadorProperties.getEstorno());
+    }
+
+    private String gerar(EstrategiaIdentificador estrategia) {
+        return switch (estrategia) {
+            case UUID_V7 -> geradorUuidV7.gerar().toString();
+            case UUID_ALEATORIO -> UUID.randomUUID().toString();
+        };
+    }
+}
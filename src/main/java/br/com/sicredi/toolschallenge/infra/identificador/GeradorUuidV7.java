@@ -0,0 +1,64 @@
+package br.com.sicredi.toolschallenge.infra.identificador;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Gerador de UUID versão 7 (RFC 9562).
+ *
+ * Layout (128 bits):
+ * - 48 bits: timestamp Unix em milissegundos
+ * - 4 bits: versão (0111)
+ * - 12 bits: aleatórios (rand_a)
+ * - 2 bits: variante (10)
+ * - 62 bits: aleatórios (rand_b)
+ *
+ * Os bits aleatórios vêm de ThreadLocalRandom: sem o SecureRandom compartilhado
+ * de UUID.randomUUID(), threads concorrentes não disputam a mesma fonte de
+ * entropia. Os IDs não são segredos (o acesso é controlado pelos scopes do
+ * JWT), então não precisam de aleatoriedade criptográfica; 74 bits por
+ * milissegundo tornam colisões desprezíveis.
+ *
+ * Dentro do mesmo milissegundo a ordem entre IDs não é garantida; a localidade
+ * nos índices vem do prefixo de tempo.
+ */
+public class GeradorUuidV7 {
+
+    private static final long VERSAO = 0x7000L;
+    private static final long VARIANTE = 0x8000_0000_0000_0000L;
+    private static final long MASCARA_RAND_A = 0x0FFFL;
+    private static final long MASCARA_RAND_B = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final LongSupplier relogio;
+
+    public GeradorUuidV7() {
+        this(System::currentTimeMillis);
+    }
+
+    public GeradorUuidV7(LongSupplier relogio) {
+        this.relogio = relogio;
+    }
+
+    /**
+     * Gera um UUID versão 7.
+     *
+     * @return UUID ordenado pelo instante de geração
+     */
+    public UUID gerar() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long bitsAltos = (relogio.getAsLong() << 16) | VERSAO | (random.nextLong() & MASCARA_RAND_A);
+        long bitsBaixos = VARIANTE | (random.nextLong() & MASCARA_RAND_B);
+        return new UUID(bitsAltos, bitsBaixos);
+    }
+
+    /**
+     * Extrai o timestamp Unix (ms) de um UUID versão 7.
+     *
+     * @param uuid UUID versão 7
+     * @return Milissegundos desde 1970-01-01T00:00:00Z
+     */
+    public static long timestampDe(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Map;
  * 
  * Garante que eventos sejam publicados no Kafka de forma transacional:
  * 1. Evento é salvo no banco na mesma transação da mudança de estado
- * 2. Job assíncrono (500ms) processa eventos PENDENTE
+ * 2. Job assíncrono reivindica eventos PENDENTE (lease + SKIP LOCKED)
  * 3. Publica no Kafka e marca como PROCESSADO
  * 4. Em caso de erro, marca como ERRO e incrementa tentativas
  * 
@@ -27,6 +27,8 @@ import java.util.Map;
     indexes = {
         @Index(name = "idx_outbox_status_pendente", columnList = "status, criado_em"),
         @Index(name = "idx_outbox_agregado", columnList = "agregado_tipo, agregado_id"),
+        @Index(name = "idx_outbox_agregado_nao_processado", columnList = "agregado_id, id"),
+        @Index(name = "idx_outbox_retry", columnList = "proxima_tentativa_em"),
         @Index(name = "idx_outbox_criado_em", columnList = "criado_em")
     }
 )
@@ -108,6 +110,20 @@ public class OutboxEvento {
     @Column(name = "processado_em", columnDefinition = "TIMESTAMP WITH TIME ZONE")
     private OffsetDateTime processadoEm;
 
+    /**
+     * Lease de reivindicação: enquanto vigente, o evento pertence à instância
+     * que o reivindicou e não é publicado por outras instâncias
+     */
+    @Column(name = "bloqueado_ate", columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime bloqueadoAte;
+
+    /**
+     * Momento a partir do qual um evento com ERRO pode ser republicado
+     * (backoff exponencial). NULL quando esgotou as tentativas (DLQ)
+     */
+    @Column(name = "proxima_tentativa_em", columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime proximaTentativaEm;
+
     @PrePersist
     protected void onCreate() {
         if (criadoEm == null) {
@@ -130,6 +146,7 @@ public class OutboxEvento {
         this.status = "ERRO";
         this.ultimoErro = mensagemErro;
         this.tentativas++;
+        this.bloqueadoAte = null;
     }
 
     /**
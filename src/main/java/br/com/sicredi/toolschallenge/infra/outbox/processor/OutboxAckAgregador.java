@@ -0,0 +1,136 @@
+package br.com.sicredi.toolschallenge.infra.outbox.processor;
+
+import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService;
+import br.com.sicredi.toolschallenge.shared.config.ExecutorConfig;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Agregador de acks do Kafka para o Outbox.
+ *
+ * Em vez de um findById + save + commit por evento, os resultados das
+ * publicações são acumulados em memória e descarregados periodicamente:
+ * - Sucessos: um UPDATE ... SET status = 'PROCESSADO' WHERE id IN (...) por lote
+ * - Erros: um UPDATE ... SET status = 'ERRO' por lote e mensagem de erro
+ *
+ * Se a instância cair antes da descarga, os eventos continuam PENDENTE e
+ * voltam a ser reivindicados quando o lease expirar (at-least-once).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxAckAgregador {
+
+    private final OutboxService outboxService;
+    private final OutboxProperties outboxProperties;
+
+    private final Queue<Long> processados = new ConcurrentLinkedQueue<>();
+    private final Queue<Falha> falhas = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Registra a confirmação de publicação de um evento.
+     *
+     * @param eventoId ID do evento
+     */
+    public void registrarSucesso(Long eventoId) {
+        processados.add(eventoId);
+    }
+
+    /**
+     * Registra a falha de publicação de um evento.
+     *
+     * @param eventoId ID do evento
+     * @param mensagemErro Mensagem de erro
+     */
+    public void registrarErro(Long eventoId, String mensagemErro) {
+        falhas.add(new Falha(eventoId, mensagemErro));
+    }
+
+    /**
+     * Descarrega os acks acumulados no banco.
+     * Executa no intervalo configurado em outbox.intervalo-flush-ack-ms, no
+     * executor de acks (uma descarga por vez, fora da thread do agendador).
+     */
+    @Async(ExecutorConfig.EXECUTOR_OUTBOX_ACK)
+    @Scheduled(fixedDelayString = "${outbox.intervalo-flush-ack-ms:100}")
+    public void descarregar() {
+        try {
+            descarregarProcessados();
+            descarregarFalhas();
+        } catch (Exception e) {
+            log.error("Erro ao descarregar acks do outbox", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        log.info("Descarregando acks pendentes do outbox antes do desligamento");
+        descarregar();
+    }
+
+    private void descarregarProcessados() {
+        int tamanhoLote = outboxProperties.getTamanhoLoteAck();
+        List<Long> lote = new ArrayList<>(tamanhoLote);
+        Long id;
+
+        while ((id = processados.poll()) != null) {
+            lote.add(id);
+            if (lote.size() == tamanhoLote) {
+                gravarProcessados(lote);
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            gravarProcessados(lote);
+        }
+    }
+
+    private void gravarProcessados(List<Long> lote) {
+        try {
+            outboxService.marcarComoProcessados(lote);
+        } catch (Exception e) {
+            // Eventos continuam PENDENTE e serão republicados após o lease
+            log.error("Erro ao marcar {} eventos como processados", lote.size(), e);
+        }
+    }
+
+    private void descarregarFalhas() {
+        Map<String, List<Long>> porMensagem = new LinkedHashMap<>();
+        Falha falha;
+
+        while ((falha = falhas.poll()) != null) {
+            porMensagem.computeIfAbsent(falha.mensagemErro(), k -> new ArrayList<>()).add(falha.eventoId());
+        }
+
+        int tamanhoLote = outboxProperties.getTamanhoLoteAck();
+        porMensagem.forEach((mensagemErro, ids) -> {
+            for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+                List<Long> lote = ids.subList(inicio, Math.min(inicio + tamanhoLote, ids.size()));
+                try {
+                    outboxService.marcarComoErro(lote, mensagemErro);
+                } catch (Exception e) {
+                    log.error("Erro ao marcar {} eventos como erro", lote.size(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Falha de publicação pendente de gravação.
+     */
+    private record Falha(Long eventoId, String mensagemErro) {
+    }
+}
@@ -0,0 +1,322 @@
+package br.com.sicredi.toolschallenge.infra.outbox.processor;
+
+import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
+import br.com.sicredi.toolschallenge.infra.outbox.service.KafkaPublisherService;
+import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Despachante de eventos do Outbox para o Kafka.
+ *
+ * Distribui os eventos reivindicados entre N workers de thread única,
+ * escolhidos pelo hash do agregado_id:
+ * - Eventos de um mesmo agregado sempre caem no mesmo worker e são
+ *   enviados na ordem em que foram reivindicados
+ * - Agregados diferentes são publicados em paralelo
+ *
+ * Também recebe os eventos da publicação imediata pós-commit
+ * ({@link #despacharImediato(OutboxEvento, List)}), pelo mesmo worker do agregado:
+ * - Só aceita o evento se os eventos anteriores do agregado ainda pendentes
+ *   estiverem todos na publicação imediata desta instância (à frente na
+ *   fila do mesmo worker); caso contrário ele fica para o polling, que
+ *   respeita a ordem do agregado
+ * - Antes do envio, estende o lease de quem esperou na fila além de metade
+ *   do lease do insert; se o lease já expirou (o polling pode ter assumido),
+ *   o evento e os seguintes do mesmo agregado voltam para o polling
+ *
+ * O resultado de cada publicação (PROCESSADO/ERRO) é entregue ao
+ * {@link OutboxAckAgregador}, que grava os acks em lote.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private final KafkaPublisherService kafkaPublisherService;
+    private final OutboxAckAgregador ackAgregador;
+    private final OutboxService outboxService;
+    private final OutboxProperties outboxProperties;
+
+    private ExecutorService[] workers;
+
+    // Eventos da publicação imediata aguardando envio (limita a fila em memória)
+    private final AtomicInteger imediatosEmFila = new AtomicInteger(0);
+
+    // Eventos da publicação imediata aceitos e ainda sem retorno do Kafka, por agregado
+    // (os conjuntos só são lidos e alterados dentro de compute/computeIfPresent)
+    private final ConcurrentHashMap<String, Set<Long>> imediatosPorAgregado = new ConcurrentHashMap<>();
+
+    // Eventos ainda na fila cujo agregado voltou para o polling
+    private final Set<Long> devolvidosAoPolling = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void iniciar() {
+        int quantidade = Math.max(1, outboxProperties.getWorkers());
+        workers = new ExecutorService[quantidade];
+
+        for (int i = 0; i < quantidade; i++) {
+            String nome = "outbox-worker-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, nome);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        log.info("Dispatcher do outbox iniciado com {} workers", quantidade);
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        for (ExecutorService worker : workers) {
+            if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+                worker.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Despacha um lote de eventos para os workers.
+     *
+     * O future retornado completa quando todos os eventos do lote foram
+     * entregues ao produtor Kafka (não aguarda o ack do broker).
+     *
+     * @param eventos Eventos na ordem em que devem ser publicados
+     * @return Future concluído quando o envio do lote terminar
+     */
+    public CompletableFuture<Void> despachar(List<OutboxEvento> eventos) {
+        List<List<OutboxEvento>> porWorker = new ArrayList<>(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            porWorker.add(new ArrayList<>());
+        }
+
+        for (OutboxEvento evento : eventos) {
+            porWorker.get(indiceWorker(evento.getAgregadoId())).add(evento);
+        }
+
+        List<CompletableFuture<Void>> envios = new ArrayList<>();
+        for (int i = 0; i < workers.length; i++) {
+            List<OutboxEvento> lote = porWorker.get(i);
+            if (lote.isEmpty()) {
+                continue;
+            }
+            envios.add(CompletableFuture.runAsync(() -> lote.forEach(this::publicar), workers[i]));
+        }
+
+        return CompletableFuture.allOf(envios.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Despacha um evento recém-commitado (publicação imediata).
+     *
+     * O evento é recusado e fica para o OutboxProcessor após o lease expirar se:
+     * - Algum evento anterior do agregado ainda não processado não estiver na
+     *   publicação imediata desta instância (publicá-lo agora passaria à frente)
+     * - A fila em memória estiver cheia (outbox.capacidade-publicacao-imediata)
+     *
+     * @param evento Evento já persistido e commitado
+     * @param anterioresNaoProcessados IDs dos eventos PENDENTE ou ERRO do agregado criados antes dele
+     * @return true se o evento foi aceito para envio
+     */
+    public boolean despacharImediato(OutboxEvento evento, List<Long> anterioresNaoProcessados) {
+        boolean[] aceito = {false};
+        imediatosPorAgregado.compute(chaveAgregado(evento), (agregado, emAndamento) -> {
+            Set<Long> ids = emAndamento != null ? emAndamento : new HashSet<>();
+            if (!ids.containsAll(anterioresNaoProcessados)) {
+                log.debug("Agregado {} com eventos anteriores fora da publicação imediata, evento {} fica para o polling",
+                        agregado, evento.getId());
+                return emAndamento;
+            }
+            if (imediatosEmFila.incrementAndGet() > outboxProperties.getCapacidadePublicacaoImediata()) {
+                imediatosEmFila.decrementAndGet();
+                log.debug("Fila de publicação imediata cheia, evento {} fica para o polling", evento.getId());
+                return emAndamento;
+            }
+            ids.add(evento.getId());
+            aceito[0] = true;
+            return ids;
+        });
+
+        if (!aceito[0]) {
+            return false;
+        }
+
+        try {
+            workers[indiceWorker(evento.getAgregadoId())].execute(() -> publicarImediato(evento));
+            return true;
+        } catch (RejectedExecutionException e) {
+            imediatosEmFila.decrementAndGet();
+            devolverAoPolling(evento);
+            log.debug("Worker encerrado, evento {} fica para o polling", evento.getId());
+            return false;
+        }
+    }
+
+    /**
+     * Calcula o worker responsável por um agregado.
+     *
+     * @param agregadoId ID do agregado
+     * @return Índice do worker
+     */
+    int indiceWorker(String agregadoId) {
+        return Math.floorMod(agregadoId != null ? agregadoId.hashCode() : 0, workers.length);
+    }
+
+    /**
+     * Publica um evento da publicação imediata no worker do agregado.
+     *
+     * @param evento Evento aceito por {@link #despacharImediato(OutboxEvento, List)}
+     */
+    private void publicarImediato(OutboxEvento evento) {
+        imediatosEmFila.decrementAndGet();
+
+        if (devolvidosAoPolling.remove(evento.getId())) {
+            log.debug("Agregado {} voltou para o polling, evento {} não é publicado pela fila imediata",
+                    evento.getAgregadoId(), evento.getId());
+            return;
+        }
+        if (!garantirLease(evento)) {
+            devolverAoPolling(evento);
+            return;
+        }
+
+        publicar(evento).whenComplete((resultado, ex) -> concluirImediato(evento));
+    }
+
+    /**
+     * Garante que o lease do evento cubra o envio.
+     *
+     * Com mais de metade do lease do insert restante, nada é feito (caso comum:
+     * a espera na fila é de milissegundos). Abaixo disso, o lease é estendido
+     * para outbox.lease-segundos, o mesmo prazo que o polling usa para publicar.
+     *
+     * @param evento Evento da publicação imediata
+     * @return false se o lease expirou na fila (o polling pode ter reivindicado o evento)
+     */
+    private boolean garantirLease(OutboxEvento evento) {
+        OffsetDateTime agora = OffsetDateTime.now();
+        long margemMs = outboxProperties.getLeasePublicacaoImediataSegundos() * 500L;
+        if (evento.getBloqueadoAte() == null || evento.getBloqueadoAte().isAfter(agora.plus(margemMs, ChronoUnit.MILLIS))) {
+            return true;
+        }
+
+        OffsetDateTime novoLease = agora.plusSeconds(outboxProperties.getLeaseSegundos());
+        try {
+            if (outboxService.renovarLeaseImediato(evento, novoLease)) {
+                evento.setBloqueadoAte(novoLease);
+                return true;
+            }
+            log.debug("Lease do evento {} expirou na fila da publicação imediata, evento fica para o polling",
+                    evento.getId());
+        } catch (Exception e) {
+            log.warn("Falha ao estender o lease do evento {}, evento fica para o polling: {}",
+                    evento.getId(), e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Devolve o evento ao polling junto com os eventos seguintes do mesmo
+     * agregado ainda na fila: publicá-los agora passaria à frente dele.
+     *
+     * Os eventos continuam PENDENTE com o lease do insert; o polling os
+     * reivindica em ordem depois que os leases expiram.
+     */
+    private void devolverAoPolling(OutboxEvento evento) {
+        imediatosPorAgregado.computeIfPresent(chaveAgregado(evento), (agregado, ids) -> {
+            ids.remove(evento.getId());
+            devolvidosAoPolling.addAll(ids);
+            return null;
+        });
+    }
+
+    /**
+     * Retira o evento da publicação imediata após o retorno do Kafka.
+     */
+    private void concluirImediato(OutboxEvento evento) {
+        devolvidosAoPolling.remove(evento.getId());
+        imediatosPorAgregado.computeIfPresent(chaveAgregado(evento), (agregado, ids) -> {
+            ids.remove(evento.getId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static String chaveAgregado(OutboxEvento evento) {
+        return Objects.toString(evento.getAgregadoId(), "");
+    }
+
+    /**
+     * Publica um único evento e registra o resultado no agregador de acks.
+     *
+     * @param evento Evento a ser publicado
+     * @return Future concluído (sem exceção) quando o resultado for registrado
+     */
+    private CompletableFuture<Void> publicar(OutboxEvento evento) {
+        try {
+            log.debug("Processando evento: id={}, tipo={}, agregado={}",
+                    evento.getId(), evento.getEventoTipo(), evento.getAgregadoId());
+
+            return kafkaPublisherService.publicarEvento(evento)
+                    .handle((result, ex) -> {
+                        if (ex == null) {
+                            ackAgregador.registrarSucesso(evento.getId());
+                        } else {
+                            ackAgregador.registrarErro(evento.getId(), mensagemErro(ex));
+                        }
+                        return null;
+                    });
+
+        } catch (Exception e) {
+            log.error("Erro ao processar evento do outbox: id={}, tipo={}",
+                    evento.getId(), evento.getEventoTipo(), e);
+            ackAgregador.registrarErro(evento.getId(), mensagemErro(e));
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Extrai mensagem de erro limitada a 1000 caracteres.
+     */
+    private String mensagemErro(Throwable ex) {
+        if (ex instanceof CompletionException && ex.getCause() != null) {
+            ex = ex.getCause();
+        }
+
+        String mensagemErro = ex.getMessage();
+        if (mensagemErro == null) {
+            mensagemErro = ex.getClass().getSimpleName();
+        }
+
+        if (mensagemErro.length() > TAMANHO_MAXIMO_ERRO) {
+            mensagemErro = mensagemErro.substring(0, TAMANHO_MAXIMO_ERRO);
+        }
+
+        return mensagemErro;
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.sicredi.toolschallenge.infra.outbox.processor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Listener de notificações do PostgreSQL para o Outbox (modo NOTIFICACAO).
+ *
+ * Mantém uma conexão JDBC dedicada (fora do pool Hikari) em LISTEN no canal
+ * outbox_evento, alimentado pelo trigger trg_outbox_notificar. A cada
+ * notificação, acorda o {@link OutboxProcessor}, que reivindica e publica os
+ * eventos imediatamente em vez de esperar o próximo ciclo de polling.
+ *
+ * O trigger só emite NOTIFY enquanto houver listener registrado em
+ * infra.outbox_ouvinte (V20): ao conectar, o listener se registra e renova o
+ * registro a cada RENOVACAO_MS, com validade de VALIDADE_SEGUNDOS. No modo
+ * POLLING ninguém se registra e os INSERTs no outbox não notificam.
+ *
+ * Em caso de falha da conexão, marca a notificação como inativa (o processador
+ * volta ao polling normal) e reconecta com backoff.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.modo-despacho", havingValue = "NOTIFICACAO")
+public class OutboxNotificacaoListener implements SmartLifecycle {
+
+    private static final String CANAL = "outbox_evento";
+    private static final int TIMEOUT_ESPERA_MS = 1000;
+    private static final long BACKOFF_MAXIMO_MS = 30000;
+    private static final long RENOVACAO_MS = 10000;
+    private static final int VALIDADE_SEGUNDOS = 30;
+
+    static final String SQL_REGISTRAR = """
+            INSERT INTO infra.outbox_ouvinte (instancia, ativo_ate)
+            VALUES (?, now() + make_interval(secs => ?))
+            ON CONFLICT (instancia) DO UPDATE SET ativo_ate = EXCLUDED.ativo_ate
+            """;
+    static final String SQL_REMOVER = "DELETE FROM infra.outbox_ouvinte WHERE instancia = ? OR ativo_ate < now() - INTERVAL '1 day'";
+
+    private final OutboxProcessor outboxProcessor;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String usuario;
+
+    @Value("${spring.datasource.password}")
+    private String senha;
+
+    private volatile boolean executando = false;
+    private Thread thread;
+
+    @Override
+    public void start() {
+        executando = true;
+        thread = new Thread(this::escutar, "outbox-listen");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        outboxProcessor.definirNotificacaoAtiva(false);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    private void escutar() {
+        long backoffMs = 1000;
+
+        while (executando) {
+            String instancia = UUID.randomUUID().toString();
+            try (Connection conexao = DriverManager.getConnection(url, usuario, senha)) {
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("LISTEN " + CANAL);
+                }
+                // Registra depois do LISTEN: o que for inserido antes é drenado pelo acordar() abaixo
+                registrar(conexao, instancia);
+                long proximaRenovacao = System.currentTimeMillis() + RENOVACAO_MS;
+
+                PGConnection pgConexao = conexao.unwrap(PGConnection.class);
+                outboxProcessor.definirNotificacaoAtiva(true);
+                backoffMs = 1000;
+                log.info("Listener do outbox conectado (LISTEN {})", CANAL);
+
+                // Drena o que foi inserido enquanto o listener estava desconectado
+                outboxProcessor.acordar();
+
+                while (executando) {
+                    PGNotification[] notificacoes = pgConexao.getNotifications(TIMEOUT_ESPERA_MS);
+                    if (notificacoes != null && notificacoes.length > 0) {
+                        outboxProcessor.acordar();
+                    }
+                    if (System.currentTimeMillis() >= proximaRenovacao) {
+                        registrar(conexao, instancia);
+                        proximaRenovacao = System.currentTimeMillis() + RENOVACAO_MS;
+                    }
+                }
+
+                remover(conexao, instancia);
+
+            } catch (Exception e) {
+                outboxProcessor.definirNotificacaoAtiva(false);
+                if (!executando) {
+                    return;
+                }
+
+                log.warn("Listener do outbox desconectado, reconectando em {}ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, BACKOFF_MAXIMO_MS);
+            }
+        }
+
+        outboxProcessor.definirNotificacaoAtiva(false);
+    }
+
+    /**
+     * Registra (ou renova) o listener em infra.outbox_ouvinte.
+     */
+    private void registrar(Connection conexao, String instancia) throws SQLException {
+        try (PreparedStatement statement = conexao.prepareStatement(SQL_REGISTRAR)) {
+            statement.setString(1, instancia);
+            statement.setInt(2, VALIDADE_SEGUNDOS);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Remove o registro do listener (e registros antigos de instâncias que caíram).
+     * Sem o registro o trigger deixa de notificar; se falhar, o registro vence sozinho.
+     */
+    private void remover(Connection conexao, String instancia) {
+        try (PreparedStatement statement = conexao.prepareStatement(SQL_REMOVER)) {
+            statement.setString(1, instancia);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            log.debug("Falha ao remover registro do listener do outbox: {}", e.getMessage());
+        }
+    }
+}
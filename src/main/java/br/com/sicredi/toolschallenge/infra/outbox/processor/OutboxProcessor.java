@@ -1,26 +1,34 @@
 package br.com.sicredi.toolschallenge.infra.outbox.processor;
 
 import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
-import br.com.sicredi.toolschallenge.infra.outbox.service.KafkaPublisherService;
 import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Processador de eventos do Outbox Pattern.
  * 
- * Executa periodicamente (a cada 500ms) para:
- * 1. Buscar eventos PENDENTE no banco
- * 2. Publicar no Kafka
+ * Executa periodicamente (intervalo configurável em outbox.intervalo-processamento-ms)
+ * ou ao ser acordado por NOTIFY (modo NOTIFICACAO) para:
+ * 1. Reivindicar lotes de eventos PENDENTE (FOR UPDATE SKIP LOCKED + lease)
+ * 2. Despachar para os workers do {@link OutboxDispatcher} (publicação no Kafka)
  * 3. Marcar como PROCESSADO ou ERRO
  * 
+ * Várias instâncias podem rodar em paralelo: cada uma reivindica lotes
+ * disjuntos, e a ordem por agregado é preservada.
+ * 
  * Implementa retry automático:
- * - Eventos com erro são reprocessados até 3 tentativas
- * - Após 3 tentativas, vão para Dead Letter Queue (DLQ)
+ * - Eventos com erro são reprocessados com backoff exponencial e jitter
+ *   (coluna proxima_tentativa_em) até outbox.max-tentativas
+ * - Após o limite, vão para Dead Letter Queue (DLQ)
  */
 @Slf4j
 @Component
@@ -28,34 +36,96 @@ import java.util.List;
 public class OutboxProcessor {
 
     private final OutboxService outboxService;
-    private final KafkaPublisherService kafkaPublisherService;
+    private final OutboxDispatcher outboxDispatcher;
+    private final OutboxProperties outboxProperties;
 
-    // Processar eventos pendentes a cada 500ms
-    private static final long INTERVALO_PROCESSAMENTO_MS = 500;
+    // Evita ciclos concorrentes (scheduler x listener de notificação)
+    private final AtomicBoolean emExecucao = new AtomicBoolean(false);
+    
+    // Sinal recebido durante um ciclo em andamento: força nova drenagem
+    private final AtomicBoolean novoSinal = new AtomicBoolean(false);
     
-    // Processar eventos com erro a cada 5 segundos
-    private static final long INTERVALO_RETRY_MS = 5000;
+    // Indica se o OutboxNotificacaoListener está conectado (modo NOTIFICACAO)
+    private volatile boolean notificacaoAtiva = false;
     
-    // Quantidade máxima de eventos por batch
-    private static final int BATCH_SIZE = 100;
+    private volatile long ultimoCicloMs = 0;
 
     /**
      * Processa eventos pendentes.
-     * Executa a cada 500ms.
+     * 
+     * No modo POLLING, executa a cada outbox.intervalo-processamento-ms.
+     * No modo NOTIFICACAO com o listener conectado, só executa a cada
+     * outbox.intervalo-fallback-ms (rede de segurança); o caminho principal
+     * é {@link #acordar()}.
      */
-    @Scheduled(fixedRate = INTERVALO_PROCESSAMENTO_MS)
+    @Scheduled(fixedDelayString = "${outbox.intervalo-processamento-ms:500}")
     public void processarEventosPendentes() {
-        try {
-            List<OutboxEvento> eventos = outboxService.buscarEventosPendentes(BATCH_SIZE);
-            
-            if (eventos.isEmpty()) {
-                return; // Nada para processar
+        if (notificacaoAtiva
+                && System.currentTimeMillis() - ultimoCicloMs < outboxProperties.getIntervaloFallbackMs()) {
+            return; // Notificações cobrem o despacho
+        }
+        
+        executarCiclo();
+    }
+
+    /**
+     * Acorda o processador após um NOTIFY de novo evento no outbox.
+     * 
+     * Se já houver um ciclo em andamento, ele drena novamente ao terminar.
+     */
+    public void acordar() {
+        novoSinal.set(true);
+        executarCiclo();
+    }
+
+    /**
+     * Informa se o listener de notificações está conectado.
+     * 
+     * @param ativa true se o LISTEN estiver ativo
+     */
+    public void definirNotificacaoAtiva(boolean ativa) {
+        this.notificacaoAtiva = ativa;
+    }
+
+    private void executarCiclo() {
+        while (emExecucao.compareAndSet(false, true)) {
+            try {
+                novoSinal.set(false);
+                drenarEventosPendentes();
+                ultimoCicloMs = System.currentTimeMillis();
+            } finally {
+                emExecucao.set(false);
             }
             
-            log.debug("Processando {} eventos pendentes do outbox", eventos.size());
-            
-            for (OutboxEvento evento : eventos) {
-                processarEvento(evento);
+            if (!novoSinal.get()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reivindica lotes enquanto vierem cheios (até outbox.max-lotes-por-ciclo),
+     * aguardando o envio de cada lote antes de reivindicar o próximo.
+     */
+    private void drenarEventosPendentes() {
+        try {
+            int batchSize = outboxProperties.getBatchSize();
+            
+            for (int lote = 0; lote < outboxProperties.getMaxLotesPorCiclo(); lote++) {
+                List<OutboxEvento> eventos = outboxService.reivindicarEventosPendentes(
+                        batchSize, outboxProperties.getLeaseSegundos());
+                
+                if (eventos.isEmpty()) {
+                    return; // Nada para processar
+                }
+                
+                log.debug("Processando {} eventos pendentes do outbox", eventos.size());
+                
+                outboxDispatcher.despachar(eventos).join();
+                
+                if (eventos.size() < batchSize) {
+                    return; // Fila drenada
+                }
             }
             
         } catch (Exception e) {
@@ -64,13 +134,15 @@ public class OutboxProcessor {
     }
 
     /**
-     * Processa eventos com erro para retry.
-     * Executa a cada 5 segundos.
+     * Processa eventos com erro cuja próxima tentativa (backoff) já venceu.
+     * Executa no intervalo configurado em outbox.intervalo-retry-ms, reivindicando
+     * no máximo outbox.batch-size eventos por ciclo.
      */
-    @Scheduled(fixedRate = INTERVALO_RETRY_MS)
+    @Scheduled(fixedDelayString = "${outbox.intervalo-retry-ms:5000}")
     public void processarEventosComErro() {
         try {
-            List<OutboxEvento> eventos = outboxService.buscarEventosParaRetry();
+            List<OutboxEvento> eventos = outboxService.reivindicarEventosParaRetry(
+                    outboxProperties.getBatchSize(), outboxProperties.getLeaseSegundos());
             
             if (eventos.isEmpty()) {
                 return; // Nada para reprocessar
@@ -78,9 +150,7 @@ public class OutboxProcessor {
             
             log.info("Reprocessando {} eventos com erro do outbox", eventos.size());
             
-            for (OutboxEvento evento : eventos) {
-                processarEvento(evento);
-            }
+            outboxDispatcher.despachar(eventos).join();
             
         } catch (Exception e) {
             log.error("Erro ao reprocessar eventos com erro do outbox", e);
@@ -88,73 +158,34 @@ public class OutboxProcessor {
     }
 
     /**
-     * Processa um único evento.
-     * 
-     * @param evento Evento a ser processado
+     * Garante as partições futuras ao subir a aplicação.
+     * Cobre o caso de a aplicação ter ficado fora do ar por mais dias do que
+     * a antecedência configurada.
      */
-    private void processarEvento(OutboxEvento evento) {
-        try {
-            log.debug("Processando evento: id={}, tipo={}, agregado={}", 
-                    evento.getId(), evento.getEventoTipo(), evento.getAgregadoId());
-            
-            // Publicar no Kafka
-            kafkaPublisherService.publicarEvento(evento)
-                    .thenAccept(result -> {
-                        // Sucesso: marcar como processado
-                        outboxService.marcarComoProcessado(evento.getId());
-                    })
-                    .exceptionally(ex -> {
-                        // Erro: marcar como erro e incrementar tentativas
-                        String mensagemErro = ex.getMessage();
-                        if (mensagemErro == null) {
-                            mensagemErro = ex.getClass().getSimpleName();
-                        }
-                        
-                        // Limitar tamanho da mensagem de erro (max 1000 caracteres)
-                        if (mensagemErro.length() > 1000) {
-                            mensagemErro = mensagemErro.substring(0, 1000);
-                        }
-                        
-                        outboxService.marcarComoErro(evento.getId(), mensagemErro);
-                        
-                        return null;
-                    });
-            
-        } catch (Exception e) {
-            log.error("Erro ao processar evento do outbox: id={}, tipo={}", 
-                    evento.getId(), evento.getEventoTipo(), e);
-            
-            String mensagemErro = e.getMessage();
-            if (mensagemErro == null) {
-                mensagemErro = e.getClass().getSimpleName();
-            }
-            
-            // Limitar tamanho da mensagem de erro
-            if (mensagemErro.length() > 1000) {
-                mensagemErro = mensagemErro.substring(0, 1000);
-            }
-            
-            outboxService.marcarComoErro(evento.getId(), mensagemErro);
-        }
+    @EventListener(ApplicationReadyEvent.class)
+    public void garantirParticoesNaInicializacao() {
+        criarParticoesFuturas();
     }
 
     /**
-     * Limpa eventos processados antigos.
-     * Executa diariamente à meia-noite.
-     * Remove eventos processados há mais de 7 dias.
+     * Manutenção das partições diárias do outbox.
+     * Executa diariamente à meia-noite:
+     * 1. Pré-cria as partições dos próximos outbox.dias-particoes-futuras dias
+     * 2. Remove (DROP) as partições com mais de outbox.dias-retencao dias
      */
     @Scheduled(cron = "0 0 0 * * *")
     public void limparEventosProcessadosAntigos() {
+        criarParticoesFuturas();
+        
         try {
             log.info("Iniciando limpeza de eventos processados antigos");
             
-            int diasRetencao = 7; // Manter eventos processados por 7 dias
-            int removidos = outboxService.limparEventosProcessadosAntigos(diasRetencao);
+            int removidas = outboxService.limparEventosProcessadosAntigos(outboxProperties.getDiasRetencao());
             
-            if (removidos > 0) {
-                log.info("Limpeza de eventos concluída: {} eventos removidos", removidos);
+            if (removidas > 0) {
+                log.info("Limpeza de eventos concluída: {} partições removidas", removidas);
             } else {
-                log.debug("Limpeza de eventos concluída: nenhum evento removido");
+                log.debug("Limpeza de eventos concluída: nenhuma partição removida");
             }
             
         } catch (Exception e) {
@@ -162,6 +193,14 @@ public class OutboxProcessor {
         }
     }
 
+    private void criarParticoesFuturas() {
+        try {
+            outboxService.criarParticoesFuturas(outboxProperties.getDiasParticoesFuturas());
+        } catch (Exception e) {
+            log.error("Erro ao criar partições futuras do outbox", e);
+        }
+    }
+
     /**
      * Log de métricas do outbox.
      * Executa a cada 1 minuto.
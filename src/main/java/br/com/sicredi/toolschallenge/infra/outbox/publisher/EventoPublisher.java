@@ -1,11 +1,19 @@
 package br.com.sicredi.toolschallenge.infra.outbox.publisher;
 
+import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
+import br.com.sicredi.toolschallenge.infra.outbox.processor.OutboxDispatcher;
 import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,8 +27,10 @@ import java.util.Map;
  * }
  * </pre>
  * 
- * O evento é salvo na tabela outbox e será publicado no Kafka
- * pelo OutboxProcessor de forma assíncrona.
+ * O evento é salvo na tabela outbox e, com outbox.publicacao-imediata
+ * habilitado, entregue ao OutboxDispatcher logo após o commit da transação.
+ * O OutboxProcessor publica de forma assíncrona os eventos que não passaram
+ * pela publicação imediata (sem transação, fila cheia ou instância que caiu).
  */
 @Slf4j
 @Component
@@ -29,6 +39,8 @@ public class EventoPublisher {
 
     private final OutboxService outboxService;
     private final ObjectMapper objectMapper;
+    private final OutboxDispatcher outboxDispatcher;
+    private final OutboxProperties outboxProperties;
 
     // Tópicos Kafka
     private static final String TOPICO_PAGAMENTO = "pagamento.eventos";
@@ -49,6 +61,47 @@ public class EventoPublisher {
         );
     }
 
+    /**
+     * Publica vários eventos de pagamento criado com um único INSERT em lote no outbox.
+     * 
+     * @param eventos Eventos de domínio (POST /pagamentos/lote)
+     */
+    public void publicarPagamentosCriados(List<?> eventos) {
+        try {
+            OffsetDateTime bloqueadoAte = publicacaoImediataDisponivel()
+                    ? OffsetDateTime.now().plusSeconds(outboxProperties.getLeasePublicacaoImediataSegundos())
+                    : null;
+            
+            List<OutboxEvento> novos = new ArrayList<>(eventos.size());
+            for (Object evento : eventos) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> payload = objectMapper.convertValue(evento, Map.class);
+                
+                novos.add(OutboxEvento.builder()
+                        .agregadoId(extrairId(evento, "idTransacao"))
+                        .agregadoTipo("Pagamento")
+                        .eventoTipo("PagamentoCriado")
+                        .payload(payload)
+                        .topicoKafka(TOPICO_PAGAMENTO)
+                        .bloqueadoAte(bloqueadoAte)
+                        .build());
+            }
+            
+            List<OutboxEvento> salvos = outboxService.criarEventosEmLote(novos);
+            
+            if (bloqueadoAte != null) {
+                // PagamentoCriado é o primeiro evento de cada agregado: não há anteriores pendentes
+                salvos.forEach(salvo -> registrarPublicacaoAposCommit(salvo, List.of()));
+            }
+            
+            log.debug("Lote de {} eventos PagamentoCriado publicado no outbox", salvos.size());
+            
+        } catch (Exception e) {
+            log.error("Erro ao publicar lote de {} eventos no outbox", eventos.size(), e);
+            throw new RuntimeException("Erro ao publicar eventos: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Publica evento de status de pagamento alterado.
      * 
@@ -148,7 +201,18 @@ public class EventoPublisher {
             Map<String, Object> payload = objectMapper.convertValue(evento, Map.class);
             
             // Salvar no outbox (mesma transação do agregado)
-            outboxService.criarEvento(agregadoId, agregadoTipo, eventoTipo, payload, topicoKafka);
+            if (publicacaoImediataDisponivel()) {
+                // O insert devolve os eventos do agregado ainda não processados (inclusive
+                // os desta transação): o dispatcher só publica este antes deles se
+                // estiverem à frente na mesma fila
+                OffsetDateTime bloqueadoAte = OffsetDateTime.now()
+                        .plusSeconds(outboxProperties.getLeasePublicacaoImediataSegundos());
+                OutboxService.EventoCriado criado = outboxService.criarEventoReivindicado(
+                        agregadoId, agregadoTipo, eventoTipo, payload, topicoKafka, bloqueadoAte);
+                registrarPublicacaoAposCommit(criado.evento(), criado.anterioresNaoProcessados());
+            } else {
+                outboxService.criarEvento(agregadoId, agregadoTipo, eventoTipo, payload, topicoKafka);
+            }
             
             log.debug("Evento publicado no outbox: tipo={}, agregado={}", eventoTipo, agregadoId);
             
@@ -159,6 +223,35 @@ public class EventoPublisher {
         }
     }
 
+    /**
+     * Verifica se o evento pode seguir pela publicação imediata:
+     * habilitada por configuração e dentro de uma transação com sincronização ativa.
+     */
+    private boolean publicacaoImediataDisponivel() {
+        return outboxProperties.isPublicacaoImediata()
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * Registra o envio do evento para logo após o commit.
+     * Em rollback nada é publicado (o evento também não existe no banco).
+     * 
+     * As sincronizações rodam na ordem de registro, então os eventos anteriores
+     * da mesma transação chegam ao dispatcher antes deste.
+     * 
+     * @param evento Evento salvo no outbox
+     * @param anterioresNaoProcessados IDs dos eventos PENDENTE ou ERRO do agregado criados antes dele
+     */
+    private void registrarPublicacaoAposCommit(OutboxEvento evento, List<Long> anterioresNaoProcessados) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.despacharImediato(evento, anterioresNaoProcessados);
+            }
+        });
+    }
+
     /**
      * Extrai ID do agregado do evento.
      * 
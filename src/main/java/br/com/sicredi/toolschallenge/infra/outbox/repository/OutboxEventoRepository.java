@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -16,7 +17,7 @@ import java.util.List;
  * Responsável por:
  * - Buscar eventos pendentes para publicação no Kafka
  * - Atualizar status após processamento
- * - Limpar eventos antigos processados
+ * - Manter as partições diárias (criação e remoção por retenção)
  * - Buscar eventos com erro para retry
  */
 @Repository
@@ -42,22 +43,194 @@ public interface OutboxEventoRepository extends JpaRepository<OutboxEvento, Long
     List<OutboxEvento> findEventosPendentes(@Param("limit") int limit);
     
     /**
-     * Busca eventos com erro que ainda podem ser reprocessados.
-     * Eventos com tentativas < 3 são elegíveis para retry.
+     * Reivindica (claim) eventos pendentes para publicação.
      * 
-     * @return Lista de eventos com erro para retry
+     * Seleciona eventos PENDENTE sem lease vigente com FOR UPDATE SKIP LOCKED,
+     * de modo que instâncias concorrentes nunca recebam as mesmas linhas.
+     * Para preservar a ordem por agregado entre instâncias:
+     * - eventos com evento anterior do mesmo agregado ainda não publicado
+     *   (PENDENTE ou ERRO, com ou sem lease) são ignorados: cada agregado só
+     *   libera o evento seguinte depois que o anterior é PROCESSADO, e um evento
+     *   na DLQ segura os seguintes até a intervenção manual (ou o arquivamento
+     *   da partição pela retenção)
+     * - pg_try_advisory_xact_lock impede que duas transações de reivindicação
+     *   concorrentes dividam eventos do mesmo agregado
+     * 
+     * Os candidatos (ORDER BY + LIMIT) são escolhidos primeiro, em uma CTE
+     * materializada; o advisory lock e o lock de linha só são tentados na
+     * consulta externa, para no máximo :limite linhas (a junção usa a chave
+     * (id, criado_em) da tabela particionada). No WHERE da varredura,
+     * o advisory lock seria avaliado para toda linha lida e ficaria preso até
+     * o commit em agregados que não seriam devolvidos. Candidatos de agregados
+     * bloqueados por outra transação são descartados, e o lote pode vir menor
+     * que o limite.
+     * 
+     * Deve ser executado dentro de uma transação, seguida de
+     * {@link #renovarLease(List, OffsetDateTime)} para as linhas retornadas.
+     * 
+     * @param limite Quantidade máxima de eventos
+     * @return Lista de eventos reivindicados (bloqueados até o fim da transação)
+     */
+    @Query(value = """
+            WITH candidatos AS MATERIALIZED (
+                SELECT o.id, o.criado_em, o.agregado_id
+                FROM infra.outbox o
+                WHERE o.status = 'PENDENTE'
+                  AND (o.bloqueado_ate IS NULL OR o.bloqueado_ate < now())
+                  AND NOT EXISTS (
+                      SELECT 1 FROM infra.outbox a
+                      WHERE a.agregado_id = o.agregado_id
+                        AND a.status IN ('PENDENTE', 'ERRO')
+                        AND a.id < o.id)
+                ORDER BY o.criado_em ASC, o.id ASC
+                LIMIT :limite
+            )
+            SELECT o.* FROM candidatos c
+            JOIN infra.outbox o ON o.id = c.id AND o.criado_em = c.criado_em
+            WHERE pg_try_advisory_xact_lock(hashtext(c.agregado_id))
+              AND o.status = 'PENDENTE'
+            ORDER BY o.criado_em ASC, o.id ASC
+            FOR UPDATE OF o SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvento> reivindicarEventosPendentes(@Param("limite") int limite);
+    
+    /**
+     * Grava o lease de reivindicação dos eventos informados.
+     * 
+     * @param ids IDs dos eventos reivindicados
+     * @param bloqueadoAte Fim do lease
+     * @return Quantidade de eventos atualizados
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvento o SET o.bloqueadoAte = :bloqueadoAte WHERE o.id IN :ids")
+    int renovarLease(@Param("ids") List<Long> ids, @Param("bloqueadoAte") OffsetDateTime bloqueadoAte);
+
+    /**
+     * Estende o lease de um evento da publicação imediata antes do envio.
+     *
+     * Só atualiza enquanto o lease gravado no insert ainda vale: depois que ele
+     * expira o polling pode reivindicar o evento, e o lease do polling é
+     * sempre posterior a :leaseAtual.
+     *
+     * @param id ID do evento
+     * @param leaseAtual Maior valor aceito para o lease gravado
+     * @param novoLease Novo fim do lease
+     * @return 1 se o lease foi estendido, 0 se o evento já não pertence à publicação imediata
+     */
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvento o SET o.bloqueadoAte = :novoLease
+            WHERE o.id = :id
+              AND o.status = 'PENDENTE'
+              AND o.bloqueadoAte > CURRENT_TIMESTAMP
+              AND o.bloqueadoAte <= :leaseAtual
+            """)
+    int renovarLeaseImediato(@Param("id") Long id,
+                             @Param("leaseAtual") OffsetDateTime leaseAtual,
+                             @Param("novoLease") OffsetDateTime novoLease);
+
+    /**
+     * Marca um lote de eventos como processados em um único UPDATE.
+     * 
+     * @param ids IDs dos eventos confirmados pelo Kafka
+     * @param processadoEm Timestamp de processamento
+     * @return Quantidade de eventos atualizados
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvento o SET o.status = 'PROCESSADO', o.processadoEm = :processadoEm WHERE o.id IN :ids")
+    int marcarComoProcessados(@Param("ids") List<Long> ids, @Param("processadoEm") OffsetDateTime processadoEm);
+    
+    /**
+     * Marca um lote de eventos como erro em um único UPDATE,
+     * incrementando as tentativas, liberando o lease e agendando a próxima
+     * tentativa com backoff exponencial e jitter:
+     * 
+     *   espera = min(backoffMaximo, backoffBase * 2^tentativas) * [0.5, 1.0)
+     * 
+     * Ao atingir o limite de tentativas, proxima_tentativa_em fica NULL (DLQ).
+     * 
+     * @param ids IDs dos eventos que falharam
+     * @param mensagemErro Mensagem de erro comum ao lote
+     * @param maxTentativas Limite de tentativas antes da DLQ
+     * @param backoffBaseSegundos Espera base em segundos
+     * @param backoffMaximoSegundos Espera máxima em segundos
+     * @return Quantidade de eventos atualizados
      */
-    @Query("SELECT o FROM OutboxEvento o WHERE o.status = 'ERRO' AND o.tentativas < 3 ORDER BY o.criadoEm ASC")
-    List<OutboxEvento> findEventosParaRetry();
+    @Modifying
+    @Query(value = """
+            UPDATE infra.outbox
+            SET status = 'ERRO',
+                ultimo_erro = :mensagemErro,
+                tentativas = tentativas + 1,
+                bloqueado_ate = NULL,
+                proxima_tentativa_em = CASE
+                    WHEN tentativas + 1 >= :maxTentativas THEN NULL
+                    ELSE now() + make_interval(secs => LEAST(:backoffMaximoSegundos,
+                            :backoffBaseSegundos * power(2, tentativas)) * (0.5 + random() * 0.5))
+                END
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int marcarComoErro(
+        @Param("ids") List<Long> ids,
+        @Param("mensagemErro") String mensagemErro,
+        @Param("maxTentativas") int maxTentativas,
+        @Param("backoffBaseSegundos") int backoffBaseSegundos,
+        @Param("backoffMaximoSegundos") int backoffMaximoSegundos
+    );
+    
+    /**
+     * Reivindica eventos com erro cuja próxima tentativa já venceu.
+     * 
+     * Consulta limitada e apoiada no índice parcial idx_outbox_retry: enquanto
+     * o broker estiver fora, nenhuma linha vence e a consulta é praticamente gratuita.
+     * Como na reivindicação de pendentes, um evento só é reenviado quando não há
+     * evento anterior do mesmo agregado PENDENTE ou ERRO.
+     * Deve ser seguida de {@link #adiarProximaTentativa(List, OffsetDateTime)},
+     * que funciona como lease da reivindicação.
+     * 
+     * @param maxTentativas Limite de tentativas antes da DLQ
+     * @param limite Quantidade máxima de eventos
+     * @return Lista de eventos reivindicados para retry
+     */
+    @Query(value = """
+            SELECT o.* FROM infra.outbox o
+            WHERE o.status = 'ERRO'
+              AND o.proxima_tentativa_em <= now()
+              AND o.tentativas < :maxTentativas
+              AND NOT EXISTS (
+                  SELECT 1 FROM infra.outbox a
+                  WHERE a.agregado_id = o.agregado_id
+                    AND a.status IN ('PENDENTE', 'ERRO')
+                    AND a.id < o.id)
+            ORDER BY o.proxima_tentativa_em ASC
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvento> reivindicarEventosParaRetry(
+        @Param("maxTentativas") int maxTentativas,
+        @Param("limite") int limite
+    );
+    
+    /**
+     * Adia a próxima tentativa dos eventos informados (lease do retry).
+     * 
+     * @param ids IDs dos eventos reivindicados
+     * @param proximaTentativaEm Novo horário da próxima tentativa
+     * @return Quantidade de eventos atualizados
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvento o SET o.proximaTentativaEm = :proximaTentativaEm WHERE o.id IN :ids")
+    int adiarProximaTentativa(@Param("ids") List<Long> ids, @Param("proximaTentativaEm") OffsetDateTime proximaTentativaEm);
     
     /**
      * Busca eventos com erro que excederam o limite de tentativas.
      * Estes eventos precisam de intervenção manual.
      * 
+     * @param maxTentativas Limite de tentativas
      * @return Lista de eventos em DLQ (Dead Letter Queue)
      */
-    @Query("SELECT o FROM OutboxEvento o WHERE o.status = 'ERRO' AND o.tentativas >= 3 ORDER BY o.criadoEm ASC")
-    List<OutboxEvento> findEventosDLQ();
+    @Query("SELECT o FROM OutboxEvento o WHERE o.status = 'ERRO' AND o.tentativas >= :maxTentativas ORDER BY o.criadoEm ASC")
+    List<OutboxEvento> findEventosDLQ(@Param("maxTentativas") int maxTentativas);
     
     /**
      * Busca eventos por tipo.
@@ -77,15 +250,33 @@ public interface OutboxEventoRepository extends JpaRepository<OutboxEvento, Long
     List<OutboxEvento> findByAgregadoId(String agregadoId);
     
     /**
-     * Limpa eventos processados antigos (housekeeping).
-     * Remove eventos processados há mais de N dias.
+     * Pré-cria as partições diárias do outbox (housekeeping).
+     * Delega para a função infra.criar_particoes_outbox (migration V10).
      * 
-     * @param dataLimite Data limite (eventos antes desta data serão removidos)
-     * @return Quantidade de eventos removidos
+     * @param diasFuturos Quantidade de dias à frente a garantir
+     * @return Quantidade de partições criadas
      */
-    @Modifying
-    @Query("DELETE FROM OutboxEvento o WHERE o.status = 'PROCESSADO' AND o.processadoEm < :dataLimite")
-    int deleteEventosProcessadosAntigos(@Param("dataLimite") OffsetDateTime dataLimite);
+    @Query(value = "SELECT infra.criar_particoes_outbox(:diasFuturos)", nativeQuery = true)
+    int criarParticoesFuturas(@Param("diasFuturos") int diasFuturos);
+    
+    /**
+     * Remove uma partição diária expirada do outbox (housekeeping).
+     * DETACH + DROP da partição inteira em vez de DELETE linha a linha;
+     * eventos da DLQ são movidos para infra.outbox_arquivo e partições com
+     * eventos ainda não publicados são mantidas.
+     * Delega para a função infra.remover_particao_outbox (migration V17).
+     * 
+     * Roda em transação própria: o DETACH mantém ACCESS EXCLUSIVE em
+     * infra.outbox até o commit, então cada partição é removida e liberada
+     * antes da próxima.
+     * 
+     * @param diasRetencao Dias de retenção
+     * @param lockTimeoutMs Espera máxima pelo lock do DETACH
+     * @return 1 se removeu uma partição, 0 se não há mais partições removíveis, -1 em lock_timeout
+     */
+    @Transactional
+    @Query(value = "SELECT infra.remover_particao_outbox(:diasRetencao, :lockTimeoutMs)", nativeQuery = true)
+    int removerParticaoExpirada(@Param("diasRetencao") int diasRetencao, @Param("lockTimeoutMs") int lockTimeoutMs);
     
     /**
      * Conta eventos pendentes (para monitoramento).
@@ -2,12 +2,21 @@ package br.com.sicredi.toolschallenge.infra.outbox.service;
 
 import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
 import br.com.sicredi.toolschallenge.infra.outbox.repository.OutboxEventoRepository;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -15,17 +24,55 @@ import java.util.Map;
  * Service para gerenciar eventos do Outbox Pattern.
  * 
  * Responsabilidades:
- * - Criar novos eventos na tabela outbox (dentro de transação)
+ * - Criar novos eventos na tabela outbox (dentro de transação), um a um ou em lote
  * - Buscar eventos pendentes para processamento
  * - Marcar eventos como processados ou com erro
- * - Limpar eventos processados antigos
+ * - Manter as partições diárias (criação antecipada e remoção por retenção)
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OutboxService {
 
+    static final String SQL_INSERT = """
+            INSERT INTO infra.outbox
+                (agregado_id, agregado_tipo, evento_tipo, payload, topico_kafka, status, tentativas, bloqueado_ate, criado_em)
+            VALUES (?, ?, ?, ?::jsonb, ?, 'PENDENTE', 0, ?, ?)
+            """;
+
+    /**
+     * Insere o evento e devolve, no mesmo round-trip, os IDs dos eventos ainda
+     * não processados (PENDENTE ou ERRO) do agregado criados antes dele.
+     * O snapshot da CTE não enxerga a linha inserida, só as anteriores
+     * (inclusive as desta transação).
+     */
+    static final String SQL_INSERT_COM_ANTERIORES = """
+            WITH anteriores AS (
+                SELECT COALESCE(array_agg(id ORDER BY id), '{}') AS ids
+                FROM infra.outbox
+                WHERE agregado_id = ? AND status IN ('PENDENTE', 'ERRO')
+            ), novo AS (
+                INSERT INTO infra.outbox
+                    (agregado_id, agregado_tipo, evento_tipo, payload, topico_kafka, status, tentativas, bloqueado_ate, criado_em)
+                VALUES (?, ?, ?, ?::jsonb, ?, 'PENDENTE', 0, ?, ?)
+                RETURNING id
+            )
+            SELECT novo.id, anteriores.ids FROM novo CROSS JOIN anteriores
+            """;
+
     private final OutboxEventoRepository repository;
+    private final OutboxProperties outboxProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Evento recém-criado pela publicação imediata.
+     *
+     * @param evento Evento persistido, com ID e criadoEm preenchidos
+     * @param anterioresNaoProcessados IDs dos eventos PENDENTE ou ERRO do agregado criados antes dele
+     */
+    public record EventoCriado(OutboxEvento evento, List<Long> anterioresNaoProcessados) {
+    }
 
     /**
      * Cria um novo evento no outbox.
@@ -63,6 +110,123 @@ public class OutboxService {
         return salvo;
     }
 
+    /**
+     * Cria um novo evento no outbox já reivindicado por esta instância.
+     * 
+     * Usado pela publicação imediata pós-commit: o lease impede que o
+     * OutboxProcessor publique o mesmo evento enquanto o envio está em
+     * andamento, e devolve o evento ao polling se a instância cair.
+     * 
+     * O mesmo comando devolve os eventos anteriores do agregado ainda não
+     * processados, que o dispatcher usa para não passar à frente deles.
+     * 
+     * @param agregadoId ID do agregado (ex: ID do pagamento)
+     * @param agregadoTipo Tipo do agregado (ex: "Pagamento", "Estorno")
+     * @param eventoTipo Tipo do evento (ex: "PagamentoAutorizado", "EstornoCancelado")
+     * @param payload Dados do evento
+     * @param topicoKafka Tópico Kafka de destino
+     * @param bloqueadoAte Fim do lease
+     * @return Evento criado e os IDs anteriores não processados do agregado
+     */
+    @Transactional
+    public EventoCriado criarEventoReivindicado(
+            String agregadoId,
+            String agregadoTipo,
+            String eventoTipo,
+            Map<String, Object> payload,
+            String topicoKafka,
+            OffsetDateTime bloqueadoAte) {
+        
+        OffsetDateTime agora = OffsetDateTime.now();
+        OutboxEvento evento = OutboxEvento.builder()
+                .agregadoId(agregadoId)
+                .agregadoTipo(agregadoTipo)
+                .eventoTipo(eventoTipo)
+                .payload(payload)
+                .topicoKafka(topicoKafka)
+                .status("PENDENTE")
+                .tentativas(0)
+                .bloqueadoAte(bloqueadoAte)
+                .criadoEm(agora)
+                .build();
+
+        EventoCriado criado = jdbcTemplate.queryForObject(SQL_INSERT_COM_ANTERIORES,
+                (rs, linha) -> {
+                    evento.setId(rs.getLong("id"));
+                    Long[] anteriores = (Long[]) rs.getArray("ids").getArray();
+                    return new EventoCriado(evento, List.of(anteriores));
+                },
+                agregadoId,
+                agregadoId, agregadoTipo, eventoTipo, json(payload), topicoKafka, bloqueadoAte, agora);
+        log.debug("Evento criado no outbox: id={}, tipo={}, agregado={}, anteriores não processados={}", 
+                evento.getId(), eventoTipo, agregadoId, criado.anterioresNaoProcessados().size());
+        
+        return criado;
+    }
+
+    /**
+     * Cria vários eventos no outbox com um único INSERT em lote (JDBC batch).
+     * Deve ser chamado dentro da mesma transação que a mudança de estado.
+     * 
+     * Os IDs gerados são preenchidos nos próprios eventos, na ordem recebida.
+     * 
+     * @param eventos Eventos ainda não persistidos (agregado, tipo, payload, tópico e lease)
+     * @return Os mesmos eventos, com ID e criadoEm preenchidos
+     */
+    @Transactional
+    public List<OutboxEvento> criarEventosEmLote(List<OutboxEvento> eventos) {
+        if (eventos.isEmpty()) {
+            return eventos;
+        }
+        
+        OffsetDateTime agora = OffsetDateTime.now();
+        List<String> payloads = new ArrayList<>(eventos.size());
+        for (OutboxEvento evento : eventos) {
+            payloads.add(json(evento.getPayload()));
+            evento.setCriadoEm(agora);
+        }
+        
+        GeneratedKeyHolder chaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                conexao -> conexao.prepareStatement(SQL_INSERT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OutboxEvento evento = eventos.get(i);
+                        ps.setString(1, evento.getAgregadoId());
+                        ps.setString(2, evento.getAgregadoTipo());
+                        ps.setString(3, evento.getEventoTipo());
+                        ps.setString(4, payloads.get(i));
+                        ps.setString(5, evento.getTopicoKafka());
+                        ps.setObject(6, evento.getBloqueadoAte());
+                        ps.setObject(7, agora);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return eventos.size();
+                    }
+                },
+                chaves);
+        
+        List<Map<String, Object>> ids = chaves.getKeyList();
+        for (int i = 0; i < eventos.size(); i++) {
+            eventos.get(i).setId(((Number) ids.get(i).get("id")).longValue());
+        }
+        
+        log.debug("Lote de {} eventos criado no outbox", eventos.size());
+        
+        return eventos;
+    }
+
+    private String json(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload do evento não serializável: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Busca eventos pendentes para processamento.
      * 
@@ -85,13 +249,59 @@ public class OutboxService {
     }
 
     /**
-     * Busca eventos com erro elegíveis para retry.
+     * Reivindica eventos pendentes para publicação por esta instância.
+     * 
+     * As linhas são selecionadas com FOR UPDATE SKIP LOCKED e recebem um lease
+     * na mesma transação; após o commit, outras instâncias ignoram esses eventos
+     * até o lease expirar.
+     * 
+     * @param limite Quantidade máxima de eventos
+     * @param leaseSegundos Duração do lease em segundos
+     * @return Lista de eventos reivindicados
+     */
+    @Transactional
+    public List<OutboxEvento> reivindicarEventosPendentes(int limite, int leaseSegundos) {
+        List<OutboxEvento> eventos = repository.reivindicarEventosPendentes(limite);
+        
+        if (eventos.isEmpty()) {
+            return eventos;
+        }
+        
+        OffsetDateTime bloqueadoAte = OffsetDateTime.now().plusSeconds(leaseSegundos);
+        List<Long> ids = eventos.stream().map(OutboxEvento::getId).toList();
+        repository.renovarLease(ids, bloqueadoAte);
+        eventos.forEach(evento -> evento.setBloqueadoAte(bloqueadoAte));
+        
+        log.debug("Reivindicados {} eventos do outbox (lease até {})", eventos.size(), bloqueadoAte);
+        
+        return eventos;
+    }
+
+    /**
+     * Reivindica eventos com erro cuja próxima tentativa já venceu.
+     * 
+     * A próxima tentativa é adiada pelo lease na mesma transação, evitando que
+     * outra instância republique o evento enquanto o envio está em andamento.
      * 
+     * @param limite Quantidade máxima de eventos
+     * @param leaseSegundos Duração do lease em segundos
      * @return Lista de eventos para retry
      */
-    @Transactional(readOnly = true)
-    public List<OutboxEvento> buscarEventosParaRetry() {
-        return repository.findEventosParaRetry();
+    @Transactional
+    public List<OutboxEvento> reivindicarEventosParaRetry(int limite, int leaseSegundos) {
+        List<OutboxEvento> eventos = repository.reivindicarEventosParaRetry(
+                outboxProperties.getMaxTentativas(), limite);
+        
+        if (eventos.isEmpty()) {
+            return eventos;
+        }
+        
+        OffsetDateTime proximaTentativaEm = OffsetDateTime.now().plusSeconds(leaseSegundos);
+        List<Long> ids = eventos.stream().map(OutboxEvento::getId).toList();
+        repository.adiarProximaTentativa(ids, proximaTentativaEm);
+        eventos.forEach(evento -> evento.setProximaTentativaEm(proximaTentativaEm));
+        
+        return eventos;
     }
 
     /**
@@ -110,38 +320,132 @@ public class OutboxService {
     }
 
     /**
-     * Marca evento como erro.
+     * Marca evento como erro e agenda a próxima tentativa com backoff.
      * 
      * @param eventoId ID do evento
      * @param mensagemErro Mensagem de erro
      */
     @Transactional
     public void marcarComoErro(Long eventoId, String mensagemErro) {
-        repository.findById(eventoId).ifPresent(evento -> {
-            evento.marcarComoErro(mensagemErro);
-            repository.save(evento);
-            log.warn("Evento marcado como erro: id={}, tipo={}, tentativas={}, erro={}", 
-                    evento.getId(), evento.getEventoTipo(), evento.getTentativas(), mensagemErro);
-        });
+        marcarComoErro(List.of(eventoId), mensagemErro);
+    }
+
+    /**
+     * Marca um lote de eventos como processados (um único UPDATE).
+     * 
+     * @param eventoIds IDs dos eventos
+     * @return Quantidade de eventos atualizados
+     */
+    @Transactional
+    public int marcarComoProcessados(List<Long> eventoIds) {
+        int atualizados = repository.marcarComoProcessados(eventoIds, OffsetDateTime.now());
+        log.debug("Eventos marcados como processados: {}", atualizados);
+        return atualizados;
+    }
+
+    /**
+     * Marca um lote de eventos como erro (um único UPDATE).
+     * 
+     * A próxima tentativa é agendada com backoff exponencial e jitter
+     * (outbox.backoff-base-segundos, outbox.backoff-maximo-segundos); ao atingir
+     * outbox.max-tentativas o evento vai para a DLQ.
+     * 
+     * @param eventoIds IDs dos eventos
+     * @param mensagemErro Mensagem de erro comum ao lote
+     * @return Quantidade de eventos atualizados
+     */
+    @Transactional
+    public int marcarComoErro(List<Long> eventoIds, String mensagemErro) {
+        int atualizados = repository.marcarComoErro(
+                eventoIds,
+                mensagemErro,
+                outboxProperties.getMaxTentativas(),
+                outboxProperties.getBackoffBaseSegundos(),
+                outboxProperties.getBackoffMaximoSegundos());
+        log.warn("Eventos marcados como erro: quantidade={}, erro={}", atualizados, mensagemErro);
+        return atualizados;
     }
 
     /**
      * Limpa eventos processados antigos.
-     * Remove eventos processados há mais de N dias.
+     * Remove as partições diárias mais antigas que N dias (DROP da partição
+     * inteira, sem DELETE de linhas), uma por transação. Eventos da DLQ são
+     * movidos para infra.outbox_arquivo; partições com eventos ainda não
+     * publicados são mantidas até serem publicados.
+     * 
+     * Se o DETACH não obtiver o lock em outbox.lock-timeout-remocao-particao-ms,
+     * tenta de novo até outbox.tentativas-remocao-particao vezes.
+     * 
+     * Sem @Transactional: cada chamada ao repositório é uma transação.
      * 
      * @param diasRetencao Dias de retenção
-     * @return Quantidade de eventos removidos
+     * @return Quantidade de partições removidas
      */
-    @Transactional
     public int limparEventosProcessadosAntigos(int diasRetencao) {
-        OffsetDateTime dataLimite = OffsetDateTime.now().minusDays(diasRetencao);
-        int removidos = repository.deleteEventosProcessadosAntigos(dataLimite);
+        int lockTimeoutMs = outboxProperties.getLockTimeoutRemocaoParticaoMs();
+        int removidas = 0;
+        int timeouts = 0;
         
-        if (removidos > 0) {
-            log.info("Removidos {} eventos processados há mais de {} dias", removidos, diasRetencao);
+        while (true) {
+            int resultado = repository.removerParticaoExpirada(diasRetencao, lockTimeoutMs);
+            if (resultado == 0) {
+                break;
+            }
+            if (resultado > 0) {
+                removidas++;
+                continue;
+            }
+            
+            timeouts++;
+            if (timeouts > outboxProperties.getTentativasRemocaoParticao()) {
+                log.warn("Remoção de partições do outbox interrompida: lock_timeout em {} tentativas", timeouts);
+                break;
+            }
+            try {
+                Thread.sleep((long) lockTimeoutMs * timeouts);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
         }
         
-        return removidos;
+        if (removidas > 0) {
+            log.info("Removidas {} partições do outbox com mais de {} dias", removidas, diasRetencao);
+        }
+        
+        return removidas;
+    }
+
+    /**
+     * Garante as partições diárias do outbox de hoje até hoje + N dias.
+     * 
+     * @param diasFuturos Quantidade de dias à frente
+     * @return Quantidade de partições criadas
+     */
+    @Transactional
+    public int criarParticoesFuturas(int diasFuturos) {
+        int criadas = repository.criarParticoesFuturas(diasFuturos);
+        
+        if (criadas > 0) {
+            log.info("Criadas {} partições futuras do outbox", criadas);
+        }
+        
+        return criadas;
+    }
+
+    /**
+     * Estende o lease de um evento da publicação imediata que esperou na fila.
+     *
+     * @param evento Evento com o lease gravado no insert
+     * @param novoLease Novo fim do lease
+     * @return true se o lease foi estendido; false se expirou e o evento
+     *         pode ter sido reivindicado pelo polling
+     */
+    @Transactional
+    public boolean renovarLeaseImediato(OutboxEvento evento, OffsetDateTime novoLease) {
+        // Folga de 1s para o arredondamento do timestamp no banco (microssegundos)
+        OffsetDateTime leaseAtual = evento.getBloqueadoAte().plusSeconds(1);
+        return repository.renovarLeaseImediato(evento.getId(), leaseAtual, novoLease) > 0;
     }
 
     /**
@@ -0,0 +1,44 @@
+package br.com.sicredi.toolschallenge.infra.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Clientes que escreveram há pouco (lê o que acabou de escrever).
+ *
+ * Depois do commit de uma transação de escrita, as leituras do mesmo cliente
+ * vão ao primário durante a janela configurada: um GET logo após o POST não
+ * vê a réplica ainda sem a linha gravada.
+ *
+ * O registro é local à instância: com várias instâncias atrás do balanceador,
+ * a garantia vale para requisições do cliente que caiam na mesma instância.
+ */
+public class JanelaLeituraEscrita {
+
+    private static final long MAXIMO_CLIENTES = 100_000;
+
+    private final Cache<String, Boolean> escritasRecentes;
+
+    public JanelaLeituraEscrita(Duration janela) {
+        this.escritasRecentes = Caffeine.newBuilder()
+                .expireAfterWrite(janela)
+                .maximumSize(MAXIMO_CLIENTES)
+                .build();
+    }
+
+    /**
+     * Registra (ou renova) a janela do cliente a partir de agora.
+     */
+    public void registrarEscrita(String cliente) {
+        escritasRecentes.put(cliente, Boolean.TRUE);
+    }
+
+    /**
+     * Indica se o cliente escreveu dentro da janela.
+     */
+    public boolean escreveuRecentemente(String cliente) {
+        return escritasRecentes.getIfPresent(cliente) != null;
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.sicredi.toolschallenge.infra.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Réplicas de leitura e o atraso de replicação de cada uma.
+ *
+ * A verificação periódica mede o atraso (lag) de cada réplica; só as que
+ * respondem dentro de replicas.lag-maximo-ms recebem leituras, em rodízio.
+ * Sem nenhuma réplica disponível, o roteador usa o primário.
+ *
+ * Métricas:
+ * - datasource.replica.lag{replica}: atraso medido em ms (-1 se a verificação
+ *   falhou ou o atraso é desconhecido)
+ * - datasource.replicas.disponiveis: réplicas recebendo leituras
+ */
+@Slf4j
+public class ReplicasLeitura implements AutoCloseable {
+
+    /**
+     * Atraso da réplica em ms, ou NULL se desconhecido. WAL recebido todo
+     * aplicado conta como 0, para que um primário sem escritas (replay timestamp
+     * parado) não pareça atraso, mas só enquanto a réplica recebe WAL do primário
+     * (pg_stat_wal_receiver em streaming): desconectada, o WAL recebido para de
+     * avançar e "tudo aplicado" não diz nada sobre o primário. Sem replay
+     * timestamp (nenhuma transação aplicada desde o início) o atraso também é
+     * desconhecido.
+     *
+     * O usuário das réplicas precisa de pg_read_all_stats para ler o status do
+     * receptor de WAL; sem ele o atraso fica sempre desconhecido.
+     */
+    static final String SQL_LAG = """
+            SELECT CASE WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+                   END
+            """;
+
+    private static final int TIMEOUT_VERIFICACAO_SEGUNDOS = 1;
+
+    private final Map<String, DataSource> bancos;
+    private final long lagMaximoMs;
+    private final Map<String, AtomicLong> lagMs = new LinkedHashMap<>();
+    private final AtomicInteger rodizio = new AtomicInteger();
+
+    /**
+     * Começa vazia: nenhuma réplica recebe leituras antes da primeira verificação.
+     */
+    private volatile List<String> disponiveis = List.of();
+
+    public ReplicasLeitura(Map<String, DataSource> bancos, long lagMaximoMs, MeterRegistry meterRegistry) {
+        this.bancos = Collections.unmodifiableMap(new LinkedHashMap<>(bancos));
+        this.lagMaximoMs = lagMaximoMs;
+
+        this.bancos.keySet().forEach(nome -> {
+            AtomicLong lag = new AtomicLong(-1);
+            lagMs.put(nome, lag);
+            Gauge.builder("datasource.replica.lag", lag, AtomicLong::get)
+                    .tag("replica", nome)
+                    .baseUnit("milliseconds")
+                    .description("Atraso de replicação da réplica de leitura (-1: verificação falhou ou atraso desconhecido)")
+                    .register(meterRegistry);
+        });
+        Gauge.builder("datasource.replicas.disponiveis", this, replicas -> replicas.disponiveis.size())
+                .description("Réplicas recebendo leituras")
+                .register(meterRegistry);
+    }
+
+    public Map<String, DataSource> getBancos() {
+        return bancos;
+    }
+
+    /**
+     * Mede o atraso de cada réplica e atualiza as disponíveis para leitura.
+     */
+    @Scheduled(fixedDelayString = "${replicas.intervalo-verificacao-ms:1000}")
+    public void verificar() {
+        List<String> aptas = new ArrayList<>(bancos.size());
+        bancos.forEach((nome, dataSource) -> {
+            long lag = medirLag(nome, dataSource);
+            lagMs.get(nome).set(lag);
+            if (lag >= 0 && lag <= lagMaximoMs) {
+                aptas.add(nome);
+            }
+        });
+
+        if (!aptas.equals(disponiveis)) {
+            log.info("Réplicas disponíveis para leitura: {} de {}", aptas, bancos.keySet());
+        }
+        disponiveis = List.copyOf(aptas);
+    }
+
+    /**
+     * Próxima réplica disponível (rodízio), ou null se nenhuma está disponível.
+     */
+    public String proxima() {
+        List<String> atual = disponiveis;
+        if (atual.isEmpty()) {
+            return null;
+        }
+        return atual.get(Math.floorMod(rodizio.getAndIncrement(), atual.size()));
+    }
+
+    /**
+     * Atraso em ms, ou -1 se a réplica não respondeu ou o atraso é desconhecido
+     * (tratado como acima do máximo).
+     */
+    long medirLag(String nome, DataSource dataSource) {
+        try (Connection conexao = dataSource.getConnection();
+             Statement statement = conexao.createStatement()) {
+            statement.setQueryTimeout(TIMEOUT_VERIFICACAO_SEGUNDOS);
+            try (ResultSet resultado = statement.executeQuery(SQL_LAG)) {
+                resultado.next();
+                double lag = resultado.getDouble(1);
+                if (resultado.wasNull()) {
+                    log.warn("Atraso da réplica {} desconhecido (sem streaming do primário ou sem transação aplicada)",
+                            nome);
+                    return -1;
+                }
+                return Math.round(lag);
+            }
+        } catch (SQLException e) {
+            log.warn("Falha ao verificar atraso da réplica {}: {}", nome, e.getMessage());
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        bancos.forEach((nome, dataSource) -> {
+            if (dataSource instanceof AutoCloseable fechavel) {
+                try {
+                    fechavel.close();
+                } catch (Exception e) {
+                    log.warn("Falha ao fechar pool da réplica {}: {}", nome, e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.sicredi.toolschallenge.infra.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource que escolhe entre o primário e as réplicas de leitura a cada conexão obtida.
+ *
+ * Regras:
+ * - Transação somente leitura (@Transactional(readOnly = true)): réplica disponível,
+ *   em rodízio; primário se o cliente escreveu dentro da janela de leitura após
+ *   escrita ou se nenhuma réplica está dentro do atraso máximo
+ * - Transação de escrita: primário; após o commit, abre a janela do cliente
+ * - Sem transação: primário
+ *
+ * A decisão lê o estado da transação corrente, por isso o roteador deve ficar
+ * atrás de um LazyConnectionDataSourceProxy: a conexão física só é obtida no
+ * primeiro comando, quando a transação (e o readOnly) já está definida.
+ *
+ * Métrica datasource.roteamento{destino, motivo}: conexões obtidas por destino.
+ */
+public class RoteadorDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIO = "primario";
+
+    private final ReplicasLeitura replicas;
+    private final JanelaLeituraEscrita janela;
+
+    private final Counter leituraReplica;
+    private final Counter leituraAposEscrita;
+    private final Counter leituraSemReplica;
+    private final Counter escrita;
+    private final Counter semTransacao;
+
+    public RoteadorDataSource(DataSource primario, ReplicasLeitura replicas, JanelaLeituraEscrita janela,
+                              MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.janela = janela;
+
+        Map<Object, Object> destinos = new HashMap<>(replicas.getBancos());
+        destinos.put(PRIMARIO, primario);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+
+        this.leituraReplica = contador(meterRegistry, "replica", "leitura");
+        this.leituraAposEscrita = contador(meterRegistry, PRIMARIO, "leitura-apos-escrita");
+        this.leituraSemReplica = contador(meterRegistry, PRIMARIO, "sem-replica-disponivel");
+        this.escrita = contador(meterRegistry, PRIMARIO, "escrita");
+        this.semTransacao = contador(meterRegistry, PRIMARIO, "sem-transacao");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            semTransacao.increment();
+            return PRIMARIO;
+        }
+
+        String cliente = clienteAtual();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (cliente != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        janela.registrarEscrita(cliente);
+                    }
+                });
+            }
+            escrita.increment();
+            return PRIMARIO;
+        }
+
+        if (cliente != null && janela.escreveuRecentemente(cliente)) {
+            leituraAposEscrita.increment();
+            return PRIMARIO;
+        }
+
+        String replica = replicas.proxima();
+        if (replica == null) {
+            leituraSemReplica.increment();
+            return PRIMARIO;
+        }
+
+        leituraReplica.increment();
+        return replica;
+    }
+
+    /**
+     * Cliente autenticado (subject do JWT) da requisição corrente; null fora de
+     * requisições (jobs, consumidores) ou sem autenticação.
+     */
+    private static String clienteAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || !autenticacao.isAuthenticated()
+                || autenticacao instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return autenticacao.getName();
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String destino, String motivo) {
+        return Counter.builder("datasource.roteamento")
+                .tag("destino", destino)
+                .tag("motivo", motivo)
+                .description("Conexões obtidas pelo roteador de leitura/escrita")
+                .register(meterRegistry);
+    }
+}
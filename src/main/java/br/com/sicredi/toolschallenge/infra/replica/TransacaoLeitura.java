@@ -0,0 +1,44 @@
+package br.com.sicredi.toolschallenge.infra.replica;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Executa uma leitura em transação somente leitura (roteada para réplica, se houver).
+ *
+ * Para métodos sem transação (propagation = NOT_SUPPORTED) que só vão ao banco
+ * às vezes, como a carga do cache de consultas: o acerto no cache não abre
+ * transação nem ocupa conexão, e a ida ao banco ainda vale como leitura.
+ */
+@Component
+public class TransacaoLeitura {
+
+    private final TransactionOperations operacoes;
+
+    @Autowired
+    public TransacaoLeitura(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        this.operacoes = template;
+    }
+
+    private TransacaoLeitura(TransactionOperations operacoes) {
+        this.operacoes = operacoes;
+    }
+
+    /**
+     * Executa a leitura sem transação (testes unitários).
+     */
+    public static TransacaoLeitura semTransacao() {
+        return new TransacaoLeitura(TransactionOperations.withoutTransaction());
+    }
+
+    public <T> T executar(Supplier<T> leitura) {
+        return operacoes.execute(status -> leitura.get());
+    }
+}
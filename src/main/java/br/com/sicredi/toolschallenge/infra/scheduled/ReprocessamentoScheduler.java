@@ -2,13 +2,17 @@ package br.com.sicredi.toolschallenge.infra.scheduled;
 
 import br.com.sicredi.toolschallenge.estorno.service.EstornoService;
 import br.com.sicredi.toolschallenge.pagamento.service.PagamentoService;
+import br.com.sicredi.toolschallenge.shared.config.ExecutorConfig;
 import br.com.sicredi.toolschallenge.shared.config.ReprocessamentoProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Scheduler para reprocessamento de transações pendentes.
  * 
@@ -24,6 +28,10 @@ import org.springframework.stereotype.Component;
  * 
  * <p>Após atingir o limite de tentativas, a transação é enviada para análise manual (DLQ).
  * 
+ * <p>Os jobs rodam no executor de reprocessamento (chamadas lentas ao adquirente não
+ * ocupam a thread do agendador usada pelo outbox e pela auditoria). Um job ainda em
+ * execução não é iniciado de novo no ciclo seguinte.
+ * 
  * <p><b>Configuração:</b>
  * <pre>
  * reprocessamento:
@@ -54,14 +62,23 @@ public class ReprocessamentoScheduler {
     private final PagamentoService pagamentoService;
     private final ReprocessamentoProperties properties;
 
+    private final AtomicBoolean estornosEmExecucao = new AtomicBoolean(false);
+    private final AtomicBoolean pagamentosEmExecucao = new AtomicBoolean(false);
+
     /**
      * Reprocessa estornos pendentes a cada 5 minutos.
      * 
      * <p>Busca todos os estornos com status PENDENTE e tenta reprocessá-los com o adquirente.
      * Atualiza o status baseado na resposta (CANCELADO, NEGADO ou mantém PENDENTE).
      */
+    @Async(ExecutorConfig.EXECUTOR_REPROCESSAMENTO)
     @Scheduled(fixedRate = 300000) // 5 minutos
     public void reprocessarEstornosPendentes() {
+        if (!estornosEmExecucao.compareAndSet(false, true)) {
+            log.warn("⏭️ [SCHEDULER] Job de reprocessamento de estornos ainda em execução, ciclo ignorado");
+            return;
+        }
+
         long startTime = System.currentTimeMillis();
         log.info("📅 [SCHEDULER] Iniciando job de reprocessamento de estornos pendentes");
         
@@ -72,6 +89,8 @@ public class ReprocessamentoScheduler {
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             log.error("❌ [SCHEDULER] Erro ao reprocessar estornos pendentes (tempo: {}ms): {}", duration, e.getMessage(), e);
+        } finally {
+            estornosEmExecucao.set(false);
         }
     }
 
@@ -81,8 +100,14 @@ public class ReprocessamentoScheduler {
      * <p>Busca todos os pagamentos com status PENDENTE e tenta autorizá-los novamente com o adquirente.
      * Atualiza o status baseado na resposta (PROCESSADO, ERRO ou mantém PENDENTE).
      */
+    @Async(ExecutorConfig.EXECUTOR_REPROCESSAMENTO)
     @Scheduled(fixedRate = 300000) // 5 minutos
     public void reprocessarPagamentosPendentes() {
+        if (!pagamentosEmExecucao.compareAndSet(false, true)) {
+            log.warn("⏭️ [SCHEDULER] Job de reprocessamento de pagamentos ainda em execução, ciclo ignorado");
+            return;
+        }
+
         long startTime = System.currentTimeMillis();
         log.info("📅 [SCHEDULER] Iniciando job de reprocessamento de pagamentos pendentes");
         
@@ -93,6 +118,8 @@ public class ReprocessamentoScheduler {
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             log.error("❌ [SCHEDULER] Erro ao reprocessar pagamentos pendentes (tempo: {}ms): {}", duration, e.getMessage(), e);
+        } finally {
+            pagamentosEmExecucao.set(false);
         }
     }
 }
@@ -0,0 +1,134 @@
+package br.com.sicredi.toolschallenge.infra.snowflake;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Gerador de IDs Snowflake (snowflake_id de pagamentos e estornos).
+ *
+ * Layout (63 bits, sempre positivo em BIGINT):
+ * - 41 bits: milissegundos desde o epoch customizado
+ * - 10 bits: worker id (único por instância, via lease em infra.snowflake_worker)
+ * - 12 bits: sequência dentro do milissegundo (4096 IDs/ms por instância)
+ *
+ * Lock-free: o último ID emitido fica em um único AtomicLong e cada ID é um
+ * compareAndSet. Timestamp e sequência são extraídos do próprio ID anterior,
+ * então não há estado a manter consistente entre duas variáveis.
+ *
+ * Garantias:
+ * - Monotônico na instância: cada ID é maior que todos os anteriores
+ * - Sequência esgotada no milissegundo: aguarda (spin) o próximo milissegundo
+ * - Relógio regrediu até toleranciaRegressaoMs: continua no último timestamp
+ *   emitido incrementando a sequência (sem repetir IDs)
+ * - Regressão maior que a tolerância: IllegalStateException (nada é gerado)
+ * - Lease do worker id perdido: IllegalStateException (outro nó pode assumi-lo)
+ */
+public class GeradorSnowflake {
+
+    /** 2025-01-01T00:00:00Z */
+    public static final long EPOCH_PADRAO_MS = 1735689600000L;
+
+    static final int BITS_WORKER = 10;
+    static final int BITS_SEQUENCIA = 12;
+
+    public static final int MAX_WORKER_ID = (1 << BITS_WORKER) - 1;
+
+    private static final long MASCARA_SEQUENCIA = (1L << BITS_SEQUENCIA) - 1;
+    private static final int DESLOCAMENTO_WORKER = BITS_SEQUENCIA;
+    private static final int DESLOCAMENTO_TIMESTAMP = BITS_SEQUENCIA + BITS_WORKER;
+
+    private final long epochMs;
+    private final int workerId;
+    private final long bitsWorker;
+    private final long toleranciaRegressaoMs;
+    private final LongSupplier relogio;
+    private final BooleanSupplier leaseValido;
+
+    private final AtomicLong ultimoId = new AtomicLong();
+
+    public GeradorSnowflake(long epochMs, int workerId) {
+        this(epochMs, workerId, 1000, System::currentTimeMillis, () -> true);
+    }
+
+    public GeradorSnowflake(long epochMs, int workerId, long toleranciaRegressaoMs,
+                            LongSupplier relogio, BooleanSupplier leaseValido) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException(
+                "Worker id deve estar entre 0 e " + MAX_WORKER_ID + ": " + workerId);
+        }
+        this.epochMs = epochMs;
+        this.workerId = workerId;
+        this.bitsWorker = (long) workerId << DESLOCAMENTO_WORKER;
+        this.toleranciaRegressaoMs = toleranciaRegressaoMs;
+        this.relogio = relogio;
+        this.leaseValido = leaseValido;
+    }
+
+    /**
+     * Gera o próximo ID.
+     *
+     * @return ID único e maior que todos os anteriores desta instância
+     * @throws IllegalStateException se o relógio regrediu além da tolerância
+     *                               ou o lease do worker id foi perdido
+     */
+    public long proximoId() {
+        if (!leaseValido.getAsBoolean()) {
+            throw new IllegalStateException("Lease do worker id " + workerId + " perdido: geração de IDs suspensa");
+        }
+
+        while (true) {
+            long anterior = ultimoId.get();
+            long timestampAnterior = anterior >>> DESLOCAMENTO_TIMESTAMP;
+            long agora = relogio.getAsLong() - epochMs;
+
+            long proximo;
+            if (agora > timestampAnterior) {
+                proximo = (agora << DESLOCAMENTO_TIMESTAMP) | bitsWorker;
+            } else {
+                if (timestampAnterior - agora > toleranciaRegressaoMs) {
+                    throw new IllegalStateException(String.format(
+                        "Relógio regrediu %d ms (tolerância %d ms): geração de IDs recusada",
+                        timestampAnterior - agora, toleranciaRegressaoMs));
+                }
+                if ((anterior & MASCARA_SEQUENCIA) == MASCARA_SEQUENCIA) {
+                    // Sequência esgotada neste milissegundo: aguarda o relógio avançar
+                    Thread.onSpinWait();
+                    continue;
+                }
+                proximo = anterior + 1;
+            }
+
+            if (ultimoId.compareAndSet(anterior, proximo)) {
+                return proximo;
+            }
+        }
+    }
+
+    /**
+     * @return Worker id embutido nos IDs desta instância
+     */
+    public int getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * Extrai o instante de geração (epoch Unix em ms) de um ID.
+     *
+     * @param id ID gerado com o mesmo epoch
+     * @return Milissegundos desde 1970-01-01T00:00:00Z
+     */
+    public long timestampDe(long id) {
+        return (id >>> DESLOCAMENTO_TIMESTAMP) + epochMs;
+    }
+
+    /**
+     * Extrai o worker id de um ID.
+     *
+     * @param id ID Snowflake
+     * @return Worker id (0 a 1023)
+     */
+    public static int workerIdDe(long id) {
+        return (int) ((id >>> DESLOCAMENTO_WORKER) & MAX_WORKER_ID);
+    }
+}
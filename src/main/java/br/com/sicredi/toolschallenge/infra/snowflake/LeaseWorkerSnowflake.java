@@ -0,0 +1,168 @@
+package br.com.sicredi.toolschallenge.infra.snowflake;
+
+import br.com.sicredi.toolschallenge.shared.config.SnowflakeProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lease do worker id do gerador Snowflake em infra.snowflake_worker.
+ *
+ * Na inicialização, a instância reivindica um worker id livre (nunca usado
+ * primeiro; depois, o de lease expirado há mais tempo) com um único
+ * INSERT ... ON CONFLICT DO UPDATE WHERE expira_em < now(). Duas instâncias
+ * disputando o mesmo id: só uma vence, a outra tenta o próximo.
+ *
+ * O lease é renovado a cada snowflake.intervalo-renovacao-ms. Se o banco ficar
+ * indisponível, a instância suspende a geração de IDs um intervalo antes do
+ * lease expirar, para que nunca gere IDs com um worker id que outra instância
+ * possa ter assumido. Se outra instância já tiver assumido o id, a suspensão
+ * é definitiva (reinicie a instância para reivindicar outro).
+ *
+ * No desligamento, o worker id é liberado para reaproveitamento imediato.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaseWorkerSnowflake {
+
+    static final String SQL_REIVINDICAR = """
+            INSERT INTO infra.snowflake_worker (worker_id, instancia, expira_em, adquirido_em)
+            SELECT c.worker_id, ?, now() + make_interval(secs => ?), now()
+            FROM generate_series(0, ?) AS c(worker_id)
+            LEFT JOIN infra.snowflake_worker w ON w.worker_id = c.worker_id
+            WHERE w.worker_id IS NULL OR w.expira_em < now()
+            ORDER BY w.expira_em ASC NULLS FIRST, random()
+            LIMIT 1
+            ON CONFLICT (worker_id) DO UPDATE
+                SET instancia = EXCLUDED.instancia,
+                    expira_em = EXCLUDED.expira_em,
+                    adquirido_em = EXCLUDED.adquirido_em
+                WHERE infra.snowflake_worker.expira_em < now()
+            RETURNING worker_id
+            """;
+
+    // Recria a linha se ela sumiu ou expirou sem dono novo; não toma o id de outra instância
+    static final String SQL_RENOVAR = """
+            INSERT INTO infra.snowflake_worker (worker_id, instancia, expira_em, adquirido_em)
+            VALUES (?, ?, now() + make_interval(secs => ?), now())
+            ON CONFLICT (worker_id) DO UPDATE
+                SET expira_em = EXCLUDED.expira_em
+                WHERE infra.snowflake_worker.instancia = EXCLUDED.instancia
+                   OR infra.snowflake_worker.expira_em < now()
+            """;
+
+    static final String SQL_LIBERAR =
+            "DELETE FROM infra.snowflake_worker WHERE worker_id = ? AND instancia = ?";
+
+    private static final int MAX_TENTATIVAS_REIVINDICACAO = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnowflakeProperties snowflakeProperties;
+
+    private final String instancia = ManagementFactory.getRuntimeMXBean().getName()
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private volatile Integer workerId;
+    private volatile boolean valido = true;
+    private volatile long expiraEmNanos;
+
+    /**
+     * Reivindica um worker id livre.
+     *
+     * @return Worker id reivindicado
+     * @throws IllegalStateException se todos os worker ids estiverem em uso
+     */
+    public int reivindicar() {
+        for (int tentativa = 1; tentativa <= MAX_TENTATIVAS_REIVINDICACAO; tentativa++) {
+            long inicio = System.nanoTime();
+            List<Integer> reivindicado = jdbcTemplate.queryForList(SQL_REIVINDICAR, Integer.class,
+                    instancia, snowflakeProperties.getLeaseSegundos(), GeradorSnowflake.MAX_WORKER_ID);
+
+            if (!reivindicado.isEmpty()) {
+                workerId = reivindicado.get(0);
+                expiraEmNanos = inicio + TimeUnit.SECONDS.toNanos(snowflakeProperties.getLeaseSegundos());
+                log.info("Worker id Snowflake {} reivindicado pela instância {} (lease {}s)",
+                        workerId, instancia, snowflakeProperties.getLeaseSegundos());
+                return workerId;
+            }
+
+            log.debug("Worker id disputado por outra instância, tentando novamente ({}/{})",
+                    tentativa, MAX_TENTATIVAS_REIVINDICACAO);
+        }
+
+        throw new IllegalStateException("Nenhum worker id Snowflake livre em infra.snowflake_worker");
+    }
+
+    /**
+     * Renova o lease do worker id reivindicado.
+     */
+    @Scheduled(fixedDelayString = "${snowflake.intervalo-renovacao-ms:20000}")
+    public void renovar() {
+        if (workerId == null || !valido) {
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            int atualizados = jdbcTemplate.update(SQL_RENOVAR,
+                    workerId, instancia, snowflakeProperties.getLeaseSegundos());
+
+            if (atualizados == 0) {
+                valido = false;
+                log.error("Worker id Snowflake {} assumido por outra instância: geração de IDs suspensa", workerId);
+                return;
+            }
+
+            expiraEmNanos = inicio + TimeUnit.SECONDS.toNanos(snowflakeProperties.getLeaseSegundos());
+
+        } catch (Exception e) {
+            long margem = TimeUnit.MILLISECONDS.toNanos(snowflakeProperties.getIntervaloRenovacaoMs());
+            if (System.nanoTime() > expiraEmNanos - margem) {
+                valido = false;
+                log.error("Falha ao renovar lease do worker id Snowflake {} antes do prazo: geração de IDs suspensa",
+                        workerId, e);
+            } else {
+                log.warn("Falha ao renovar lease do worker id Snowflake {} (nova tentativa em {}ms): {}",
+                        workerId, snowflakeProperties.getIntervaloRenovacaoMs(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Libera o worker id no desligamento.
+     */
+    @PreDestroy
+    public void liberar() {
+        if (workerId == null) {
+            return;
+        }
+
+        valido = false;
+        try {
+            jdbcTemplate.update(SQL_LIBERAR, workerId, instancia);
+            log.info("Worker id Snowflake {} liberado", workerId);
+        } catch (Exception e) {
+            log.warn("Falha ao liberar worker id Snowflake {} (expira em {}s): {}",
+                    workerId, snowflakeProperties.getLeaseSegundos(), e.getMessage());
+        }
+    }
+
+    /**
+     * Verificado a cada ID gerado: também confere o prazo do lease, para não
+     * depender da pontualidade do agendador.
+     *
+     * @return true enquanto o lease do worker id estiver garantido
+     */
+    public boolean isValido() {
+        return valido && System.nanoTime() < expiraEmNanos;
+    }
+}
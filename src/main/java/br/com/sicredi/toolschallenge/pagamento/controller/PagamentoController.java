@@ -1,10 +1,17 @@
 package br.com.sicredi.toolschallenge.pagamento.controller;
 
 import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.dto.FormatoExportacao;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoLoteRequestDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoLoteResponseDTO;
 import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoRequestDTO;
 import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResumo;
+import br.com.sicredi.toolschallenge.pagamento.service.PagamentoExportacaoService;
+import br.com.sicredi.toolschallenge.pagamento.service.PagamentoLoteService;
 import br.com.sicredi.toolschallenge.pagamento.service.PagamentoService;
 import br.com.sicredi.toolschallenge.infra.idempotencia.annotation.Idempotente;
+import br.com.sicredi.toolschallenge.shared.paginacao.PaginaDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,14 +19,22 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -28,9 +43,13 @@ import java.util.concurrent.TimeUnit;
  * 
  * Endpoints:
  * - POST   /pagamentos          - Criar novo pagamento
+ * - POST   /pagamentos/assincrono - Submeter pagamento para autorização assíncrona
+ * - POST   /pagamentos/lote     - Criar vários pagamentos (idempotência por item)
  * - GET    /pagamentos/{id}     - Consultar pagamento por ID
  * - GET    /pagamentos          - Listar todos os pagamentos
  * - GET    /pagamentos/status/{status} - Listar por status
+ * - GET    /pagamentos/busca    - Buscar com filtros, paginada por cursor
+ * - GET    /pagamentos/export   - Exportar período em NDJSON/CSV (streaming, gzip)
  * 
  * Todas as respostas seguem padrão REST com códigos HTTP apropriados.
  */
@@ -42,6 +61,8 @@ import java.util.concurrent.TimeUnit;
 public class PagamentoController {
 
     private final PagamentoService service;
+    private final PagamentoLoteService loteService;
+    private final PagamentoExportacaoService exportacaoService;
 
     /**
      * Cria um novo pagamento.
@@ -154,6 +175,123 @@ public class PagamentoController {
             .body(response);
     }
 
+    /**
+     * Submete um pagamento para autorização assíncrona.
+     * 
+     * O pagamento é gravado como PENDENTE e enfileirado; a autorização ocorre em
+     * segundo plano. O resultado é obtido em GET /pagamentos/{idTransacao} (Location)
+     * ou enviado via POST para a URL do header 'Url-Callback', se informada.
+     * 
+     * @param request DTO validado com dados do pagamento
+     * @param urlCallback URL notificada com o resultado (opcional)
+     * @return 202 Accepted com DTO PENDENTE e Location header
+     */
+    @PostMapping("/assincrono")
+    @Idempotente(ttl = 24, unidadeTempo = TimeUnit.HOURS)
+    @PreAuthorize("hasAuthority('pagamentos:write')")
+    @Operation(
+        summary = "Submeter pagamento assíncrono",
+        description = "Grava o pagamento como PENDENTE e retorna imediatamente; a autorização com o adquirente ocorre em segundo plano. "
+            + "Consulte o resultado pelo header Location ou informe 'Url-Callback' para ser notificado. Requer header 'Chave-Idempotencia'."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "202",
+            description = "Pagamento aceito e enfileirado para autorização (status PENDENTE)",
+            content = @Content(schema = @Schema(implementation = PagamentoResponseDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Requisição inválida: dados incorretos, URL de callback inválida ou header 'Chave-Idempotencia' ausente",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Não autenticado: token JWT ausente ou inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Acesso negado: token válido mas sem permissão 'pagamentos:write'",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        )
+    })
+    public ResponseEntity<PagamentoResponseDTO> submeterPagamento(
+        @Parameter(description = "Chave de idempotência para evitar duplicatas", required = true)
+        @RequestHeader(value = "Chave-Idempotencia", required = true) String chaveIdempotencia,
+        @Parameter(description = "URL (http/https) notificada via POST com o resultado da autorização", example = "https://loja.exemplo.com/pagamentos/retorno")
+        @RequestHeader(value = "Url-Callback", required = false) String urlCallback,
+        @Valid @RequestBody PagamentoRequestDTO request
+    ) {
+        log.info("POST /pagamentos/assincrono - Submetendo pagamento");
+        
+        PagamentoResponseDTO response = service.submeterPagamento(request, urlCallback);
+        
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/pagamentos/{idTransacao}")
+            .buildAndExpand(response.getTransacao().getId())
+            .toUri();
+        
+        log.info("Pagamento aceito: {} - Status: {}", 
+            response.getTransacao().getId(), response.getTransacao().getStatus());
+        
+        return ResponseEntity
+            .accepted()
+            .location(location)
+            .body(response);
+    }
+
+    /**
+     * Cria vários pagamentos em uma única requisição.
+     * 
+     * Cada item traz sua própria chave de idempotência (não há header
+     * 'Chave-Idempotencia'). Os itens novos são autorizados em paralelo e
+     * gravados com um INSERT em lote.
+     * 
+     * @param request DTO validado com os pagamentos do lote
+     * @return 200 OK com o resultado de cada item (CRIADO, REPETIDO ou ERRO)
+     */
+    @PostMapping("/lote")
+    @PreAuthorize("hasAuthority('pagamentos:write')")
+    @Operation(
+        summary = "Criar pagamentos em lote",
+        description = "Cria vários pagamentos em uma única requisição e retorna o resultado de cada item, na ordem recebida. "
+            + "Cada item tem sua própria 'chaveIdempotencia'; itens com chave já processada devolvem a resposta anterior."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lote processado; consulte a situação de cada item",
+            content = @Content(schema = @Schema(implementation = PagamentoLoteResponseDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Requisição inválida: lote vazio, acima do tamanho máximo ou item com dados incorretos",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Não autenticado: token JWT ausente ou inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Acesso negado: token válido mas sem permissão 'pagamentos:write'",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        )
+    })
+    public ResponseEntity<PagamentoLoteResponseDTO> criarPagamentosEmLote(
+        @Valid @RequestBody PagamentoLoteRequestDTO request,
+        HttpServletRequest httpRequest
+    ) {
+        log.info("POST /pagamentos/lote - Criando lote de {} pagamentos", request.getPagamentos().size());
+        
+        PagamentoLoteResponseDTO response = loteService.processarLote(
+            request, httpRequest.getMethod() + " " + httpRequest.getRequestURI());
+        
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Busca pagamento por ID de transação.
      * 
@@ -226,10 +364,10 @@ public class PagamentoController {
             content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
         )
     })
-    public ResponseEntity<List<PagamentoResponseDTO>> listarPagamentos() {
+    public ResponseEntity<List<PagamentoResumo>> listarPagamentos() {
         log.info("GET /pagamentos - Listando todos os pagamentos");
         
-        List<PagamentoResponseDTO> pagamentos = service.listarPagamentos();
+        List<PagamentoResumo> pagamentos = service.listarPagamentos();
         
         log.info("Retornando {} pagamentos", pagamentos.size());
         
@@ -264,16 +402,143 @@ public class PagamentoController {
             content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
         )
     })
-    public ResponseEntity<List<PagamentoResponseDTO>> listarPorStatus(
+    public ResponseEntity<List<PagamentoResumo>> listarPorStatus(
         @Parameter(description = "Status do pagamento", example = "AUTORIZADO")
         @PathVariable StatusPagamento status
     ) {
         log.info("GET /pagamentos/status/{} - Listando por status", status);
         
-        List<PagamentoResponseDTO> pagamentos = service.listarPorStatus(status);
+        List<PagamentoResumo> pagamentos = service.listarPorStatus(status);
         
         log.info("Retornando {} pagamentos com status {}", pagamentos.size(), status);
         
         return ResponseEntity.ok(pagamentos);
     }
+
+    /**
+     * Busca pagamentos com filtros opcionais, paginada por cursor.
+     * 
+     * @param status Status (opcional)
+     * @param estabelecimento Estabelecimento (opcional)
+     * @param de Criados a partir de, inclusive (opcional, ISO-8601)
+     * @param ate Criados antes de, exclusive (opcional, ISO-8601)
+     * @param limite Itens por página (opcional)
+     * @param cursor Cursor opaco devolvido na página anterior (opcional)
+     * @return 200 OK com a página e o cursor da próxima
+     */
+    @GetMapping("/busca")
+    @PreAuthorize("hasAuthority('pagamentos:read')")
+    @Operation(
+        summary = "Buscar pagamentos com paginação por cursor",
+        description = "Filtra por status, estabelecimento e período de criação, mais recentes primeiro. " +
+            "Para a próxima página, repita a busca com os mesmos filtros e o 'proximoCursor' recebido; " +
+            "sem 'proximoCursor', não há mais páginas."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de pagamentos retornada com sucesso"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor, limite ou período inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Não autenticado: token JWT ausente ou inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Acesso negado: token válido mas sem permissão 'pagamentos:read'",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        )
+    })
+    public ResponseEntity<PaginaDTO<PagamentoResumo>> buscarPagamentos(
+        @Parameter(description = "Status do pagamento", example = "AUTORIZADO")
+        @RequestParam(required = false) StatusPagamento status,
+        @Parameter(description = "Nome do estabelecimento", example = "PetShop Mundo Cão")
+        @RequestParam(required = false) String estabelecimento,
+        @Parameter(description = "Criados a partir de (inclusive)", example = "2025-11-01T00:00:00-03:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime de,
+        @Parameter(description = "Criados antes de (exclusive)", example = "2025-11-02T00:00:00-03:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime ate,
+        @Parameter(description = "Itens por página (padrão 50, máximo 500)", example = "50")
+        @RequestParam(required = false) Integer limite,
+        @Parameter(description = "Cursor opaco da página anterior")
+        @RequestParam(required = false) String cursor
+    ) {
+        log.info("GET /pagamentos/busca - Buscando pagamentos");
+        
+        PaginaDTO<PagamentoResumo> pagina = service.buscarPagamentos(status, estabelecimento, de, ate, cursor, limite);
+        
+        log.info("Retornando {} pagamentos (próxima página: {})", pagina.itens().size(), pagina.proximoCursor() != null);
+        
+        return ResponseEntity.ok(pagina);
+    }
+
+    /**
+     * Exporta os pagamentos criados no período para conciliação.
+     * 
+     * A resposta é escrita em streaming (gzip) enquanto as linhas são lidas
+     * do banco; a memória usada não depende do tamanho do período.
+     * 
+     * @param de Criados a partir de, inclusive (ISO-8601)
+     * @param ate Criados antes de, exclusive (ISO-8601)
+     * @param formato ndjson (padrão) ou csv
+     * @param response Resposta HTTP (corpo escrito diretamente)
+     * @throws IOException se a escrita falhar (ex.: cliente desconectou)
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('pagamentos:read')")
+    @Operation(
+        summary = "Exportar pagamentos do período",
+        description = "Exporta em NDJSON ou CSV, compactado com gzip (Content-Encoding: gzip), " +
+            "todos os pagamentos criados no período, em ordem de criação."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Exportação em andamento (corpo em streaming)"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Período ou formato inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Não autenticado: token JWT ausente ou inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Acesso negado: token válido mas sem permissão 'pagamentos:read'",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        )
+    })
+    public void exportarPagamentos(
+        @Parameter(description = "Criados a partir de (inclusive)", example = "2025-11-10T00:00:00-03:00")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime de,
+        @Parameter(description = "Criados antes de (exclusive)", example = "2025-11-11T00:00:00-03:00")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime ate,
+        @Parameter(description = "Formato: ndjson ou csv", example = "ndjson")
+        @RequestParam(defaultValue = "ndjson") String formato,
+        HttpServletResponse response
+    ) throws IOException {
+        log.info("GET /pagamentos/export - Exportando pagamentos de {} a {} ({})", de, ate, formato);
+        
+        // Erros de validação antes do primeiro byte: ainda dá para responder 400
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        exportacaoService.validarPeriodo(de, ate);
+        
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(formatoExportacao.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"pagamentos." + formatoExportacao.getExtensao() + "\"");
+        
+        exportacaoService.exportar(de, ate, formatoExportacao, response.getOutputStream());
+    }
 }
@@ -0,0 +1,76 @@
+package br.com.sicredi.toolschallenge.pagamento.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Item da fila durável de autorização de pagamentos assíncronos.
+ * Mapeia a tabela: pagamento.fila_autorizacao
+ * 
+ * Ciclo de vida:
+ * 1. Criado na mesma transação do pagamento PENDENTE (POST /pagamentos/assincrono)
+ * 2. Reivindicado por um worker (FOR UPDATE SKIP LOCKED + lease em bloqueado_ate)
+ * 3. Removido na mesma transação que grava o resultado da autorização
+ * 
+ * Se o worker cair, o lease expira e o item volta a ser elegível.
+ */
+@Entity
+@Table(
+    name = "fila_autorizacao",
+    schema = "pagamento",
+    indexes = {
+        @Index(name = "idx_fila_autorizacao_criado_em", columnList = "criado_em, id")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_fila_autorizacao_pagamento", columnNames = "id_pagamento")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class FilaAutorizacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID técnico do pagamento PENDENTE a autorizar
+     */
+    @Column(name = "id_pagamento", nullable = false)
+    private Long idPagamento;
+
+    /**
+     * URL notificada com o resultado (opcional)
+     */
+    @Column(name = "url_callback", length = 500)
+    private String urlCallback;
+
+    /**
+     * Quantidade de reivindicações
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer tentativas = 0;
+
+    /**
+     * Lease de reivindicação
+     */
+    @Column(name = "bloqueado_ate")
+    private OffsetDateTime bloqueadoAte;
+
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private OffsetDateTime criadoEm;
+
+    @PrePersist
+    protected void onCreate() {
+        if (criadoEm == null) {
+            criadoEm = OffsetDateTime.now();
+        }
+    }
+}
@@ -24,9 +24,11 @@ import java.time.OffsetDateTime;
     schema = "pagamento",
     indexes = {
         @Index(name = "idx_pagamento_id_transacao", columnList = "id_transacao"),
-        @Index(name = "idx_pagamento_status", columnList = "status"),
+        @Index(name = "idx_pagamento_status", columnList = "status, criado_em DESC, id DESC"),
         @Index(name = "idx_pagamento_data_hora", columnList = "data_hora"),
-        @Index(name = "idx_pagamento_estabelecimento", columnList = "estabelecimento")
+        @Index(name = "idx_pagamento_estabelecimento", columnList = "estabelecimento, criado_em DESC, id DESC"),
+        @Index(name = "idx_pagamento_criado_em", columnList = "criado_em DESC, id DESC"),
+        @Index(name = "idx_pagamento_filtros", columnList = "status, estabelecimento, criado_em DESC, id DESC")
     },
     uniqueConstraints = {
         @UniqueConstraint(name = "uk_pagamento_id_transacao", columnNames = "id_transacao"),
@@ -56,6 +56,22 @@ public class FormaPagamentoDTO {
      */
     @AssertTrue(message = "Pagamento à vista deve ter apenas 1 parcela")
     public boolean isParcelasValidasParaAvista() {
+        return parcelasValidasParaAvista(tipo, parcelas);
+    }
+
+    /**
+     * Validação customizada: parcelas devem ser > 1 se tipo for parcelado.
+     */
+    @AssertTrue(message = "Pagamento parcelado deve ter mais de 1 parcela")
+    public boolean isParcelasValidasParaParcelado() {
+        return parcelasValidasParaParcelado(tipo, parcelas);
+    }
+
+    /**
+     * Regra de {@link #isParcelasValidasParaAvista()}, também usada pelo
+     * PagamentoResumoSerializer (os dois getters fazem parte do JSON de resposta).
+     */
+    static boolean parcelasValidasParaAvista(TipoPagamento tipo, Integer parcelas) {
         if (tipo == null) {
             return true; // Deixa @NotNull validar
         }
@@ -66,10 +82,9 @@ public class FormaPagamentoDTO {
     }
 
     /**
-     * Validação customizada: parcelas devem ser > 1 se tipo for parcelado.
+     * Regra de {@link #isParcelasValidasParaParcelado()}.
      */
-    @AssertTrue(message = "Pagamento parcelado deve ter mais de 1 parcela")
-    public boolean isParcelasValidasParaParcelado() {
+    static boolean parcelasValidasParaParcelado(TipoPagamento tipo, Integer parcelas) {
         if (tipo == null || parcelas == null) {
             return true; // Deixa @NotNull validar
         }
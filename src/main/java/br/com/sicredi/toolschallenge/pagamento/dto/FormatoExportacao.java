@@ -0,0 +1,51 @@
+package br.com.sicredi.toolschallenge.pagamento.dto;
+
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+
+/**
+ * Formatos da exportação de pagamentos (GET /pagamentos/export).
+ */
+public enum FormatoExportacao {
+
+    /**
+     * Um objeto JSON por linha.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * CSV (RFC 4180) com linha de cabeçalho.
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    /**
+     * Converte o parâmetro da requisição (sem diferenciar maiúsculas).
+     *
+     * @param formato ndjson ou csv
+     * @return Formato
+     * @throws NegocioException se o formato não for suportado
+     */
+    public static FormatoExportacao de(String formato) {
+        for (FormatoExportacao valor : values()) {
+            if (valor.extensao.equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new NegocioException("Formato de exportação não suportado: " + formato + " (use ndjson ou csv)");
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.sicredi.toolschallenge.pagamento.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Item de um lote de pagamentos (POST /pagamentos/lote).
+ * 
+ * Cada item tem sua própria chave de idempotência, com o mesmo efeito do
+ * header 'Chave-Idempotencia' de POST /pagamentos.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Schema(description = "Pagamento do lote com sua chave de idempotência")
+public class ItemLotePagamentoDTO {
+
+    /**
+     * Chave de idempotência do item.
+     */
+    @Schema(
+        description = "Chave de idempotência do pagamento (mesmo espaço de chaves do header 'Chave-Idempotencia')",
+        example = "7c9e6679-7425-40de-944b-e07fc1f90ae7",
+        requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotBlank(message = "Chave de idempotência é obrigatória")
+    private String chaveIdempotencia;
+
+    /**
+     * Dados completos da transação.
+     */
+    @Schema(
+        description = "Dados completos da transação de pagamento",
+        requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull(message = "Transação é obrigatória")
+    @Valid
+    private TransacaoDTO transacao;
+}
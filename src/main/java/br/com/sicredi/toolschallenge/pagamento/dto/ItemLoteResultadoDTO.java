@@ -0,0 +1,40 @@
+package br.com.sicredi.toolschallenge.pagamento.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Resultado de um item do lote de pagamentos.
+ * 
+ * Situações:
+ * - CRIADO: pagamento gravado (status AUTORIZADO, NEGADO ou PENDENTE)
+ * - REPETIDO: chave de idempotência já processada; resposta anterior devolvida
+ * - ERRO: item não gravado (ver campo erro); pode ser reenviado com a mesma chave
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resultado de um pagamento do lote")
+public class ItemLoteResultadoDTO {
+
+    public static final String CRIADO = "CRIADO";
+    public static final String REPETIDO = "REPETIDO";
+    public static final String ERRO = "ERRO";
+
+    @Schema(description = "Chave de idempotência do item", example = "7c9e6679-7425-40de-944b-e07fc1f90ae7")
+    private String chaveIdempotencia;
+
+    @Schema(description = "Situação do item", example = "CRIADO", allowableValues = {CRIADO, REPETIDO, ERRO})
+    private String situacao;
+
+    @Schema(description = "Pagamento criado ou resposta anterior (ausente em ERRO)")
+    private PagamentoResponseDTO pagamento;
+
+    @Schema(description = "Motivo do erro (apenas em ERRO)")
+    private String erro;
+}
@@ -0,0 +1,26 @@
+package br.com.sicredi.toolschallenge.pagamento.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Linha da exportação de pagamentos, lida direto do ResultSet.
+ *
+ * Plana e sem entidade: não passa pelo contexto de persistência nem pelos
+ * DTOs aninhados da API, e vira lixo assim que é escrita na saída.
+ */
+public record LinhaExportacaoPagamento(
+        String idTransacao,
+        String status,
+        BigDecimal valor,
+        String moeda,
+        OffsetDateTime dataHora,
+        String estabelecimento,
+        String tipoPagamento,
+        int parcelas,
+        String nsu,
+        String codigoAutorizacao,
+        String cartaoMascarado,
+        OffsetDateTime criadoEm
+) {
+}
@@ -0,0 +1,33 @@
+package br.com.sicredi.toolschallenge.pagamento.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para requisição de criação de pagamentos em lote.
+ * 
+ * O tamanho máximo do lote é definido em pagamento.lote.tamanho-maximo.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Schema(description = "Requisição para criar vários pagamentos de uma vez")
+public class PagamentoLoteRequestDTO {
+
+    /**
+     * Pagamentos do lote.
+     */
+    @Schema(
+        description = "Pagamentos do lote, cada um com sua chave de idempotência",
+        requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotEmpty(message = "O lote deve conter ao menos um pagamento")
+    private List<@Valid ItemLotePagamentoDTO> pagamentos;
+}
@@ -0,0 +1,36 @@
+package br.com.sicredi.toolschallenge.pagamento.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para resposta de criação de pagamentos em lote.
+ * 
+ * Os resultados seguem a ordem dos itens da requisição.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Schema(description = "Resultado por item do lote de pagamentos")
+public class PagamentoLoteResponseDTO {
+
+    @Schema(description = "Quantidade de itens recebidos", example = "3")
+    private int total;
+
+    @Schema(description = "Itens gravados nesta requisição", example = "2")
+    private int criados;
+
+    @Schema(description = "Itens com chave de idempotência já processada", example = "1")
+    private int repetidos;
+
+    @Schema(description = "Itens não gravados", example = "0")
+    private int erros;
+
+    @Schema(description = "Resultado de cada item, na ordem da requisição")
+    private List<ItemLoteResultadoDTO> resultados;
+}
@@ -0,0 +1,45 @@
+package br.com.sicredi.toolschallenge.pagamento.dto;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.shared.paginacao.CursorKeyset;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Projeção de leitura de pagamento para as listagens.
+ *
+ * Preenchida por expressão construtora JPQL ({@code SELECT new ...}): não
+ * hidrata a entidade (sem snapshot no contexto de persistência) e não monta
+ * os DTOs aninhados. O JSON é escrito direto pelo {@link PagamentoResumoSerializer},
+ * no mesmo formato de {@link PagamentoResponseDTO}.
+ *
+ * id e criadoEm não vão para o JSON: servem ao cursor da busca paginada.
+ */
+@JsonSerialize(using = PagamentoResumoSerializer.class)
+@Schema(implementation = PagamentoResponseDTO.class)
+public record PagamentoResumo(
+        Long id,
+        OffsetDateTime criadoEm,
+        String idTransacao,
+        StatusPagamento status,
+        BigDecimal valor,
+        OffsetDateTime dataHora,
+        String estabelecimento,
+        TipoPagamento tipoPagamento,
+        Integer parcelas,
+        String nsu,
+        String codigoAutorizacao,
+        String cartaoMascarado
+) {
+
+    /**
+     * @return Cursor que aponta para este pagamento
+     */
+    public CursorKeyset cursor() {
+        return new CursorKeyset(criadoEm, id);
+    }
+}
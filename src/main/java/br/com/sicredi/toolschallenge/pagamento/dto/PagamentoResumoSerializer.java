@@ -0,0 +1,85 @@
+package br.com.sicredi.toolschallenge.pagamento.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve {@link PagamentoResumo} no formato de {@link PagamentoResponseDTO}:
+ *
+ * <pre>
+ * { "transacao": { "cartao", "id",
+ *                  "descricao": { "valor", "dataHora", "estabelecimento" },
+ *                  "formaPagamento": { "tipo", "parcelas", ... },
+ *                  "nsu", "codigoAutorizacao", "status" } }
+ * </pre>
+ *
+ * Regras copiadas das anotações dos DTOs:
+ * - transacao: campos nulos omitidos (@JsonInclude NON_NULL)
+ * - descricao e formaPagamento: campos nulos escritos como null
+ * - dataHora: padrão do @JsonFormat de DescricaoDTO, no offset do próprio valor
+ * - formaPagamento: inclui os getters de validação (@AssertTrue), que o
+ *   Jackson serializa como propriedades
+ */
+public class PagamentoResumoSerializer extends StdSerializer<PagamentoResumo> {
+
+    private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+
+    public PagamentoResumoSerializer() {
+        super(PagamentoResumo.class);
+    }
+
+    @Override
+    public void serialize(PagamentoResumo pagamento, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeObjectFieldStart("transacao");
+
+        if (pagamento.cartaoMascarado() != null) {
+            gen.writeStringField("cartao", pagamento.cartaoMascarado());
+        }
+        if (pagamento.idTransacao() != null) {
+            gen.writeStringField("id", pagamento.idTransacao());
+        }
+
+        gen.writeObjectFieldStart("descricao");
+        gen.writeFieldName("valor");
+        if (pagamento.valor() != null) {
+            gen.writeNumber(pagamento.valor());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeStringField("dataHora", pagamento.dataHora() != null ? DATA_HORA.format(pagamento.dataHora()) : null);
+        gen.writeStringField("estabelecimento", pagamento.estabelecimento());
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("formaPagamento");
+        gen.writeStringField("tipo", pagamento.tipoPagamento() != null ? pagamento.tipoPagamento().name() : null);
+        gen.writeFieldName("parcelas");
+        if (pagamento.parcelas() != null) {
+            gen.writeNumber(pagamento.parcelas());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeBooleanField("parcelasValidasParaAvista",
+                FormaPagamentoDTO.parcelasValidasParaAvista(pagamento.tipoPagamento(), pagamento.parcelas()));
+        gen.writeBooleanField("parcelasValidasParaParcelado",
+                FormaPagamentoDTO.parcelasValidasParaParcelado(pagamento.tipoPagamento(), pagamento.parcelas()));
+        gen.writeEndObject();
+
+        if (pagamento.nsu() != null) {
+            gen.writeStringField("nsu", pagamento.nsu());
+        }
+        if (pagamento.codigoAutorizacao() != null) {
+            gen.writeStringField("codigoAutorizacao", pagamento.codigoAutorizacao());
+        }
+        if (pagamento.status() != null) {
+            gen.writeStringField("status", pagamento.status().name());
+        }
+
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+}
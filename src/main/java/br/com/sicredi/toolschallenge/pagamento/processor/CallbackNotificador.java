@@ -0,0 +1,133 @@
+package br.com.sicredi.toolschallenge.pagamento.processor;
+
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+
+/**
+ * Notifica a URL de callback com o resultado de um pagamento assíncrono.
+ *
+ * Melhor esforço: uma única tentativa com timeout curto. Se falhar, o cliente
+ * continua podendo consultar GET /pagamentos/{idTransacao}.
+ *
+ * O host é resolvido pelo resolvedor de DNS do próprio cliente HTTP, que
+ * recusa endereços internos ({@link DestinoCallback#validarEnderecos}); a
+ * conexão é aberta para os endereços validados, sem nova consulta ao DNS
+ * (DNS rebinding). Redirecionamentos não são seguidos e proxies do sistema
+ * não são usados (o proxy resolveria o host por conta própria).
+ *
+ * Métricas: pagamento.callback (tag resultado=sucesso|erro|recusado)
+ */
+@Slf4j
+@Component
+public class CallbackNotificador implements AutoCloseable {
+
+    private final CloseableHttpClient httpClient;
+    private final RestClient restClient;
+    private final MeterRegistry meterRegistry;
+    private final PagamentoProperties pagamentoProperties;
+
+    @Autowired
+    public CallbackNotificador(PagamentoProperties pagamentoProperties, MeterRegistry meterRegistry) {
+        this(pagamentoProperties, meterRegistry, SystemDefaultDnsResolver.INSTANCE);
+    }
+
+    CallbackNotificador(PagamentoProperties pagamentoProperties, MeterRegistry meterRegistry, DnsResolver dns) {
+        Timeout timeout = Timeout.ofMilliseconds(pagamentoProperties.getAssincrono().getTimeoutCallbackMs());
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setDnsResolver(resolvedorValidado(dns))
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(timeout)
+                                .setSocketTimeout(timeout)
+                                .build())
+                        .build())
+                .disableRedirectHandling()
+                .build();
+        this.restClient = RestClient.builder()
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+        this.meterRegistry = meterRegistry;
+        this.pagamentoProperties = pagamentoProperties;
+    }
+
+    /**
+     * Envia POST com o DTO de resposta do pagamento.
+     *
+     * @param urlCallback URL informada na submissão (ignorada se nula)
+     * @param pagamento Resultado da autorização
+     */
+    public void notificar(String urlCallback, PagamentoResponseDTO pagamento) {
+        if (urlCallback == null) {
+            return;
+        }
+
+        String idTransacao = pagamento.getTransacao().getId();
+        try {
+            URI destino = DestinoCallback.validar(urlCallback,
+                    pagamentoProperties.getAssincrono().getHostsCallbackPermitidos());
+
+            restClient.post()
+                    .uri(destino)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(pagamento)
+                    .retrieve()
+                    .toBodilessEntity();
+
+            meterRegistry.counter("pagamento.callback", "resultado", "sucesso").increment();
+            log.debug("Callback do pagamento {} enviado para {}", idTransacao, urlCallback);
+
+        } catch (NegocioException e) {
+            meterRegistry.counter("pagamento.callback", "resultado", "recusado").increment();
+            log.warn("Callback do pagamento {} recusado: {}", idTransacao, e.getMessage());
+
+        } catch (Exception e) {
+            meterRegistry.counter("pagamento.callback", "resultado", "erro").increment();
+            log.warn("Falha ao notificar callback do pagamento {} em {}: {}",
+                    idTransacao, urlCallback, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    /**
+     * Resolvedor do cliente HTTP que só devolve endereços públicos: a validação
+     * acontece na mesma resolução usada para abrir a conexão.
+     */
+    private static DnsResolver resolvedorValidado(DnsResolver dns) {
+        return new DnsResolver() {
+            @Override
+            public InetAddress[] resolve(String host) throws UnknownHostException {
+                return DestinoCallback.validarEnderecos(dns.resolve(host));
+            }
+
+            @Override
+            public String resolveCanonicalHostname(String host) throws UnknownHostException {
+                return dns.resolveCanonicalHostname(host);
+            }
+        };
+    }
+}
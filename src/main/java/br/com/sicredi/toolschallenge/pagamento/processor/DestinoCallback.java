@@ -0,0 +1,149 @@
+package br.com.sicredi.toolschallenge.pagamento.processor;
+
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Regras de destino da URL de callback (proteção contra SSRF).
+ *
+ * A URL é informada pelo cliente e chamada pela aplicação, de dentro da rede
+ * interna. São recusados:
+ * - Esquemas diferentes de http/https e URLs relativas ou com mais de 500 caracteres
+ * - Hosts fora de pagamento.assincrono.hosts-callback-permitidos (quando configurado)
+ * - localhost e endereços internos: loopback, link-local (inclui 169.254.169.254,
+ *   metadados de nuvem), redes privadas, CGNAT, ULA IPv6, multicast e reservados
+ *
+ * Na submissão só IPs literais são verificados (sem DNS na requisição); no
+ * envio o host é resolvido pelo próprio cliente HTTP ({@link #validarEnderecos})
+ * e todos os endereços precisam ser públicos, já que o DNS pode mudar depois
+ * da submissão. A conexão é aberta para os endereços validados, sem uma
+ * segunda consulta ao DNS que um atacante pudesse responder com um endereço
+ * interno (DNS rebinding).
+ */
+public final class DestinoCallback {
+
+    static final int TAMANHO_MAXIMO_URL = 500;
+
+    private DestinoCallback() {
+    }
+
+    /**
+     * Valida esquema, tamanho, allowlist e IPs literais, sem consultar o DNS.
+     *
+     * @param urlCallback URL informada pelo cliente
+     * @param hostsPermitidos Hosts aceitos (vazio: qualquer host público);
+     *                        "*.dominio" aceita os subdomínios
+     * @return URI validada
+     * @throws NegocioException se a URL for recusada
+     */
+    public static URI validar(String urlCallback, List<String> hostsPermitidos) {
+        URI uri = null;
+        try {
+            uri = URI.create(urlCallback);
+        } catch (IllegalArgumentException e) {
+            // Tratado abaixo
+        }
+
+        if (uri == null
+                || urlCallback.length() > TAMANHO_MAXIMO_URL
+                || uri.getHost() == null
+                || !("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))) {
+            throw new NegocioException("URL de callback inválida: informe uma URL http/https absoluta com até 500 caracteres");
+        }
+
+        String host = host(uri);
+        if (!hostsPermitidos.isEmpty() && hostsPermitidos.stream().noneMatch(permitido -> corresponde(host, permitido))) {
+            throw new NegocioException("Host da URL de callback não permitido: " + host);
+        }
+        if (host.equals("localhost") || host.endsWith(".localhost") || (ipLiteral(host) && interno(resolverLiteral(host)))) {
+            throw new NegocioException("URL de callback não pode apontar para endereço interno: " + host);
+        }
+
+        return uri;
+    }
+
+    /**
+     * Exige que todos os endereços resolvidos para o host sejam públicos.
+     * Chamado no resolvedor de DNS do cliente HTTP, com os mesmos endereços
+     * usados na conexão.
+     *
+     * @param enderecos Endereços resolvidos
+     * @return Os mesmos endereços
+     * @throws NegocioException se algum endereço for interno
+     */
+    public static InetAddress[] validarEnderecos(InetAddress[] enderecos) {
+        for (InetAddress endereco : enderecos) {
+            if (interno(endereco)) {
+                throw new NegocioException("URL de callback resolve para endereço interno: " + endereco.getHostAddress());
+            }
+        }
+        return enderecos;
+    }
+
+    /**
+     * Endereço que não deve ser alcançado a partir de uma URL informada por cliente.
+     */
+    static boolean interno(InetAddress endereco) {
+        if (endereco.isAnyLocalAddress()
+                || endereco.isLoopbackAddress()
+                || endereco.isLinkLocalAddress()
+                || endereco.isSiteLocalAddress()
+                || endereco.isMulticastAddress()) {
+            return true;
+        }
+
+        byte[] bytes = endereco.getAddress();
+        if (bytes.length == 4) {
+            int primeiro = bytes[0] & 0xff;
+            int segundo = bytes[1] & 0xff;
+            return primeiro == 0                                         // 0.0.0.0/8
+                    || (primeiro == 100 && (segundo & 0xc0) == 64)       // 100.64.0.0/10 (CGNAT)
+                    || (primeiro == 192 && segundo == 0 && bytes[2] == 0) // 192.0.0.0/24
+                    || primeiro >= 240;                                  // reservados e broadcast
+        }
+
+        // fc00::/7 (ULA) e IPv4-compatível (::a.b.c.d)
+        return (bytes[0] & 0xfe) == 0xfc || (endereco instanceof Inet6Address && prefixoZerado(bytes));
+    }
+
+    private static boolean prefixoZerado(byte[] bytes) {
+        for (int i = 0; i < 12; i++) {
+            if (bytes[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String host(URI uri) {
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        return host.startsWith("[") && host.endsWith("]") ? host.substring(1, host.length() - 1) : host;
+    }
+
+    private static boolean corresponde(String host, String permitido) {
+        String padrao = permitido.toLowerCase(Locale.ROOT);
+        return padrao.startsWith("*.") ? host.endsWith(padrao.substring(1)) : host.equals(padrao);
+    }
+
+    /**
+     * IPv4 em qualquer forma numérica aceita pelo InetAddress (ex.: 2130706433) ou IPv6.
+     */
+    private static boolean ipLiteral(String host) {
+        return host.contains(":") || host.chars().allMatch(c -> Character.isDigit(c) || c == '.');
+    }
+
+    private static InetAddress resolverLiteral(String host) {
+        try {
+            // IP literal: não consulta o DNS
+            return InetAddress.getByName(host);
+        } catch (UnknownHostException e) {
+            throw new NegocioException("URL de callback inválida: endereço " + host + " mal formado");
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package br.com.sicredi.toolschallenge.pagamento.processor;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.FilaAutorizacao;
+import br.com.sicredi.toolschallenge.pagamento.service.PagamentoService;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drena a fila durável de autorização dos pagamentos assíncronos.
+ *
+ * A cada pagamento.assincrono.intervalo-ms:
+ * 1. Reivindica um lote da fila (FOR UPDATE SKIP LOCKED + lease)
+ * 2. Autoriza cada item no executor limitado de autorização assíncrona
+ * 3. Notifica a URL de callback, quando informada
+ *
+ * Antes de submeter o lote, agenda no TaskScheduler a extensão do lease dos
+ * itens ainda não concluídos a cada leaseSegundos / 3: a espera no executor e
+ * as tentativas do adquirente não têm duração máxima conhecida, e um lease
+ * vencido no meio da chamada deixaria outra instância autorizar o mesmo pagamento.
+ *
+ * Nenhum item é autorizado na thread do agendador: itens recusados pelo executor
+ * (fila cheia, qualquer política de rejeição) são concluídos com erro e voltam a
+ * ser reivindicados quando o lease vencer. A espera pelo lote é limitada por
+ * pagamento.assincrono.espera-maxima-lote-ms; vencido o prazo, a extensão do lease
+ * para e os itens que ainda não começaram no executor são descartados.
+ *
+ * A quantidade de chamadas simultâneas ao adquirente fica limitada pelo
+ * executor, e não pelo volume de requisições recebidas: em picos a fila
+ * cresce e o POST /pagamentos/assincrono continua respondendo 202.
+ *
+ * Várias instâncias podem drenar a mesma fila: cada uma reivindica lotes disjuntos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "pagamento.assincrono.enabled", havingValue = "true", matchIfMissing = true)
+public class FilaAutorizacaoProcessor {
+
+    private final PagamentoService pagamentoService;
+    private final CallbackNotificador callbackNotificador;
+    private final PagamentoProperties pagamentoProperties;
+    // Resolvido pelo nome do bean (ExecutorConfig.EXECUTOR_AUTORIZACAO_ASSINCRONA)
+    private final Executor autorizacaoAssincronaExecutor;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * Reivindica lotes enquanto vierem cheios (até pagamento.assincrono.max-lotes-por-ciclo),
+     * aguardando a autorização de cada lote antes de reivindicar o próximo.
+     * Para no primeiro lote com itens recusados pelo executor ou fora do prazo.
+     */
+    @Scheduled(fixedDelayString = "${pagamento.assincrono.intervalo-ms:200}")
+    public void processarFila() {
+        PagamentoProperties.Assincrono config = pagamentoProperties.getAssincrono();
+
+        try {
+            for (int lote = 0; lote < config.getMaxLotesPorCiclo(); lote++) {
+                List<FilaAutorizacao> itens = pagamentoService.reivindicarFilaAutorizacao(
+                        config.getTamanhoLote(), config.getLeaseSegundos());
+
+                if (itens.isEmpty()) {
+                    return; // Nada para autorizar
+                }
+
+                log.debug("Autorizando {} pagamentos da fila", itens.size());
+
+                if (!autorizarLote(itens, config)) {
+                    return; // Executor saturado: o restante fica para o próximo ciclo
+                }
+
+                if (itens.size() < config.getTamanhoLote()) {
+                    return; // Fila drenada
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Erro ao processar fila de autorização", e);
+        }
+    }
+
+    /**
+     * Submete o lote ao executor e aguarda sua conclusão, estendendo o lease dos
+     * itens em andamento até o prazo máximo do lote.
+     *
+     * @param itens Itens reivindicados
+     * @param config Configuração da fila
+     * @return true se todos os itens foram processados dentro do prazo
+     */
+    private boolean autorizarLote(List<FilaAutorizacao> itens, PagamentoProperties.Assincrono config)
+            throws InterruptedException, ExecutionException {
+        Set<Long> emAndamento = ConcurrentHashMap.newKeySet();
+        itens.forEach(item -> emAndamento.add(item.getId()));
+        AtomicBoolean abandonado = new AtomicBoolean();
+
+        long intervaloMs = Math.max(1, TimeUnit.SECONDS.toMillis(config.getLeaseSegundos()) / 3);
+        ScheduledFuture<?> extensao = taskScheduler.scheduleAtFixedRate(
+                () -> estenderLease(emAndamento, config.getLeaseSegundos()),
+                Instant.now().plusMillis(intervaloMs), Duration.ofMillis(intervaloMs));
+
+        try {
+            List<CompletableFuture<Void>> autorizacoes = itens.stream()
+                    .map(item -> submeter(item, emAndamento, abandonado))
+                    .toList();
+
+            CompletableFuture.allOf(autorizacoes.toArray(CompletableFuture[]::new))
+                    .handle((resultado, erro) -> null)
+                    .get(config.getEsperaMaximaLoteMs(), TimeUnit.MILLISECONDS);
+
+            long recusados = autorizacoes.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+            if (recusados > 0) {
+                log.warn("{} itens da fila recusados pelo executor de autorização; voltam à fila quando o lease vencer",
+                        recusados);
+                return false;
+            }
+            return true;
+
+        } catch (TimeoutException e) {
+            abandonado.set(true);
+            log.warn("Lote da fila de autorização não concluído em {} ms; {} itens voltam à fila quando o lease vencer",
+                    config.getEsperaMaximaLoteMs(), emAndamento.size());
+            return false;
+        } finally {
+            extensao.cancel(false);
+        }
+    }
+
+    /**
+     * Submete um item ao executor sem nunca autorizá-lo na thread que submete.
+     * O future é concluído com erro quando o executor recusa o item, inclusive
+     * quando a política de rejeição o devolveria para a thread chamadora.
+     *
+     * @param item Item reivindicado
+     * @param emAndamento IDs dos itens do lote ainda não concluídos
+     * @param abandonado Indica que o prazo do lote venceu
+     * @return Future concluído ao fim da autorização
+     */
+    private CompletableFuture<Void> submeter(FilaAutorizacao item, Set<Long> emAndamento, AtomicBoolean abandonado) {
+        CompletableFuture<Void> autorizacao = new CompletableFuture<>();
+        Thread submissora = Thread.currentThread();
+
+        try {
+            autorizacaoAssincronaExecutor.execute(() -> {
+                if (Thread.currentThread() == submissora) {
+                    emAndamento.remove(item.getId());
+                    autorizacao.completeExceptionally(new RejectedExecutionException("Executor de autorização saturado"));
+                    return;
+                }
+                try {
+                    if (!abandonado.get()) {
+                        autorizar(item, emAndamento);
+                    }
+                } finally {
+                    emAndamento.remove(item.getId());
+                    autorizacao.complete(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            emAndamento.remove(item.getId());
+            autorizacao.completeExceptionally(e);
+        }
+        return autorizacao;
+    }
+
+    /**
+     * Estende o lease dos itens ainda não concluídos do lote.
+     *
+     * @param emAndamento IDs dos itens ainda não concluídos
+     * @param leaseSegundos Lease de reivindicação
+     */
+    private void estenderLease(Set<Long> emAndamento, int leaseSegundos) {
+        List<Long> ids = List.copyOf(emAndamento);
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            pagamentoService.estenderLeaseFilaAutorizacao(ids, leaseSegundos);
+            log.debug("Lease estendido para {} itens da fila em andamento", ids.size());
+        } catch (Exception falha) {
+            // Tenta de novo no próximo intervalo: abandonar o lote não interromperia as chamadas em andamento
+            log.warn("Falha ao estender lease de {} itens da fila: {}", ids.size(), falha.getMessage());
+        }
+    }
+
+    /**
+     * Autoriza um item e notifica o callback com o resultado final.
+     * Erros mantêm o item na fila até o lease expirar.
+     *
+     * @param item Item reivindicado
+     * @param emAndamento IDs dos itens do lote ainda não concluídos
+     */
+    private void autorizar(FilaAutorizacao item, Set<Long> emAndamento) {
+        try {
+            pagamentoService.autorizarDaFila(item)
+                    .ifPresent(resultado -> callbackNotificador.notificar(item.getUrlCallback(), resultado));
+
+        } catch (Exception e) {
+            log.error("Erro ao autorizar item {} da fila (pagamento {}): {}",
+                    item.getId(), item.getIdPagamento(), e.getMessage());
+        } finally {
+            emAndamento.remove(item.getId());
+        }
+    }
+}
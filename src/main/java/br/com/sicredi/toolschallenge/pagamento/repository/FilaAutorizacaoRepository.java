@@ -0,0 +1,71 @@
+package br.com.sicredi.toolschallenge.pagamento.repository;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.FilaAutorizacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Repository da fila durável de autorização (pagamento.fila_autorizacao).
+ */
+@Repository
+public interface FilaAutorizacaoRepository extends JpaRepository<FilaAutorizacao, Long> {
+
+    /**
+     * Reivindica (claim) itens sem lease vigente, em ordem de chegada.
+     * 
+     * FOR UPDATE SKIP LOCKED garante que workers concorrentes (inclusive de
+     * outras instâncias) nunca recebam os mesmos itens.
+     * 
+     * Deve ser executado dentro de uma transação, seguida de
+     * {@link #renovarLease(List, OffsetDateTime)} para as linhas retornadas.
+     * 
+     * @param limite Quantidade máxima de itens
+     * @return Itens reivindicados (bloqueados até o fim da transação)
+     */
+    @Query(value = """
+            SELECT f.* FROM pagamento.fila_autorizacao f
+            WHERE f.bloqueado_ate IS NULL OR f.bloqueado_ate < now()
+            ORDER BY f.criado_em ASC, f.id ASC
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<FilaAutorizacao> reivindicarItens(@Param("limite") int limite);
+
+    /**
+     * Grava o lease de reivindicação e incrementa as tentativas.
+     * 
+     * @param ids IDs dos itens reivindicados
+     * @param bloqueadoAte Fim do lease
+     * @return Quantidade de itens atualizados
+     */
+    @Modifying
+    @Query("UPDATE FilaAutorizacao f SET f.bloqueadoAte = :bloqueadoAte, f.tentativas = f.tentativas + 1 WHERE f.id IN :ids")
+    int renovarLease(@Param("ids") List<Long> ids, @Param("bloqueadoAte") OffsetDateTime bloqueadoAte);
+
+    /**
+     * Estende o lease de itens ainda em processamento, sem contar nova tentativa.
+     * 
+     * @param ids IDs dos itens
+     * @param bloqueadoAte Novo fim do lease
+     * @return Quantidade de itens atualizados
+     */
+    @Modifying
+    @Query("UPDATE FilaAutorizacao f SET f.bloqueadoAte = :bloqueadoAte WHERE f.id IN :ids")
+    int estenderLease(@Param("ids") List<Long> ids, @Param("bloqueadoAte") OffsetDateTime bloqueadoAte);
+
+    /**
+     * Remove o item da fila (autorização concluída).
+     * 
+     * @param id ID do item
+     * @return Quantidade de itens removidos
+     */
+    @Modifying
+    @Query("DELETE FROM FilaAutorizacao f WHERE f.id = :id")
+    int remover(@Param("id") Long id);
+}
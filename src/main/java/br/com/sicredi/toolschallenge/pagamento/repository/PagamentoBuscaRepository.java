@@ -0,0 +1,84 @@
+package br.com.sicredi.toolschallenge.pagamento.repository;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResumo;
+import br.com.sicredi.toolschallenge.shared.paginacao.CursorKeyset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busca de pagamentos com filtros opcionais e paginação keyset sobre (criado_em, id).
+ * 
+ * A consulta é montada só com os filtros informados: predicados do tipo
+ * {@code (:status IS NULL OR status = :status)} impedem o PostgreSQL de usar
+ * os índices compostos (V14):
+ * - status + estabelecimento: idx_pagamento_filtros
+ * - status: idx_pagamento_status
+ * - estabelecimento: idx_pagamento_estabelecimento
+ * - sem filtro ou só período: idx_pagamento_criado_em
+ * 
+ * Todos terminam em (criado_em DESC, id DESC): a página é lida do índice já
+ * ordenada, a partir do cursor, e a leitura para no limite.
+ * 
+ * Devolve projeções ({@link PagamentoRepository#SELECT_RESUMO}), não entidades.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PagamentoBuscaRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Busca a página seguinte ao cursor, mais recentes primeiro.
+     * 
+     * @param status Status (opcional)
+     * @param estabelecimento Estabelecimento (opcional)
+     * @param de Criados a partir de, inclusive (opcional)
+     * @param ate Criados antes de, exclusive (opcional)
+     * @param apos Último item da página anterior (null: primeira página)
+     * @param limite Quantidade máxima de pagamentos
+     * @return Projeções ordenadas por (criado_em, id) decrescente
+     */
+    public List<PagamentoResumo> buscar(StatusPagamento status, String estabelecimento,
+                                         OffsetDateTime de, OffsetDateTime ate,
+                                         CursorKeyset apos, int limite) {
+        StringBuilder jpql = new StringBuilder(PagamentoRepository.SELECT_RESUMO).append(" WHERE 1 = 1");
+        Map<String, Object> parametros = new HashMap<>();
+
+        if (status != null) {
+            jpql.append(" AND p.status = :status");
+            parametros.put("status", status);
+        }
+        if (estabelecimento != null) {
+            jpql.append(" AND p.estabelecimento = :estabelecimento");
+            parametros.put("estabelecimento", estabelecimento);
+        }
+        if (de != null) {
+            jpql.append(" AND p.criadoEm >= :de");
+            parametros.put("de", de);
+        }
+        if (ate != null) {
+            jpql.append(" AND p.criadoEm < :ate");
+            parametros.put("ate", ate);
+        }
+        if (apos != null) {
+            // O primeiro termo delimita a faixa do índice; o segundo desempata pelo id
+            jpql.append(" AND p.criadoEm <= :cursorCriadoEm")
+                .append(" AND (p.criadoEm < :cursorCriadoEm OR p.id < :cursorId)");
+            parametros.put("cursorCriadoEm", apos.criadoEm());
+            parametros.put("cursorId", apos.id());
+        }
+        jpql.append(" ORDER BY p.criadoEm DESC, p.id DESC");
+
+        TypedQuery<PagamentoResumo> query = entityManager.createQuery(jpql.toString(), PagamentoResumo.class);
+        parametros.forEach(query::setParameter);
+        return query.setMaxResults(limite).getResultList();
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.sicredi.toolschallenge.pagamento.repository;
+
+import br.com.sicredi.toolschallenge.pagamento.dto.LinhaExportacaoPagamento;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Leitura de pagamentos para exportação (JDBC, cursor forward-only).
+ * 
+ * O driver do PostgreSQL só busca em blocos de fetch size com autocommit
+ * desligado; sem transação, ele traz o resultado inteiro para a memória.
+ * Por isso {@link #percorrerPorPeriodo} deve ser chamado dentro de uma
+ * transação (PagamentoExportacaoService é @Transactional(readOnly = true)).
+ */
+@Repository
+@RequiredArgsConstructor
+public class PagamentoExportacaoRepository {
+
+    static final String SQL_PERIODO = """
+            SELECT id_transacao, status, valor, moeda, data_hora, estabelecimento, tipo_pagamento, parcelas,
+                   nsu, codigo_autorizacao, cartao_mascarado, criado_em
+            FROM pagamento.pagamento
+            WHERE criado_em >= ? AND criado_em < ?
+            ORDER BY criado_em, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PagamentoProperties pagamentoProperties;
+
+    /**
+     * Entrega, uma a uma e em ordem de criação, as linhas dos pagamentos do período.
+     * A memória usada não depende da quantidade de linhas.
+     * 
+     * @param de Criados a partir de (inclusive)
+     * @param ate Criados antes de (exclusive)
+     * @param consumidor Recebe cada linha assim que lida
+     */
+    public void percorrerPorPeriodo(OffsetDateTime de, OffsetDateTime ate,
+                                    Consumer<LinhaExportacaoPagamento> consumidor) {
+        jdbcTemplate.query(
+                conexao -> {
+                    PreparedStatement ps = conexao.prepareStatement(
+                            SQL_PERIODO, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(pagamentoProperties.getExportacao().getTamanhoFetch());
+                    ps.setObject(1, de);
+                    ps.setObject(2, ate);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumidor.accept(mapear(rs)));
+    }
+
+    private static LinhaExportacaoPagamento mapear(ResultSet rs) throws SQLException {
+        return new LinhaExportacaoPagamento(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getBigDecimal(3),
+                rs.getString(4),
+                rs.getObject(5, OffsetDateTime.class),
+                rs.getString(6),
+                rs.getString(7),
+                rs.getInt(8),
+                rs.getString(9),
+                rs.getString(10),
+                rs.getString(11),
+                rs.getObject(12, OffsetDateTime.class));
+    }
+}
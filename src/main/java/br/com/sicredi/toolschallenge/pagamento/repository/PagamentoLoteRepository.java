@@ -0,0 +1,126 @@
+package br.com.sicredi.toolschallenge.pagamento.repository;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gravação de pagamentos em lote (JDBC batch).
+ * 
+ * A entidade Pagamento usa IDENTITY, o que impede o Hibernate de agrupar
+ * INSERTs; aqui o lote vira um único executeBatch (reescrito como INSERT
+ * multi-valores pelo driver com reWriteBatchedInserts=true).
+ */
+@Repository
+@RequiredArgsConstructor
+public class PagamentoLoteRepository {
+
+    static final String SQL_INSERT = """
+            INSERT INTO pagamento.pagamento
+                (id_transacao, status, valor, moeda, data_hora, estabelecimento, tipo_pagamento, parcelas,
+                 nsu, codigo_autorizacao, cartao_mascarado, snowflake_id, tentativas_reprocessamento,
+                 criado_em, atualizado_em)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    static final String SQL_ATUALIZAR_RESULTADO = """
+            UPDATE pagamento.pagamento
+            SET status = ?, nsu = ?, codigo_autorizacao = ?, atualizado_em = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere os pagamentos com um único INSERT em lote.
+     * Deve ser chamado dentro de uma transação.
+     * 
+     * Os IDs gerados e as datas de criação são preenchidos nos próprios
+     * pagamentos, na ordem recebida.
+     * 
+     * @param pagamentos Pagamentos novos (ainda não persistidos)
+     * @return Os mesmos pagamentos, com ID preenchido
+     */
+    public List<Pagamento> inserirEmLote(List<Pagamento> pagamentos) {
+        if (pagamentos.isEmpty()) {
+            return pagamentos;
+        }
+
+        OffsetDateTime agora = OffsetDateTime.now();
+        GeneratedKeyHolder chaves = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                conexao -> conexao.prepareStatement(SQL_INSERT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Pagamento pagamento = pagamentos.get(i);
+                        ps.setString(1, pagamento.getIdTransacao());
+                        ps.setString(2, pagamento.getStatus().name());
+                        ps.setBigDecimal(3, pagamento.getValor());
+                        ps.setString(4, pagamento.getMoeda());
+                        ps.setObject(5, pagamento.getDataHora());
+                        ps.setString(6, pagamento.getEstabelecimento());
+                        ps.setString(7, pagamento.getTipoPagamento().name());
+                        ps.setInt(8, pagamento.getParcelas());
+                        ps.setString(9, pagamento.getNsu());
+                        ps.setString(10, pagamento.getCodigoAutorizacao());
+                        ps.setString(11, pagamento.getCartaoMascarado());
+                        ps.setObject(12, pagamento.getSnowflakeId(), Types.BIGINT);
+                        ps.setInt(13, pagamento.getTentativasReprocessamento());
+                        ps.setObject(14, agora);
+                        ps.setObject(15, agora);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return pagamentos.size();
+                    }
+                },
+                chaves);
+
+        List<Map<String, Object>> ids = chaves.getKeyList();
+        for (int i = 0; i < pagamentos.size(); i++) {
+            Pagamento pagamento = pagamentos.get(i);
+            pagamento.setId(((Number) ids.get(i).get("id")).longValue());
+            pagamento.setCriadoEm(agora);
+            pagamento.setAtualizadoEm(agora);
+        }
+
+        return pagamentos;
+    }
+
+    /**
+     * Grava o resultado da autorização dos pagamentos com um único UPDATE em lote.
+     * Deve ser chamado dentro de uma transação.
+     * 
+     * @param pagamentos Pagamentos já persistidos, com o status retornado pelo adquirente
+     */
+    public void atualizarResultadoEmLote(List<Pagamento> pagamentos) {
+        if (pagamentos.isEmpty()) {
+            return;
+        }
+
+        OffsetDateTime agora = OffsetDateTime.now();
+
+        jdbcTemplate.batchUpdate(SQL_ATUALIZAR_RESULTADO, pagamentos, pagamentos.size(), (ps, pagamento) -> {
+            ps.setString(1, pagamento.getStatus().name());
+            ps.setString(2, pagamento.getNsu());
+            ps.setString(3, pagamento.getCodigoAutorizacao());
+            ps.setObject(4, agora);
+            ps.setLong(5, pagamento.getId());
+        });
+
+        pagamentos.forEach(pagamento -> pagamento.setAtualizadoEm(agora));
+    }
+}
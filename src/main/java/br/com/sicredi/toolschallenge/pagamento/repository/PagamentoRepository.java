@@ -2,6 +2,8 @@ package br.com.sicredi.toolschallenge.pagamento.repository;
 
 import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
 import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResumo;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,6 +25,14 @@ import java.util.Optional;
 @Repository
 public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
     
+    /**
+     * Início das consultas de listagem: projeção {@link PagamentoResumo}
+     * por expressão construtora, sem hidratar a entidade.
+     */
+    String SELECT_RESUMO = "SELECT new br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResumo("
+        + "p.id, p.criadoEm, p.idTransacao, p.status, p.valor, p.dataHora, p.estabelecimento, "
+        + "p.tipoPagamento, p.parcelas, p.nsu, p.codigoAutorizacao, p.cartaoMascarado) FROM Pagamento p";
+    
     /**
      * Busca pagamento por ID de transação (chave de negócio única).
      * 
@@ -58,12 +68,15 @@ public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
     List<Pagamento> findByStatus(StatusPagamento status);
     
     /**
-     * Busca pagamentos por status ordenados por data de criação (mais recentes primeiro).
+     * Lista pagamentos por status ordenados por data de criação (mais recentes primeiro).
+     * Usa idx_pagamento_status (status, criado_em DESC, id DESC) e para no limite.
      * 
      * @param status Status do pagamento
-     * @return Lista ordenada de pagamentos
+     * @param limite Quantidade máxima de pagamentos
+     * @return Projeções ordenadas
      */
-    List<Pagamento> findByStatusOrderByCriadoEmDesc(StatusPagamento status);
+    @Query(SELECT_RESUMO + " WHERE p.status = :status ORDER BY p.criadoEm DESC, p.id DESC")
+    List<PagamentoResumo> findResumosByStatus(@Param("status") StatusPagamento status, Limit limite);
     
     /**
      * Busca pagamentos criados em um período específico.
@@ -105,23 +118,46 @@ public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
      *   <li>Timeouts durante autorização</li>
      * </ul>
      * 
+     * <p>Ignora pagamentos criados depois de {@code criadoAntesDe}: um pagamento recém-criado
+     * fica PENDENTE enquanto aguarda o adquirente fora de transação, e não deve ser
+     * autorizado de novo pelo reprocessamento.
+     * 
+     * <p>Ignora também os pagamentos ainda na fila de autorização assíncrona
+     * (pagamento.fila_autorizacao), que já têm um worker responsável.
+     * 
      * <p>Ordenados por data de criação (mais antigos primeiro) para processamento FIFO.
      * 
+     * @param criadoAntesDe Limite de criação (agora menos a carência)
      * @return Lista de pagamentos pendentes ordenados por criação
      */
-    @Query("SELECT p FROM Pagamento p WHERE p.status = 'PENDENTE' ORDER BY p.criadoEm ASC")
-    List<Pagamento> findPagamentosPendentes();
+    @Query("""
+            SELECT p FROM Pagamento p
+            WHERE p.status = 'PENDENTE' AND p.criadoEm < :criadoAntesDe
+              AND NOT EXISTS (SELECT 1 FROM FilaAutorizacao f WHERE f.idPagamento = p.id)
+            ORDER BY p.criadoEm ASC
+            """)
+    List<Pagamento> findPagamentosPendentes(@Param("criadoAntesDe") OffsetDateTime criadoAntesDe);
     
     /**
      * Conta pagamentos por status em um período.
      * Útil para dashboards e métricas.
      * 
+     * <p>Soma os buckets de consulta.contagem_status (mantida por trigger) em vez de
+     * varrer pagamento.pagamento. O período é aplicado ao início do bucket: minuto
+     * de criação nas últimas contagem.horas-minuto horas, hora até
+     * contagem.dias-hora dias e dia (UTC) depois disso.
+     * 
      * @param status Status do pagamento
      * @param dataInicio Data/hora de início
      * @param dataFim Data/hora de fim
      * @return Quantidade de pagamentos
      */
-    @Query("SELECT COUNT(p) FROM Pagamento p WHERE p.status = :status AND p.criadoEm BETWEEN :dataInicio AND :dataFim")
+    @Query(value = """
+            SELECT CAST(COALESCE(SUM(c.quantidade), 0) AS BIGINT)
+            FROM consulta.contagem_status c
+            WHERE c.tipo = 'PAGAMENTO' AND c.status = :#{#status.name()}
+              AND c.inicio BETWEEN :dataInicio AND :dataFim
+            """, nativeQuery = true)
     Long countByStatusAndPeriodo(
         @Param("status") StatusPagamento status,
         @Param("dataInicio") OffsetDateTime dataInicio,
@@ -129,10 +165,34 @@ public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
     );
     
     /**
-     * Busca os últimos N pagamentos (para monitoramento).
+     * Conta pagamentos de um estabelecimento por status em um período
+     * (mesmos buckets e precisão de {@link #countByStatusAndPeriodo}).
+     * 
+     * @param status Status do pagamento
+     * @param estabelecimento Nome do estabelecimento
+     * @param dataInicio Data/hora de início
+     * @param dataFim Data/hora de fim
+     * @return Quantidade de pagamentos
+     */
+    @Query(value = """
+            SELECT CAST(COALESCE(SUM(c.quantidade), 0) AS BIGINT)
+            FROM consulta.contagem_status c
+            WHERE c.tipo = 'PAGAMENTO' AND c.status = :#{#status.name()}
+              AND c.inicio BETWEEN :dataInicio AND :dataFim
+              AND c.estabelecimento = :estabelecimento
+            """, nativeQuery = true)
+    Long countByStatusEstabelecimentoAndPeriodo(
+        @Param("status") StatusPagamento status,
+        @Param("estabelecimento") String estabelecimento,
+        @Param("dataInicio") OffsetDateTime dataInicio,
+        @Param("dataFim") OffsetDateTime dataFim
+    );
+    
+    /**
+     * Lista os últimos N pagamentos (para monitoramento).
      * 
-     * @return Lista dos pagamentos mais recentes
+     * @return Projeções dos pagamentos mais recentes
      */
-    @Query("SELECT p FROM Pagamento p ORDER BY p.criadoEm DESC LIMIT 100")
-    List<Pagamento> findUltimosPagamentos();
+    @Query(SELECT_RESUMO + " ORDER BY p.criadoEm DESC, p.id DESC LIMIT 100")
+    List<PagamentoResumo> findUltimosResumos();
 }
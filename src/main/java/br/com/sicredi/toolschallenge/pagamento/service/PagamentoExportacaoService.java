@@ -0,0 +1,244 @@
+package br.com.sicredi.toolschallenge.pagamento.service;
+
+import br.com.sicredi.toolschallenge.pagamento.dto.FormatoExportacao;
+import br.com.sicredi.toolschallenge.pagamento.dto.LinhaExportacaoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoExportacaoRepository;
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service da exportação de pagamentos para conciliação (GET /pagamentos/export).
+ * 
+ * Streaming de ponta a ponta: cada linha lida do cursor JDBC é escrita na
+ * saída (gzip) e descartada. Nenhuma lista, entidade ou DTO aninhado é
+ * montado, então exportações de dezenas de milhões de linhas usam a mesma
+ * memória que uma de mil.
+ * 
+ * A transação read-only mantém o cursor aberto (fetch size só funciona com
+ * autocommit desligado) durante toda a escrita.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PagamentoExportacaoService {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    static final String[] COLUNAS = {
+        "idTransacao", "status", "valor", "moeda", "dataHora", "estabelecimento", "tipoPagamento",
+        "parcelas", "nsu", "codigoAutorizacao", "cartao", "criadoEm"
+    };
+
+    private final PagamentoExportacaoRepository repository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Valida o período antes de a resposta começar a ser escrita
+     * (depois disso não é mais possível responder com erro).
+     * 
+     * @param de Criados a partir de (inclusive)
+     * @param ate Criados antes de (exclusive)
+     * @throws NegocioException se o período for inválido
+     */
+    public void validarPeriodo(OffsetDateTime de, OffsetDateTime ate) {
+        if (!de.isBefore(ate)) {
+            throw new NegocioException("Data inicial deve ser anterior à data final");
+        }
+    }
+
+    /**
+     * Escreve os pagamentos criados no período, compactados com gzip.
+     * 
+     * @param de Criados a partir de (inclusive)
+     * @param ate Criados antes de (exclusive)
+     * @param formato NDJSON ou CSV
+     * @param saida Destino (não é fechado; o gzip é finalizado)
+     * @return Quantidade de pagamentos exportados
+     * @throws IOException se a escrita falhar (ex.: cliente desconectou)
+     */
+    @Transactional(readOnly = true)
+    public long exportar(OffsetDateTime de, OffsetDateTime ate, FormatoExportacao formato,
+                         OutputStream saida) throws IOException {
+        validarPeriodo(de, ate);
+        long inicio = System.nanoTime();
+
+        GZIPOutputStream gzip = new GZIPOutputStream(saida, TAMANHO_BUFFER);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        Escritor escritor = formato == FormatoExportacao.CSV
+            ? new EscritorCsv(writer)
+            : new EscritorNdjson(objectMapper.getFactory().createGenerator(writer));
+
+        long[] linhas = {0};
+        try {
+            escritor.cabecalho();
+            repository.percorrerPorPeriodo(de, ate, linha -> {
+                try {
+                    escritor.linha(linha);
+                    linhas[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            escritor.finalizar();
+            writer.flush();
+            gzip.finish();
+        } catch (UncheckedIOException e) {
+            log.warn("Exportação de pagamentos interrompida após {} linhas: {}", linhas[0], e.getMessage());
+            throw e.getCause();
+        }
+
+        log.info("Exportados {} pagamentos ({}) de {} a {} em {} ms",
+            linhas[0], formato, de, ate, (System.nanoTime() - inicio) / 1_000_000);
+        return linhas[0];
+    }
+
+    private interface Escritor {
+
+        void cabecalho() throws IOException;
+
+        void linha(LinhaExportacaoPagamento linha) throws IOException;
+
+        void finalizar() throws IOException;
+    }
+
+    /**
+     * Um objeto JSON por linha, escrito pelo gerador de streaming do Jackson.
+     */
+    private static final class EscritorNdjson implements Escritor {
+
+        private final JsonGenerator gerador;
+
+        EscritorNdjson(JsonGenerator gerador) {
+            this.gerador = gerador;
+            // Cada objeto termina com '\n'; sem o separador padrão (espaço) entre objetos
+            gerador.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void cabecalho() {
+        }
+
+        @Override
+        public void linha(LinhaExportacaoPagamento linha) throws IOException {
+            gerador.writeStartObject();
+            gerador.writeStringField(COLUNAS[0], linha.idTransacao());
+            gerador.writeStringField(COLUNAS[1], linha.status());
+            gerador.writeFieldName(COLUNAS[2]);
+            numero(linha.valor());
+            gerador.writeStringField(COLUNAS[3], linha.moeda());
+            gerador.writeStringField(COLUNAS[4], texto(linha.dataHora()));
+            gerador.writeStringField(COLUNAS[5], linha.estabelecimento());
+            gerador.writeStringField(COLUNAS[6], linha.tipoPagamento());
+            gerador.writeNumberField(COLUNAS[7], linha.parcelas());
+            gerador.writeStringField(COLUNAS[8], linha.nsu());
+            gerador.writeStringField(COLUNAS[9], linha.codigoAutorizacao());
+            gerador.writeStringField(COLUNAS[10], linha.cartaoMascarado());
+            gerador.writeStringField(COLUNAS[11], texto(linha.criadoEm()));
+            gerador.writeEndObject();
+            gerador.writeRaw('\n');
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            gerador.flush();
+        }
+
+        private void numero(BigDecimal valor) throws IOException {
+            if (valor == null) {
+                gerador.writeNull();
+            } else {
+                gerador.writeNumber(valor);
+            }
+        }
+    }
+
+    /**
+     * CSV (RFC 4180): vírgula como separador, ponto decimal, campos com
+     * vírgula, aspas ou quebra de linha entre aspas.
+     */
+    private static final class EscritorCsv implements Escritor {
+
+        private final Writer writer;
+
+        EscritorCsv(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void cabecalho() throws IOException {
+            writer.write(String.join(",", COLUNAS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void linha(LinhaExportacaoPagamento linha) throws IOException {
+            campo(linha.idTransacao());
+            separador();
+            campo(linha.status());
+            separador();
+            if (linha.valor() != null) {
+                writer.write(linha.valor().toPlainString());
+            }
+            separador();
+            campo(linha.moeda());
+            separador();
+            campo(texto(linha.dataHora()));
+            separador();
+            campo(linha.estabelecimento());
+            separador();
+            campo(linha.tipoPagamento());
+            separador();
+            writer.write(Integer.toString(linha.parcelas()));
+            separador();
+            campo(linha.nsu());
+            separador();
+            campo(linha.codigoAutorizacao());
+            separador();
+            campo(linha.cartaoMascarado());
+            separador();
+            campo(texto(linha.criadoEm()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finalizar() {
+        }
+
+        private void separador() throws IOException {
+            writer.write(',');
+        }
+
+        private void campo(String valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                writer.write(valor);
+                return;
+            }
+            writer.write('"');
+            writer.write(valor.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static String texto(OffsetDateTime dataHora) {
+        return dataHora != null ? dataHora.toString() : null;
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.sicredi.toolschallenge.pagamento.service;
+
+import br.com.sicredi.toolschallenge.infra.idempotencia.service.IdempotenciaService;
+import br.com.sicredi.toolschallenge.infra.idempotencia.service.IdempotenciaService.RespostaIdempotente;
+import br.com.sicredi.toolschallenge.pagamento.dto.ItemLotePagamentoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.ItemLoteResultadoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoLoteRequestDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoLoteResponseDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoRequestDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service da criação de pagamentos em lote (POST /pagamentos/lote).
+ * 
+ * Aplica a idempotência item a item (no lugar do IdempotenciaInterceptor,
+ * que trabalha com um header por requisição) e delega a criação dos itens
+ * novos para {@link PagamentoService#criarPagamentosEmLote}.
+ * 
+ * As chaves compartilham o espaço de POST /pagamentos: uma chave já usada
+ * em uma requisição individual devolve a mesma resposta no lote, e vice-versa.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PagamentoLoteService {
+
+    private final PagamentoService pagamentoService;
+    private final IdempotenciaService idempotenciaService;
+    private final PagamentoProperties pagamentoProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Processa um lote de pagamentos.
+     * 
+     * Para cada item:
+     * - Chave repetida dentro do próprio lote: ERRO
+     * - Chave já processada: REPETIDO (resposta anterior)
+     * - Chave nova: criado junto com os demais itens novos e resposta armazenada
+     * 
+     * @param lote Requisição validada
+     * @param endpoint Endpoint registrado com as respostas (ex: "POST /pagamentos/lote")
+     * @return Resultado por item, na ordem da requisição
+     */
+    public PagamentoLoteResponseDTO processarLote(PagamentoLoteRequestDTO lote, String endpoint) {
+        List<ItemLotePagamentoDTO> itens = lote.getPagamentos();
+        
+        int tamanhoMaximo = pagamentoProperties.getLote().getTamanhoMaximo();
+        if (itens.size() > tamanhoMaximo) {
+            throw new NegocioException(String.format(
+                "Lote com %d pagamentos excede o máximo de %d", itens.size(), tamanhoMaximo));
+        }
+        
+        ItemLoteResultadoDTO[] resultados = new ItemLoteResultadoDTO[itens.size()];
+        List<Integer> novos = new ArrayList<>();
+        Set<String> chaves = new HashSet<>();
+        
+        for (int i = 0; i < itens.size(); i++) {
+            String chave = itens.get(i).getChaveIdempotencia();
+            
+            if (!chaves.add(chave)) {
+                resultados[i] = erro(chave, "Chave de idempotência repetida no lote");
+                continue;
+            }
+            
+            Optional<RespostaIdempotente> anterior = idempotenciaService.buscarResposta(chave);
+            if (anterior.isPresent()) {
+                log.info("Item do lote com chave já processada: {}", chave);
+                resultados[i] = ItemLoteResultadoDTO.builder()
+                    .chaveIdempotencia(chave)
+                    .situacao(ItemLoteResultadoDTO.REPETIDO)
+                    .pagamento(objectMapper.convertValue(anterior.get().corpo(), PagamentoResponseDTO.class))
+                    .build();
+                continue;
+            }
+            
+            novos.add(i);
+        }
+        
+        if (!novos.isEmpty()) {
+            List<PagamentoRequestDTO> requests = novos.stream()
+                .map(i -> new PagamentoRequestDTO(itens.get(i).getTransacao()))
+                .toList();
+            
+            List<Optional<PagamentoResponseDTO>> criados = pagamentoService.criarPagamentosEmLote(requests);
+            
+            for (int j = 0; j < novos.size(); j++) {
+                int i = novos.get(j);
+                String chave = itens.get(i).getChaveIdempotencia();
+                resultados[i] = criados.get(j)
+                    .map(pagamento -> criado(chave, pagamento, endpoint))
+                    .orElseGet(() -> erro(chave, "Não foi possível gravar o pagamento (não enviado ao adquirente); reenvie com a mesma chave"));
+            }
+        }
+        
+        List<ItemLoteResultadoDTO> lista = Arrays.asList(resultados);
+        
+        log.info("Lote processado - Total: {}, Criados: {}, Repetidos: {}, Erros: {}",
+            lista.size(), contar(lista, ItemLoteResultadoDTO.CRIADO),
+            contar(lista, ItemLoteResultadoDTO.REPETIDO), contar(lista, ItemLoteResultadoDTO.ERRO));
+        
+        return PagamentoLoteResponseDTO.builder()
+            .total(lista.size())
+            .criados(contar(lista, ItemLoteResultadoDTO.CRIADO))
+            .repetidos(contar(lista, ItemLoteResultadoDTO.REPETIDO))
+            .erros(contar(lista, ItemLoteResultadoDTO.ERRO))
+            .resultados(lista)
+            .build();
+    }
+
+    /**
+     * Armazena a resposta do item (mesmo formato de POST /pagamentos, status 201).
+     * Falha ao armazenar não invalida o item já gravado.
+     */
+    private ItemLoteResultadoDTO criado(String chave, PagamentoResponseDTO pagamento, String endpoint) {
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> corpo = objectMapper.convertValue(pagamento, Map.class);
+            long ttl = pagamentoProperties.getLote().getTtlIdempotenciaHoras() * 3600L;
+            
+            idempotenciaService.salvarResposta(chave, pagamento.getTransacao().getId(), endpoint,
+                corpo, HttpStatus.CREATED.value(), ttl);
+            
+        } catch (Exception e) {
+            log.error("Erro ao armazenar resposta de idempotência do item do lote: {}", chave, e);
+        }
+        
+        return ItemLoteResultadoDTO.builder()
+            .chaveIdempotencia(chave)
+            .situacao(ItemLoteResultadoDTO.CRIADO)
+            .pagamento(pagamento)
+            .build();
+    }
+
+    private ItemLoteResultadoDTO erro(String chave, String mensagem) {
+        return ItemLoteResultadoDTO.builder()
+            .chaveIdempotencia(chave)
+            .situacao(ItemLoteResultadoDTO.ERRO)
+            .erro(mensagem)
+            .build();
+    }
+
+    private int contar(List<ItemLoteResultadoDTO> resultados, String situacao) {
+        return (int) resultados.stream().filter(r -> situacao.equals(r.getSituacao())).count();
+    }
+}
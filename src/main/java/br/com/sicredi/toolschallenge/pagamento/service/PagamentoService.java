@@ -1,19 +1,35 @@
 package br.com.sicredi.toolschallenge.pagamento.service;
 
+import br.com.sicredi.toolschallenge.pagamento.domain.FilaAutorizacao;
 import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
 import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
 import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoRequestDTO;
 import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResumo;
 import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoMapper;
 import br.com.sicredi.toolschallenge.pagamento.events.PagamentoCriadoEvento;
 import br.com.sicredi.toolschallenge.pagamento.events.PagamentoStatusAlteradoEvento;
+import br.com.sicredi.toolschallenge.pagamento.processor.DestinoCallback;
+import br.com.sicredi.toolschallenge.pagamento.repository.FilaAutorizacaoRepository;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoBuscaRepository;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoLoteRepository;
 import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
+import br.com.sicredi.toolschallenge.infra.analise.AgregadorEstabelecimentos;
+import br.com.sicredi.toolschallenge.infra.cache.CacheConsulta;
+import br.com.sicredi.toolschallenge.infra.identificador.GeradorIdentificador;
 import br.com.sicredi.toolschallenge.infra.outbox.publisher.EventoPublisher;
+import br.com.sicredi.toolschallenge.infra.replica.TransacaoLeitura;
+import br.com.sicredi.toolschallenge.infra.snowflake.GeradorSnowflake;
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
 import br.com.sicredi.toolschallenge.shared.exception.RecursoNaoEncontradoException;
+import br.com.sicredi.toolschallenge.shared.paginacao.CursorKeyset;
+import br.com.sicredi.toolschallenge.shared.paginacao.PaginaDTO;
 import br.com.sicredi.toolschallenge.adquirente.service.AdquirenteService;
 import br.com.sicredi.toolschallenge.adquirente.dto.AutorizacaoRequest;
 import br.com.sicredi.toolschallenge.adquirente.dto.AutorizacaoResponse;
 import br.com.sicredi.toolschallenge.adquirente.domain.StatusAutorizacao;
+import br.com.sicredi.toolschallenge.shared.config.BuscaProperties;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
 import br.com.sicredi.toolschallenge.shared.config.ReprocessamentoProperties;
 import io.micrometer.core.annotation.Counted;
 import io.micrometer.core.annotation.Timed;
@@ -21,14 +37,27 @@ import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * Service para operações de negócio de Pagamento.
@@ -36,6 +65,8 @@ import java.util.stream.Collectors;
  * Responsabilidades:
  * - Criar novo pagamento (status=PENDENTE)
  * - Autorizar via AdquirenteService (Circuit Breaker, Retry, Bulkhead)
+ * - Submeter pagamento assíncrono (fila durável de autorização)
+ * - Criar pagamentos em lote (autorização paralela + INSERT em lote)
  * - Consultar pagamentos
  * - Validações de regras de negócio
  */
@@ -46,34 +77,51 @@ import java.util.stream.Collectors;
 public class PagamentoService {
 
     private final PagamentoRepository repository;
+    private final FilaAutorizacaoRepository filaAutorizacaoRepository;
+    private final PagamentoLoteRepository pagamentoLoteRepository;
+    private final PagamentoBuscaRepository pagamentoBuscaRepository;
     private final PagamentoMapper mapper;
     private final EventoPublisher eventoPublisher;
     private final ApplicationEventPublisher eventPublisher;
     private final AdquirenteService adquirenteService;
     private final ReprocessamentoProperties reprocessamentoProperties;
     private final MeterRegistry meterRegistry;
-    private final Random random = new Random();
+    private final TransactionTemplate transactionTemplate;
+    private final PagamentoProperties pagamentoProperties;
+    private final BuscaProperties buscaProperties;
+    private final GeradorSnowflake geradorSnowflake;
+    private final GeradorIdentificador geradorIdentificador;
+    private final CacheConsulta<PagamentoResponseDTO> cachePagamentos;
+    private final TransacaoLeitura transacaoLeitura;
+    private final AgregadorEstabelecimentos agregadorEstabelecimentos;
+    // Resolvido pelo nome do bean (ExecutorConfig.EXECUTOR_ADQUIRENTE)
+    private final Executor adquirenteExecutor;
 
     /**
      * Cria um novo pagamento e autoriza com adquirente.
      * 
-     * Fluxo:
-     * 1. Valida request
-     * 2. Cria pagamento com status=PENDENTE
-     * 3. Autoriza com AdquirenteService (Circuit Breaker + Retry + Bulkhead)
-     * 4. Mapeia StatusAutorizacao → StatusPagamento
-     * 5. Atualiza status e persiste
-     * 6. Retorna DTO de resposta
+     * Fluxo padrão (a conexão do banco não fica retida durante a chamada ao adquirente):
+     * 1. Transação 1: persiste pagamento PENDENTE + evento PagamentoCriado no outbox
+     * 2. Sem transação: autoriza com AdquirenteService (Circuit Breaker + Retry + Bulkhead)
+     * 3. Transação 2: aplica o resultado + evento PagamentoStatusAlterado no outbox
+     *    (omitida quando o pagamento continua PENDENTE)
+     * 4. Retorna DTO de resposta
+     * 
+     * Com pagamento.autorizar-antes-de-persistir, autoriza primeiro e, se o adquirente
+     * responder dentro do orçamento, grava o pagamento uma única vez com o status final.
      * 
      * Mapeamento de Status:
      * - AUTORIZADO → AUTORIZADO (com NSU/código)
      * - NEGADO → NEGADO (sem NSU/código)
      * - PENDENTE → PENDENTE (Circuit Breaker OPEN ou timeout, para reprocessamento)
      * 
+     * Se a aplicação cair entre as transações, o pagamento fica PENDENTE e é
+     * retomado pelo reprocessamento.
+     * 
      * @param request DTO com dados do pagamento
      * @return DTO de resposta com status autorizado, negado ou pendente
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Timed(value = "pagamento.criar.latency", description = "Latência para criar pagamento")
     @Counted(value = "pagamento.criados.total", description = "Total de pagamentos criados")
     public PagamentoResponseDTO criarPagamento(PagamentoRequestDTO request) {
@@ -82,11 +130,618 @@ public class PagamentoService {
             request.getTransacao().getFormaPagamento().getParcelas(), 
             request.getTransacao().getFormaPagamento().getTipo());
 
+        Pagamento novo = novoPagamento(request);
+        
+        Pagamento pagamento = pagamentoProperties.isAutorizarAntesDePersistir()
+            ? autorizarAntesDePersistir(novo)
+            : persistirAntesDeAutorizar(novo, () -> solicitarAutorizacao(novo));
+        
+        log.info("Pagamento {} finalizado - Status: {}", 
+            pagamento.getIdTransacao(), pagamento.getStatus());
+        
+        return mapper.toDTO(pagamento);
+    }
+
+    /**
+     * Cria vários pagamentos de uma vez (POST /pagamentos/lote).
+     * 
+     * Mesmo fluxo em duas transações de {@link #criarPagamento}, com o trabalho do
+     * banco agrupado:
+     * 1. Transação 1: INSERT em lote dos pagamentos PENDENTE + eventos PagamentoCriado
+     *    no outbox também em lote
+     * 2. Sem transação: autoriza em paralelo, no executor do adquirente, apenas os
+     *    pagamentos gravados, com no máximo pagamento.lote.concorrencia-maxima chamadas
+     *    simultâneas (abaixo do bulkhead do adquirente, para que o lote não gere
+     *    BulkheadFullException e abra o Circuit Breaker da instância) e espera total
+     *    de pagamento.lote.timeout-autorizacao-ms
+     * 3. Transação 2: UPDATE em lote dos resultados + eventos PagamentoStatusAlterado
+     * 
+     * Nenhuma chamada ao adquirente roda na thread da requisição: itens que não
+     * conseguem vaga no prazo (ou são recusados pelo executor) vão para a fila de
+     * autorização assíncrona e voltam PENDENTE.
+     * 
+     * O adquirente só é chamado depois que o pagamento existe no banco: se a aplicação
+     * cair no meio do lote, o pagamento fica PENDENTE e é retomado pelo reprocessamento.
+     * Se o INSERT em lote falhar (ex.: violação de constraint em um item), cada pagamento
+     * é gravado na sua própria transação, e os que não puderam ser gravados não são
+     * autorizados. Respostas que chegam depois do timeout são aplicadas quando chegarem
+     * (o item volta PENDENTE na resposta do lote, sem nova chamada ao adquirente).
+     * 
+     * Os eventos de auditoria do lote são publicados só depois do commit: o listener é
+     * assíncrono e não participa da transação.
+     * 
+     * @param requests Pagamentos do lote (já validados)
+     * @return Resultado de cada item, na ordem recebida (vazio se o item não pôde ser gravado)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "pagamento.lote.latency", description = "Latência para criar um lote de pagamentos")
+    public List<Optional<PagamentoResponseDTO>> criarPagamentosEmLote(List<PagamentoRequestDTO> requests) {
+        log.info("Criando lote de {} pagamentos", requests.size());
+        
+        List<Pagamento> pagamentos = requests.stream().map(this::novoPagamento).toList();
+        
+        meterRegistry.counter("pagamento.criacao", "modo", "lote").increment(pagamentos.size());
+        
+        // Transação 1: salvar como PENDENTE
+        List<Pagamento> gravados = registrarPendentes(pagamentos);
+        
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+            pagamentoProperties.getLote().getTimeoutAutorizacaoMs());
+        
+        // Autorizar em paralelo, sem transação aberta e com concorrência limitada
+        List<Pagamento> enviados = new ArrayList<>(gravados.size());
+        List<CompletableFuture<AutorizacaoResponse>> autorizacoes = new ArrayList<>(gravados.size());
+        List<Pagamento> naoEnviados = new ArrayList<>();
+        Semaphore vagas = new Semaphore(Math.max(1, pagamentoProperties.getLote().getConcorrenciaMaxima()));
+        
+        for (Pagamento pagamento : gravados) {
+            Optional<CompletableFuture<AutorizacaoResponse>> submetida = naoEnviados.isEmpty()
+                ? submeterComVaga(pagamento, vagas, limite)
+                : Optional.empty();
+            if (submetida.isPresent()) {
+                enviados.add(pagamento);
+                autorizacoes.add(submetida.get());
+            } else {
+                naoEnviados.add(pagamento);
+            }
+        }
+        
+        Map<Pagamento, PagamentoResponseDTO> respostas = new HashMap<>();
+        List<Pagamento> alterados = new ArrayList<>();
+        
+        for (int i = 0; i < enviados.size(); i++) {
+            Pagamento pagamento = enviados.get(i);
+            CompletableFuture<AutorizacaoResponse> autorizacao = autorizacoes.get(i);
+            try {
+                long restanteNs = Math.max(0, limite - System.nanoTime());
+                aplicarAutorizacao(pagamento, autorizacao.get(restanteNs, TimeUnit.NANOSECONDS));
+                if (pagamento.getStatus() != StatusPagamento.PENDENTE) {
+                    alterados.add(pagamento);
+                }
+                
+            } catch (TimeoutException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                // Responde PENDENTE agora e aplica a resposta da mesma chamada quando ela chegar
+                respostas.put(pagamento, mapper.toDTO(pagamento));
+                autorizacao.thenAccept(response -> concluirAutorizacaoAtrasada(pagamento, response));
+                meterRegistry.counter("pagamento.lote.autorizacao_atrasada").increment();
+                
+            } catch (ExecutionException e) {
+                // solicitarAutorizacao não lança exceção; mantido por segurança
+                log.error("Erro ao autorizar pagamento {} do lote - mantido PENDENTE: {}",
+                    pagamento.getIdTransacao(), e.getMessage());
+            }
+        }
+        
+        // Transação 2: salvar os novos status
+        registrarResultados(alterados);
+        
+        enfileirarNaoEnviados(naoEnviados);
+        
+        gravados.forEach(pagamento -> respostas.computeIfAbsent(pagamento, mapper::toDTO));
+        
+        log.info("Lote de {} pagamentos finalizado - Gravados: {}, Respondidos pelo adquirente: {}, Enfileirados: {}",
+            pagamentos.size(), gravados.size(), alterados.size(), naoEnviados.size());
+        
+        return pagamentos.stream()
+            .map(pagamento -> Optional.ofNullable(respostas.get(pagamento)))
+            .toList();
+    }
+
+    /**
+     * Aguarda uma vaga de concorrência do lote até o limite e submete a chamada
+     * ao adquirente; a vaga é devolvida quando a chamada termina.
+     * 
+     * @param pagamento Pagamento gravado como PENDENTE
+     * @param vagas Vagas de concorrência do lote
+     * @param limite Instante limite do lote (System.nanoTime())
+     * @return Chamada em andamento, ou vazio se não houve vaga no prazo ou o executor recusou
+     */
+    private Optional<CompletableFuture<AutorizacaoResponse>> submeterComVaga(Pagamento pagamento, Semaphore vagas,
+                                                                           long limite) {
+        try {
+            if (!vagas.tryAcquire(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        
+        Optional<CompletableFuture<AutorizacaoResponse>> submetida = submeterAutorizacao(pagamento);
+        submetida.ifPresentOrElse(
+            autorizacao -> autorizacao.whenComplete((response, erro) -> vagas.release()),
+            vagas::release);
+        return submetida;
+    }
+
+    /**
+     * Coloca na fila de autorização assíncrona os pagamentos do lote que não
+     * chegaram a ser enviados ao adquirente. Se a fila falhar, ficam PENDENTE
+     * para o reprocessamento.
+     * 
+     * @param pagamentos Pagamentos gravados como PENDENTE, sem chamada ao adquirente
+     */
+    private void enfileirarNaoEnviados(List<Pagamento> pagamentos) {
+        if (pagamentos.isEmpty()) {
+            return;
+        }
+        
+        log.warn("{} pagamentos do lote sem vaga no adquirente em {}ms - enviados para a fila de autorização",
+            pagamentos.size(), pagamentoProperties.getLote().getTimeoutAutorizacaoMs());
+        meterRegistry.counter("pagamento.lote.enfileirados").increment(pagamentos.size());
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> filaAutorizacaoRepository.saveAll(
+                pagamentos.stream()
+                    .map(pagamento -> FilaAutorizacao.builder().idPagamento(pagamento.getId()).build())
+                    .toList()));
+        } catch (Exception e) {
+            log.error("Erro ao enfileirar {} pagamentos do lote - ficam PENDENTE para o reprocessamento: {}",
+                pagamentos.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Grava os pagamentos do lote como PENDENTE, em lote ou, se o lote falhar,
+     * cada um na sua própria transação.
+     * 
+     * @param pagamentos Pagamentos novos (PENDENTE)
+     * @return Pagamentos gravados, na ordem recebida
+     */
+    private List<Pagamento> registrarPendentes(List<Pagamento> pagamentos) {
+        try {
+            List<PagamentoCriadoEvento> eventos = transactionTemplate.execute(status -> registrarEmLote(pagamentos));
+            
+            // Publicar para Auditoria (Event Listener), após o commit
+            eventos.forEach(eventPublisher::publishEvent);
+            return pagamentos;
+            
+        } catch (Exception e) {
+            log.warn("Falha ao gravar lote de {} pagamentos - gravando item a item: {}", 
+                pagamentos.size(), e.getMessage());
+            
+            List<Pagamento> gravados = new ArrayList<>(pagamentos.size());
+            for (Pagamento pagamento : pagamentos) {
+                pagamento.setId(null);
+                registrarIsolado(pagamento).ifPresent(gravados::add);
+            }
+            return gravados;
+        }
+    }
+
+    /**
+     * Persiste os pagamentos e os eventos de criação no outbox com um INSERT em lote cada.
+     * 
+     * @param pagamentos Pagamentos novos (PENDENTE)
+     * @return Eventos de criação, para a auditoria após o commit
+     */
+    private List<PagamentoCriadoEvento> registrarEmLote(List<Pagamento> pagamentos) {
+        pagamentoLoteRepository.inserirEmLote(pagamentos);
+        
+        List<PagamentoCriadoEvento> eventos = pagamentos.stream().map(this::eventoPagamentoCriado).toList();
+        
+        // Publicar para Outbox (Kafka), em lote
+        eventoPublisher.publicarPagamentosCriados(eventos);
+        
+        return eventos;
+    }
+
+    /**
+     * Grava um pagamento do lote na sua própria transação.
+     * 
+     * @param pagamento Pagamento novo (PENDENTE)
+     * @return Pagamento gravado, ou vazio se não pôde ser gravado
+     */
+    private Optional<Pagamento> registrarIsolado(Pagamento pagamento) {
+        try {
+            return Optional.of(transactionTemplate.execute(status -> registrar(pagamento)));
+        } catch (Exception e) {
+            log.error("Erro ao gravar pagamento {} do lote: {}", pagamento.getIdTransacao(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Persiste os resultados do lote com um UPDATE em lote e registra os eventos de
+     * status alterado no outbox. Se o lote falhar, aplica cada resultado na sua
+     * própria transação; o que ainda falhar fica PENDENTE para o reprocessamento.
+     * 
+     * @param pagamentos Pagamentos gravados como PENDENTE que receberam status final
+     */
+    private void registrarResultados(List<Pagamento> pagamentos) {
+        if (pagamentos.isEmpty()) {
+            return;
+        }
+        
+        try {
+            List<PagamentoStatusAlteradoEvento> eventos = transactionTemplate.execute(status -> {
+                pagamentoLoteRepository.atualizarResultadoEmLote(pagamentos);
+                
+                List<PagamentoStatusAlteradoEvento> alterados = pagamentos.stream()
+                    .map(pagamento -> eventoStatusAlterado(pagamento, StatusPagamento.PENDENTE))
+                    .toList();
+                
+                // Publicar para Outbox (Kafka)
+                alterados.forEach(eventoPublisher::publicarPagamentoStatusAlterado);
+                return alterados;
+            });
+            
+            // Publicar para Auditoria (Event Listener), após o commit
+            eventos.forEach(eventPublisher::publishEvent);
+            
+        } catch (Exception e) {
+            log.warn("Falha ao gravar resultados do lote de {} pagamentos - gravando item a item: {}",
+                pagamentos.size(), e.getMessage());
+            
+            pagamentos.forEach(pagamento -> registrarResultadoIsolado(pagamento, StatusPagamento.PENDENTE));
+        }
+    }
+
+    /**
+     * Aplica a resposta do adquirente que chegou depois da espera máxima (lote ou criação).
+     * 
+     * @param pagamento Pagamento gravado como PENDENTE
+     * @param response Resposta da mesma chamada ao adquirente
+     */
+    private void concluirAutorizacaoAtrasada(Pagamento pagamento, AutorizacaoResponse response) {
+        aplicarAutorizacao(pagamento, response);
+        if (pagamento.getStatus() != StatusPagamento.PENDENTE) {
+            registrarResultadoIsolado(pagamento, StatusPagamento.PENDENTE);
+        }
+    }
+
+    /**
+     * Grava o resultado de um pagamento na sua própria transação.
+     * Em caso de falha, o pagamento fica PENDENTE no banco para o reprocessamento.
+     */
+    private void registrarResultadoIsolado(Pagamento pagamento, StatusPagamento statusAnterior) {
+        try {
+            transactionTemplate.execute(status -> aplicarResultado(pagamento, statusAnterior));
+        } catch (Exception e) {
+            log.error("Erro ao gravar resultado do pagamento {} - fica PENDENTE para o reprocessamento: {}",
+                pagamento.getIdTransacao(), e.getMessage());
+        }
+    }
+
+    /**
+     * Submete um pagamento para autorização assíncrona.
+     * 
+     * Na mesma transação grava o pagamento PENDENTE (+ evento PagamentoCriado no outbox)
+     * e o item da fila durável de autorização. Não chama o adquirente: os workers do
+     * {@link br.com.sicredi.toolschallenge.pagamento.processor.FilaAutorizacaoProcessor}
+     * drenam a fila e o cliente obtém o resultado por GET /pagamentos/{idTransacao}
+     * ou pela URL de callback.
+     * 
+     * @param request DTO com dados do pagamento
+     * @param urlCallback URL notificada com o resultado (opcional, http/https)
+     * @return DTO de resposta com status PENDENTE
+     */
+    @Transactional
+    @Timed(value = "pagamento.submeter.latency", description = "Latência para submeter pagamento assíncrono")
+    @Counted(value = "pagamento.submetidos.total", description = "Total de pagamentos submetidos de forma assíncrona")
+    public PagamentoResponseDTO submeterPagamento(PagamentoRequestDTO request, String urlCallback) {
+        validarUrlCallback(urlCallback);
+        
+        Pagamento pagamento = registrar(novoPagamento(request));
+        
+        enfileirar(pagamento, urlCallback);
+        
+        return mapper.toDTO(pagamento);
+    }
+
+    /**
+     * Grava o item da fila durável de autorização de um pagamento PENDENTE.
+     * Deve ser chamado na transação que gravou o pagamento.
+     * 
+     * @param pagamento Pagamento PENDENTE já persistido
+     * @param urlCallback URL notificada com o resultado (opcional)
+     * @return O próprio pagamento
+     */
+    private Pagamento enfileirar(Pagamento pagamento, String urlCallback) {
+        filaAutorizacaoRepository.save(FilaAutorizacao.builder()
+            .idPagamento(pagamento.getId())
+            .urlCallback(urlCallback)
+            .build());
+        
+        log.info("Pagamento {} enfileirado para autorização assíncrona", pagamento.getIdTransacao());
+        
+        return pagamento;
+    }
+
+    /**
+     * Reivindica itens da fila de autorização (FOR UPDATE SKIP LOCKED + lease).
+     * 
+     * @param limite Quantidade máxima de itens
+     * @param leaseSegundos Duração do lease em segundos
+     * @return Itens reivindicados
+     */
+    @Transactional
+    public List<FilaAutorizacao> reivindicarFilaAutorizacao(int limite, int leaseSegundos) {
+        List<FilaAutorizacao> itens = filaAutorizacaoRepository.reivindicarItens(limite);
+        
+        if (itens.isEmpty()) {
+            return itens;
+        }
+        
+        OffsetDateTime bloqueadoAte = OffsetDateTime.now().plusSeconds(leaseSegundos);
+        List<Long> ids = itens.stream().map(FilaAutorizacao::getId).toList();
+        filaAutorizacaoRepository.renovarLease(ids, bloqueadoAte);
+        itens.forEach(item -> {
+            item.setBloqueadoAte(bloqueadoAte);
+            item.setTentativas(item.getTentativas() + 1);
+        });
+        
+        log.debug("Reivindicados {} itens da fila de autorização (lease até {})", itens.size(), bloqueadoAte);
+        
+        return itens;
+    }
+
+    /**
+     * Estende o lease de itens reivindicados ainda em processamento, sem contar
+     * nova tentativa (itens já removidos da fila são ignorados).
+     * 
+     * @param ids IDs dos itens
+     * @param leaseSegundos Duração do lease a partir de agora em segundos
+     */
+    @Transactional
+    public void estenderLeaseFilaAutorizacao(List<Long> ids, int leaseSegundos) {
+        filaAutorizacaoRepository.estenderLease(ids, OffsetDateTime.now().plusSeconds(leaseSegundos));
+    }
+
+    /**
+     * Autoriza o pagamento de um item reivindicado da fila.
+     * 
+     * Mesmo fluxo de {@link #criarPagamento}: a conexão do banco não fica retida
+     * durante a chamada ao adquirente; o resultado e a remoção do item são gravados
+     * na mesma transação.
+     * 
+     * Se o adquirente seguir indisponível (PENDENTE), o item permanece na fila e volta
+     * a ser elegível quando o lease expirar, até pagamento.assincrono.max-tentativas;
+     * depois disso sai da fila e o pagamento fica para o reprocessamento.
+     * 
+     * @param item Item reivindicado (tentativas já incrementadas)
+     * @return Resultado final a notificar, ou vazio se o pagamento continua PENDENTE
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<PagamentoResponseDTO> autorizarDaFila(FilaAutorizacao item) {
+        Optional<Pagamento> encontrado = repository.findById(item.getIdPagamento());
+        
+        if (encontrado.isEmpty() || encontrado.get().getStatus() != StatusPagamento.PENDENTE) {
+            // Já resolvido por outro caminho (ex.: reprocessamento)
+            transactionTemplate.executeWithoutResult(status -> filaAutorizacaoRepository.remover(item.getId()));
+            return encontrado.map(mapper::toDTO);
+        }
+        
+        Pagamento pagamento = encontrado.get();
+        StatusPagamento statusAnterior = pagamento.getStatus();
+        aplicarAutorizacao(pagamento, solicitarAutorizacao(pagamento));
+        
+        if (statusAnterior.equals(pagamento.getStatus())) {
+            if (item.getTentativas() >= pagamentoProperties.getAssincrono().getMaxTentativas()) {
+                log.warn("Pagamento {} ainda PENDENTE após {} tentativa(s) na fila - seguindo para o reprocessamento",
+                    pagamento.getIdTransacao(), item.getTentativas());
+                transactionTemplate.executeWithoutResult(status -> filaAutorizacaoRepository.remover(item.getId()));
+            }
+            return Optional.empty();
+        }
+        
+        Pagamento atualizado = transactionTemplate.execute(status -> {
+            filaAutorizacaoRepository.remover(item.getId());
+            return aplicarResultado(pagamento, statusAnterior);
+        });
+        
+        log.info("Pagamento {} autorizado pela fila - Status: {}", 
+            atualizado.getIdTransacao(), atualizado.getStatus());
+        
+        return Optional.of(mapper.toDTO(atualizado));
+    }
+
+    /**
+     * Aceita apenas URLs absolutas http/https (coluna url_callback: 500 caracteres)
+     * de hosts permitidos e que não sejam endereços internos (SSRF).
+     * 
+     * @param urlCallback URL informada pelo cliente (opcional)
+     * @see DestinoCallback
+     */
+    private void validarUrlCallback(String urlCallback) {
+        if (urlCallback == null) {
+            return;
+        }
+        
+        DestinoCallback.validar(urlCallback, pagamentoProperties.getAssincrono().getHostsCallbackPermitidos());
+    }
+
+    /**
+     * Grava PENDENTE, aguarda a autorização sem transação aberta e aplica o resultado.
+     * 
+     * @param pagamento Pagamento novo (ainda não persistido)
+     * @param autorizacao Obtém a resposta do adquirente
+     * @return Pagamento com o status final
+     */
+    private Pagamento persistirAntesDeAutorizar(Pagamento pagamento, Supplier<AutorizacaoResponse> autorizacao) {
+        // Transação 1: salvar como PENDENTE
+        Pagamento pendente = transactionTemplate.execute(status -> registrar(pagamento));
+        
+        // Autorizar com adquirente sem transação aberta (Circuit Breaker + Retry + Bulkhead)
+        StatusPagamento statusAnterior = pendente.getStatus();
+        aplicarAutorizacao(pendente, autorizacao.get());
+        
+        // Transação 2: salvar com novo status (se mudou)
+        if (statusAnterior.equals(pendente.getStatus())) {
+            return pendente;
+        }
+        return transactionTemplate.execute(status -> aplicarResultado(pendente, statusAnterior));
+    }
+
+    /**
+     * Autoriza antes de gravar (pagamento.autorizar-antes-de-persistir).
+     * 
+     * <ul>
+     *   <li>Resposta dentro do orçamento: um único INSERT com o status final e um
+     *       único evento PagamentoCriado no outbox</li>
+     *   <li>Orçamento esgotado: grava PENDENTE e aguarda a mesma chamada até
+     *       pagamento.espera-maxima-autorizacao-ms; depois disso responde PENDENTE e
+     *       aplica a resposta quando ela chegar (o adquirente não é chamado duas vezes)</li>
+     *   <li>Executor do adquirente saturado: grava PENDENTE na fila de autorização
+     *       assíncrona, sem chamar o adquirente na thread da requisição</li>
+     * </ul>
+     * 
+     * @param pagamento Pagamento novo (ainda não persistido)
+     * @return Pagamento com o status final, ou PENDENTE
+     */
+    private Pagamento autorizarAntesDePersistir(Pagamento pagamento) {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pagamentoProperties.getEsperaMaximaAutorizacaoMs());
+        
+        Optional<CompletableFuture<AutorizacaoResponse>> submetida = submeterAutorizacao(pagamento);
+        if (submetida.isEmpty()) {
+            log.warn("Executor do adquirente saturado - pagamento {} gravado PENDENTE na fila de autorização",
+                pagamento.getIdTransacao());
+            meterRegistry.counter("pagamento.criacao", "modo", "fila").increment();
+            return transactionTemplate.execute(status -> enfileirar(registrar(pagamento), null));
+        }
+        CompletableFuture<AutorizacaoResponse> autorizacao = submetida.get();
+        
+        try {
+            AutorizacaoResponse response = autorizacao.get(pagamentoProperties.getOrcamentoAutorizacaoMs(), TimeUnit.MILLISECONDS);
+            aplicarAutorizacao(pagamento, response);
+            
+            meterRegistry.counter("pagamento.criacao", "modo", "insercao_unica").increment();
+            return transactionTemplate.execute(status -> registrar(pagamento));
+            
+        } catch (TimeoutException e) {
+            log.info("Adquirente não respondeu em {}ms - gravando pagamento {} como PENDENTE",
+                pagamentoProperties.getOrcamentoAutorizacaoMs(), pagamento.getIdTransacao());
+            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Espera pela autorização interrompida - gravando pagamento {} como PENDENTE",
+                pagamento.getIdTransacao());
+            
+        } catch (ExecutionException e) {
+            // solicitarAutorizacao não lança exceção; mantido por segurança
+            log.error("Erro ao autorizar pagamento {} - gravando como PENDENTE: {}",
+                pagamento.getIdTransacao(), e.getMessage());
+        }
+        
+        meterRegistry.counter("pagamento.criacao", "modo", "pendente_primeiro").increment();
+        
+        // Transação 1: salvar como PENDENTE
+        Pagamento pendente = transactionTemplate.execute(status -> registrar(pagamento));
+        return aguardarAutorizacao(pendente, autorizacao, limite);
+    }
+
+    /**
+     * Aguarda a autorização já em andamento até o limite e grava o resultado.
+     * 
+     * Sem resposta no limite, o pagamento segue PENDENTE e a resposta da mesma
+     * chamada é aplicada quando chegar. Em caso de interrupção ou erro, o
+     * pagamento segue PENDENTE para reprocessamento.
+     * 
+     * @param pendente Pagamento já gravado como PENDENTE
+     * @param autorizacao Chamada ao adquirente em andamento
+     * @param limite Instante limite da espera (System.nanoTime())
+     * @return Pagamento com o status final, ou PENDENTE
+     */
+    private Pagamento aguardarAutorizacao(Pagamento pendente, CompletableFuture<AutorizacaoResponse> autorizacao,
+                                          long limite) {
+        AutorizacaoResponse response;
+        try {
+            response = autorizacao.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+            
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.info("Adquirente não respondeu em {}ms - pagamento {} segue PENDENTE até a resposta",
+                pagamentoProperties.getEsperaMaximaAutorizacaoMs(), pendente.getIdTransacao());
+            meterRegistry.counter("pagamento.criacao.autorizacao_atrasada").increment();
+            
+            // Recarrega: a resposta atrasada não altera o objeto devolvido ao cliente
+            Long id = pendente.getId();
+            autorizacao.thenAccept(atrasada -> repository.findById(id)
+                .filter(atual -> atual.getStatus() == StatusPagamento.PENDENTE)
+                .ifPresent(atual -> concluirAutorizacaoAtrasada(atual, atrasada)));
+            return pendente;
+            
+        } catch (ExecutionException e) {
+            log.error("Erro ao aguardar autorização do pagamento {}: {}", pendente.getIdTransacao(), e.getMessage());
+            return pendente;
+        }
+        
+        StatusPagamento statusAnterior = pendente.getStatus();
+        aplicarAutorizacao(pendente, response);
+        
+        // Transação 2: salvar com novo status (se mudou)
+        if (statusAnterior.equals(pendente.getStatus())) {
+            return pendente;
+        }
+        return transactionTemplate.execute(status -> aplicarResultado(pendente, statusAnterior));
+    }
+
+    /**
+     * Submete a chamada ao adquirente no executor dedicado, sem nunca executá-la
+     * na thread chamadora.
+     * 
+     * Com a política REJEITAR o executor saturado recusa a tarefa; se o executor
+     * estiver configurado com CHAMADOR, a tarefa que cair na thread chamadora
+     * desiste sem chamar o adquirente.
+     * 
+     * @param pagamento Pagamento a autorizar
+     * @return Chamada em andamento, ou vazio se o executor estiver saturado
+     */
+    private Optional<CompletableFuture<AutorizacaoResponse>> submeterAutorizacao(Pagamento pagamento) {
+        Thread chamadora = Thread.currentThread();
+        AtomicBoolean naChamadora = new AtomicBoolean();
+        try {
+            CompletableFuture<AutorizacaoResponse> autorizacao = CompletableFuture.supplyAsync(() -> {
+                if (Thread.currentThread() == chamadora) {
+                    naChamadora.set(true);
+                    return null;
+                }
+                return solicitarAutorizacao(pagamento);
+            }, adquirenteExecutor);
+            return naChamadora.get() ? Optional.empty() : Optional.of(autorizacao);
+            
+        } catch (RejectedExecutionException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Monta a entidade de um novo pagamento (status=PENDENTE, ainda não persistida).
+     * 
+     * @param request DTO com dados do pagamento
+     * @return Pagamento novo
+     */
+    private Pagamento novoPagamento(PagamentoRequestDTO request) {
         // Converter DTO para entidade
         Pagamento pagamento = mapper.toEntity(request);
         
-        // Gerar ID de transação único
-        pagamento.setIdTransacao(UUID.randomUUID().toString());
+        // Gerar ID de transação único (UUIDv7 por padrão: ordenado pelo tempo nos índices)
+        pagamento.setIdTransacao(geradorIdentificador.novoIdTransacao());
         
         // Definir data/hora da transação
         pagamento.setDataHora(OffsetDateTime.now());
@@ -94,81 +749,134 @@ public class PagamentoService {
         // Status inicial
         pagamento.setStatus(StatusPagamento.PENDENTE);
         
-        // Gerar Snowflake ID (simulado - em produção usar gerador distribuído)
-        pagamento.setSnowflakeId(gerarSnowflakeId());
+        // Snowflake ID: worker id exclusivo por instância (lease em infra.snowflake_worker)
+        pagamento.setSnowflakeId(geradorSnowflake.proximoId());
         
-        // Salvar como PENDENTE
-        pagamento = repository.save(pagamento);
-        log.info("Pagamento criado com ID: {}, Status: PENDENTE", pagamento.getIdTransacao());
+        return pagamento;
+    }
+
+    /**
+     * Persiste o pagamento novo e registra o evento de criação no outbox.
+     * 
+     * @param pagamento Pagamento novo (PENDENTE, ou já com o status final)
+     * @return Pagamento persistido
+     */
+    private Pagamento registrar(Pagamento pagamento) {
+        Pagamento salvo = repository.save(pagamento);
+        log.info("Pagamento criado com ID: {}, Status: {}", salvo.getIdTransacao(), salvo.getStatus());
         
         // Publicar evento: Pagamento Criado
-        publicarEventoPagamentoCriado(pagamento);
+        publicarEventoPagamentoCriado(salvo);
         
-        // Autorizar com adquirente (Circuit Breaker + Retry + Bulkhead)
-        StatusPagamento statusAnterior = pagamento.getStatus();
-        autorizarComAdquirente(pagamento);
-        
-        // Salvar com novo status
-        pagamento = repository.save(pagamento);
-        
-        // Publicar evento: Status Alterado (se mudou)
-        if (!statusAnterior.equals(pagamento.getStatus())) {
-            publicarEventoStatusAlterado(pagamento, statusAnterior);
-        }
+        return salvo;
+    }
+
+    /**
+     * Persiste o resultado da autorização e registra o evento de status alterado no outbox.
+     * 
+     * @param pagamento Pagamento com o status retornado pelo adquirente
+     * @param statusAnterior Status antes da autorização
+     * @return Pagamento atualizado
+     */
+    private Pagamento aplicarResultado(Pagamento pagamento, StatusPagamento statusAnterior) {
+        Pagamento atualizado = repository.save(pagamento);
         
-        log.info("Pagamento {} finalizado - Status: {}", 
-            pagamento.getIdTransacao(), pagamento.getStatus());
+        // Publicar evento: Status Alterado
+        publicarEventoStatusAlterado(atualizado, statusAnterior);
         
-        return mapper.toDTO(pagamento);
+        return atualizado;
     }
 
     /**
      * Busca pagamento por ID de transação.
      * 
+     * Consulta o cache de duas camadas (local + Redis) antes do banco;
+     * a entrada é invalidada pelo evento de status alterado.
+     * 
      * @param idTransacao UUID da transação
      * @return DTO de resposta ou exception se não encontrado
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PagamentoResponseDTO buscarPorIdTransacao(String idTransacao) {
         log.info("Buscando pagamento por ID: {}", idTransacao);
         
-        Pagamento pagamento = repository.findByIdTransacao(idTransacao)
-            .orElseThrow(() -> {
-                log.warn("Pagamento não encontrado: {}", idTransacao);
-                return new RecursoNaoEncontradoException("Pagamento", idTransacao);
-            });
-        
-        return mapper.toDTO(pagamento);
+        // Sem transação no método: acerto no cache não ocupa conexão do pool;
+        // a carga abre transação somente leitura (réplica, se habilitada)
+        return cachePagamentos.obter(idTransacao, () -> transacaoLeitura.executar(() -> {
+            Pagamento pagamento = repository.findByIdTransacao(idTransacao)
+                .orElseThrow(() -> {
+                    log.warn("Pagamento não encontrado: {}", idTransacao);
+                    return new RecursoNaoEncontradoException("Pagamento", idTransacao);
+                });
+            
+            return mapper.toDTO(pagamento);
+        }));
     }
 
     /**
      * Lista todos os pagamentos (limitado aos últimos 100).
      * 
-     * @return Lista de DTOs de resposta
+     * As listagens devolvem projeções ({@link PagamentoResumo}): sem entidade
+     * hidratada e sem DTOs aninhados; o JSON é escrito direto da projeção.
+     * 
+     * @return Projeções de resposta
      */
-    public List<PagamentoResponseDTO> listarPagamentos() {
+    public List<PagamentoResumo> listarPagamentos() {
         log.info("Listando últimos pagamentos");
         
-        List<Pagamento> pagamentos = repository.findUltimosPagamentos();
-        
-        return pagamentos.stream()
-            .map(mapper::toDTO)
-            .collect(Collectors.toList());
+        return repository.findUltimosResumos();
     }
 
     /**
-     * Lista pagamentos por status.
+     * Lista pagamentos por status (os mais recentes, até busca.limite-maximo).
+     * Para percorrer todos, use {@link #buscarPagamentos}.
      * 
      * @param status Status do pagamento
-     * @return Lista de DTOs de resposta
+     * @return Projeções de resposta
      */
-    public List<PagamentoResponseDTO> listarPorStatus(StatusPagamento status) {
+    public List<PagamentoResumo> listarPorStatus(StatusPagamento status) {
         log.info("Listando pagamentos por status: {}", status);
         
-        List<Pagamento> pagamentos = repository.findByStatusOrderByCriadoEmDesc(status);
+        return repository.findResumosByStatus(status, Limit.of(buscaProperties.getLimiteMaximo()));
+    }
+
+    /**
+     * Busca pagamentos com filtros opcionais, paginada por cursor (keyset).
+     * 
+     * Lê um item além do limite para saber se há próxima página; o cursor
+     * aponta para o último item entregue. Cada página custa o mesmo,
+     * qualquer que seja a profundidade.
+     * 
+     * @param status Status (opcional)
+     * @param estabelecimento Estabelecimento (opcional)
+     * @param de Criados a partir de, inclusive (opcional)
+     * @param ate Criados antes de, exclusive (opcional)
+     * @param cursor Cursor opaco da página anterior (opcional)
+     * @param limite Itens por página (opcional)
+     * @return Página de projeções de resposta
+     */
+    public PaginaDTO<PagamentoResumo> buscarPagamentos(StatusPagamento status, String estabelecimento,
+                                                       OffsetDateTime de, OffsetDateTime ate,
+                                                       String cursor, Integer limite) {
+        if (de != null && ate != null && !de.isBefore(ate)) {
+            throw new NegocioException("Data inicial deve ser anterior à data final");
+        }
+        int tamanhoPagina = buscaProperties.limiteEfetivo(limite);
+        CursorKeyset apos = CursorKeyset.decodificar(cursor);
+        
+        log.info("Buscando pagamentos: status={}, estabelecimento={}, de={}, ate={}, limite={}, cursor={}",
+            status, estabelecimento, de, ate, tamanhoPagina, apos);
         
-        return pagamentos.stream()
-            .map(mapper::toDTO)
-            .collect(Collectors.toList());
+        List<PagamentoResumo> pagamentos = pagamentoBuscaRepository.buscar(
+            status, estabelecimento, de, ate, apos, tamanhoPagina + 1);
+        
+        String proximoCursor = null;
+        if (pagamentos.size() > tamanhoPagina) {
+            pagamentos = pagamentos.subList(0, tamanhoPagina);
+            proximoCursor = pagamentos.get(tamanhoPagina - 1).cursor().codificar();
+        }
+        
+        return new PaginaDTO<>(pagamentos, proximoCursor);
     }
 
     /**
@@ -189,6 +897,17 @@ public class PagamentoService {
      * @param pagamento Pagamento a ser autorizado
      */
     private void autorizarComAdquirente(Pagamento pagamento) {
+        aplicarAutorizacao(pagamento, solicitarAutorizacao(pagamento));
+    }
+
+    /**
+     * Chama o adquirente (Circuit Breaker + Retry + Bulkhead).
+     * Em caso de erro inesperado responde PENDENTE, sem propagar exceção.
+     * 
+     * @param pagamento Pagamento a ser autorizado (apenas leitura)
+     * @return Resposta do adquirente
+     */
+    private AutorizacaoResponse solicitarAutorizacao(Pagamento pagamento) {
         log.info("Autorizando pagamento {} com adquirente", pagamento.getIdTransacao());
         
         try {
@@ -202,46 +921,54 @@ public class PagamentoService {
             );
             
             // Chamar adquirente (Circuit Breaker + Retry + Bulkhead)
+            long inicio = System.nanoTime();
             AutorizacaoResponse response = adquirenteService.autorizarPagamento(request);
-            
-            // Mapear StatusAutorizacao → StatusPagamento
-            if (response.status() == StatusAutorizacao.AUTORIZADO) {
-                pagamento.setStatus(StatusPagamento.AUTORIZADO);
-                pagamento.setNsu(response.nsu());
-                pagamento.setCodigoAutorizacao(response.codigoAutorizacao());
-                log.info("Pagamento AUTORIZADO - ID: {}, NSU: {}, Código: {}", 
-                    pagamento.getIdTransacao(), response.nsu(), response.codigoAutorizacao());
-                
-            } else if (response.status() == StatusAutorizacao.NEGADO) {
-                pagamento.setStatus(StatusPagamento.NEGADO);
-                log.warn("Pagamento NEGADO - ID: {}", pagamento.getIdTransacao());
-                
-            } else if (response.status() == StatusAutorizacao.PENDENTE) {
-                pagamento.setStatus(StatusPagamento.PENDENTE);
-                log.warn("Pagamento PENDENTE (Circuit Breaker ou timeout) - ID: {}", 
-                    pagamento.getIdTransacao());
-            }
+            agregadorEstabelecimentos.registrarLatenciaAdquirente(
+                pagamento.getEstabelecimento(), System.nanoTime() - inicio);
+            return response;
             
         } catch (Exception ex) {
             // Fallback: Manter PENDENTE se erro inesperado
-            pagamento.setStatus(StatusPagamento.PENDENTE);
             log.error("Erro ao autorizar pagamento {} - Mantendo PENDENTE: {}", 
                 pagamento.getIdTransacao(), ex.getMessage());
+            return new AutorizacaoResponse(StatusAutorizacao.PENDENTE, null, null);
         }
     }
 
     /**
-     * Gera Snowflake ID simulado (time-sortable unique ID).
+     * Mapeia StatusAutorizacao → StatusPagamento e registra a decisão nos
+     * indicadores por estabelecimento.
      * 
-     * Formato: timestamp + worker ID + sequence
+     * Só a saída de PENDENTE para AUTORIZADO/NEGADO é registrada: respostas
+     * PENDENTE e novas tentativas sem decisão não contam, e cada pagamento
+     * entra uma única vez nos indicadores.
      * 
-     * @return Snowflake ID (15 dígitos para caber em BIGINT)
+     * @param pagamento Pagamento a ser atualizado
+     * @param response Resposta do adquirente
      */
-    private Long gerarSnowflakeId() {
-        // Simplificado: timestamp em milissegundos + random
-        long timestamp = System.currentTimeMillis() % 100000000L; // 8 dígitos
-        long randomPart = random.nextInt(10000000); // 7 dígitos
-        return (timestamp * 10000000L) + randomPart;
+    private void aplicarAutorizacao(Pagamento pagamento, AutorizacaoResponse response) {
+        StatusPagamento statusAnterior = pagamento.getStatus();
+        
+        if (response.status() == StatusAutorizacao.AUTORIZADO) {
+            pagamento.setStatus(StatusPagamento.AUTORIZADO);
+            pagamento.setNsu(response.nsu());
+            pagamento.setCodigoAutorizacao(response.codigoAutorizacao());
+            log.info("Pagamento AUTORIZADO - ID: {}, NSU: {}, Código: {}", 
+                pagamento.getIdTransacao(), response.nsu(), response.codigoAutorizacao());
+            
+        } else if (response.status() == StatusAutorizacao.NEGADO) {
+            pagamento.setStatus(StatusPagamento.NEGADO);
+            log.warn("Pagamento NEGADO - ID: {}", pagamento.getIdTransacao());
+            
+        } else if (response.status() == StatusAutorizacao.PENDENTE) {
+            pagamento.setStatus(StatusPagamento.PENDENTE);
+            log.warn("Pagamento PENDENTE (Circuit Breaker ou timeout) - ID: {}", 
+                pagamento.getIdTransacao());
+        }
+
+        if (statusAnterior == StatusPagamento.PENDENTE && pagamento.getStatus() != StatusPagamento.PENDENTE) {
+            agregadorEstabelecimentos.registrarAutorizacao(pagamento.getEstabelecimento(), pagamento.getStatus());
+        }
     }
 
     /**
@@ -251,16 +978,7 @@ public class PagamentoService {
      */
     private void publicarEventoPagamentoCriado(Pagamento pagamento) {
         try {
-            PagamentoCriadoEvento evento = PagamentoCriadoEvento.builder()
-                    .idPagamento(pagamento.getId())
-                    .idTransacao(pagamento.getIdTransacao())
-                    .descricao(pagamento.getEstabelecimento())
-                    .valor(pagamento.getValor())
-                    .metodoPagamento(pagamento.getTipoPagamento().name())
-                    .formaPagamento(pagamento.getTipoPagamento().name())
-                    .status(pagamento.getStatus().name())
-                    .criadoEm(pagamento.getDataHora())
-                    .build();
+            PagamentoCriadoEvento evento = eventoPagamentoCriado(pagamento);
 
             // Publicar para Outbox (Kafka)
             eventoPublisher.publicarPagamentoCriado(evento);
@@ -274,6 +992,25 @@ public class PagamentoService {
         }
     }
 
+    /**
+     * Monta o evento de pagamento criado.
+     * 
+     * @param pagamento Pagamento persistido
+     * @return Evento de domínio
+     */
+    private PagamentoCriadoEvento eventoPagamentoCriado(Pagamento pagamento) {
+        return PagamentoCriadoEvento.builder()
+                .idPagamento(pagamento.getId())
+                .idTransacao(pagamento.getIdTransacao())
+                .descricao(pagamento.getEstabelecimento())
+                .valor(pagamento.getValor())
+                .metodoPagamento(pagamento.getTipoPagamento().name())
+                .formaPagamento(pagamento.getTipoPagamento().name())
+                .status(pagamento.getStatus().name())
+                .criadoEm(pagamento.getDataHora())
+                .build();
+    }
+
     /**
      * Publica evento de status alterado no outbox.
      * 
@@ -282,14 +1019,7 @@ public class PagamentoService {
      */
     private void publicarEventoStatusAlterado(Pagamento pagamento, StatusPagamento statusAnterior) {
         try {
-            PagamentoStatusAlteradoEvento evento = PagamentoStatusAlteradoEvento.builder()
-                    .idPagamento(pagamento.getId())
-                    .idTransacao(pagamento.getIdTransacao())
-                    .statusAnterior(statusAnterior.name())
-                    .statusNovo(pagamento.getStatus().name())
-                    .alteradoEm(OffsetDateTime.now())
-                    .motivo("Autorização processada")
-                    .build();
+            PagamentoStatusAlteradoEvento evento = eventoStatusAlterado(pagamento, statusAnterior);
 
             // Publicar para Outbox (Kafka)
             eventoPublisher.publicarPagamentoStatusAlterado(evento);
@@ -303,6 +1033,24 @@ public class PagamentoService {
         }
     }
 
+    /**
+     * Monta o evento de status alterado.
+     * 
+     * @param pagamento Pagamento atualizado
+     * @param statusAnterior Status anterior
+     * @return Evento de domínio
+     */
+    private PagamentoStatusAlteradoEvento eventoStatusAlterado(Pagamento pagamento, StatusPagamento statusAnterior) {
+        return PagamentoStatusAlteradoEvento.builder()
+                .idPagamento(pagamento.getId())
+                .idTransacao(pagamento.getIdTransacao())
+                .statusAnterior(statusAnterior.name())
+                .statusNovo(pagamento.getStatus().name())
+                .alteradoEm(OffsetDateTime.now())
+                .motivo("Autorização processada")
+                .build();
+    }
+
     /**
      * Reprocessa pagamentos que ficaram com status PENDENTE.
      * 
@@ -331,8 +1079,9 @@ public class PagamentoService {
         
         int maxTentativas = reprocessamentoProperties.getMaxTentativas();
         
-        // Buscar todos pagamentos pendentes
-        List<Pagamento> pagamentosPendentes = repository.findPagamentosPendentes();
+        // Buscar pagamentos pendentes (exceto os recém-criados, ainda aguardando o adquirente)
+        List<Pagamento> pagamentosPendentes = repository.findPagamentosPendentes(
+            OffsetDateTime.now().minusSeconds(reprocessamentoProperties.getCarenciaSegundos()));
         
         if (pagamentosPendentes.isEmpty()) {
             log.info("Nenhum pagamento pendente para reprocessar");
@@ -0,0 +1,103 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades de configuração dos indicadores por estabelecimento em janela deslizante.
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'analise-estabelecimento'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * analise-estabelecimento:
+ *   enabled: true
+ *   janela-segundos: 60
+ *   fatias: 6
+ *   maximo-estabelecimentos: 1000
+ *   top-k: 10
+ *   top-k-maximo: 100
+ *   intervalo-metricas-ms: 10000
+ * </pre>
+ *
+ * @see br.com.sicredi.toolschallenge.infra.analise.AgregadorEstabelecimentos
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "analise-estabelecimento")
+public class AnaliseEstabelecimentoProperties {
+
+    /**
+     * Habilita o registro das decisões do adquirente por estabelecimento e a
+     * publicação dos indicadores no Micrometer.
+     *
+     * <p>Padrão: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Duração da janela deslizante dos indicadores.
+     *
+     * <p>Padrão: 60
+     */
+    private int janelaSegundos = 60;
+
+    /**
+     * Fatias da janela: a janela avança de janelaSegundos / fatias em
+     * janelaSegundos / fatias (com 60 e 6, de 10 em 10 segundos).
+     *
+     * <p>Padrão: 6
+     */
+    private int fatias = 6;
+
+    /**
+     * Estabelecimentos acompanhados individualmente. Os demais, enquanto o
+     * limite estiver atingido, são somados em "outros" (limita a memória:
+     * cerca de 30KB por estabelecimento ativo com o histograma de latência).
+     *
+     * <p>Padrão: 1000
+     */
+    private int maximoEstabelecimentos = 1000;
+
+    /**
+     * Estabelecimentos de maior volume publicados no Micrometer e devolvidos
+     * pelo endpoint quando o cliente não informa 'top'.
+     *
+     * <p>Padrão: 10
+     */
+    private int topK = 10;
+
+    /**
+     * Maior 'top' aceito pelo endpoint.
+     *
+     * <p>Padrão: 100
+     */
+    private int topKMaximo = 100;
+
+    /**
+     * Intervalo de atualização das métricas e de remoção dos estabelecimentos
+     * sem movimento na janela.
+     *
+     * <p>Padrão: 10000
+     */
+    private long intervaloMetricasMs = 10_000;
+
+    /**
+     * Resolve a quantidade de estabelecimentos pedida pelo cliente.
+     *
+     * @param top Quantidade informada (null: padrão)
+     * @return Quantidade entre 1 e o máximo
+     * @throws NegocioException se top for menor que 1
+     */
+    public int topKEfetivo(Integer top) {
+        if (top == null) {
+            return topK;
+        }
+        if (top < 1) {
+            throw new NegocioException("Top deve ser maior que zero");
+        }
+        return Math.min(top, topKMaximo);
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades de configuração da auditoria (infra.evento_auditoria).
+ * 
+ * <p>Mapeia as configurações do application.yml na seção 'auditoria'.
+ * 
+ * <p>Exemplo de uso:
+ * <pre>
+ * auditoria:
+ *   dias-retencao: 90
+ *   meses-particoes-futuras: 3
+ *   lock-timeout-remocao-particao-ms: 1000
+ *   tentativas-remocao-particao: 3
+ *   janela-ultimos-eventos-dias: 31
+ *   capacidade-buffer: 10000
+ *   tamanho-lote: 500
+ *   intervalo-flush-ms: 200
+ *   tentativas-gravacao: 3
+ *   backoff-gravacao-ms: 200
+ *   timeout-encerramento-segundos: 10
+ * </pre>
+ * 
+ * @see br.com.sicredi.toolschallenge.infra.auditoria.scheduled.AuditoriaParticaoScheduler
+ * @see br.com.sicredi.toolschallenge.infra.auditoria.escritor.AuditoriaEscritorLote
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "auditoria")
+public class AuditoriaProperties {
+
+    /**
+     * Retenção dos eventos de auditoria em dias.
+     * 
+     * <p>Partições mensais cujos eventos são todos mais antigos que a retenção
+     * são removidas inteiras (DETACH + DROP).
+     * 
+     * <p>Padrão: 90 dias
+     */
+    private int diasRetencao = 90;
+
+    /**
+     * Quantidade de meses à frente com partições mensais pré-criadas.
+     * 
+     * <p>Padrão: 3 meses
+     */
+    private int mesesParticoesFuturas = 3;
+
+    /**
+     * Espera máxima pelo lock do DETACH de uma partição expirada em milissegundos.
+     * 
+     * <p>O DETACH pede ACCESS EXCLUSIVE em infra.evento_auditoria e, enquanto
+     * espera, bloqueia os inserts da auditoria que chegam depois.
+     * 
+     * <p>Padrão: 1000 ms
+     */
+    private int lockTimeoutRemocaoParticaoMs = 1000;
+
+    /**
+     * Novas tentativas de remoção de partição após lock_timeout, com espera
+     * crescente (lockTimeoutRemocaoParticaoMs x tentativa).
+     * 
+     * <p>Padrão: 3
+     */
+    private int tentativasRemocaoParticao = 3;
+
+    /**
+     * Janela (em dias) usada na busca dos últimos eventos.
+     * 
+     * <p>Limita a busca às partições mais recentes; se a janela não tiver
+     * eventos suficientes, a busca é refeita sem limite de data.
+     * 
+     * <p>Padrão: 31 dias
+     */
+    private int janelaUltimosEventosDias = 31;
+
+    /**
+     * Capacidade do buffer de eventos aguardando gravação em lote.
+     * 
+     * <p>Com o buffer cheio, o evento é gravado na thread chamadora (backpressure).
+     * 
+     * <p>Padrão: 10000 eventos
+     */
+    private int capacidadeBuffer = 10000;
+
+    /**
+     * Quantidade máxima de eventos por INSERT em lote.
+     * 
+     * <p>Padrão: 500 eventos
+     */
+    private int tamanhoLote = 500;
+
+    /**
+     * Tempo máximo (ms) que um evento aguarda o lote completar antes da gravação.
+     * 
+     * <p>Padrão: 200ms
+     */
+    private long intervaloFlushMs = 200;
+
+    /**
+     * Tentativas de gravação dos eventos de um lote que falhou (regravados um a um).
+     * 
+     * <p>Só eventos que falham por erro de acesso ao banco são tentados de novo;
+     * eventos recusados pelo banco são descartados na hora.
+     * 
+     * <p>Padrão: 3 tentativas
+     */
+    private int tentativasGravacao = 3;
+
+    /**
+     * Espera antes da segunda tentativa de gravação, dobrada a cada nova tentativa.
+     * 
+     * <p>Padrão: 200ms
+     */
+    private long backoffGravacaoMs = 200;
+
+    /**
+     * Tempo máximo de espera pela drenagem do buffer no desligamento.
+     * 
+     * <p>Padrão: 10 segundos
+     */
+    private int timeoutEncerramentoSegundos = 10;
+}
@@ -0,0 +1,58 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades de configuração das buscas paginadas (GET /pagamentos/busca e GET /estornos/busca).
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'busca'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * busca:
+ *   limite-padrao: 50
+ *   limite-maximo: 500
+ * </pre>
+ *
+ * @see br.com.sicredi.toolschallenge.shared.paginacao.CursorKeyset
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "busca")
+public class BuscaProperties {
+
+    /**
+     * Itens por página quando o cliente não informa o limite.
+     *
+     * <p>Padrão: 50
+     */
+    private int limitePadrao = 50;
+
+    /**
+     * Itens por página no máximo. Também limita as listagens por status
+     * (GET /pagamentos/status/{status}, GET /estornos/status/{status}).
+     *
+     * <p>Padrão: 500
+     */
+    private int limiteMaximo = 500;
+
+    /**
+     * Resolve o tamanho da página pedido pelo cliente.
+     *
+     * @param limite Limite informado (null: padrão)
+     * @return Limite entre 1 e o máximo
+     * @throws NegocioException se o limite for menor que 1
+     */
+    public int limiteEfetivo(Integer limite) {
+        if (limite == null) {
+            return limitePadrao;
+        }
+        if (limite < 1) {
+            throw new NegocioException("Limite deve ser maior que zero");
+        }
+        return Math.min(limite, limiteMaximo);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoResponseDTO;
+import br.com.sicredi.toolschallenge.infra.cache.CacheConsulta;
+import br.com.sicredi.toolschallenge.infra.cache.CacheConsultaInvalidador;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.Set;
+
+/**
+ * Configuração do cache de consultas (GET /pagamentos/{id} e GET /estornos/{id}).
+ *
+ * Status terminais (cache longo):
+ * - Pagamento: AUTORIZADO, NEGADO
+ * - Estorno: CANCELADO, NEGADO
+ */
+@Configuration
+public class CacheConsultaConfig {
+
+    private static final Set<String> PAGAMENTO_TERMINAL = Set.of(
+            StatusPagamento.AUTORIZADO.name(), StatusPagamento.NEGADO.name());
+
+    private static final Set<String> ESTORNO_TERMINAL = Set.of(
+            StatusEstorno.CANCELADO.name(), StatusEstorno.NEGADO.name());
+
+    @Bean
+    public CacheConsulta<PagamentoResponseDTO> cachePagamentos(CacheConsultaProperties properties,
+                                                               RedisTemplate<String, Object> redisTemplate,
+                                                               ObjectMapper objectMapper,
+                                                               MeterRegistry meterRegistry) {
+        return new CacheConsulta<>("pagamento", PagamentoResponseDTO.class,
+                dto -> PAGAMENTO_TERMINAL.contains(dto.getTransacao().getStatus()),
+                properties, redisTemplate, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public CacheConsulta<EstornoResponseDTO> cacheEstornos(CacheConsultaProperties properties,
+                                                           RedisTemplate<String, Object> redisTemplate,
+                                                           ObjectMapper objectMapper,
+                                                           MeterRegistry meterRegistry) {
+        return new CacheConsulta<>("estorno", EstornoResponseDTO.class,
+                dto -> ESTORNO_TERMINAL.contains(dto.getTransacao().getDescricao().getStatus()),
+                properties, redisTemplate, objectMapper, meterRegistry);
+    }
+
+    /**
+     * Assina o canal de invalidação para limpar a camada local quando outra
+     * instância alterar o status de um pagamento ou estorno.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cache-consulta.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheConsultaListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        CacheConsultaInvalidador invalidador,
+                                                                        CacheConsultaProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidador, new ChannelTopic(properties.getCanalInvalidacao()));
+        return container;
+    }
+}
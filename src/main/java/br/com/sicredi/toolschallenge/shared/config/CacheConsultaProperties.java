@@ -0,0 +1,75 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades de configuração do cache de consultas (GET /pagamentos/{id} e GET /estornos/{id}).
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'cache-consulta'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * cache-consulta:
+ *   enabled: true
+ *   maximo-entradas-local: 10000
+ *   ttl-local-terminal-segundos: 300
+ *   ttl-redis-terminal-segundos: 3600
+ *   ttl-nao-terminal-segundos: 2
+ *   canal-invalidacao: cache-consulta:invalidacao
+ * </pre>
+ *
+ * @see br.com.sicredi.toolschallenge.infra.cache.CacheConsulta
+ * @see br.com.sicredi.toolschallenge.infra.cache.CacheConsultaInvalidador
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache-consulta")
+public class CacheConsultaProperties {
+
+    /**
+     * Habilita o cache. Desabilitado, toda consulta vai ao banco.
+     *
+     * <p>Padrão: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Quantidade máxima de respostas na camada local (Caffeine) de cada cache.
+     *
+     * <p>Padrão: 10000
+     */
+    private long maximoEntradasLocal = 10000;
+
+    /**
+     * TTL na camada local de respostas em status terminal
+     * (pagamento AUTORIZADO/NEGADO, estorno CANCELADO/NEGADO).
+     *
+     * <p>Padrão: 300 segundos
+     */
+    private long ttlLocalTerminalSegundos = 300;
+
+    /**
+     * TTL no Redis de respostas em status terminal.
+     *
+     * <p>Padrão: 3600 segundos
+     */
+    private long ttlRedisTerminalSegundos = 3600;
+
+    /**
+     * TTL (local e Redis) de respostas em status não terminal (PENDENTE).
+     *
+     * <p>Curto: limita a defasagem se uma invalidação se perder.
+     *
+     * <p>Padrão: 2 segundos
+     */
+    private long ttlNaoTerminalSegundos = 2;
+
+    /**
+     * Canal Redis (pub/sub) que propaga invalidações para a camada local das demais instâncias.
+     *
+     * <p>Padrão: cache-consulta:invalidacao
+     */
+    private String canalInvalidacao = "cache-consulta:invalidacao";
+}
@@ -0,0 +1,49 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades de configuração das contagens agregadas (consulta.contagem_status
+ * e consulta.contagem_auditoria).
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'contagem'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * contagem:
+ *   enabled: true
+ *   horas-minuto: 48
+ *   dias-hora: 90
+ * </pre>
+ *
+ * @see br.com.sicredi.toolschallenge.infra.contagem.scheduled.ContagemCompactacaoScheduler
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "contagem")
+public class ContagemProperties {
+
+    /**
+     * Habilita a compactação periódica dos buckets. Os triggers continuam
+     * contando com a compactação desabilitada.
+     *
+     * <p>Padrão: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Horas mantidas em buckets de minuto; depois viram buckets de hora.
+     *
+     * <p>Padrão: 48 horas
+     */
+    private int horasMinuto = 48;
+
+    /**
+     * Dias mantidos em buckets de hora; depois viram buckets de dia (UTC).
+     *
+     * <p>Padrão: 90 dias
+     */
+    private int diasHora = 90;
+}
@@ -0,0 +1,147 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executores assíncronos nomeados por carga de trabalho.
+ *
+ * Substitui o executor padrão único do @EnableAsync: cada carga (auditoria,
+ * acks do outbox, reprocessamento, chamadas ao adquirente, fila de autorização) tem seu próprio pool com fila limitada e
+ * política de rejeição, para que um pico em uma não esgote as outras.
+ *
+ * Uso: {@code @Async(ExecutorConfig.EXECUTOR_AUDITORIA)}
+ *
+ * Métricas:
+ * - executor.* (active, queued, pool.size, completed...): publicadas pelo
+ *   actuator para cada ThreadPoolTaskExecutor, com a tag name do executor
+ * - executor.rejeitadas: tarefas rejeitadas por pool e fila cheios (tag nome)
+ *
+ * Com spring.threads.virtual.enabled=true em Java 21+, as threads dos pools
+ * passam a ser virtual threads (mesmos limites de fila e de concorrência).
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ExecutorConfig implements AsyncConfigurer {
+
+    /**
+     * Executor padrão do @Async. Mesmo nome do executor autoconfigurado do
+     * Spring Boot, para que o Spring MVC (requisições assíncronas) também o use.
+     */
+    public static final String EXECUTOR_PADRAO = "applicationTaskExecutor";
+    public static final String EXECUTOR_AUDITORIA = "auditoriaExecutor";
+    public static final String EXECUTOR_OUTBOX_ACK = "outboxAckExecutor";
+    public static final String EXECUTOR_REPROCESSAMENTO = "reprocessamentoExecutor";
+    public static final String EXECUTOR_ADQUIRENTE = "adquirenteExecutor";
+    public static final String EXECUTOR_AUTORIZACAO_ASSINCRONA = "autorizacaoAssincronaExecutor";
+
+    private final ExecutoresProperties executoresProperties;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    @Bean(name = EXECUTOR_PADRAO)
+    public ThreadPoolTaskExecutor applicationTaskExecutor() {
+        return criarExecutor("async", executoresProperties.getPadrao());
+    }
+
+    @Bean(name = EXECUTOR_AUDITORIA)
+    public ThreadPoolTaskExecutor auditoriaExecutor() {
+        return criarExecutor("auditoria", executoresProperties.getAuditoria());
+    }
+
+    @Bean(name = EXECUTOR_OUTBOX_ACK)
+    public ThreadPoolTaskExecutor outboxAckExecutor() {
+        return criarExecutor("outbox-ack", executoresProperties.getOutboxAck());
+    }
+
+    @Bean(name = EXECUTOR_REPROCESSAMENTO)
+    public ThreadPoolTaskExecutor reprocessamentoExecutor() {
+        return criarExecutor("reprocessamento", executoresProperties.getReprocessamento());
+    }
+
+    @Bean(name = EXECUTOR_ADQUIRENTE)
+    public ThreadPoolTaskExecutor adquirenteExecutor() {
+        return criarExecutor("adquirente", executoresProperties.getAdquirente());
+    }
+
+    @Bean(name = EXECUTOR_AUTORIZACAO_ASSINCRONA)
+    public ThreadPoolTaskExecutor autorizacaoAssincronaExecutor() {
+        return criarExecutor("autorizacao-assincrona", executoresProperties.getAutorizacaoAssincrona());
+    }
+
+    /**
+     * Executor usado por @Async sem nome explícito.
+     * Sem isso, com vários executores no contexto, o Spring cairia no
+     * SimpleAsyncTaskExecutor (uma thread nova por tarefa, sem limite).
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return applicationTaskExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, metodo, parametros) ->
+                log.error("Erro em tarefa assíncrona {}.{}: {}",
+                        metodo.getDeclaringClass().getSimpleName(), metodo.getName(), ex.getMessage(), ex);
+    }
+
+    /**
+     * Cria um pool nomeado, limitado e com a política de rejeição configurada.
+     *
+     * @param nome Nome do executor (prefixo das threads e tag das métricas)
+     * @param pool Configuração do pool
+     * @return Executor configurado (inicializado pelo Spring)
+     */
+    ThreadPoolTaskExecutor criarExecutor(String nome, ExecutoresProperties.Pool pool) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(nome + "-");
+        executor.setCorePoolSize(pool.getTamanhoNucleo());
+        executor.setMaxPoolSize(Math.max(pool.getTamanhoNucleo(), pool.getTamanhoMaximo()));
+        executor.setQueueCapacity(pool.getCapacidadeFila());
+        executor.setRejectedExecutionHandler(politicaRejeicao(nome, pool.getPoliticaRejeicao()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(nome + "-").getVirtualThreadFactory());
+        }
+
+        log.info("Executor '{}' configurado: nucleo={}, maximo={}, fila={}, rejeicao={}, virtual={}",
+                nome, pool.getTamanhoNucleo(), pool.getTamanhoMaximo(), pool.getCapacidadeFila(),
+                pool.getPoliticaRejeicao(), Threading.VIRTUAL.isActive(environment));
+
+        return executor;
+    }
+
+    private RejectedExecutionHandler politicaRejeicao(String nome, ExecutoresProperties.PoliticaRejeicao politica) {
+        Counter rejeitadas = meterRegistry.counter("executor.rejeitadas", "nome", nome);
+
+        RejectedExecutionHandler delegado = switch (politica) {
+            case DESCARTAR -> new ThreadPoolExecutor.DiscardPolicy();
+            case REJEITAR -> new ThreadPoolExecutor.AbortPolicy();
+            case CHAMADOR -> new ThreadPoolExecutor.CallerRunsPolicy();
+        };
+
+        return (tarefa, executor) -> {
+            rejeitadas.increment();
+            log.debug("Executor '{}' saturado, política {}", nome, politica);
+            delegado.rejectedExecution(tarefa, executor);
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades dos executores assíncronos por carga de trabalho.
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'executores'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * executores:
+ *   padrao:
+ *     tamanho-nucleo: 4
+ *     tamanho-maximo: 8
+ *     capacidade-fila: 500
+ *     politica-rejeicao: CHAMADOR
+ *   auditoria:
+ *     tamanho-nucleo: 2
+ *     tamanho-maximo: 4
+ *     capacidade-fila: 1000
+ *     politica-rejeicao: CHAMADOR
+ * </pre>
+ *
+ * <p>Com spring.threads.virtual.enabled=true (Java 21+), só a fábrica de threads
+ * muda: as threads dos pools passam a ser virtual threads, com os mesmos
+ * tamanho-nucleo, tamanho-maximo, capacidade-fila e politica-rejeicao.
+ *
+ * @see ExecutorConfig
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "executores")
+public class ExecutoresProperties {
+
+    /**
+     * Executor padrão do @Async (métodos sem executor explícito).
+     */
+    private Pool padrao = new Pool(4, 8, 500, PoliticaRejeicao.CHAMADOR);
+
+    /**
+     * Registro de eventos de auditoria disparados pelos listeners de domínio.
+     */
+    private Pool auditoria = new Pool(2, 4, 1000, PoliticaRejeicao.CHAMADOR);
+
+    /**
+     * Descarga dos acks do outbox (uma descarga por vez; excedentes são descartados,
+     * pois a descarga em andamento ou a próxima já cobre os acks acumulados).
+     */
+    private Pool outboxAck = new Pool(1, 1, 1, PoliticaRejeicao.DESCARTAR);
+
+    /**
+     * Jobs de reprocessamento de pagamentos e estornos pendentes (chamadas ao adquirente).
+     */
+    private Pool reprocessamento = new Pool(2, 2, 2, PoliticaRejeicao.DESCARTAR);
+
+    /**
+     * Chamadas ao adquirente com orçamento de tempo (pagamento.autorizar-antes-de-persistir
+     * e lote). Sem fila: cada chamada ganha uma thread até o máximo; acima disso a chamada
+     * é recusada, para que o orçamento não seja consumido na thread da requisição.
+     */
+    private Pool adquirente = new Pool(8, 64, 0, PoliticaRejeicao.REJEITAR);
+
+    /**
+     * Workers da fila de autorização dos pagamentos assíncronos (chamada ao adquirente
+     * e callback). Fila do tamanho do lote reivindicado; o excedente é recusado e
+     * o item volta a ser reivindicado quando o lease vencer, sem rodar no agendador.
+     */
+    private Pool autorizacaoAssincrona = new Pool(8, 8, 50, PoliticaRejeicao.REJEITAR);
+
+    /**
+     * Configuração de um pool de threads.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+
+        /**
+         * Threads mantidas no pool.
+         */
+        private int tamanhoNucleo;
+
+        /**
+         * Máximo de threads (criadas só quando a fila enche).
+         */
+        private int tamanhoMaximo;
+
+        /**
+         * Capacidade da fila de tarefas aguardando thread.
+         */
+        private int capacidadeFila;
+
+        /**
+         * O que fazer quando pool e fila estão cheios.
+         */
+        private PoliticaRejeicao politicaRejeicao;
+    }
+
+    /**
+     * Política de rejeição quando o executor está saturado.
+     */
+    public enum PoliticaRejeicao {
+        /**
+         * Executa a tarefa na thread chamadora (backpressure sem perda).
+         */
+        CHAMADOR,
+
+        /**
+         * Descarta a tarefa (apenas para tarefas periódicas e idempotentes).
+         */
+        DESCARTAR,
+
+        /**
+         * Recusa a tarefa com RejectedExecutionException (quem submete decide o que fazer).
+         */
+        REJEITAR
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import br.com.sicredi.toolschallenge.infra.identificador.EstrategiaIdentificador;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades de configuração dos identificadores de negócio.
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'identificador'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * identificador:
+ *   pagamento: UUID_V7        # id_transacao
+ *   estorno: UUID_V7          # id_estorno
+ * </pre>
+ *
+ * <p>A troca de estratégia vale apenas para registros novos: os dois formatos
+ * são UUIDs em texto e convivem na mesma coluna.
+ *
+ * @see br.com.sicredi.toolschallenge.infra.identificador.GeradorIdentificador
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "identificador")
+public class IdentificadorProperties {
+
+    /**
+     * Estratégia do id_transacao dos pagamentos.
+     *
+     * <p>Padrão: UUID_V7
+     */
+    private EstrategiaIdentificador pagamento = EstrategiaIdentificador.UUID_V7;
+
+    /**
+     * Estratégia do id_estorno dos estornos.
+     *
+     * <p>Padrão: UUID_V7
+     */
+    private EstrategiaIdentificador estorno = EstrategiaIdentificador.UUID_V7;
+}
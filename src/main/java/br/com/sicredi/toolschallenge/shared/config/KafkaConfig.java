@@ -1,25 +1,35 @@
 package br.com.sicredi.toolschallenge.shared.config;
 
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Configuração do Kafka Producer.
+ * Configuração do Kafka Producer e do consumidor do modelo de leitura de situação.
  * 
  * Configurações otimizadas para o Outbox Pattern:
  * - acks=all: Garante que mensagem foi recebida por todos os replicas
  * - retries=3: Tenta reenviar em caso de erro temporário
  * - enable.idempotence=true: Previne duplicatas no Kafka
  * - max.in.flight.requests.per.connection=1: Garante ordem das mensagens
+ *
+ * O consumidor lê as mensagens como texto (mesmo formato do producer), sem o
+ * JsonDeserializer do spring.kafka.consumer.
  */
 @Configuration
 public class KafkaConfig {
@@ -61,4 +71,40 @@ public class KafkaConfig {
     public KafkaTemplate<String, String> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    /**
+     * Sem @Bean: um ConsumerFactory no contexto substituiria o da auto-configuração.
+     */
+    private ConsumerFactory<String, String> situacaoConsumerFactory(SituacaoProperties situacaoProperties) {
+        Map<String, Object> configProps = new HashMap<>();
+
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, situacaoProperties.getGrupoConsumidor());
+
+        // Deserializers
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        // Grupo novo lê os tópicos desde o início; offset só avança após aplicar
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    /**
+     * Container do SituacaoTransacaoConsumer: falha ao aplicar (banco
+     * indisponível) é tentada de novo a cada 1s, até 10 vezes, antes de
+     * registrar o erro e seguir para a próxima mensagem.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> situacaoListenerContainerFactory(
+            SituacaoProperties situacaoProperties) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(situacaoConsumerFactory(situacaoProperties));
+        factory.setConcurrency(situacaoProperties.getConcorrencia());
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, 10L)));
+        return factory;
+    }
 }
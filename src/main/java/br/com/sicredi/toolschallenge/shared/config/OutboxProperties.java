@@ -0,0 +1,238 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades de configuração do despacho de eventos do Outbox.
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'outbox'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * outbox:
+ *   publicacao-imediata: true
+ *   lease-publicacao-imediata-segundos: 5
+ *   capacidade-publicacao-imediata: 10000
+ *   modo-despacho: POLLING
+ *   intervalo-processamento-ms: 500
+ *   intervalo-fallback-ms: 5000
+ *   intervalo-retry-ms: 5000
+ *   batch-size: 100
+ *   workers: 4
+ *   lease-segundos: 30
+ *   max-lotes-por-ciclo: 10
+ *   intervalo-flush-ack-ms: 100
+ *   tamanho-lote-ack: 500
+ *   max-tentativas: 3
+ *   backoff-base-segundos: 2
+ *   backoff-maximo-segundos: 300
+ *   dias-retencao: 7
+ *   dias-particoes-futuras: 7
+ *   lock-timeout-remocao-particao-ms: 1000
+ *   tentativas-remocao-particao: 3
+ * </pre>
+ *
+ * @see br.com.sicredi.toolschallenge.infra.outbox.processor.OutboxProcessor
+ * @see br.com.sicredi.toolschallenge.infra.outbox.processor.OutboxDispatcher
+ * @see br.com.sicredi.toolschallenge.infra.outbox.processor.OutboxAckAgregador
+ * @see br.com.sicredi.toolschallenge.infra.outbox.processor.OutboxNotificacaoListener
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    /**
+     * Habilita a publicação imediata pós-commit.
+     *
+     * <p>O EventoPublisher registra uma TransactionSynchronization que entrega o
+     * evento ao OutboxDispatcher logo após o commit. O OutboxProcessor fica
+     * apenas como recuperação (eventos recusados ou instância que caiu).
+     *
+     * <p>Padrão: true
+     */
+    private boolean publicacaoImediata = true;
+
+    /**
+     * Lease gravado no insert dos eventos da publicação imediata em segundos.
+     *
+     * <p>Impede que o polling publique o evento em paralelo; se a publicação
+     * imediata não acontecer, o polling assume após esse prazo. Eventos que
+     * esperam na fila em memória além de metade desse prazo têm o lease
+     * estendido para leaseSegundos antes do envio; se o lease já expirou, o
+     * evento fica para o polling.
+     *
+     * <p>Padrão: 5 segundos
+     */
+    private int leasePublicacaoImediataSegundos = 5;
+
+    /**
+     * Quantidade máxima de eventos da publicação imediata aguardando envio.
+     *
+     * <p>Acima desse limite os eventos ficam para o polling (backpressure).
+     *
+     * <p>Padrão: 10000 eventos
+     */
+    private int capacidadePublicacaoImediata = 10000;
+
+    /**
+     * Modo de despacho dos eventos pendentes.
+     *
+     * <p>POLLING: consulta o outbox a cada intervaloProcessamentoMs. Sem listener
+     * registrado em infra.outbox_ouvinte, os INSERTs no outbox não emitem NOTIFY.
+     * <p>NOTIFICACAO: acorda a cada NOTIFY do PostgreSQL (trigger trg_outbox_notificar)
+     * e consulta a cada intervaloFallbackMs apenas como rede de segurança.
+     *
+     * <p>Padrão: POLLING
+     */
+    private ModoDespacho modoDespacho = ModoDespacho.POLLING;
+
+    /**
+     * Intervalo entre ciclos de reivindicação de eventos pendentes em milissegundos.
+     *
+     * <p>Padrão: 500ms
+     */
+    private long intervaloProcessamentoMs = 500;
+
+    /**
+     * Intervalo do polling de segurança no modo NOTIFICACAO em milissegundos.
+     *
+     * <p>Cobre notificações perdidas (ex: reconexão do listener). Enquanto o
+     * listener estiver desconectado, vale o intervaloProcessamentoMs.
+     *
+     * <p>Padrão: 5000ms
+     */
+    private long intervaloFallbackMs = 5000;
+
+    /**
+     * Intervalo entre ciclos de retry de eventos com erro em milissegundos.
+     *
+     * <p>Padrão: 5000ms
+     */
+    private long intervaloRetryMs = 5000;
+
+    /**
+     * Quantidade máxima de eventos reivindicados por lote.
+     *
+     * <p>Padrão: 100 eventos
+     */
+    private int batchSize = 100;
+
+    /**
+     * Número de workers de publicação.
+     *
+     * <p>Cada agregado é sempre atendido pelo mesmo worker (hash do agregado_id),
+     * preservando a ordem dos eventos de um mesmo agregado.
+     *
+     * <p>Padrão: 4 workers
+     */
+    private int workers = 4;
+
+    /**
+     * Duração do lease de reivindicação em segundos.
+     *
+     * <p>Enquanto o lease estiver vigente, outras instâncias não publicam o evento.
+     * Se a instância cair antes do ack do Kafka, o evento volta a ser elegível
+     * após esse prazo (entrega at-least-once).
+     *
+     * <p>Padrão: 30 segundos
+     */
+    private int leaseSegundos = 30;
+
+    /**
+     * Número máximo de lotes reivindicados em um mesmo ciclo.
+     *
+     * <p>Enquanto os lotes vierem cheios o ciclo continua reivindicando, de modo
+     * que a vazão não fique limitada a batchSize por intervalo.
+     *
+     * <p>Padrão: 10 lotes
+     */
+    private int maxLotesPorCiclo = 10;
+
+    /**
+     * Intervalo entre descargas dos acks acumulados em milissegundos.
+     *
+     * <p>Acks do Kafka são agregados e gravados com um único UPDATE por lote,
+     * em vez de um findById + save por evento.
+     *
+     * <p>Padrão: 100ms
+     */
+    private long intervaloFlushAckMs = 100;
+
+    /**
+     * Quantidade máxima de IDs por UPDATE de ack.
+     *
+     * <p>Padrão: 500 IDs
+     */
+    private int tamanhoLoteAck = 500;
+
+    /**
+     * Número máximo de tentativas de publicação antes de enviar para DLQ.
+     *
+     * <p>Padrão: 3 tentativas
+     */
+    private int maxTentativas = 3;
+
+    /**
+     * Espera base do backoff exponencial entre tentativas em segundos.
+     *
+     * <p>A espera é min(backoffMaximo, backoffBase * 2^tentativas), com jitter
+     * de 50% a 100% para evitar que os retries de um outage voltem todos juntos.
+     *
+     * <p>Padrão: 2 segundos
+     */
+    private int backoffBaseSegundos = 2;
+
+    /**
+     * Espera máxima do backoff exponencial em segundos.
+     *
+     * <p>Padrão: 300 segundos (5 minutos)
+     */
+    private int backoffMaximoSegundos = 300;
+
+    /**
+     * Retenção das partições diárias do outbox em dias.
+     *
+     * <p>Partições mais antigas são removidas inteiras (DROP), exceto as que
+     * ainda tenham eventos não publicados (PENDENTE ou ERRO com próxima
+     * tentativa). Eventos da DLQ são movidos para infra.outbox_arquivo antes do DROP.
+     *
+     * <p>Padrão: 7 dias
+     */
+    private int diasRetencao = 7;
+
+    /**
+     * Quantidade de dias à frente com partições diárias pré-criadas.
+     *
+     * <p>Padrão: 7 dias
+     */
+    private int diasParticoesFuturas = 7;
+
+    /**
+     * Espera máxima pelo lock do DETACH de uma partição expirada em milissegundos.
+     *
+     * <p>O DETACH pede ACCESS EXCLUSIVE em infra.outbox e, enquanto espera,
+     * bloqueia os inserts que chegam depois; o lock_timeout limita essa espera.
+     *
+     * <p>Padrão: 1000 ms
+     */
+    private int lockTimeoutRemocaoParticaoMs = 1000;
+
+    /**
+     * Novas tentativas de remoção de partição após lock_timeout, com espera
+     * crescente (lockTimeoutRemocaoParticaoMs x tentativa).
+     *
+     * <p>Padrão: 3
+     */
+    private int tentativasRemocaoParticao = 3;
+
+    /**
+     * Modos de despacho do outbox.
+     */
+    public enum ModoDespacho {
+        POLLING,
+        NOTIFICACAO
+    }
+}
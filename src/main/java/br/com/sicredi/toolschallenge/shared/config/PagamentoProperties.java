@@ -0,0 +1,202 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propriedades de configuração da criação de pagamentos.
+ * 
+ * <p>Mapeia as configurações do application.yml na seção 'pagamento'.
+ * 
+ * <p>Exemplo de uso:
+ * <pre>
+ * pagamento:
+ *   autorizar-antes-de-persistir: true
+ *   orcamento-autorizacao-ms: 300
+ *   espera-maxima-autorizacao-ms: 5000
+ *   assincrono:
+ *     enabled: true
+ *     intervalo-ms: 200
+ *     tamanho-lote: 50
+ *     hosts-callback-permitidos:
+ *       - "*.loja.exemplo.com"
+ *   lote:
+ *     tamanho-maximo: 500
+ *     timeout-autorizacao-ms: 5000
+ *     concorrencia-maxima: 20
+ *   exportacao:
+ *     tamanho-fetch: 1000
+ * </pre>
+ * 
+ * @see br.com.sicredi.toolschallenge.pagamento.service.PagamentoService#criarPagamento
+ * @see br.com.sicredi.toolschallenge.pagamento.service.PagamentoService#submeterPagamento
+ * @see br.com.sicredi.toolschallenge.pagamento.service.PagamentoService#criarPagamentosEmLote
+ * @see br.com.sicredi.toolschallenge.pagamento.service.PagamentoExportacaoService
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pagamento")
+public class PagamentoProperties {
+
+    /**
+     * Autoriza com o adquirente antes de gravar o pagamento.
+     * 
+     * <p>Quando o adquirente responde dentro do orçamento, o pagamento é gravado
+     * uma única vez já com o status final (um INSERT e um evento no outbox, sem
+     * UPDATE). Caso contrário, grava PENDENTE primeiro e aplica o resultado depois.
+     * 
+     * <p>Se a aplicação cair entre a autorização e a gravação, não fica registro
+     * PENDENTE para o reprocessamento retomar.
+     * 
+     * <p>Padrão: false (sempre grava PENDENTE primeiro)
+     */
+    private boolean autorizarAntesDePersistir = false;
+
+    /**
+     * Tempo máximo de espera pela resposta do adquirente antes de gravar PENDENTE.
+     * 
+     * <p>A chamada ao adquirente não é cancelada: o resultado é aplicado quando chegar.
+     * 
+     * <p>Padrão: 300 ms
+     */
+    private long orcamentoAutorizacaoMs = 300;
+
+    /**
+     * Tempo máximo total de espera pela resposta do adquirente, contado a partir
+     * da chamada (pagamento.autorizar-antes-de-persistir).
+     * 
+     * <p>Esgotado o orçamento, o pagamento é gravado PENDENTE e a requisição
+     * aguarda a mesma chamada até este limite; depois disso responde PENDENTE e
+     * o resultado é aplicado quando chegar.
+     * 
+     * <p>Padrão: 5000 ms
+     */
+    private long esperaMaximaAutorizacaoMs = 5000;
+
+    /**
+     * Submissão assíncrona (POST /pagamentos/assincrono).
+     */
+    private Assincrono assincrono = new Assincrono();
+
+    /**
+     * Criação em lote (POST /pagamentos/lote).
+     */
+    private Lote lote = new Lote();
+
+    /**
+     * Exportação para conciliação (GET /pagamentos/export).
+     */
+    private Exportacao exportacao = new Exportacao();
+
+    /**
+     * Configuração da fila durável de autorização (pagamento.fila_autorizacao).
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Assincrono {
+
+        /**
+         * Habilita os workers que drenam a fila de autorização.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Intervalo entre ciclos de reivindicação (ms).
+         */
+        private long intervaloMs = 200;
+
+        /**
+         * Quantidade máxima de itens reivindicados por lote.
+         */
+        private int tamanhoLote = 50;
+
+        /**
+         * Lotes cheios consecutivos reivindicados em um mesmo ciclo.
+         */
+        private int maxLotesPorCiclo = 10;
+
+        /**
+         * Lease de reivindicação: após esse prazo sem conclusão, o item volta a ser elegível (s).
+         * Enquanto o item espera no executor ou no adquirente, o lease é estendido a cada
+         * leaseSegundos / 3; só expira se a instância parar.
+         */
+        private int leaseSegundos = 30;
+
+        /**
+         * Reivindicações com o adquirente indisponível (PENDENTE) antes de o item sair
+         * da fila; o pagamento segue PENDENTE para o reprocessamento.
+         */
+        private int maxTentativas = 3;
+
+        /**
+         * Espera máxima pela autorização de um lote reivindicado (ms). Depois dela o
+         * lease dos itens não concluídos deixa de ser estendido (voltam à fila quando
+         * vencer), os que ainda não começaram no executor são descartados e o
+         * agendador segue para o próximo ciclo.
+         */
+        private long esperaMaximaLoteMs = 120_000;
+
+        /**
+         * Timeout de conexão e de leitura da chamada à URL de callback (ms).
+         */
+        private int timeoutCallbackMs = 2000;
+
+        /**
+         * Hosts aceitos na URL de callback ("*.dominio" aceita os subdomínios).
+         * Vazio: qualquer host que resolva para endereço público.
+         */
+        private List<String> hostsCallbackPermitidos = new ArrayList<>();
+    }
+
+    /**
+     * Configuração da criação de pagamentos em lote.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Lote {
+
+        /**
+         * Quantidade máxima de pagamentos por requisição.
+         */
+        private int tamanhoMaximo = 500;
+
+        /**
+         * Validade das chaves de idempotência dos itens (h), como em POST /pagamentos.
+         */
+        private int ttlIdempotenciaHoras = 24;
+
+        /**
+         * Tempo máximo de espera pelas autorizações do lote (ms), contado a partir
+         * do INSERT dos pagamentos PENDENTE, incluindo a espera por vaga. Itens sem
+         * resposta nesse prazo voltam PENDENTE e recebem o resultado quando o
+         * adquirente responder.
+         */
+        private int timeoutAutorizacaoMs = 5000;
+
+        /**
+         * Chamadas simultâneas ao adquirente por lote. Deve ficar abaixo do
+         * max-concurrent-calls do bulkhead adquirente (25): chamadas recusadas pelo
+         * bulkhead contam como falha e abrem o Circuit Breaker da instância.
+         * Itens sem vaga até o timeout vão para a fila de autorização assíncrona.
+         */
+        private int concorrenciaMaxima = 20;
+    }
+
+    /**
+     * Configuração da exportação de pagamentos.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Exportacao {
+
+        /**
+         * Linhas buscadas do banco por ida ao servidor (fetch size do cursor).
+         */
+        private int tamanhoFetch = 1000;
+    }
+}
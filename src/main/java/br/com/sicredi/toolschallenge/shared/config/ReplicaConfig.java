@@ -0,0 +1,97 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import br.com.sicredi.toolschallenge.infra.replica.JanelaLeituraEscrita;
+import br.com.sicredi.toolschallenge.infra.replica.ReplicasLeitura;
+import br.com.sicredi.toolschallenge.infra.replica.RoteadorDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuração do roteamento de leituras para réplicas (replicas.enabled=true).
+ *
+ * Substitui o DataSource do Spring Boot por:
+ * LazyConnectionDataSourceProxy → RoteadorDataSource → primário (spring.datasource) | réplicas
+ *
+ * JPA, Flyway e JdbcTemplate usam o DataSource @Primary; fora de transação
+ * somente leitura tudo continua indo ao primário. Desabilitado, o DataSource
+ * padrão do Spring Boot é mantido.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "replicas.enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    /**
+     * Pool do primário, com as mesmas propriedades do DataSource padrão
+     * (spring.datasource e spring.datasource.hikari).
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Pools das réplicas, com os ajustes do pool primário. Réplica fora do ar na
+     * subida não impede a aplicação de iniciar: só não recebe leituras até responder.
+     */
+    @Bean
+    public ReplicasLeitura replicasLeitura(HikariDataSource dataSourcePrimario,
+                                           ReplicaProperties properties,
+                                           MeterRegistry meterRegistry) {
+        Map<String, DataSource> bancos = new LinkedHashMap<>();
+        for (ReplicaProperties.Banco banco : properties.getBancos()) {
+            HikariConfig config = new HikariConfig();
+            dataSourcePrimario.copyStateTo(config);
+            config.setPoolName(banco.getNome());
+            config.setJdbcUrl(banco.getUrl());
+            if (banco.getUsername() != null) {
+                config.setUsername(banco.getUsername());
+            }
+            if (banco.getPassword() != null) {
+                config.setPassword(banco.getPassword());
+            }
+            config.setMaximumPoolSize(properties.getMaximoConexoes());
+            config.setMinimumIdle(Math.min(config.getMinimumIdle(), properties.getMaximoConexoes()));
+            config.setInitializationFailTimeout(-1);
+
+            bancos.put(banco.getNome(), new HikariDataSource(config));
+        }
+
+        log.info("Roteamento de leituras habilitado - Réplicas: {}, lag máximo: {}ms, janela após escrita: {}ms",
+                bancos.keySet(), properties.getLagMaximoMs(), properties.getJanelaLeituraEscritaMs());
+
+        return new ReplicasLeitura(bancos, properties.getLagMaximoMs(), meterRegistry);
+    }
+
+    @Bean
+    public JanelaLeituraEscrita janelaLeituraEscrita(ReplicaProperties properties) {
+        return new JanelaLeituraEscrita(Duration.ofMillis(properties.getJanelaLeituraEscritaMs()));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimario,
+                                 ReplicasLeitura replicasLeitura,
+                                 JanelaLeituraEscrita janelaLeituraEscrita,
+                                 MeterRegistry meterRegistry) {
+        RoteadorDataSource roteador = new RoteadorDataSource(
+                dataSourcePrimario, replicasLeitura, janelaLeituraEscrita, meterRegistry);
+        roteador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+}
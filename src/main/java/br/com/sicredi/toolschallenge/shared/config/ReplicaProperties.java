@@ -0,0 +1,95 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propriedades de configuração das réplicas de leitura do PostgreSQL.
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'replicas'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * replicas:
+ *   enabled: true
+ *   lag-maximo-ms: 1000
+ *   janela-leitura-escrita-ms: 5000
+ *   intervalo-verificacao-ms: 1000
+ *   maximo-conexoes: 10
+ *   bancos:
+ *     - nome: replica-1
+ *       url: jdbc:postgresql://replica-1:5432/pagamentos
+ *     - nome: replica-2
+ *       url: jdbc:postgresql://replica-2:5432/pagamentos
+ * </pre>
+ *
+ * @see ReplicaConfig
+ * @see br.com.sicredi.toolschallenge.infra.replica.RoteadorDataSource
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "replicas")
+public class ReplicaProperties {
+
+    /**
+     * Habilita o roteamento de transações somente leitura para as réplicas.
+     * Desabilitado, tudo vai ao primário (spring.datasource).
+     *
+     * <p>Padrão: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Atraso máximo de replicação aceito. Réplica mais atrasada (ou que falhou
+     * na verificação) deixa de receber leituras até se recuperar.
+     *
+     * <p>Padrão: 1000ms
+     */
+    private long lagMaximoMs = 1000;
+
+    /**
+     * Janela após o commit de uma escrita em que as leituras do mesmo cliente
+     * vão ao primário (lê o que acabou de escrever).
+     *
+     * <p>Padrão: 5000ms
+     */
+    private long janelaLeituraEscritaMs = 5000;
+
+    /**
+     * Intervalo entre verificações do atraso de replicação.
+     *
+     * <p>Padrão: 1000ms
+     */
+    private long intervaloVerificacaoMs = 1000;
+
+    /**
+     * Tamanho do pool Hikari de cada réplica.
+     *
+     * <p>Padrão: 10
+     */
+    private int maximoConexoes = 10;
+
+    /**
+     * Réplicas de leitura. Usuário e senha, quando omitidos, são os de spring.datasource.
+     */
+    private List<Banco> bancos = new ArrayList<>();
+
+    @Data
+    public static class Banco {
+
+        /**
+         * Nome da réplica (pool, logs e tag das métricas).
+         */
+        private String nome;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.context.annotation.Configuration;
  *   intervalo-minutos: 5
  *   batch-size: 50
  *   max-tentativas: 3
+ *   carencia-segundos: 60
  * </pre>
  * 
  * @see br.com.sicredi.toolschallenge.infra.scheduled.ReprocessamentoScheduler
@@ -58,4 +59,14 @@ public class ReprocessamentoProperties {
      * <p>Padrão: 3 tentativas
      */
     private int maxTentativas = 3;
+
+    /**
+     * Idade mínima, em segundos, de um pagamento PENDENTE para ser reprocessado.
+     * 
+     * <p>Pagamentos mais novos ainda podem estar aguardando a resposta do adquirente
+     * em criarPagamento (chamada feita fora de transação).
+     * 
+     * <p>Padrão: 60 segundos
+     */
+    private int carenciaSegundos = 60;
 }
@@ -0,0 +1,49 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades de configuração do modelo de leitura de situação das transações.
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'situacao'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * situacao:
+ *   enabled: true
+ *   grupo-consumidor: situacao-transacao
+ *   concorrencia: 3
+ * </pre>
+ *
+ * @see br.com.sicredi.toolschallenge.situacao.consumer.SituacaoTransacaoConsumer
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "situacao")
+public class SituacaoProperties {
+
+    /**
+     * Habilita o consumidor de pagamento.eventos e estorno.eventos que mantém
+     * consulta.situacao_transacao. Desabilitado, a consulta e a reconstrução
+     * continuam disponíveis.
+     *
+     * <p>Padrão: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Grupo de consumidores (um offset por grupo: todas as instâncias dividem as partições).
+     *
+     * <p>Padrão: situacao-transacao
+     */
+    private String grupoConsumidor = "situacao-transacao";
+
+    /**
+     * Threads consumidoras por instância (limitadas ao número de partições).
+     *
+     * <p>Padrão: 1
+     */
+    private int concorrencia = 1;
+}
@@ -0,0 +1,32 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import br.com.sicredi.toolschallenge.infra.snowflake.GeradorSnowflake;
+import br.com.sicredi.toolschallenge.infra.snowflake.LeaseWorkerSnowflake;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do gerador Snowflake (snowflake_id de pagamentos e estornos).
+ *
+ * Com snowflake.worker-id definido, usa o worker id fixo. Caso contrário,
+ * reivindica um worker id em infra.snowflake_worker antes de gerar o
+ * primeiro ID e suspende a geração se o lease for perdido.
+ */
+@Slf4j
+@Configuration
+public class SnowflakeConfig {
+
+    @Bean
+    public GeradorSnowflake geradorSnowflake(SnowflakeProperties properties, LeaseWorkerSnowflake lease) {
+        if (properties.getWorkerId() != null) {
+            log.info("Gerador Snowflake com worker id fixo {}", properties.getWorkerId());
+            return new GeradorSnowflake(properties.getEpochMs(), properties.getWorkerId(),
+                    properties.getToleranciaRegressaoMs(), System::currentTimeMillis, () -> true);
+        }
+
+        int workerId = lease.reivindicar();
+        return new GeradorSnowflake(properties.getEpochMs(), workerId,
+                properties.getToleranciaRegressaoMs(), System::currentTimeMillis, lease::isValido);
+    }
+}
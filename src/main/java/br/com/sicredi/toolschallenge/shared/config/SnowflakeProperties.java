@@ -0,0 +1,77 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import br.com.sicredi.toolschallenge.infra.snowflake.GeradorSnowflake;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriedades de configuração do gerador Snowflake (snowflake_id).
+ *
+ * <p>Mapeia as configurações do application.yml na seção 'snowflake'.
+ *
+ * <p>Exemplo de uso:
+ * <pre>
+ * snowflake:
+ *   epoch-ms: 1735689600000
+ *   worker-id: 7                  # opcional: sem ele, o worker id vem do lease no banco
+ *   lease-segundos: 60
+ *   intervalo-renovacao-ms: 20000
+ *   tolerancia-regressao-ms: 1000
+ * </pre>
+ *
+ * @see br.com.sicredi.toolschallenge.infra.snowflake.GeradorSnowflake
+ * @see br.com.sicredi.toolschallenge.infra.snowflake.LeaseWorkerSnowflake
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "snowflake")
+public class SnowflakeProperties {
+
+    /**
+     * Epoch customizado em milissegundos (41 bits de timestamp a partir dele: ~69 anos).
+     *
+     * <p>Não deve ser alterado depois que houver IDs gravados.
+     *
+     * <p>Padrão: 2025-01-01T00:00:00Z
+     */
+    private long epochMs = GeradorSnowflake.EPOCH_PADRAO_MS;
+
+    /**
+     * Worker id fixo (0 a 1023).
+     *
+     * <p>Quando ausente, cada instância reivindica um worker id livre em
+     * infra.snowflake_worker na inicialização. Use apenas quando a unicidade
+     * do worker id for garantida de fora (ex.: ordinal do StatefulSet).
+     *
+     * <p>Padrão: ausente (lease no banco)
+     */
+    private Integer workerId;
+
+    /**
+     * Duração do lease do worker id em segundos.
+     *
+     * <p>Padrão: 60 segundos
+     */
+    private int leaseSegundos = 60;
+
+    /**
+     * Intervalo de renovação do lease em milissegundos.
+     *
+     * <p>Deve ser bem menor que leaseSegundos: se as renovações falharem, a
+     * instância para de gerar IDs um intervalo antes do lease expirar.
+     *
+     * <p>Padrão: 20000 ms
+     */
+    private long intervaloRenovacaoMs = 20000;
+
+    /**
+     * Regressão máxima do relógio absorvida pelo gerador em milissegundos.
+     *
+     * <p>Dentro da tolerância, o gerador continua no último timestamp emitido
+     * (a sequência garante a ordem). Acima dela, recusa gerar IDs.
+     *
+     * <p>Padrão: 1000 ms
+     */
+    private long toleranciaRegressaoMs = 1000;
+}
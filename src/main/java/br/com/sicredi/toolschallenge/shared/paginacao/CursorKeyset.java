@@ -0,0 +1,61 @@
+package br.com.sicredi.toolschallenge.shared.paginacao;
+
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Posição de paginação keyset sobre (criado_em, id).
+ *
+ * A próxima página começa logo depois do último item entregue:
+ * {@code criado_em < :criadoEm OR (criado_em = :criadoEm AND id < :id)}.
+ * Diferente de OFFSET, o banco não percorre as páginas anteriores, então o
+ * custo de uma página não cresce com a profundidade.
+ *
+ * Para o cliente o cursor é opaco (Base64 URL-safe); o formato interno pode
+ * mudar sem quebrar a API.
+ *
+ * @param criadoEm Data de criação do último item entregue
+ * @param id ID técnico do último item entregue (desempate)
+ */
+public record CursorKeyset(OffsetDateTime criadoEm, Long id) {
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Codifica o cursor no formato opaco entregue ao cliente.
+     *
+     * @return Cursor opaco
+     */
+    public String codificar() {
+        String texto = criadoEm.toInstant() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente.
+     *
+     * @param cursor Cursor opaco (null ou vazio: primeira página)
+     * @return Cursor decodificado ou null para a primeira página
+     * @throws NegocioException se o cursor for inválido
+     */
+    public static CursorKeyset decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = texto.indexOf(SEPARADOR);
+            Instant criadoEm = Instant.parse(texto.substring(0, separador));
+            long id = Long.parseLong(texto.substring(separador + 1));
+            return new CursorKeyset(OffsetDateTime.ofInstant(criadoEm, ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new NegocioException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.sicredi.toolschallenge.shared.paginacao;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Página de uma busca paginada por cursor.
+ *
+ * @param itens Itens da página (mais recentes primeiro)
+ * @param proximoCursor Cursor da próxima página; ausente na última página
+ */
+@Schema(description = "Página de resultados paginada por cursor")
+public record PaginaDTO<T>(
+        @Schema(description = "Itens da página, mais recentes primeiro")
+        List<T> itens,
+
+        @Schema(description = "Cursor opaco da próxima página (ausente na última)", example = "MjAyNS0xMS0xMFQxMjowMDowMFp8NDI")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String proximoCursor
+) {
+}
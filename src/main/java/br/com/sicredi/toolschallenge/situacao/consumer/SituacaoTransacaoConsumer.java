@@ -0,0 +1,39 @@
+package br.com.sicredi.toolschallenge.situacao.consumer;
+
+import br.com.sicredi.toolschallenge.situacao.service.SituacaoTransacaoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumidor de pagamento.eventos e estorno.eventos que mantém o modelo de
+ * leitura consulta.situacao_transacao.
+ *
+ * As mensagens de uma transação (pagamento) e de um estorno chegam em ordem
+ * dentro da partição (chave = agregadoId); entre os dois tópicos não há ordem,
+ * e o SituacaoTransacaoProjecaoRepository converge em qualquer ordem.
+ *
+ * Configuração em situacao.* (SituacaoProperties).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "situacao.enabled", havingValue = "true", matchIfMissing = true)
+public class SituacaoTransacaoConsumer {
+
+    private final SituacaoTransacaoService situacaoTransacaoService;
+
+    @KafkaListener(
+        topics = {"pagamento.eventos", "estorno.eventos"},
+        groupId = "${situacao.grupo-consumidor:situacao-transacao}",
+        containerFactory = "situacaoListenerContainerFactory"
+    )
+    public void consumir(ConsumerRecord<String, String> registro) {
+        log.debug("Evento recebido: topico={}, chave={}, partition={}, offset={}",
+            registro.topic(), registro.key(), registro.partition(), registro.offset());
+        situacaoTransacaoService.aplicar(registro.value());
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.sicredi.toolschallenge.situacao.controller;
+
+import br.com.sicredi.toolschallenge.situacao.dto.ReconstrucaoSituacaoDTO;
+import br.com.sicredi.toolschallenge.situacao.dto.SituacaoTransacaoDTO;
+import br.com.sicredi.toolschallenge.situacao.service.SituacaoTransacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST do modelo de leitura de situação das transações.
+ *
+ * Endpoints:
+ * - GET    /situacoes/{idTransacao}  - Situação do pagamento e do último estorno
+ * - POST   /situacoes/reconstrucao   - Reconstruir o modelo a partir das tabelas
+ */
+@RestController
+@RequestMapping("/situacoes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Situações", description = "Situação consolidada de pagamentos e estornos (modelo de leitura)")
+public class SituacaoTransacaoController {
+
+    private final SituacaoTransacaoService service;
+
+    /**
+     * Busca a situação de uma transação.
+     *
+     * @param idTransacao ID da transação do pagamento
+     * @return 200 OK com DTO de situação ou 404 Not Found
+     */
+    @GetMapping("/{idTransacao}")
+    @PreAuthorize("hasAuthority('pagamentos:read')")
+    @Operation(
+        summary = "Consultar situação da transação",
+        description = "Status do pagamento e do último estorno em uma única leitura. Atualizado a partir dos eventos publicados (consistência eventual)."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Situação encontrada",
+            content = @Content(schema = @Schema(implementation = SituacaoTransacaoDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Não autenticado: token JWT ausente ou inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Acesso negado: token válido mas sem permissão 'pagamentos:read'",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Transação ainda não consta no modelo de leitura",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        )
+    })
+    public ResponseEntity<SituacaoTransacaoDTO> buscarSituacao(
+        @Parameter(description = "ID da transação do pagamento", example = "123e4567-e89b-12d3-a456-426614174000")
+        @PathVariable String idTransacao
+    ) {
+        log.info("GET /situacoes/{} - Buscando situação", idTransacao);
+
+        return ResponseEntity.ok(service.buscar(idTransacao));
+    }
+
+    /**
+     * Reconstrói o modelo de leitura do zero.
+     *
+     * @return 200 OK com a quantidade de transações gravadas
+     */
+    @PostMapping("/reconstrucao")
+    @PreAuthorize("hasAuthority('pagamentos:write') and hasAuthority('estornos:write')")
+    @Operation(
+        summary = "Reconstruir situação das transações",
+        description = "Apaga e recria o modelo de leitura a partir das tabelas de pagamento e estorno, em uma única transação. Eventos recebidos depois continuam sendo aplicados normalmente."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Modelo reconstruído",
+            content = @Content(schema = @Schema(implementation = ReconstrucaoSituacaoDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Não autenticado: token JWT ausente ou inválido",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Acesso negado: requer 'pagamentos:write' e 'estornos:write'",
+            content = @Content(schema = @Schema(implementation = br.com.sicredi.toolschallenge.shared.exception.ErroResposta.class))
+        )
+    })
+    public ResponseEntity<ReconstrucaoSituacaoDTO> reconstruir() {
+        log.info("POST /situacoes/reconstrucao - Reconstruindo situação das transações");
+
+        return ResponseEntity.ok(new ReconstrucaoSituacaoDTO(service.reconstruir()));
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.sicredi.toolschallenge.situacao.domain;
+
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Modelo de leitura (CQRS): situação de uma transação, pagamento e último estorno.
+ * Mapeia a tabela: consulta.situacao_transacao
+ *
+ * Somente leitura pelo JPA: as linhas são gravadas pelo SituacaoTransacaoProjecaoRepository
+ * a partir dos eventos do outbox (ou reconstruídas das tabelas de pagamento e estorno).
+ */
+@Entity
+@Immutable
+@Table(name = "situacao_transacao", schema = "consulta")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "idTransacao")
+public class SituacaoTransacao {
+
+    /**
+     * ID da transação do pagamento
+     */
+    @Id
+    @Column(name = "id_transacao", length = 50)
+    private String idTransacao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_pagamento", length = 20)
+    private StatusPagamento statusPagamento;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal valor;
+
+    @Column(name = "data_hora", columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime dataHora;
+
+    private String estabelecimento;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_pagamento", length = 20)
+    private TipoPagamento tipoPagamento;
+
+    /**
+     * ID do último estorno solicitado (null se a transação nunca foi estornada)
+     */
+    @Column(name = "id_estorno", length = 50)
+    private String idEstorno;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_estorno", length = 20)
+    private StatusEstorno statusEstorno;
+
+    @Column(name = "valor_estorno", precision = 15, scale = 2)
+    private BigDecimal valorEstorno;
+
+    /**
+     * ID técnico (estorno.estorno.id) do último estorno: eventos de um estorno
+     * mais antigo não substituem o atual
+     */
+    @Column(name = "sequencia_estorno")
+    private Long sequenciaEstorno;
+
+    @Column(name = "atualizado_em", nullable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP")
+    private OffsetDateTime atualizadoEm;
+}
@@ -0,0 +1,12 @@
+package br.com.sicredi.toolschallenge.situacao.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resposta de POST /situacoes/reconstrucao.
+ */
+@Schema(description = "Resultado da reconstrução da situação das transações")
+public record ReconstrucaoSituacaoDTO(
+        @Schema(description = "Transações gravadas no modelo de leitura", example = "1250")
+        int transacoes) {
+}
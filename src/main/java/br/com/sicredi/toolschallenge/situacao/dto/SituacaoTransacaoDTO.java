@@ -0,0 +1,50 @@
+package br.com.sicredi.toolschallenge.situacao.dto;
+
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.situacao.domain.SituacaoTransacao;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Resposta de GET /situacoes/{idTransacao}: pagamento e último estorno da transação.
+ *
+ * pagamento é omitido enquanto o evento de criação não foi aplicado;
+ * estorno é omitido para transações nunca estornadas.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Situação da transação: pagamento e último estorno")
+public record SituacaoTransacaoDTO(
+        String idTransacao,
+        SituacaoPagamento pagamento,
+        SituacaoEstorno estorno,
+        OffsetDateTime atualizadoEm) {
+
+    public record SituacaoPagamento(
+            StatusPagamento status,
+            BigDecimal valor,
+            OffsetDateTime dataHora,
+            String estabelecimento,
+            TipoPagamento tipo) {
+    }
+
+    public record SituacaoEstorno(
+            String idEstorno,
+            StatusEstorno status,
+            BigDecimal valor) {
+    }
+
+    public static SituacaoTransacaoDTO de(SituacaoTransacao situacao) {
+        SituacaoPagamento pagamento = situacao.getStatusPagamento() == null ? null
+                : new SituacaoPagamento(situacao.getStatusPagamento(), situacao.getValor(),
+                        situacao.getDataHora(), situacao.getEstabelecimento(), situacao.getTipoPagamento());
+        SituacaoEstorno estorno = situacao.getIdEstorno() == null ? null
+                : new SituacaoEstorno(situacao.getIdEstorno(), situacao.getStatusEstorno(),
+                        situacao.getValorEstorno());
+        return new SituacaoTransacaoDTO(situacao.getIdTransacao(), pagamento, estorno, situacao.getAtualizadoEm());
+    }
+}
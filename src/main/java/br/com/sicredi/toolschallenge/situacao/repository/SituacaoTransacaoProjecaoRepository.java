@@ -0,0 +1,208 @@
+package br.com.sicredi.toolschallenge.situacao.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Gravação do modelo de leitura consulta.situacao_transacao (JDBC).
+ *
+ * Cada evento vira um UPDATE condicional que só avança a situação:
+ * - status do pagamento só muda enquanto PENDENTE (AUTORIZADO e NEGADO são terminais)
+ * - estorno só é substituído por um mais novo (sequencia_estorno = estorno.estorno.id),
+ *   e o status do mesmo estorno só muda enquanto PENDENTE
+ *
+ * Assim eventos reentregues (entrega at-least-once) ou fora de ordem entre os
+ * dois tópicos não desfazem a situação, sem controle de versão por evento.
+ * Sem linha para a transação, o UPDATE não afeta nada e a linha é inserida;
+ * se o consumidor do outro tópico a inserir antes, o UPDATE é repetido.
+ *
+ * Cada comando é atômico por si: os métodos não precisam de transação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SituacaoTransacaoProjecaoRepository {
+
+    static final String SQL_PAGAMENTO = """
+            UPDATE consulta.situacao_transacao
+               SET status_pagamento = CASE WHEN status_pagamento IS NULL OR status_pagamento = 'PENDENTE'
+                                           THEN ? ELSE status_pagamento END,
+                   valor = ?, data_hora = ?, estabelecimento = ?, tipo_pagamento = ?,
+                   atualizado_em = CURRENT_TIMESTAMP
+             WHERE id_transacao = ?
+            """;
+
+    static final String SQL_INSERT_PAGAMENTO = """
+            INSERT INTO consulta.situacao_transacao
+                (id_transacao, status_pagamento, valor, data_hora, estabelecimento, tipo_pagamento, atualizado_em)
+            VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            """;
+
+    static final String SQL_STATUS_PAGAMENTO = """
+            UPDATE consulta.situacao_transacao
+               SET status_pagamento = ?, atualizado_em = CURRENT_TIMESTAMP
+             WHERE id_transacao = ?
+               AND (status_pagamento IS NULL OR status_pagamento = 'PENDENTE')
+            """;
+
+    static final String SQL_INSERT_STATUS_PAGAMENTO = """
+            INSERT INTO consulta.situacao_transacao (id_transacao, status_pagamento, atualizado_em)
+            VALUES (?, ?, CURRENT_TIMESTAMP)
+            """;
+
+    static final String SQL_ESTORNO = """
+            UPDATE consulta.situacao_transacao
+               SET status_estorno = CASE WHEN sequencia_estorno = ? AND status_estorno <> 'PENDENTE'
+                                         THEN status_estorno ELSE ? END,
+                   id_estorno = ?, valor_estorno = ?, sequencia_estorno = ?,
+                   atualizado_em = CURRENT_TIMESTAMP
+             WHERE id_transacao = ?
+               AND (sequencia_estorno IS NULL OR sequencia_estorno <= ?)
+            """;
+
+    static final String SQL_STATUS_ESTORNO = """
+            UPDATE consulta.situacao_transacao
+               SET valor_estorno = CASE WHEN sequencia_estorno = ? THEN valor_estorno END,
+                   id_estorno = ?, status_estorno = ?, sequencia_estorno = ?,
+                   atualizado_em = CURRENT_TIMESTAMP
+             WHERE id_transacao = ?
+               AND (sequencia_estorno IS NULL OR sequencia_estorno < ?
+                    OR (sequencia_estorno = ? AND (status_estorno IS NULL OR status_estorno = 'PENDENTE')))
+            """;
+
+    static final String SQL_INSERT_ESTORNO = """
+            INSERT INTO consulta.situacao_transacao
+                (id_transacao, id_estorno, status_estorno, valor_estorno, sequencia_estorno, atualizado_em)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            """;
+
+    /**
+     * Linhas sem pagamento correspondente. Eventos só chegam depois do commit
+     * do pagamento, então o consumidor nunca grava uma linha que este DELETE
+     * deixaria de ver.
+     */
+    static final String SQL_REMOVER_ORFAS = """
+            DELETE FROM consulta.situacao_transacao s
+             WHERE NOT EXISTS (SELECT 1 FROM pagamento.pagamento p WHERE p.id_transacao = s.id_transacao)
+            """;
+
+    /**
+     * Situação atual de cada pagamento com o último estorno (maior ID técnico),
+     * gravada por upsert com as mesmas condições do consumidor: uma linha gravada
+     * pelo consumidor depois da leitura das tabelas (evento mais novo que a
+     * reconstrução viu) não volta atrás, e um INSERT concorrente do consumidor
+     * vira UPDATE em vez de violar a chave.
+     */
+    static final String SQL_RECONSTRUIR = """
+            INSERT INTO consulta.situacao_transacao AS s
+                (id_transacao, status_pagamento, valor, data_hora, estabelecimento, tipo_pagamento,
+                 id_estorno, status_estorno, valor_estorno, sequencia_estorno, atualizado_em)
+            SELECT p.id_transacao, p.status, p.valor, p.data_hora, p.estabelecimento, p.tipo_pagamento,
+                   e.id_estorno, e.status, e.valor, e.id, CURRENT_TIMESTAMP
+              FROM pagamento.pagamento p
+              LEFT JOIN estorno.estorno e
+                ON e.id = (SELECT MAX(u.id) FROM estorno.estorno u WHERE u.id_transacao = p.id_transacao)
+            ON CONFLICT (id_transacao) DO UPDATE
+               SET status_pagamento = CASE WHEN s.status_pagamento IS NULL OR s.status_pagamento = 'PENDENTE'
+                                           THEN EXCLUDED.status_pagamento ELSE s.status_pagamento END,
+                   valor = EXCLUDED.valor, data_hora = EXCLUDED.data_hora,
+                   estabelecimento = EXCLUDED.estabelecimento, tipo_pagamento = EXCLUDED.tipo_pagamento,
+                   id_estorno = CASE WHEN %1$s THEN EXCLUDED.id_estorno ELSE s.id_estorno END,
+                   status_estorno = CASE WHEN %1$s THEN EXCLUDED.status_estorno ELSE s.status_estorno END,
+                   valor_estorno = CASE WHEN %1$s THEN EXCLUDED.valor_estorno
+                                        WHEN s.sequencia_estorno = EXCLUDED.sequencia_estorno
+                                        THEN COALESCE(s.valor_estorno, EXCLUDED.valor_estorno)
+                                        ELSE s.valor_estorno END,
+                   sequencia_estorno = CASE WHEN %1$s THEN EXCLUDED.sequencia_estorno ELSE s.sequencia_estorno END,
+                   atualizado_em = CURRENT_TIMESTAMP
+            """.formatted("""
+            (EXCLUDED.sequencia_estorno IS NOT NULL
+                AND (s.sequencia_estorno IS NULL OR s.sequencia_estorno < EXCLUDED.sequencia_estorno
+                     OR (s.sequencia_estorno = EXCLUDED.sequencia_estorno
+                         AND (s.status_estorno IS NULL OR s.status_estorno = 'PENDENTE'))))""");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Dados do pagamento criado (PagamentoCriado).
+     */
+    public void registrarPagamento(String idTransacao, String status, BigDecimal valor, OffsetDateTime dataHora,
+                                   String estabelecimento, String tipoPagamento) {
+        atualizarOuInserir(
+                () -> jdbcTemplate.update(SQL_PAGAMENTO,
+                        status, valor, dataHora, estabelecimento, tipoPagamento, idTransacao),
+                () -> jdbcTemplate.update(SQL_INSERT_PAGAMENTO,
+                        idTransacao, status, valor, dataHora, estabelecimento, tipoPagamento));
+    }
+
+    /**
+     * Novo status do pagamento (PagamentoStatusAlterado).
+     */
+    public void atualizarStatusPagamento(String idTransacao, String status) {
+        atualizarOuInserir(
+                () -> jdbcTemplate.update(SQL_STATUS_PAGAMENTO, status, idTransacao),
+                () -> jdbcTemplate.update(SQL_INSERT_STATUS_PAGAMENTO, idTransacao, status));
+    }
+
+    /**
+     * Estorno criado (EstornoCriado).
+     */
+    public void registrarEstorno(String idTransacao, long sequencia, String idEstorno, String status,
+                                 BigDecimal valor) {
+        atualizarOuInserir(
+                () -> jdbcTemplate.update(SQL_ESTORNO,
+                        sequencia, status, idEstorno, valor, sequencia, idTransacao, sequencia),
+                () -> jdbcTemplate.update(SQL_INSERT_ESTORNO,
+                        idTransacao, idEstorno, status, valor, sequencia));
+    }
+
+    /**
+     * Novo status do estorno (EstornoStatusAlterado).
+     */
+    public void atualizarStatusEstorno(String idTransacao, long sequencia, String idEstorno, String status) {
+        atualizarOuInserir(
+                () -> jdbcTemplate.update(SQL_STATUS_ESTORNO,
+                        sequencia, idEstorno, status, sequencia, idTransacao, sequencia, sequencia),
+                () -> jdbcTemplate.update(SQL_INSERT_ESTORNO,
+                        idTransacao, idEstorno, status, null, sequencia));
+    }
+
+    /**
+     * Recria o modelo de leitura a partir de pagamento.pagamento e estorno.estorno:
+     * remove as linhas sem pagamento e grava a situação de cada pagamento por
+     * upsert, sem apagar a tabela, para não disputar a chave com o consumidor
+     * ativo. Deve ser chamado dentro de uma transação: até o commit, as
+     * consultas continuam vendo a situação anterior.
+     *
+     * @return Transações gravadas
+     */
+    public int reconstruir() {
+        jdbcTemplate.update(SQL_REMOVER_ORFAS);
+        return jdbcTemplate.update(SQL_RECONSTRUIR);
+    }
+
+    /**
+     * UPDATE condicional; sem linha afetada, tenta inserir. Linha inserida
+     * por outro consumidor no intervalo: repete o UPDATE. Linha existente que
+     * a condição recusou (evento antigo): nada muda.
+     */
+    private void atualizarOuInserir(Comando atualizar, Comando inserir) {
+        if (atualizar.executar() > 0) {
+            return;
+        }
+        try {
+            inserir.executar();
+        } catch (DuplicateKeyException e) {
+            atualizar.executar();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Comando {
+        int executar();
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.sicredi.toolschallenge.situacao.repository;
+
+import br.com.sicredi.toolschallenge.situacao.domain.SituacaoTransacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Consulta do modelo de leitura consulta.situacao_transacao (por ID da transação).
+ *
+ * @see SituacaoTransacaoProjecaoRepository
+ */
+@Repository
+public interface SituacaoTransacaoRepository extends JpaRepository<SituacaoTransacao, String> {
+}
@@ -0,0 +1,201 @@
+package br.com.sicredi.toolschallenge.situacao.service;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
+import br.com.sicredi.toolschallenge.shared.exception.RecursoNaoEncontradoException;
+import br.com.sicredi.toolschallenge.situacao.dto.SituacaoTransacaoDTO;
+import br.com.sicredi.toolschallenge.situacao.repository.SituacaoTransacaoProjecaoRepository;
+import br.com.sicredi.toolschallenge.situacao.repository.SituacaoTransacaoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Service do modelo de leitura de situação das transações (CQRS).
+ *
+ * - Aplica as mensagens de pagamento.eventos e estorno.eventos (formato do
+ *   KafkaPublisherService) em consulta.situacao_transacao
+ * - Consulta a situação de uma transação por uma única chave
+ * - Reconstrói o modelo do zero a partir das tabelas de pagamento e estorno
+ *
+ * Métrica situacao.eventos{tipo, resultado=aplicado|ignorado|invalido}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SituacaoTransacaoService {
+
+    private final SituacaoTransacaoRepository repository;
+    private final SituacaoTransacaoProjecaoRepository projecaoRepository;
+    private final PagamentoRepository pagamentoRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Busca a situação da transação (pagamento e último estorno).
+     *
+     * @param idTransacao ID da transação do pagamento
+     * @return DTO de situação ou exception se a transação não está no modelo
+     */
+    @Transactional(readOnly = true)
+    public SituacaoTransacaoDTO buscar(String idTransacao) {
+        return repository.findById(idTransacao)
+            .map(SituacaoTransacaoDTO::de)
+            .orElseThrow(() -> new RecursoNaoEncontradoException("Situação da transação", idTransacao));
+    }
+
+    /**
+     * Aplica uma mensagem dos tópicos de eventos.
+     *
+     * Mensagem malformada ou de tipo desconhecido é descartada (não bloqueia a
+     * partição); falha de banco é propagada para nova tentativa do consumidor.
+     *
+     * @param mensagem JSON { eventoId, eventoTipo, agregadoId, agregadoTipo, timestamp, payload }
+     */
+    public void aplicar(String mensagem) {
+        JsonNode evento;
+        try {
+            evento = objectMapper.readTree(mensagem);
+        } catch (JsonProcessingException e) {
+            log.warn("Mensagem de evento inválida descartada: {}", e.getMessage());
+            contar("desconhecido", "invalido");
+            return;
+        }
+
+        String tipo = evento.path("eventoTipo").asText();
+        String agregadoId = evento.path("agregadoId").asText(null);
+        JsonNode payload = evento.path("payload");
+
+        boolean aplicado = switch (tipo) {
+            case "PagamentoCriado" -> {
+                projecaoRepository.registrarPagamento(agregadoId,
+                    texto(payload, "status"),
+                    decimal(payload, "valor"),
+                    dataHora(payload, "criadoEm"),
+                    texto(payload, "descricao"),
+                    texto(payload, "formaPagamento"));
+                yield true;
+            }
+            case "PagamentoStatusAlterado" -> {
+                projecaoRepository.atualizarStatusPagamento(agregadoId, texto(payload, "statusNovo"));
+                yield true;
+            }
+            case "EstornoCriado" -> {
+                String idTransacao = transacaoDoEstorno(payload);
+                if (idTransacao == null) {
+                    yield false;
+                }
+                projecaoRepository.registrarEstorno(idTransacao,
+                    payload.path("idEstorno").asLong(),
+                    agregadoId,
+                    texto(payload, "status"),
+                    decimal(payload, "valorEstorno"));
+                yield true;
+            }
+            case "EstornoStatusAlterado" -> {
+                String idTransacao = transacaoDoEstorno(payload);
+                if (idTransacao == null) {
+                    yield false;
+                }
+                projecaoRepository.atualizarStatusEstorno(idTransacao,
+                    payload.path("idEstorno").asLong(),
+                    agregadoId,
+                    texto(payload, "statusNovo"));
+                yield true;
+            }
+            default -> false;
+        };
+
+        if (aplicado) {
+            log.debug("Evento {} aplicado na situação: agregado={}", tipo, agregadoId);
+        } else {
+            log.debug("Evento {} ignorado pela situação: agregado={}", tipo, agregadoId);
+        }
+        contar(tipo, aplicado ? "aplicado" : "ignorado");
+    }
+
+    /**
+     * Reconstrói consulta.situacao_transacao a partir de pagamento.pagamento
+     * e estorno.estorno, em uma única transação (as consultas veem a situação
+     * anterior até o commit).
+     *
+     * A reconstrução grava por upsert com as mesmas condições do consumidor, e
+     * eventos aplicados durante ou depois dela só avançam a situação, então o
+     * consumidor pode continuar ativo.
+     *
+     * @return Transações gravadas
+     */
+    @Transactional
+    public int reconstruir() {
+        long inicio = System.nanoTime();
+        int transacoes = projecaoRepository.reconstruir();
+        log.info("Situação das transações reconstruída: {} transações em {}ms",
+            transacoes, (System.nanoTime() - inicio) / 1_000_000);
+        return transacoes;
+    }
+
+    /**
+     * ID da transação do pagamento estornado. Eventos publicados antes de
+     * idTransacaoPagamento existir só trazem o ID técnico do pagamento.
+     */
+    private String transacaoDoEstorno(JsonNode payload) {
+        String idTransacao = texto(payload, "idTransacaoPagamento");
+        if (idTransacao != null) {
+            return idTransacao;
+        }
+
+        JsonNode idPagamento = payload.get("idPagamento");
+        if (idPagamento == null || idPagamento.isNull()) {
+            log.warn("Evento de estorno sem pagamento descartado: {}", payload);
+            return null;
+        }
+        return pagamentoRepository.findById(idPagamento.asLong())
+            .map(Pagamento::getIdTransacao)
+            .orElse(null);
+    }
+
+    private static String texto(JsonNode payload, String campo) {
+        JsonNode valor = payload.get(campo);
+        return valor == null || valor.isNull() ? null : valor.asText();
+    }
+
+    private static BigDecimal decimal(JsonNode payload, String campo) {
+        JsonNode valor = payload.get(campo);
+        if (valor == null || valor.isNull()) {
+            return null;
+        }
+        return valor.isNumber() ? valor.decimalValue() : new BigDecimal(valor.asText());
+    }
+
+    /**
+     * Datas chegam como texto ISO-8601 ou, com WRITE_DATES_AS_TIMESTAMPS, como
+     * segundos desde a epoch (com fração).
+     */
+    private static OffsetDateTime dataHora(JsonNode payload, String campo) {
+        JsonNode valor = payload.get(campo);
+        if (valor == null || valor.isNull()) {
+            return null;
+        }
+        if (valor.isNumber()) {
+            BigDecimal segundos = valor.decimalValue();
+            return Instant.ofEpochSecond(segundos.longValue(),
+                    segundos.remainder(BigDecimal.ONE).movePointRight(9).longValue())
+                .atOffset(ZoneOffset.UTC);
+        }
+        return OffsetDateTime.parse(valor.asText());
+    }
+
+    private void contar(String tipo, String resultado) {
+        meterRegistry.counter("situacao.eventos", "tipo", tipo, "resultado", resultado).increment();
+    }
+}
@@ -0,0 +1,215 @@
+-- ============================================================================
+-- Migration: V10__outbox_particionamento_diario.sql
+-- Descrição: Particiona infra.outbox por dia (RANGE em criado_em, UTC).
+--            A retenção passa a ser DROP de partições inteiras em vez de
+--            DELETE de linhas (sem bloat nem tempestades de autovacuum).
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-10
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- 1. Preserva a tabela atual (dados e sequence de IDs)
+-- ----------------------------------------------------------------------------
+ALTER TABLE infra.outbox RENAME TO outbox_legado;
+ALTER INDEX infra.outbox_pkey RENAME TO outbox_legado_pkey;
+
+-- A sequence do BIGSERIAL é reaproveitada pela nova tabela (IDs continuam crescentes)
+ALTER SEQUENCE infra.outbox_id_seq OWNED BY NONE;
+
+-- ----------------------------------------------------------------------------
+-- 2. Tabela particionada
+-- ----------------------------------------------------------------------------
+-- A chave primária precisa conter a chave de particionamento: (id, criado_em).
+-- O id continua único pela sequence.
+CREATE TABLE infra.outbox (
+    id BIGINT NOT NULL DEFAULT nextval('infra.outbox_id_seq'),
+    agregado_id VARCHAR(50) NOT NULL,
+    agregado_tipo VARCHAR(50) NOT NULL,
+    evento_tipo VARCHAR(100) NOT NULL,
+    payload JSONB NOT NULL,
+    topico_kafka VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDENTE'
+        CHECK (status IN ('PENDENTE', 'PROCESSADO', 'ERRO')),
+    tentativas INTEGER NOT NULL DEFAULT 0,
+    ultimo_erro TEXT,
+    criado_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processado_em TIMESTAMP WITH TIME ZONE,
+    bloqueado_ate TIMESTAMP WITH TIME ZONE,
+    proxima_tentativa_em TIMESTAMP WITH TIME ZONE,
+
+    CONSTRAINT outbox_pkey PRIMARY KEY (id, criado_em),
+    CONSTRAINT chk_outbox_payload_json CHECK (jsonb_typeof(payload) = 'object')
+) PARTITION BY RANGE (criado_em);
+
+ALTER SEQUENCE infra.outbox_id_seq OWNED BY infra.outbox.id;
+
+COMMENT ON TABLE infra.outbox IS 'Outbox Pattern: eventos pendentes para publicação no Kafka (particionada por dia em criado_em, UTC)';
+COMMENT ON COLUMN infra.outbox.agregado_id IS 'ID do agregado que gerou o evento (ex: id_transacao)';
+COMMENT ON COLUMN infra.outbox.evento_tipo IS 'Tipo do evento de domínio (ex: PagamentoAutorizado)';
+COMMENT ON COLUMN infra.outbox.payload IS 'Payload do evento em formato JSON';
+COMMENT ON COLUMN infra.outbox.tentativas IS 'Número de tentativas de publicação no Kafka';
+COMMENT ON COLUMN infra.outbox.bloqueado_ate IS
+'Lease de reivindicação do evento. Eventos PENDENTE com lease vigente pertencem à instância que os reivindicou (OutboxProcessor).';
+COMMENT ON COLUMN infra.outbox.proxima_tentativa_em IS
+'Momento a partir do qual o evento com ERRO pode ser republicado. NULL quando esgotou as tentativas (DLQ).';
+
+-- Partição padrão: rede de segurança para inserções fora das partições criadas
+CREATE TABLE infra.outbox_padrao PARTITION OF infra.outbox DEFAULT;
+
+-- ----------------------------------------------------------------------------
+-- 3. Funções de manutenção de partições
+-- ----------------------------------------------------------------------------
+
+-- Cria a partição de um dia (UTC), se ainda não existir.
+-- Linhas do dia que tenham caído na partição padrão são movidas para a nova partição.
+CREATE OR REPLACE FUNCTION infra.criar_particao_outbox(p_dia DATE)
+RETURNS TEXT AS $$
+DECLARE
+    nome TEXT := 'outbox_p' || to_char(p_dia, 'YYYYMMDD');
+    inicio TIMESTAMP WITH TIME ZONE := p_dia::timestamp AT TIME ZONE 'UTC';
+    fim TIMESTAMP WITH TIME ZONE := (p_dia + 1)::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    IF to_regclass(format('infra.%I', nome)) IS NOT NULL THEN
+        RETURN nome;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM infra.outbox_padrao WHERE criado_em >= inicio AND criado_em < fim) THEN
+        EXECUTE format('CREATE TABLE infra.%I (LIKE infra.outbox INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', nome);
+        EXECUTE format(
+            'WITH movidos AS (DELETE FROM infra.outbox_padrao WHERE criado_em >= %L AND criado_em < %L RETURNING *) '
+            'INSERT INTO infra.%I SELECT * FROM movidos', inicio, fim, nome);
+        EXECUTE format('ALTER TABLE infra.outbox ATTACH PARTITION infra.%I FOR VALUES FROM (%L) TO (%L)',
+                       nome, inicio, fim);
+    ELSE
+        EXECUTE format('CREATE TABLE infra.%I PARTITION OF infra.outbox FOR VALUES FROM (%L) TO (%L)',
+                       nome, inicio, fim);
+    END IF;
+
+    RETURN nome;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.criar_particao_outbox(DATE) IS
+'Cria a partição diária (UTC) do outbox, movendo linhas do dia que estejam na partição padrão';
+
+-- Pré-cria as partições de hoje até hoje + p_dias_futuros (UTC).
+CREATE OR REPLACE FUNCTION infra.criar_particoes_outbox(p_dias_futuros INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    hoje DATE := (now() AT TIME ZONE 'UTC')::date;
+    dia DATE;
+    criadas INTEGER := 0;
+BEGIN
+    FOR dia IN SELECT generate_series(hoje, hoje + p_dias_futuros, INTERVAL '1 day')::date LOOP
+        IF to_regclass(format('infra.%I', 'outbox_p' || to_char(dia, 'YYYYMMDD'))) IS NULL THEN
+            PERFORM infra.criar_particao_outbox(dia);
+            criadas := criadas + 1;
+        END IF;
+    END LOOP;
+
+    RETURN criadas;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.criar_particoes_outbox(INTEGER) IS
+'Pré-cria as partições diárias do outbox de hoje até hoje + N dias';
+
+-- Remove partições diárias mais antigas que a retenção (DETACH + DROP).
+-- Partições que ainda contenham eventos não processados (PENDENTE/ERRO) são mantidas.
+-- Retorna a quantidade de partições removidas.
+CREATE OR REPLACE FUNCTION infra.remover_particoes_outbox(p_dias_retencao INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    limite DATE := (now() AT TIME ZONE 'UTC')::date - p_dias_retencao;
+    particao RECORD;
+    possui_nao_processados BOOLEAN;
+    removidas INTEGER := 0;
+BEGIN
+    FOR particao IN
+        SELECT filha.relname AS nome
+        FROM pg_inherits h
+        JOIN pg_class filha ON filha.oid = h.inhrelid
+        JOIN pg_class pai ON pai.oid = h.inhparent
+        JOIN pg_namespace n ON n.oid = pai.relnamespace
+        WHERE n.nspname = 'infra'
+          AND pai.relname = 'outbox'
+          AND filha.relname ~ '^outbox_p[0-9]{8}$'
+          AND to_date(substring(filha.relname FROM 9), 'YYYYMMDD') < limite
+        ORDER BY filha.relname
+    LOOP
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM infra.%I WHERE status <> ''PROCESSADO'')', particao.nome)
+            INTO possui_nao_processados;
+
+        IF possui_nao_processados THEN
+            RAISE WARNING 'Partição infra.% mantida: possui eventos não processados', particao.nome;
+            CONTINUE;
+        END IF;
+
+        EXECUTE format('ALTER TABLE infra.outbox DETACH PARTITION infra.%I', particao.nome);
+        EXECUTE format('DROP TABLE infra.%I', particao.nome);
+        removidas := removidas + 1;
+    END LOOP;
+
+    -- Partição padrão não é removida: limpa apenas as linhas processadas expiradas
+    DELETE FROM infra.outbox_padrao
+    WHERE status = 'PROCESSADO'
+      AND criado_em < limite::timestamp AT TIME ZONE 'UTC';
+
+    RETURN removidas;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.remover_particoes_outbox(INTEGER) IS
+'Remove (DETACH + DROP) partições diárias do outbox mais antigas que N dias, exceto as que têm eventos não processados';
+
+-- ----------------------------------------------------------------------------
+-- 4. Partições para os dados existentes e para os próximos dias
+-- ----------------------------------------------------------------------------
+SELECT infra.criar_particao_outbox(dia)
+FROM (SELECT DISTINCT (criado_em AT TIME ZONE 'UTC')::date AS dia FROM infra.outbox_legado) dias;
+
+SELECT infra.criar_particoes_outbox(7);
+
+INSERT INTO infra.outbox (
+    id, agregado_id, agregado_tipo, evento_tipo, payload, topico_kafka, status,
+    tentativas, ultimo_erro, criado_em, processado_em, bloqueado_ate, proxima_tentativa_em
+)
+SELECT
+    id, agregado_id, agregado_tipo, evento_tipo, payload, topico_kafka, status,
+    tentativas, ultimo_erro, criado_em, processado_em, bloqueado_ate, proxima_tentativa_em
+FROM infra.outbox_legado;
+
+DROP TABLE infra.outbox_legado;
+
+-- ----------------------------------------------------------------------------
+-- 5. Índices (propagados para todas as partições)
+-- ----------------------------------------------------------------------------
+CREATE INDEX idx_outbox_status_pendente ON infra.outbox(status, criado_em)
+    WHERE status = 'PENDENTE';
+CREATE INDEX idx_outbox_agregado ON infra.outbox(agregado_tipo, agregado_id);
+CREATE INDEX idx_outbox_criado_em ON infra.outbox(criado_em DESC);
+CREATE INDEX idx_outbox_agregado_pendente ON infra.outbox(agregado_id, id)
+    WHERE status = 'PENDENTE';
+CREATE INDEX idx_outbox_retry ON infra.outbox(proxima_tentativa_em)
+    WHERE status = 'ERRO' AND proxima_tentativa_em IS NOT NULL;
+
+-- ----------------------------------------------------------------------------
+-- 6. Trigger de NOTIFY (V8) na nova tabela
+-- ----------------------------------------------------------------------------
+CREATE TRIGGER trg_outbox_notificar
+    AFTER INSERT ON infra.outbox
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION infra.notificar_outbox();
+
+-- ----------------------------------------------------------------------------
+-- Log de execução
+-- ----------------------------------------------------------------------------
+DO $$
+BEGIN
+    RAISE NOTICE 'infra.outbox particionada por dia (criado_em, UTC)';
+    RAISE NOTICE 'Funções criadas: criar_particao_outbox, criar_particoes_outbox, remover_particoes_outbox';
+END $$;
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
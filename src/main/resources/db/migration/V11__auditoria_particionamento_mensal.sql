@@ -0,0 +1,185 @@
+-- ============================================================================
+-- Migration: V11__auditoria_particionamento_mensal.sql
+-- Descrição: Particiona infra.evento_auditoria por mês (RANGE em criado_em, UTC).
+--            A retenção passa a ser DETACH + DROP de partições inteiras em vez
+--            de DELETE de linhas, e as consultas por período passam a
+--            ler apenas as partições do intervalo (partition pruning).
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-10
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- 1. Preserva a tabela atual (dados e sequence de IDs)
+-- ----------------------------------------------------------------------------
+ALTER TABLE infra.evento_auditoria RENAME TO evento_auditoria_legado;
+ALTER INDEX infra.evento_auditoria_pkey RENAME TO evento_auditoria_legado_pkey;
+
+ALTER SEQUENCE infra.evento_auditoria_id_seq OWNED BY NONE;
+
+-- Os índices da V4 ficam com a tabela legada até o DROP; renomeia para liberar os nomes
+ALTER INDEX infra.idx_evento_auditoria_tipo RENAME TO idx_evento_auditoria_legado_tipo;
+ALTER INDEX infra.idx_evento_auditoria_agregado RENAME TO idx_evento_auditoria_legado_agregado;
+ALTER INDEX infra.idx_evento_auditoria_criado_em RENAME TO idx_evento_auditoria_legado_criado_em;
+ALTER INDEX infra.idx_evento_auditoria_usuario RENAME TO idx_evento_auditoria_legado_usuario;
+
+-- ----------------------------------------------------------------------------
+-- 2. Tabela particionada
+-- ----------------------------------------------------------------------------
+-- A chave primária precisa conter a chave de particionamento: (id, criado_em).
+CREATE TABLE infra.evento_auditoria (
+    id BIGINT NOT NULL DEFAULT nextval('infra.evento_auditoria_id_seq'),
+    evento_tipo VARCHAR(100) NOT NULL,
+    agregado_tipo VARCHAR(50),
+    agregado_id VARCHAR(50),
+    usuario VARCHAR(100),
+    dados JSONB,
+    metadados JSONB,
+    criado_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT evento_auditoria_pkey PRIMARY KEY (id, criado_em)
+) PARTITION BY RANGE (criado_em);
+
+ALTER SEQUENCE infra.evento_auditoria_id_seq OWNED BY infra.evento_auditoria.id;
+
+COMMENT ON TABLE infra.evento_auditoria IS 'Log de auditoria de eventos do sistema (particionada por mês em criado_em, UTC)';
+COMMENT ON COLUMN infra.evento_auditoria.evento_tipo IS 'Tipo do evento auditado';
+COMMENT ON COLUMN infra.evento_auditoria.dados IS 'Dados do evento em formato JSON';
+
+-- Partição padrão: rede de segurança para inserções fora das partições criadas
+CREATE TABLE infra.evento_auditoria_padrao PARTITION OF infra.evento_auditoria DEFAULT;
+
+-- ----------------------------------------------------------------------------
+-- 3. Funções de manutenção de partições
+-- ----------------------------------------------------------------------------
+
+-- Cria a partição do mês (UTC) que contém p_dia, se ainda não existir.
+-- Linhas do mês que tenham caído na partição padrão são movidas para a nova partição.
+CREATE OR REPLACE FUNCTION infra.criar_particao_auditoria(p_dia DATE)
+RETURNS TEXT AS $$
+DECLARE
+    mes DATE := date_trunc('month', p_dia)::date;
+    nome TEXT := 'evento_auditoria_p' || to_char(mes, 'YYYYMM');
+    inicio TIMESTAMP WITH TIME ZONE := mes::timestamp AT TIME ZONE 'UTC';
+    fim TIMESTAMP WITH TIME ZONE := (mes + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    IF to_regclass(format('infra.%I', nome)) IS NOT NULL THEN
+        RETURN nome;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM infra.evento_auditoria_padrao WHERE criado_em >= inicio AND criado_em < fim) THEN
+        EXECUTE format('CREATE TABLE infra.%I (LIKE infra.evento_auditoria INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', nome);
+        EXECUTE format(
+            'WITH movidos AS (DELETE FROM infra.evento_auditoria_padrao WHERE criado_em >= %L AND criado_em < %L RETURNING *) '
+            'INSERT INTO infra.%I SELECT * FROM movidos', inicio, fim, nome);
+        EXECUTE format('ALTER TABLE infra.evento_auditoria ATTACH PARTITION infra.%I FOR VALUES FROM (%L) TO (%L)',
+                       nome, inicio, fim);
+    ELSE
+        EXECUTE format('CREATE TABLE infra.%I PARTITION OF infra.evento_auditoria FOR VALUES FROM (%L) TO (%L)',
+                       nome, inicio, fim);
+    END IF;
+
+    RETURN nome;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.criar_particao_auditoria(DATE) IS
+'Cria a partição mensal (UTC) da auditoria, movendo linhas do mês que estejam na partição padrão';
+
+-- Pré-cria as partições do mês atual até o mês atual + p_meses_futuros (UTC).
+CREATE OR REPLACE FUNCTION infra.criar_particoes_auditoria(p_meses_futuros INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    mes_atual DATE := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+    mes DATE;
+    criadas INTEGER := 0;
+BEGIN
+    FOR mes IN SELECT generate_series(mes_atual, mes_atual + make_interval(months => p_meses_futuros), INTERVAL '1 month')::date LOOP
+        IF to_regclass(format('infra.%I', 'evento_auditoria_p' || to_char(mes, 'YYYYMM'))) IS NULL THEN
+            PERFORM infra.criar_particao_auditoria(mes);
+            criadas := criadas + 1;
+        END IF;
+    END LOOP;
+
+    RETURN criadas;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.criar_particoes_auditoria(INTEGER) IS
+'Pré-cria as partições mensais da auditoria do mês atual até o mês atual + N meses';
+
+-- Remove (DETACH + DROP) as partições mensais inteiramente anteriores à retenção.
+-- Um mês só é removido quando todos os seus eventos já passaram de p_dias_retencao dias.
+-- Retorna a quantidade de partições removidas.
+CREATE OR REPLACE FUNCTION infra.remover_particoes_auditoria(p_dias_retencao INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    limite TIMESTAMP WITH TIME ZONE := now() - make_interval(days => p_dias_retencao);
+    particao RECORD;
+    removidas INTEGER := 0;
+BEGIN
+    FOR particao IN
+        SELECT filha.relname AS nome
+        FROM pg_inherits h
+        JOIN pg_class filha ON filha.oid = h.inhrelid
+        JOIN pg_class pai ON pai.oid = h.inhparent
+        JOIN pg_namespace n ON n.oid = pai.relnamespace
+        WHERE n.nspname = 'infra'
+          AND pai.relname = 'evento_auditoria'
+          AND filha.relname ~ '^evento_auditoria_p[0-9]{6}$'
+          AND (to_date(substring(filha.relname FROM 19), 'YYYYMM') + INTERVAL '1 month')::timestamp
+              AT TIME ZONE 'UTC' <= limite
+        ORDER BY filha.relname
+    LOOP
+        EXECUTE format('ALTER TABLE infra.evento_auditoria DETACH PARTITION infra.%I', particao.nome);
+        EXECUTE format('DROP TABLE infra.%I', particao.nome);
+        removidas := removidas + 1;
+    END LOOP;
+
+    -- Partição padrão não é removida: limpa apenas as linhas expiradas
+    DELETE FROM infra.evento_auditoria_padrao WHERE criado_em < limite;
+
+    RETURN removidas;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.remover_particoes_auditoria(INTEGER) IS
+'Remove (DETACH + DROP) partições mensais da auditoria cujos eventos são todos mais antigos que N dias';
+
+-- ----------------------------------------------------------------------------
+-- 4. Partições para os dados existentes e para os próximos meses
+-- ----------------------------------------------------------------------------
+SELECT infra.criar_particao_auditoria(mes)
+FROM (SELECT DISTINCT date_trunc('month', criado_em AT TIME ZONE 'UTC')::date AS mes
+      FROM infra.evento_auditoria_legado) meses;
+
+SELECT infra.criar_particoes_auditoria(3);
+
+INSERT INTO infra.evento_auditoria (
+    id, evento_tipo, agregado_tipo, agregado_id, usuario, dados, metadados, criado_em
+)
+SELECT
+    id, evento_tipo, agregado_tipo, agregado_id, usuario, dados, metadados, criado_em
+FROM infra.evento_auditoria_legado;
+
+DROP TABLE infra.evento_auditoria_legado;
+
+-- ----------------------------------------------------------------------------
+-- 5. Índices (propagados para todas as partições)
+-- ----------------------------------------------------------------------------
+CREATE INDEX idx_evento_auditoria_tipo ON infra.evento_auditoria(evento_tipo);
+CREATE INDEX idx_evento_auditoria_agregado ON infra.evento_auditoria(agregado_tipo, agregado_id);
+CREATE INDEX idx_evento_auditoria_criado_em ON infra.evento_auditoria(criado_em DESC);
+CREATE INDEX idx_evento_auditoria_usuario ON infra.evento_auditoria(usuario);
+
+-- ----------------------------------------------------------------------------
+-- Log de execução
+-- ----------------------------------------------------------------------------
+DO $$
+BEGIN
+    RAISE NOTICE 'infra.evento_auditoria particionada por mês (criado_em, UTC)';
+    RAISE NOTICE 'Funções criadas: criar_particao_auditoria, criar_particoes_auditoria, remover_particoes_auditoria';
+END $$;
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
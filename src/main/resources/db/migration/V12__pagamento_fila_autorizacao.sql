@@ -0,0 +1,42 @@
+-- ============================================================================
+-- Migration: V12__pagamento_fila_autorizacao.sql
+-- Descrição: Fila durável de autorização para pagamentos submetidos de forma
+--            assíncrona (POST /pagamentos/assincrono, 202 Accepted).
+--            Workers reivindicam itens com FOR UPDATE SKIP LOCKED + lease.
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-10
+-- ============================================================================
+
+CREATE TABLE pagamento.fila_autorizacao (
+    id BIGSERIAL PRIMARY KEY,
+
+    -- Pagamento PENDENTE aguardando autorização (removido da fila junto com o pagamento)
+    id_pagamento BIGINT NOT NULL
+        REFERENCES pagamento.pagamento(id) ON DELETE CASCADE,
+
+    -- URL notificada com o resultado (opcional, header Url-Callback)
+    url_callback VARCHAR(500),
+
+    -- Quantidade de reivindicações (> 1 indica que um worker caiu durante o lease)
+    tentativas INTEGER NOT NULL DEFAULT 0,
+
+    -- Lease de reivindicação: enquanto vigente, o item pertence a um worker
+    bloqueado_ate TIMESTAMP WITH TIME ZONE,
+
+    criado_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_fila_autorizacao_pagamento UNIQUE (id_pagamento)
+);
+
+COMMENT ON TABLE pagamento.fila_autorizacao IS
+'Fila durável de autorização dos pagamentos assíncronos. O item é removido na mesma transação que grava o resultado.';
+COMMENT ON COLUMN pagamento.fila_autorizacao.bloqueado_ate IS
+'Lease de reivindicação. Se o worker cair, o lease expira e o item volta a ser elegível.';
+
+-- Reivindicação em ordem de chegada (a fila é pequena: itens saem ao serem autorizados)
+CREATE INDEX idx_fila_autorizacao_criado_em
+ON pagamento.fila_autorizacao(criado_em, id);
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
@@ -0,0 +1,32 @@
+-- ============================================================================
+-- Migration: V13__snowflake_worker.sql
+-- Descrição: Lease dos worker ids do gerador Snowflake (snowflake_id de
+--            pagamentos e estornos). Cada instância reivindica um worker id
+--            livre na inicialização e renova o lease periodicamente.
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-12
+-- ============================================================================
+
+CREATE TABLE infra.snowflake_worker (
+    -- Worker id embutido nos IDs (10 bits)
+    worker_id INTEGER PRIMARY KEY,
+
+    -- Instância dona do lease (pid@host + sufixo aleatório por inicialização)
+    instancia VARCHAR(200) NOT NULL,
+
+    -- Fim do lease: depois dele, outra instância pode assumir o worker id
+    expira_em TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    adquirido_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT ck_snowflake_worker_id CHECK (worker_id BETWEEN 0 AND 1023)
+);
+
+COMMENT ON TABLE infra.snowflake_worker IS
+'Lease dos worker ids do gerador Snowflake. Dois nós nunca geram IDs com o mesmo worker id ao mesmo tempo.';
+COMMENT ON COLUMN infra.snowflake_worker.expira_em IS
+'Fim do lease. A instância deixa de gerar IDs antes desse prazo se não conseguir renová-lo.';
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
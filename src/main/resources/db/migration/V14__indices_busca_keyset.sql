@@ -0,0 +1,54 @@
+-- ============================================================================
+-- Migration: V14__indices_busca_keyset.sql
+-- Descrição: Índices da busca paginada por cursor (GET /pagamentos/busca e
+--            GET /estornos/busca). A paginação keyset ordena por
+--            (criado_em DESC, id DESC); os índices de filtro passam a
+--            terminar nessas colunas para que cada página seja lida do
+--            índice já ordenada, a partir do cursor, sem ordenação em memória.
+--            Os índices substituídos eram prefixos dos novos: a quantidade
+--            de índices por tabela não muda.
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-13
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- pagamento.pagamento
+-- ----------------------------------------------------------------------------
+
+-- Filtro status + estabelecimento (antes ordenado por data_hora)
+DROP INDEX IF EXISTS pagamento.idx_pagamento_filtros;
+CREATE INDEX idx_pagamento_filtros
+ON pagamento.pagamento(status, estabelecimento, criado_em DESC, id DESC);
+
+-- Filtro só por status
+DROP INDEX IF EXISTS pagamento.idx_pagamento_status;
+CREATE INDEX idx_pagamento_status
+ON pagamento.pagamento(status, criado_em DESC, id DESC);
+
+-- Filtro só por estabelecimento
+DROP INDEX IF EXISTS pagamento.idx_pagamento_estabelecimento;
+CREATE INDEX idx_pagamento_estabelecimento
+ON pagamento.pagamento(estabelecimento, criado_em DESC, id DESC);
+
+-- Sem filtro ou só período
+DROP INDEX IF EXISTS pagamento.idx_pagamento_criado_em;
+CREATE INDEX idx_pagamento_criado_em
+ON pagamento.pagamento(criado_em DESC, id DESC);
+
+-- ----------------------------------------------------------------------------
+-- estorno.estorno (o filtro por estabelecimento vai ao pagamento original)
+-- ----------------------------------------------------------------------------
+
+-- Filtro por status
+DROP INDEX IF EXISTS estorno.idx_estorno_status;
+CREATE INDEX idx_estorno_filtros
+ON estorno.estorno(status, criado_em DESC, id DESC);
+
+-- Sem filtro ou só período
+DROP INDEX IF EXISTS estorno.idx_estorno_criado_em;
+CREATE INDEX idx_estorno_criado_em
+ON estorno.estorno(criado_em DESC, id DESC);
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
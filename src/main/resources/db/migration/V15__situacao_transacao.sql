@@ -0,0 +1,46 @@
+-- ============================================================================
+-- Migration: V15__situacao_transacao.sql
+-- Descrição: Modelo de leitura (CQRS) com a situação de cada transação:
+--            pagamento e último estorno em uma única linha, mantida pelo
+--            consumidor dos tópicos pagamento.eventos e estorno.eventos.
+--            Pode ser reconstruída do zero a partir de pagamento.pagamento
+--            e estorno.estorno.
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-14
+-- ============================================================================
+
+-- Schema para modelos de leitura derivados dos eventos
+CREATE SCHEMA IF NOT EXISTS consulta;
+COMMENT ON SCHEMA consulta IS 'Modelos de leitura (CQRS) mantidos a partir dos eventos do outbox';
+
+CREATE TABLE consulta.situacao_transacao (
+    -- ID da transação do pagamento (chave da consulta)
+    id_transacao VARCHAR(50) PRIMARY KEY,
+
+    -- Pagamento (PagamentoCriado / PagamentoStatusAlterado)
+    status_pagamento VARCHAR(20),
+    valor NUMERIC(15, 2),
+    data_hora TIMESTAMP WITH TIME ZONE,
+    estabelecimento VARCHAR(255),
+    tipo_pagamento VARCHAR(20),
+
+    -- Último estorno (EstornoCriado / EstornoStatusAlterado)
+    id_estorno VARCHAR(50),
+    status_estorno VARCHAR(20),
+    valor_estorno NUMERIC(15, 2),
+    -- ID técnico (estorno.estorno.id) do último estorno: um estorno mais novo substitui o anterior
+    sequencia_estorno BIGINT,
+
+    atualizado_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE consulta.situacao_transacao IS
+'Situação de cada transação (pagamento + último estorno) para consulta por uma única chave. Derivada dos eventos; não é fonte de verdade.';
+COMMENT ON COLUMN consulta.situacao_transacao.status_pagamento IS
+'Só muda enquanto PENDENTE: eventos reentregues ou fora de ordem não desfazem um status terminal.';
+COMMENT ON COLUMN consulta.situacao_transacao.sequencia_estorno IS
+'ID técnico do último estorno. Eventos de um estorno mais antigo são ignorados.';
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
@@ -0,0 +1,358 @@
+-- ============================================================================
+-- Migration: V16__contagens_por_minuto.sql
+-- Descrição: Contagens agregadas por minuto para os dashboards:
+--            - consulta.contagem_status: pagamentos e estornos por minuto de
+--              criação (criado_em), status atual e estabelecimento
+--            - consulta.contagem_auditoria: eventos de auditoria por minuto e
+--              tipo de agregado
+--            Mantidas por triggers na mesma transação da escrita e compactadas
+--            periodicamente em buckets de hora e de dia (UTC). Contagens por
+--            período passam a somar buckets em vez de varrer as tabelas base.
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-15
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- 1. Tabelas de contagem
+-- ----------------------------------------------------------------------------
+CREATE TABLE consulta.contagem_status (
+    -- PAGAMENTO | ESTORNO
+    tipo VARCHAR(20) NOT NULL,
+    -- MINUTO | HORA | DIA
+    granularidade VARCHAR(10) NOT NULL,
+    -- Início do bucket (UTC para HORA e DIA)
+    inicio TIMESTAMP WITH TIME ZONE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    -- Estabelecimento do pagamento (o do pagamento original, para estornos)
+    estabelecimento VARCHAR(255) NOT NULL,
+    -- Fatia do bucket de minuto (id % 16): escritas concorrentes no mesmo
+    -- minuto/status/estabelecimento não disputam a mesma linha até o commit
+    fatia SMALLINT NOT NULL,
+    -- Pode ser negativo em buckets de minuto: mudança de status de uma
+    -- transação antiga é registrada no minuto da criação até a compactação
+    quantidade BIGINT NOT NULL,
+
+    CONSTRAINT contagem_status_pkey PRIMARY KEY (tipo, status, inicio, granularidade, estabelecimento, fatia),
+    CONSTRAINT chk_contagem_status_granularidade CHECK (granularidade IN ('MINUTO', 'HORA', 'DIA'))
+);
+
+CREATE INDEX idx_contagem_status_compactacao ON consulta.contagem_status(granularidade, inicio);
+
+COMMENT ON TABLE consulta.contagem_status IS 'Pagamentos e estornos por minuto de criação, status atual e estabelecimento (compactada em hora e dia)';
+COMMENT ON COLUMN consulta.contagem_status.fatia IS 'Fatia do bucket de minuto (id % 16); buckets compactados usam 0';
+
+CREATE TABLE consulta.contagem_auditoria (
+    granularidade VARCHAR(10) NOT NULL,
+    inicio TIMESTAMP WITH TIME ZONE NOT NULL,
+    agregado_tipo VARCHAR(50) NOT NULL,
+    quantidade BIGINT NOT NULL,
+
+    CONSTRAINT contagem_auditoria_pkey PRIMARY KEY (inicio, granularidade, agregado_tipo),
+    CONSTRAINT chk_contagem_auditoria_granularidade CHECK (granularidade IN ('MINUTO', 'HORA', 'DIA'))
+);
+
+CREATE INDEX idx_contagem_auditoria_compactacao ON consulta.contagem_auditoria(granularidade, inicio);
+
+COMMENT ON TABLE consulta.contagem_auditoria IS 'Eventos de auditoria por minuto e tipo de agregado (compactada em hora e dia)';
+
+-- ----------------------------------------------------------------------------
+-- 2. Funções de incremento
+-- ----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION consulta.contar_status(
+    p_tipo VARCHAR, p_criado_em TIMESTAMP WITH TIME ZONE, p_status VARCHAR,
+    p_estabelecimento VARCHAR, p_id BIGINT, p_delta BIGINT)
+RETURNS VOID AS $$
+BEGIN
+    INSERT INTO consulta.contagem_status (tipo, granularidade, inicio, status, estabelecimento, fatia, quantidade)
+    VALUES (p_tipo, 'MINUTO', date_trunc('minute', p_criado_em), p_status,
+            COALESCE(p_estabelecimento, ''), (p_id % 16)::SMALLINT, p_delta)
+    ON CONFLICT (tipo, status, inicio, granularidade, estabelecimento, fatia)
+    DO UPDATE SET quantidade = consulta.contagem_status.quantidade + EXCLUDED.quantidade;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION consulta.contar_status(VARCHAR, TIMESTAMP WITH TIME ZONE, VARCHAR, VARCHAR, BIGINT, BIGINT) IS
+'Soma p_delta ao bucket de minuto (criado_em, status, estabelecimento, fatia) da contagem de status';
+
+CREATE OR REPLACE FUNCTION consulta.contar_auditoria(
+    p_criado_em TIMESTAMP WITH TIME ZONE, p_agregado_tipo VARCHAR, p_delta BIGINT)
+RETURNS VOID AS $$
+BEGIN
+    INSERT INTO consulta.contagem_auditoria (granularidade, inicio, agregado_tipo, quantidade)
+    VALUES ('MINUTO', date_trunc('minute', p_criado_em), COALESCE(p_agregado_tipo, ''), p_delta)
+    ON CONFLICT (inicio, granularidade, agregado_tipo)
+    DO UPDATE SET quantidade = consulta.contagem_auditoria.quantidade + EXCLUDED.quantidade;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION consulta.contar_auditoria(TIMESTAMP WITH TIME ZONE, VARCHAR, BIGINT) IS
+'Soma p_delta ao bucket de minuto (criado_em, agregado_tipo) da contagem de auditoria';
+
+-- ----------------------------------------------------------------------------
+-- 3. Triggers (mesma transação da escrita)
+-- ----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION pagamento.contar_status_pagamento()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        IF TG_OP = 'UPDATE'
+           AND NEW.status = OLD.status
+           AND NEW.estabelecimento = OLD.estabelecimento
+           AND NEW.criado_em = OLD.criado_em THEN
+            RETURN NULL;
+        END IF;
+        PERFORM consulta.contar_status('PAGAMENTO', OLD.criado_em, OLD.status, OLD.estabelecimento, OLD.id, -1);
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM consulta.contar_status('PAGAMENTO', NEW.criado_em, NEW.status, NEW.estabelecimento, NEW.id, 1);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_pagamento_contagem
+    AFTER INSERT OR UPDATE OR DELETE ON pagamento.pagamento
+    FOR EACH ROW
+    EXECUTE FUNCTION pagamento.contar_status_pagamento();
+
+CREATE OR REPLACE FUNCTION estorno.contar_status_estorno()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_estabelecimento VARCHAR(255);
+BEGIN
+    IF TG_OP = 'UPDATE'
+       AND NEW.status = OLD.status
+       AND NEW.id_transacao = OLD.id_transacao
+       AND NEW.criado_em = OLD.criado_em THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT p.estabelecimento INTO v_estabelecimento
+          FROM pagamento.pagamento p WHERE p.id_transacao = OLD.id_transacao;
+        PERFORM consulta.contar_status('ESTORNO', OLD.criado_em, OLD.status, v_estabelecimento, OLD.id, -1);
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT p.estabelecimento INTO v_estabelecimento
+          FROM pagamento.pagamento p WHERE p.id_transacao = NEW.id_transacao;
+        PERFORM consulta.contar_status('ESTORNO', NEW.criado_em, NEW.status, v_estabelecimento, NEW.id, 1);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_estorno_contagem
+    AFTER INSERT OR UPDATE OR DELETE ON estorno.estorno
+    FOR EACH ROW
+    EXECUTE FUNCTION estorno.contar_status_estorno();
+
+-- Trigger na tabela particionada: propagado para todas as partições, inclusive
+-- a padrão (DELETE de linhas expiradas também desconta)
+CREATE OR REPLACE FUNCTION infra.contar_evento_auditoria()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM consulta.contar_auditoria(NEW.criado_em, NEW.agregado_tipo, 1);
+    ELSE
+        PERFORM consulta.contar_auditoria(OLD.criado_em, OLD.agregado_tipo, -1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_evento_auditoria_contagem
+    AFTER INSERT OR DELETE ON infra.evento_auditoria
+    FOR EACH ROW
+    EXECUTE FUNCTION infra.contar_evento_auditoria();
+
+-- ----------------------------------------------------------------------------
+-- 4. Compactação: minuto -> hora -> dia (UTC)
+-- ----------------------------------------------------------------------------
+-- Buckets de minuto anteriores a p_horas_minuto horas viram buckets de hora;
+-- buckets de hora anteriores a p_dias_hora dias viram buckets de dia.
+-- Cada passo é um único comando (DELETE ... RETURNING + INSERT ... ON CONFLICT):
+-- incrementos concorrentes em buckets antigos (mudança de status tardia)
+-- continuam como minuto e entram na compactação seguinte.
+-- Retorna a quantidade de linhas compactadas.
+CREATE OR REPLACE FUNCTION consulta.compactar_contagens(p_horas_minuto INTEGER, p_dias_hora INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    limite_minuto TIMESTAMP WITH TIME ZONE :=
+        (date_trunc('hour', now() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC') - make_interval(hours => p_horas_minuto);
+    limite_hora TIMESTAMP WITH TIME ZONE :=
+        (date_trunc('day', now() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC') - make_interval(days => p_dias_hora);
+    compactadas INTEGER := 0;
+    linhas INTEGER;
+BEGIN
+    -- Status: minuto -> hora
+    WITH movidas AS (
+        DELETE FROM consulta.contagem_status
+         WHERE granularidade = 'MINUTO' AND inicio < limite_minuto
+        RETURNING tipo, inicio, status, estabelecimento, quantidade
+    ), gravadas AS (
+        INSERT INTO consulta.contagem_status (tipo, granularidade, inicio, status, estabelecimento, fatia, quantidade)
+        SELECT tipo, 'HORA', date_trunc('hour', inicio AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+               status, estabelecimento, 0, SUM(quantidade)
+          FROM movidas
+         GROUP BY tipo, date_trunc('hour', inicio AT TIME ZONE 'UTC'), status, estabelecimento
+        HAVING SUM(quantidade) <> 0
+        ON CONFLICT (tipo, status, inicio, granularidade, estabelecimento, fatia)
+        DO UPDATE SET quantidade = consulta.contagem_status.quantidade + EXCLUDED.quantidade
+        RETURNING 1
+    )
+    SELECT count(*) INTO linhas FROM movidas;
+    compactadas := compactadas + linhas;
+
+    -- Status: hora -> dia
+    WITH movidas AS (
+        DELETE FROM consulta.contagem_status
+         WHERE granularidade = 'HORA' AND inicio < limite_hora
+        RETURNING tipo, inicio, status, estabelecimento, quantidade
+    ), gravadas AS (
+        INSERT INTO consulta.contagem_status (tipo, granularidade, inicio, status, estabelecimento, fatia, quantidade)
+        SELECT tipo, 'DIA', date_trunc('day', inicio AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+               status, estabelecimento, 0, SUM(quantidade)
+          FROM movidas
+         GROUP BY tipo, date_trunc('day', inicio AT TIME ZONE 'UTC'), status, estabelecimento
+        HAVING SUM(quantidade) <> 0
+        ON CONFLICT (tipo, status, inicio, granularidade, estabelecimento, fatia)
+        DO UPDATE SET quantidade = consulta.contagem_status.quantidade + EXCLUDED.quantidade
+        RETURNING 1
+    )
+    SELECT count(*) INTO linhas FROM movidas;
+    compactadas := compactadas + linhas;
+
+    -- Auditoria: minuto -> hora
+    WITH movidas AS (
+        DELETE FROM consulta.contagem_auditoria
+         WHERE granularidade = 'MINUTO' AND inicio < limite_minuto
+        RETURNING inicio, agregado_tipo, quantidade
+    ), gravadas AS (
+        INSERT INTO consulta.contagem_auditoria (granularidade, inicio, agregado_tipo, quantidade)
+        SELECT 'HORA', date_trunc('hour', inicio AT TIME ZONE 'UTC') AT TIME ZONE 'UTC', agregado_tipo, SUM(quantidade)
+          FROM movidas
+         GROUP BY date_trunc('hour', inicio AT TIME ZONE 'UTC'), agregado_tipo
+        HAVING SUM(quantidade) <> 0
+        ON CONFLICT (inicio, granularidade, agregado_tipo)
+        DO UPDATE SET quantidade = consulta.contagem_auditoria.quantidade + EXCLUDED.quantidade
+        RETURNING 1
+    )
+    SELECT count(*) INTO linhas FROM movidas;
+    compactadas := compactadas + linhas;
+
+    -- Auditoria: hora -> dia
+    WITH movidas AS (
+        DELETE FROM consulta.contagem_auditoria
+         WHERE granularidade = 'HORA' AND inicio < limite_hora
+        RETURNING inicio, agregado_tipo, quantidade
+    ), gravadas AS (
+        INSERT INTO consulta.contagem_auditoria (granularidade, inicio, agregado_tipo, quantidade)
+        SELECT 'DIA', date_trunc('day', inicio AT TIME ZONE 'UTC') AT TIME ZONE 'UTC', agregado_tipo, SUM(quantidade)
+          FROM movidas
+         GROUP BY date_trunc('day', inicio AT TIME ZONE 'UTC'), agregado_tipo
+        HAVING SUM(quantidade) <> 0
+        ON CONFLICT (inicio, granularidade, agregado_tipo)
+        DO UPDATE SET quantidade = consulta.contagem_auditoria.quantidade + EXCLUDED.quantidade
+        RETURNING 1
+    )
+    SELECT count(*) INTO linhas FROM movidas;
+    compactadas := compactadas + linhas;
+
+    -- Buckets compactados que zeraram com mudanças de status tardias
+    DELETE FROM consulta.contagem_status WHERE granularidade <> 'MINUTO' AND quantidade = 0;
+    DELETE FROM consulta.contagem_auditoria WHERE granularidade <> 'MINUTO' AND quantidade = 0;
+
+    RETURN compactadas;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION consulta.compactar_contagens(INTEGER, INTEGER) IS
+'Compacta buckets de minuto anteriores a N horas em hora e buckets de hora anteriores a M dias em dia (UTC)';
+
+-- ----------------------------------------------------------------------------
+-- 5. Retenção da auditoria também desconta as contagens
+-- ----------------------------------------------------------------------------
+-- Igual à V11, removendo as contagens dos meses cujas partições são
+-- removidas (DROP não dispara o trigger). As linhas apagadas da partição
+-- padrão são descontadas pelo trigger.
+CREATE OR REPLACE FUNCTION infra.remover_particoes_auditoria(p_dias_retencao INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    limite TIMESTAMP WITH TIME ZONE := now() - make_interval(days => p_dias_retencao);
+    particao RECORD;
+    mes DATE;
+    removidas INTEGER := 0;
+BEGIN
+    FOR particao IN
+        SELECT filha.relname AS nome
+        FROM pg_inherits h
+        JOIN pg_class filha ON filha.oid = h.inhrelid
+        JOIN pg_class pai ON pai.oid = h.inhparent
+        JOIN pg_namespace n ON n.oid = pai.relnamespace
+        WHERE n.nspname = 'infra'
+          AND pai.relname = 'evento_auditoria'
+          AND filha.relname ~ '^evento_auditoria_p[0-9]{6}$'
+          AND (to_date(substring(filha.relname FROM 19), 'YYYYMM') + INTERVAL '1 month')::timestamp
+              AT TIME ZONE 'UTC' <= limite
+        ORDER BY filha.relname
+    LOOP
+        mes := to_date(substring(particao.nome FROM 19), 'YYYYMM');
+
+        EXECUTE format('ALTER TABLE infra.evento_auditoria DETACH PARTITION infra.%I', particao.nome);
+        EXECUTE format('DROP TABLE infra.%I', particao.nome);
+
+        DELETE FROM consulta.contagem_auditoria
+         WHERE inicio >= (mes::timestamp AT TIME ZONE 'UTC')
+           AND inicio < ((mes + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+
+        removidas := removidas + 1;
+    END LOOP;
+
+    -- Partição padrão não é removida: limpa apenas as linhas expiradas
+    DELETE FROM infra.evento_auditoria_padrao WHERE criado_em < limite;
+
+    RETURN removidas;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ----------------------------------------------------------------------------
+-- 6. Carga inicial a partir dos dados existentes
+-- ----------------------------------------------------------------------------
+-- Os triggers já existem nesta transação e a criação deles bloqueia escritas
+-- concorrentes nas tabelas até o commit: nenhuma linha é contada duas vezes.
+INSERT INTO consulta.contagem_status (tipo, granularidade, inicio, status, estabelecimento, fatia, quantidade)
+SELECT 'PAGAMENTO', 'MINUTO', date_trunc('minute', criado_em), status, estabelecimento, 0, COUNT(*)
+FROM pagamento.pagamento
+GROUP BY date_trunc('minute', criado_em), status, estabelecimento;
+
+INSERT INTO consulta.contagem_status (tipo, granularidade, inicio, status, estabelecimento, fatia, quantidade)
+SELECT 'ESTORNO', 'MINUTO', date_trunc('minute', e.criado_em), e.status, COALESCE(p.estabelecimento, ''), 0, COUNT(*)
+FROM estorno.estorno e
+LEFT JOIN pagamento.pagamento p ON p.id_transacao = e.id_transacao
+GROUP BY date_trunc('minute', e.criado_em), e.status, COALESCE(p.estabelecimento, '');
+
+INSERT INTO consulta.contagem_auditoria (granularidade, inicio, agregado_tipo, quantidade)
+SELECT 'MINUTO', date_trunc('minute', criado_em), COALESCE(agregado_tipo, ''), COUNT(*)
+FROM infra.evento_auditoria
+GROUP BY date_trunc('minute', criado_em), COALESCE(agregado_tipo, '');
+
+-- Histórico carregado já compactado (padrões de contagem.*)
+SELECT consulta.compactar_contagens(48, 90);
+
+-- ----------------------------------------------------------------------------
+-- Log de execução
+-- ----------------------------------------------------------------------------
+DO $$
+BEGIN
+    RAISE NOTICE 'Contagens criadas: consulta.contagem_status, consulta.contagem_auditoria';
+    RAISE NOTICE 'Triggers: trg_pagamento_contagem, trg_estorno_contagem, trg_evento_auditoria_contagem';
+    RAISE NOTICE 'Funções criadas: contar_status, contar_auditoria, compactar_contagens';
+END $$;
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
@@ -0,0 +1,129 @@
+-- ============================================================================
+-- Migration: V17__outbox_remocao_particoes_segura.sql
+-- Descrição: Substitui infra.remover_particoes_outbox (V10):
+--            - Eventos da DLQ (ERRO sem próxima tentativa) não prendem mais a
+--              partição para sempre: antes do DROP, as linhas não processadas
+--              da partição são movidas para infra.outbox_arquivo
+--            - Partições com eventos ainda vivos (PENDENTE ou ERRO com
+--              próxima tentativa) continuam mantidas até serem publicados
+--            - DETACH/DROP com lock_timeout e no máximo uma partição por
+--              chamada: o ACCESS EXCLUSIVE em infra.outbox fica até o commit,
+--              então cada partição é removida em sua própria transação e a
+--              aplicação repete a chamada (com nova tentativa em timeout)
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-16
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- 1. Arquivo dos eventos não processados de partições removidas
+-- ----------------------------------------------------------------------------
+CREATE TABLE infra.outbox_arquivo (
+    id BIGINT NOT NULL,
+    agregado_id VARCHAR(50) NOT NULL,
+    agregado_tipo VARCHAR(50) NOT NULL,
+    evento_tipo VARCHAR(100) NOT NULL,
+    payload JSONB NOT NULL,
+    topico_kafka VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    tentativas INTEGER NOT NULL,
+    ultimo_erro TEXT,
+    criado_em TIMESTAMP WITH TIME ZONE NOT NULL,
+    processado_em TIMESTAMP WITH TIME ZONE,
+    bloqueado_ate TIMESTAMP WITH TIME ZONE,
+    proxima_tentativa_em TIMESTAMP WITH TIME ZONE,
+    arquivado_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT outbox_arquivo_pkey PRIMARY KEY (id, criado_em)
+);
+
+CREATE INDEX idx_outbox_arquivo_agregado ON infra.outbox_arquivo(agregado_tipo, agregado_id);
+
+COMMENT ON TABLE infra.outbox_arquivo IS
+'Eventos do outbox não processados (DLQ) de partições diárias removidas pela retenção. Análise manual; não são republicados.';
+
+-- ----------------------------------------------------------------------------
+-- 2. Remoção de uma partição expirada por chamada
+-- ----------------------------------------------------------------------------
+DROP FUNCTION infra.remover_particoes_outbox(INTEGER);
+
+-- Retorno:
+--   1  uma partição removida (chamar de novo, em outra transação)
+--   0  nenhuma partição expirada removível (limpa a partição padrão)
+--  -1  lock_timeout no DETACH (nada foi alterado; tentar de novo mais tarde)
+CREATE OR REPLACE FUNCTION infra.remover_particao_outbox(p_dias_retencao INTEGER, p_lock_timeout_ms INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    limite DATE := (now() AT TIME ZONE 'UTC')::date - p_dias_retencao;
+    particao RECORD;
+    possui_vivos BOOLEAN;
+    arquivados INTEGER;
+BEGIN
+    FOR particao IN
+        SELECT filha.relname AS nome
+        FROM pg_inherits h
+        JOIN pg_class filha ON filha.oid = h.inhrelid
+        JOIN pg_class pai ON pai.oid = h.inhparent
+        JOIN pg_namespace n ON n.oid = pai.relnamespace
+        WHERE n.nspname = 'infra'
+          AND pai.relname = 'outbox'
+          AND filha.relname ~ '^outbox_p[0-9]{8}$'
+          AND to_date(substring(filha.relname FROM 9), 'YYYYMMDD') < limite
+        ORDER BY filha.relname
+    LOOP
+        EXECUTE format(
+            'SELECT EXISTS (SELECT 1 FROM infra.%I WHERE status = ''PENDENTE'' '
+            'OR (status = ''ERRO'' AND proxima_tentativa_em IS NOT NULL))', particao.nome)
+            INTO possui_vivos;
+
+        IF possui_vivos THEN
+            RAISE WARNING 'Partição infra.% mantida: possui eventos ainda não publicados', particao.nome;
+            CONTINUE;
+        END IF;
+
+        PERFORM set_config('lock_timeout', p_lock_timeout_ms || 'ms', true);
+        BEGIN
+            EXECUTE format('ALTER TABLE infra.outbox DETACH PARTITION infra.%I', particao.nome);
+
+            -- Depois do DETACH ninguém mais escreve na partição: arquiva exatamente o que será removido
+            EXECUTE format(
+                'INSERT INTO infra.outbox_arquivo (id, agregado_id, agregado_tipo, evento_tipo, payload, '
+                'topico_kafka, status, tentativas, ultimo_erro, criado_em, processado_em, bloqueado_ate, '
+                'proxima_tentativa_em) '
+                'SELECT id, agregado_id, agregado_tipo, evento_tipo, payload, topico_kafka, status, '
+                'tentativas, ultimo_erro, criado_em, processado_em, bloqueado_ate, proxima_tentativa_em '
+                'FROM infra.%I WHERE status <> ''PROCESSADO''', particao.nome);
+            GET DIAGNOSTICS arquivados = ROW_COUNT;
+
+            EXECUTE format('DROP TABLE infra.%I', particao.nome);
+        EXCEPTION WHEN lock_not_available THEN
+            RAISE NOTICE 'Partição infra.% não removida: lock_timeout de % ms no DETACH', particao.nome, p_lock_timeout_ms;
+            RETURN -1;
+        END;
+
+        IF arquivados > 0 THEN
+            RAISE NOTICE 'Partição infra.% removida: % eventos não processados movidos para infra.outbox_arquivo',
+                particao.nome, arquivados;
+        END IF;
+        RETURN 1;
+    END LOOP;
+
+    -- Partição padrão não é removida: limpa apenas as linhas processadas expiradas
+    DELETE FROM infra.outbox_padrao
+    WHERE status = 'PROCESSADO'
+      AND criado_em < limite::timestamp AT TIME ZONE 'UTC';
+
+    RETURN 0;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.remover_particao_outbox(INTEGER, INTEGER) IS
+'Remove (DETACH + DROP, com lock_timeout) uma partição diária do outbox mais antiga que N dias, arquivando os eventos da DLQ em infra.outbox_arquivo. Partições com eventos ainda não publicados são mantidas';
+
+-- ----------------------------------------------------------------------------
+-- Log de execução
+-- ----------------------------------------------------------------------------
+DO $$
+BEGIN
+    RAISE NOTICE 'Tabela criada: infra.outbox_arquivo';
+    RAISE NOTICE 'infra.remover_particoes_outbox substituída por infra.remover_particao_outbox';
+END $$;
@@ -0,0 +1,23 @@
+-- ============================================================================
+-- Migration: V18__outbox_ordem_agregado_erro.sql
+-- Descrição: A reivindicação do outbox (pendentes e retry) passa a segurar um
+--            evento enquanto qualquer evento anterior do mesmo agregado estiver
+--            PENDENTE ou ERRO, com ou sem lease. O índice parcial da verificação
+--            de ordem (V7/V10) só cobria PENDENTE; é substituído por um que
+--            cobre os dois status.
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-17
+-- ============================================================================
+
+-- Query: NOT EXISTS (SELECT 1 FROM outbox WHERE agregado_id = ? AND status IN ('PENDENTE', 'ERRO') AND id < ?)
+-- Também atende a consulta de IDs PENDENTE por agregado (status = 'PENDENTE'
+-- implica o predicado do índice).
+CREATE INDEX idx_outbox_agregado_nao_processado
+ON infra.outbox(agregado_id, id)
+WHERE status IN ('PENDENTE', 'ERRO');
+
+DROP INDEX infra.idx_outbox_agregado_pendente;
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
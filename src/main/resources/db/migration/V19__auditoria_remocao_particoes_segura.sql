@@ -0,0 +1,79 @@
+-- ============================================================================
+-- Migration: V19__auditoria_remocao_particoes_segura.sql
+-- Descrição: Substitui infra.remover_particoes_auditoria (V11, redefinida na V16):
+--            - DETACH/DROP com lock_timeout: o DETACH pede ACCESS EXCLUSIVE em
+--              infra.evento_auditoria e, enquanto espera, bloqueia os inserts
+--              da auditoria que chegam depois
+--            - No máximo uma partição por chamada: o ACCESS EXCLUSIVE fica até
+--              o commit, então cada partição é removida em sua própria
+--              transação e a aplicação repete a chamada (com nova tentativa
+--              em timeout), como em infra.remover_particao_outbox (V17)
+--            - As contagens do mês removido (V16) continuam sendo descontadas
+--              na mesma transação do DROP
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-17
+-- ============================================================================
+
+DROP FUNCTION infra.remover_particoes_auditoria(INTEGER);
+
+-- Retorno:
+--   1  uma partição removida (chamar de novo, em outra transação)
+--   0  nenhuma partição expirada (limpa a partição padrão)
+--  -1  lock_timeout no DETACH (nada foi alterado; tentar de novo mais tarde)
+CREATE OR REPLACE FUNCTION infra.remover_particao_auditoria(p_dias_retencao INTEGER, p_lock_timeout_ms INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    limite TIMESTAMP WITH TIME ZONE := now() - make_interval(days => p_dias_retencao);
+    particao RECORD;
+    mes DATE;
+BEGIN
+    FOR particao IN
+        SELECT filha.relname AS nome
+        FROM pg_inherits h
+        JOIN pg_class filha ON filha.oid = h.inhrelid
+        JOIN pg_class pai ON pai.oid = h.inhparent
+        JOIN pg_namespace n ON n.oid = pai.relnamespace
+        WHERE n.nspname = 'infra'
+          AND pai.relname = 'evento_auditoria'
+          AND filha.relname ~ '^evento_auditoria_p[0-9]{6}$'
+          AND (to_date(substring(filha.relname FROM 19), 'YYYYMM') + INTERVAL '1 month')::timestamp
+              AT TIME ZONE 'UTC' <= limite
+        ORDER BY filha.relname
+        LIMIT 1
+    LOOP
+        mes := to_date(substring(particao.nome FROM 19), 'YYYYMM');
+
+        PERFORM set_config('lock_timeout', p_lock_timeout_ms || 'ms', true);
+        BEGIN
+            EXECUTE format('ALTER TABLE infra.evento_auditoria DETACH PARTITION infra.%I', particao.nome);
+            EXECUTE format('DROP TABLE infra.%I', particao.nome);
+        EXCEPTION WHEN lock_not_available THEN
+            RAISE NOTICE 'Partição infra.% não removida: lock_timeout de % ms no DETACH', particao.nome, p_lock_timeout_ms;
+            RETURN -1;
+        END;
+
+        -- DROP não dispara o trigger de contagem (V16)
+        DELETE FROM consulta.contagem_auditoria
+         WHERE inicio >= (mes::timestamp AT TIME ZONE 'UTC')
+           AND inicio < ((mes + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+
+        RETURN 1;
+    END LOOP;
+
+    -- Partição padrão não é removida: limpa apenas as linhas expiradas (descontadas pelo trigger)
+    DELETE FROM infra.evento_auditoria_padrao WHERE criado_em < limite;
+
+    RETURN 0;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.remover_particao_auditoria(INTEGER, INTEGER) IS
+'Remove (DETACH + DROP, com lock_timeout) uma partição mensal da auditoria cujos eventos são todos mais antigos que N dias, descontando as contagens do mês';
+
+-- ----------------------------------------------------------------------------
+-- Log de execução
+-- ----------------------------------------------------------------------------
+DO $$
+BEGIN
+    RAISE NOTICE 'infra.remover_particoes_auditoria substituída por infra.remover_particao_auditoria';
+END $$;
@@ -0,0 +1,53 @@
+-- ============================================================================
+-- Migration: V20__outbox_notificacao_sob_demanda.sql
+-- Descrição: O trigger trg_outbox_notificar (V8) emitia pg_notify em todo
+--            INSERT no outbox, inclusive com outbox.modo-despacho = POLLING,
+--            em que ninguém escuta o canal. Cada NOTIFY passa pela fila global
+--            de notificações do PostgreSQL, serializada no commit entre todas
+--            as transações que notificaram.
+--            A notificação passa a ser emitida só enquanto houver um
+--            OutboxNotificacaoListener registrado em infra.outbox_ouvinte
+--            (renovado pelo listener; registro vencido é ignorado). O custo
+--            em POLLING fica em uma leitura dessa tabela de poucas linhas por
+--            INSERT (o trigger é por statement).
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-17
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- 1. Listeners ativos do canal outbox_evento
+-- ----------------------------------------------------------------------------
+CREATE TABLE infra.outbox_ouvinte (
+    -- Identificador da instância do listener (gerado a cada conexão)
+    instancia VARCHAR(100) PRIMARY KEY,
+    -- Validade do registro: renovada periodicamente pelo listener conectado
+    ativo_ate TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+COMMENT ON TABLE infra.outbox_ouvinte IS
+'Listeners (LISTEN outbox_evento) ativos. O trigger trg_outbox_notificar só emite NOTIFY enquanto houver registro válido.';
+
+-- ----------------------------------------------------------------------------
+-- 2. Notificação condicionada a um listener ativo
+-- ----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION infra.notificar_outbox()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM infra.outbox_ouvinte WHERE ativo_ate > now()) THEN
+        PERFORM pg_notify('outbox_evento', '');
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.notificar_outbox() IS
+'Emite NOTIFY outbox_evento após inserções no outbox (entregue no COMMIT), apenas enquanto houver listener registrado em infra.outbox_ouvinte. Consumido pelo OutboxNotificacaoListener.';
+
+-- ----------------------------------------------------------------------------
+-- Log de execução
+-- ----------------------------------------------------------------------------
+DO $$
+BEGIN
+    RAISE NOTICE 'Tabela criada: infra.outbox_ouvinte';
+    RAISE NOTICE 'infra.notificar_outbox() só notifica com listener ativo';
+END $$;
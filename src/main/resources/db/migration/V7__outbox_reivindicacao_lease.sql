@@ -0,0 +1,28 @@
+-- ============================================================================
+-- Migration: V7__outbox_reivindicacao_lease.sql
+-- Descrição: Adiciona lease de reivindicação (claim) ao outbox para permitir
+--            despacho concorrente entre instâncias com FOR UPDATE SKIP LOCKED
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-10
+-- ============================================================================
+
+-- Adiciona coluna bloqueado_ate na tabela outbox
+-- Preenchida quando uma instância reivindica o evento; enquanto não expirar,
+-- nenhuma outra instância publica o mesmo evento. Se a instância cair antes
+-- do ack do Kafka, o lease expira e o evento volta a ser elegível.
+ALTER TABLE infra.outbox
+ADD COLUMN bloqueado_ate TIMESTAMP WITH TIME ZONE;
+
+-- Adiciona comentário para documentação
+COMMENT ON COLUMN infra.outbox.bloqueado_ate IS
+'Lease de reivindicação do evento. Eventos PENDENTE com lease vigente pertencem à instância que os reivindicou (OutboxProcessor).';
+
+-- Adiciona índice parcial para a verificação de ordem por agregado
+-- Query: NOT EXISTS (SELECT 1 FROM outbox WHERE agregado_id = ? AND status = 'PENDENTE' AND id < ? AND bloqueado_ate >= now())
+CREATE INDEX idx_outbox_agregado_pendente
+ON infra.outbox(agregado_id, id)
+WHERE status = 'PENDENTE';
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
@@ -0,0 +1,31 @@
+-- ============================================================================
+-- Migration: V8__outbox_notificacao.sql
+-- Descrição: Notifica inserções no outbox via LISTEN/NOTIFY para o modo de
+--            despacho por notificação (outbox.modo-despacho = NOTIFICACAO)
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-10
+-- ============================================================================
+
+-- Função de trigger: emite NOTIFY no canal outbox_evento
+-- O PostgreSQL só entrega a notificação após o COMMIT da transação que inseriu
+-- o evento, e notificações idênticas na mesma transação são consolidadas.
+CREATE OR REPLACE FUNCTION infra.notificar_outbox()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('outbox_evento', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION infra.notificar_outbox() IS
+'Emite NOTIFY outbox_evento após inserções no outbox (entregue no COMMIT). Consumido pelo OutboxNotificacaoListener.';
+
+-- Trigger por statement: um NOTIFY por INSERT, independentemente da quantidade de linhas
+CREATE TRIGGER trg_outbox_notificar
+    AFTER INSERT ON infra.outbox
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION infra.notificar_outbox();
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
@@ -0,0 +1,32 @@
+-- ============================================================================
+-- Migration: V9__outbox_backoff_retry.sql
+-- Descrição: Agenda retries do outbox com backoff exponencial (proxima_tentativa_em)
+-- Autor: ToolsChallenge Team
+-- Data: 2025-11-10
+-- ============================================================================
+
+-- Adiciona coluna proxima_tentativa_em na tabela outbox
+-- Preenchida ao marcar o evento como ERRO: now() + backoff exponencial com jitter.
+-- Fica NULL quando o evento esgota as tentativas (DLQ), retirando-o do índice de retry.
+ALTER TABLE infra.outbox
+ADD COLUMN proxima_tentativa_em TIMESTAMP WITH TIME ZONE;
+
+-- Adiciona comentário para documentação
+COMMENT ON COLUMN infra.outbox.proxima_tentativa_em IS
+'Momento a partir do qual o evento com ERRO pode ser republicado. NULL quando esgotou as tentativas (DLQ).';
+
+-- Eventos com erro já existentes e ainda elegíveis voltam a ser tentados imediatamente
+UPDATE infra.outbox
+SET proxima_tentativa_em = CURRENT_TIMESTAMP
+WHERE status = 'ERRO' AND tentativas < 3;
+
+-- Adiciona índice parcial para a query de retry
+-- Query: SELECT * FROM outbox WHERE status = 'ERRO' AND proxima_tentativa_em <= now() ORDER BY proxima_tentativa_em LIMIT ?
+-- Enquanto o broker estiver fora, nenhuma linha vence e a consulta não toca a tabela.
+CREATE INDEX idx_outbox_retry
+ON infra.outbox(proxima_tentativa_em)
+WHERE status = 'ERRO' AND proxima_tentativa_em IS NOT NULL;
+
+-- ============================================================================
+-- Fim da Migration
+-- ============================================================================
@@ -0,0 +1,34 @@
+package br.com.sicredi.toolschallenge.config;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base dos testes que dependem de recursos do PostgreSQL (SQL nativo com
+ * SKIP LOCKED, advisory locks, partições, triggers e funções das migrations).
+ *
+ * Sobe um PostgreSQL 15 via Testcontainers e aplica as migrations do Flyway
+ * no lugar do schema gerado no H2 pelo profile test. Sem Docker disponível,
+ * as classes filhas são ignoradas.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgreSQLIntegrationTest {
+
+	@Container
+	protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+	@DynamicPropertySource
+	static void configurarPostgres(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+		registry.add("spring.datasource.username", POSTGRES::getUsername);
+		registry.add("spring.datasource.password", POSTGRES::getPassword);
+		registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+		registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+		registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+		registry.add("spring.jpa.show-sql", () -> "false");
+		registry.add("spring.flyway.enabled", () -> "true");
+	}
+}
@@ -4,9 +4,11 @@ import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
 import br.com.sicredi.toolschallenge.estorno.dto.DescricaoEstornoDTO;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoRequestDTO;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoResponseDTO;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoResumo;
 import br.com.sicredi.toolschallenge.estorno.dto.FormaPagamentoEstornoDTO;
 import br.com.sicredi.toolschallenge.estorno.dto.TransacaoEstornoDTO;
 import br.com.sicredi.toolschallenge.estorno.service.EstornoService;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
 import br.com.sicredi.toolschallenge.shared.exception.GlobalExceptionHandler;
 import br.com.sicredi.toolschallenge.shared.exception.RecursoNaoEncontradoException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -283,29 +285,10 @@ class EstornoControllerTest {
     @DisplayName("6. GET /estornos → 200 OK (lista todos)")
     void deveListarTodosEstornos() throws Exception {
         // Arrange
-        DescricaoEstornoDTO desc1 = DescricaoEstornoDTO.builder()
-            .valor(new BigDecimal("100.00"))
-            .status(StatusEstorno.CANCELADO.name())
-            .build();
-        TransacaoEstornoDTO transacao1 = TransacaoEstornoDTO.builder()
-            .descricao(desc1)
-            .build();
-        EstornoResponseDTO estorno1 = EstornoResponseDTO.builder()
-            .transacao(transacao1)
-            .build();
-
-        DescricaoEstornoDTO desc2 = DescricaoEstornoDTO.builder()
-            .valor(new BigDecimal("200.00"))
-            .status(StatusEstorno.NEGADO.name())
-            .build();
-        TransacaoEstornoDTO transacao2 = TransacaoEstornoDTO.builder()
-            .descricao(desc2)
-            .build();
-        EstornoResponseDTO estorno2 = EstornoResponseDTO.builder()
-            .transacao(transacao2)
-            .build();
-
-        List<EstornoResponseDTO> estornos = Arrays.asList(estorno1, estorno2);
+        OffsetDateTime agora = OffsetDateTime.parse("2025-11-10T12:00:00-03:00");
+        List<EstornoResumo> estornos = Arrays.asList(
+            estorno(2L, StatusEstorno.CANCELADO, new BigDecimal("100.00"), agora),
+            estorno(1L, StatusEstorno.NEGADO, new BigDecimal("200.00"), agora));
 
         when(estornoService.listarEstornos())
             .thenReturn(estornos);
@@ -317,7 +300,12 @@ class EstornoControllerTest {
             .andExpect(jsonPath("$[0].transacao.descricao.status").value("CANCELADO"))
             .andExpect(jsonPath("$[0].transacao.descricao.valor").value(100.00))
             .andExpect(jsonPath("$[1].transacao.descricao.status").value("NEGADO"))
-            .andExpect(jsonPath("$[1].transacao.descricao.valor").value(200.00));
+            .andExpect(jsonPath("$[1].transacao.descricao.valor").value(200.00))
+            // Projeção escrita no formato de EstornoResponseDTO
+            .andExpect(jsonPath("$[0].transacao.id").value("1000235689000"))
+            .andExpect(jsonPath("$[0].transacao.descricao.dataHora").value("10/11/2025 12:00:00"))
+            .andExpect(jsonPath("$[0].transacao.formaPagamento.tipo").value("AVISTA"))
+            .andExpect(jsonPath("$[0].id").doesNotExist());
 
         verify(estornoService, times(1)).listarEstornos();
     }
@@ -393,29 +381,10 @@ class EstornoControllerTest {
     @DisplayName("8. GET /estornos/status/{status} → 200 OK")
     void deveListarEstornosPorStatus() throws Exception {
         // Arrange
-        DescricaoEstornoDTO desc1 = DescricaoEstornoDTO.builder()
-            .valor(new BigDecimal("100.00"))
-            .status(StatusEstorno.CANCELADO.name())
-            .build();
-        TransacaoEstornoDTO transacao1 = TransacaoEstornoDTO.builder()
-            .descricao(desc1)
-            .build();
-        EstornoResponseDTO estorno1 = EstornoResponseDTO.builder()
-            .transacao(transacao1)
-            .build();
-
-        DescricaoEstornoDTO desc2 = DescricaoEstornoDTO.builder()
-            .valor(new BigDecimal("200.00"))
-            .status(StatusEstorno.CANCELADO.name())
-            .build();
-        TransacaoEstornoDTO transacao2 = TransacaoEstornoDTO.builder()
-            .descricao(desc2)
-            .build();
-        EstornoResponseDTO estorno2 = EstornoResponseDTO.builder()
-            .transacao(transacao2)
-            .build();
-
-        List<EstornoResponseDTO> estornos = Arrays.asList(estorno1, estorno2);
+        OffsetDateTime agora = OffsetDateTime.parse("2025-11-10T12:00:00-03:00");
+        List<EstornoResumo> estornos = Arrays.asList(
+            estorno(2L, StatusEstorno.CANCELADO, new BigDecimal("100.00"), agora),
+            estorno(1L, StatusEstorno.CANCELADO, new BigDecimal("200.00"), agora));
 
         when(estornoService.listarPorStatus(StatusEstorno.CANCELADO))
             .thenReturn(estornos);
@@ -467,4 +436,9 @@ class EstornoControllerTest {
 
         verify(estornoService, never()).criarEstorno(any(EstornoRequestDTO.class));
     }
+
+    private static EstornoResumo estorno(Long id, StatusEstorno status, BigDecimal valor, OffsetDateTime dataHora) {
+        return new EstornoResumo(id, dataHora, status, null, null, "1000235689000", "4444********1234",
+            valor, dataHora, "PetShop Mundo Cão", TipoPagamento.AVISTA, 1);
+    }
 }
@@ -0,0 +1,85 @@
+package br.com.sicredi.toolschallenge.estorno.dto;
+
+import br.com.sicredi.toolschallenge.estorno.domain.Estorno;
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários do EstornoResumoSerializer.
+ *
+ * A projeção deve gerar o mesmo JSON que (Estorno, Pagamento) → EstornoMapper.paraDTO.
+ *
+ * Cenários testados:
+ * 1. Estorno CANCELADO com NSU e código de autorização
+ * 2. Estorno PENDENTE sem NSU e código (nulos escritos como null)
+ */
+@DisplayName("EstornoResumoSerializer - Testes Unitários")
+class EstornoResumoSerializerTest {
+
+    private static final OffsetDateTime DATA_HORA = OffsetDateTime.parse("2025-11-10T18:30:15-03:00");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final EstornoMapper mapper = new EstornoMapper();
+
+    @Test
+    @DisplayName("1. Deve gerar o mesmo JSON do DTO para estorno cancelado")
+    void deveGerarMesmoJsonParaEstornoCancelado() throws Exception {
+        assertMesmoJson(estorno(StatusEstorno.CANCELADO, "9876543210", "963852741"));
+    }
+
+    @Test
+    @DisplayName("2. Deve escrever nulos como o DTO")
+    void deveEscreverNulosComoDto() throws Exception {
+        assertMesmoJson(estorno(StatusEstorno.PENDENTE, null, null));
+    }
+
+    private void assertMesmoJson(Estorno estorno) throws Exception {
+        // Arrange
+        Pagamento pagamento = Pagamento.builder()
+            .idTransacao(estorno.getIdTransacao())
+            .status(StatusPagamento.AUTORIZADO)
+            .valor(new BigDecimal("50.00"))
+            .dataHora(DATA_HORA)
+            .estabelecimento("PetShop Mundo Cão")
+            .tipoPagamento(TipoPagamento.PARCELADO_LOJA)
+            .parcelas(3)
+            .cartaoMascarado("4444********1234")
+            .build();
+        EstornoResumo resumo = new EstornoResumo(estorno.getId(), estorno.getCriadoEm(), estorno.getStatus(),
+            estorno.getNsu(), estorno.getCodigoAutorizacao(), pagamento.getIdTransacao(),
+            pagamento.getCartaoMascarado(), pagamento.getValor(), pagamento.getDataHora(),
+            pagamento.getEstabelecimento(), pagamento.getTipoPagamento(), pagamento.getParcelas());
+
+        // Act
+        String viaDto = objectMapper.writeValueAsString(mapper.paraDTO(estorno, pagamento));
+        String viaProjecao = objectMapper.writeValueAsString(resumo);
+
+        // Assert
+        assertThat(objectMapper.readTree(viaProjecao)).isEqualTo(objectMapper.readTree(viaDto));
+    }
+
+    private static Estorno estorno(StatusEstorno status, String nsu, String codigoAutorizacao) {
+        return Estorno.builder()
+            .id(3L)
+            .idTransacao("0192f3a0-0000-7000-8000-000000000001")
+            .idEstorno("0192f3a0-0000-7000-8000-000000000002")
+            .status(status)
+            .valor(new BigDecimal("50.00"))
+            .dataHora(DATA_HORA.plusHours(1))
+            .nsu(nsu)
+            .codigoAutorizacao(codigoAutorizacao)
+            .criadoEm(DATA_HORA.plusHours(1))
+            .build();
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.sicredi.toolschallenge.estorno.service;
+
+import br.com.sicredi.toolschallenge.adquirente.service.AdquirenteService;
+import br.com.sicredi.toolschallenge.estorno.domain.Estorno;
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoMapper;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoResumo;
+import br.com.sicredi.toolschallenge.estorno.repository.EstornoBuscaRepository;
+import br.com.sicredi.toolschallenge.estorno.repository.EstornoRepository;
+import br.com.sicredi.toolschallenge.infra.analise.AgregadorEstabelecimentos;
+import br.com.sicredi.toolschallenge.infra.cache.CacheConsulta;
+import br.com.sicredi.toolschallenge.infra.identificador.GeradorIdentificador;
+import br.com.sicredi.toolschallenge.infra.outbox.publisher.EventoPublisher;
+import br.com.sicredi.toolschallenge.infra.replica.TransacaoLeitura;
+import br.com.sicredi.toolschallenge.infra.snowflake.GeradorSnowflake;
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
+import br.com.sicredi.toolschallenge.shared.config.AnaliseEstabelecimentoProperties;
+import br.com.sicredi.toolschallenge.shared.config.BuscaProperties;
+import br.com.sicredi.toolschallenge.shared.config.ReprocessamentoProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes de integração das listagens do EstornoService (H2 + estatísticas do Hibernate).
+ *
+ * Cada estorno listado vem com o pagamento original na mesma consulta
+ * (projeção sobre o JOIN), então cada listagem executa um único comando SQL,
+ * independentemente da quantidade de estornos (sem N+1), e entrega os dados
+ * do pagamento de cada estorno.
+ *
+ * Cenários testados:
+ * 1. listarEstornos com 3 e com 30 estornos
+ * 2. listarPorStatus com 3 e com 30 estornos
+ * 3. buscarEstornos com 3 e com 30 estornos
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:consultas-estorno;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({EstornoBuscaRepository.class, BuscaProperties.class})
+@DisplayName("EstornoService - Consultas sem N+1")
+class EstornoServiceConsultasIntegrationTest {
+
+    @Autowired
+    private EstornoRepository estornoRepository;
+
+    @Autowired
+    private EstornoBuscaRepository estornoBuscaRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private BuscaProperties buscaProperties;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EstornoService estornoService;
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estornoService = new EstornoService(
+            estornoRepository,
+            estornoBuscaRepository,
+            pagamentoRepository,
+            new EstornoMapper(),
+            mock(EventoPublisher.class),
+            mock(ApplicationEventPublisher.class),
+            mock(AdquirenteService.class),
+            new ReprocessamentoProperties(),
+            buscaProperties,
+            new SimpleMeterRegistry(),
+            mock(GeradorSnowflake.class),
+            mock(GeradorIdentificador.class),
+            CacheConsulta.desabilitado("estorno"),
+            TransacaoLeitura.semTransacao(),
+            new AgregadorEstabelecimentos(new AnaliseEstabelecimentoProperties()));
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest(name = "{0} estornos")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("1. listarEstornos deve executar 1 comando SQL")
+    void listarEstornosSemNMaisUm(int quantidade) {
+        // Arrange
+        criarEstornos(quantidade);
+
+        // Act
+        List<EstornoResumo> listados = estornoService.listarEstornos();
+
+        // Assert
+        assertThat(listados).hasSize(quantidade)
+            .allSatisfy(resumo -> assertThat(resumo.estabelecimento())
+                .isEqualTo("Loja " + resumo.idTransacao().substring(resumo.idTransacao().lastIndexOf('-') + 1)));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest(name = "{0} estornos")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("2. listarPorStatus deve executar 1 comando SQL")
+    void listarPorStatusSemNMaisUm(int quantidade) {
+        // Arrange
+        criarEstornos(quantidade);
+
+        // Act
+        int listados = estornoService.listarPorStatus(StatusEstorno.CANCELADO).size();
+
+        // Assert
+        assertThat(listados).isEqualTo(quantidade);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest(name = "{0} estornos")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("3. buscarEstornos deve executar 1 comando SQL")
+    void buscarEstornosSemNMaisUm(int quantidade) {
+        // Arrange
+        criarEstornos(quantidade);
+
+        // Act
+        int listados = estornoService.buscarEstornos(null, null, null, null, null, 100).itens().size();
+
+        // Assert
+        assertThat(listados).isEqualTo(quantidade);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * Cria um pagamento AUTORIZADO e um estorno CANCELADO para cada transação,
+     * limpa o contexto de persistência (nada em cache de 1º nível) e zera as estatísticas.
+     */
+    private void criarEstornos(int quantidade) {
+        OffsetDateTime agora = OffsetDateTime.now();
+        for (int i = 0; i < quantidade; i++) {
+            String idTransacao = "N1-" + quantidade + "-" + i;
+            entityManager.persist(Pagamento.builder()
+                .idTransacao(idTransacao)
+                .status(StatusPagamento.AUTORIZADO)
+                .valor(new BigDecimal("10.00"))
+                .dataHora(agora)
+                .estabelecimento("Loja " + i)
+                .tipoPagamento(TipoPagamento.AVISTA)
+                .parcelas(1)
+                .cartaoMascarado("4444********1234")
+                .build());
+            entityManager.persist(Estorno.builder()
+                .idTransacao(idTransacao)
+                .idEstorno("EST-" + idTransacao)
+                .status(StatusEstorno.CANCELADO)
+                .valor(new BigDecimal("10.00"))
+                .dataHora(agora)
+                .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        estatisticas.clear();
+    }
+}
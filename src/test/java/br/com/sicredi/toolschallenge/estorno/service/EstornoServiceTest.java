@@ -9,18 +9,29 @@ import br.com.sicredi.toolschallenge.estorno.dto.DescricaoEstornoDTO;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoMapper;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoRequestDTO;
 import br.com.sicredi.toolschallenge.estorno.dto.EstornoResponseDTO;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoResumo;
 import br.com.sicredi.toolschallenge.estorno.dto.TransacaoEstornoDTO;
 import br.com.sicredi.toolschallenge.estorno.events.EstornoCriadoEvento;
 import br.com.sicredi.toolschallenge.estorno.events.EstornoStatusAlteradoEvento;
+import br.com.sicredi.toolschallenge.shared.config.BuscaProperties;
+import br.com.sicredi.toolschallenge.shared.config.IdentificadorProperties;
 import br.com.sicredi.toolschallenge.shared.config.ReprocessamentoProperties;
 import org.springframework.context.ApplicationEventPublisher;
+import br.com.sicredi.toolschallenge.infra.cache.CacheConsulta;
+import br.com.sicredi.toolschallenge.infra.identificador.GeradorIdentificador;
 import br.com.sicredi.toolschallenge.infra.outbox.publisher.EventoPublisher;
+import br.com.sicredi.toolschallenge.infra.replica.TransacaoLeitura;
+import br.com.sicredi.toolschallenge.infra.snowflake.GeradorSnowflake;
+import br.com.sicredi.toolschallenge.estorno.repository.EstornoBuscaRepository;
 import br.com.sicredi.toolschallenge.estorno.repository.EstornoRepository;
 import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
 import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
 import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
 import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
 import br.com.sicredi.toolschallenge.shared.exception.RecursoNaoEncontradoException;
+import br.com.sicredi.toolschallenge.shared.paginacao.CursorKeyset;
+import br.com.sicredi.toolschallenge.shared.paginacao.PaginaDTO;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,8 +40,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import br.com.sicredi.toolschallenge.adquirente.domain.StatusAutorizacao;
+import br.com.sicredi.toolschallenge.infra.analise.AgregadorEstabelecimentos;
+import br.com.sicredi.toolschallenge.shared.config.AnaliseEstabelecimentoProperties;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -52,6 +67,7 @@ import static org.mockito.Mockito.*;
  * - Integração com AdquirenteService
  * - Publicação de eventos (EstornoCriado, EstornoStatusAlterado)
  * - Métodos de consulta (buscarPorId, listarPorIdTransacao, listarEstornos, listarPorStatus)
+ * - Busca paginada por cursor (buscarEstornos)
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("EstornoService - Testes Unitários")
@@ -60,6 +76,9 @@ class EstornoServiceTest {
     @Mock
     private EstornoRepository repository;
 
+    @Mock
+    private EstornoBuscaRepository estornoBuscaRepository;
+
     @Mock
     private PagamentoRepository pagamentoRepository;
 
@@ -84,6 +103,25 @@ class EstornoServiceTest {
     @Mock
     private Counter dlqCounter;
 
+    @Spy
+    private GeradorSnowflake geradorSnowflake = new GeradorSnowflake(GeradorSnowflake.EPOCH_PADRAO_MS, 1);
+
+    @Spy
+    private GeradorIdentificador geradorIdentificador = new GeradorIdentificador(new IdentificadorProperties());
+
+    @Spy
+    private CacheConsulta<EstornoResponseDTO> cacheEstornos = CacheConsulta.desabilitado("estorno");
+
+    @Spy
+    private TransacaoLeitura transacaoLeitura = TransacaoLeitura.semTransacao();
+
+    @Spy
+    private BuscaProperties buscaProperties = new BuscaProperties();
+
+    @Spy
+    private AgregadorEstabelecimentos agregadorEstabelecimentos =
+        new AgregadorEstabelecimentos(new AnaliseEstabelecimentoProperties());
+
     @InjectMocks
     private EstornoService estornoService;
 
@@ -537,26 +575,18 @@ class EstornoServiceTest {
     @DisplayName("14. Deve listar todos os estornos")
     void deveListarTodos() {
         // Arrange
-        Estorno estorno1 = new Estorno();
-        estorno1.setIdTransacao("TXN-001");
-        Estorno estorno2 = new Estorno();
-        estorno2.setIdTransacao("TXN-002");
-
-        when(repository.findUltimosEstornos()).thenReturn(Arrays.asList(estorno1, estorno2));
-        when(pagamentoRepository.findByIdTransacao("TXN-001")).thenReturn(Optional.of(pagamento));
-        when(pagamentoRepository.findByIdTransacao("TXN-002")).thenReturn(Optional.of(pagamento));
-
-        EstornoResponseDTO dto1 = EstornoResponseDTO.builder().build();
-        EstornoResponseDTO dto2 = EstornoResponseDTO.builder().build();
-        when(mapper.paraDTO(any(Estorno.class), any(Pagamento.class))).thenReturn(dto1, dto2);
+        OffsetDateTime agora = OffsetDateTime.now();
+        List<EstornoResumo> resumos = Arrays.asList(
+            estornoCriadoEm(2L, agora), estornoCriadoEm(1L, agora.minusSeconds(1)));
+        when(repository.findUltimosResumos()).thenReturn(resumos);
 
         // Act
-        List<EstornoResponseDTO> resultados = estornoService.listarEstornos();
-
-        // Assert
-        assertThat(resultados).hasSize(2);
+        List<EstornoResumo> resultados = estornoService.listarEstornos();
 
-        verify(repository).findUltimosEstornos();
+        // Assert: projeções com o pagamento já no JOIN, sem consultas adicionais
+        assertThat(resultados).isEqualTo(resumos);
+        verify(repository).findUltimosResumos();
+        verifyNoInteractions(pagamentoRepository, mapper);
     }
 
     // ========== TESTE 15: LISTAR POR STATUS ==========
@@ -565,34 +595,17 @@ class EstornoServiceTest {
     @DisplayName("15. Deve listar estornos por status")
     void deveListarPorStatus() {
         // Arrange
-        Estorno estorno1 = new Estorno();
-        estorno1.setIdTransacao("TXN-123-TEST");
-        estorno1.setStatus(StatusEstorno.CANCELADO);
-
-        when(repository.findByStatusOrderByCriadoEmDesc(StatusEstorno.CANCELADO))
-            .thenReturn(Arrays.asList(estorno1));
-        when(pagamentoRepository.findByIdTransacao("TXN-123-TEST"))
-            .thenReturn(Optional.of(pagamento));
-
-        DescricaoEstornoDTO descricao = DescricaoEstornoDTO.builder()
-            .status(StatusEstorno.CANCELADO.name())
-            .build();
-        TransacaoEstornoDTO transacao = TransacaoEstornoDTO.builder()
-            .descricao(descricao)
-            .build();
-        EstornoResponseDTO dto1 = EstornoResponseDTO.builder()
-            .transacao(transacao)
-            .build();
-        when(mapper.paraDTO(any(Estorno.class), any(Pagamento.class))).thenReturn(dto1);
+        EstornoResumo resumo = estornoCriadoEm(1L, OffsetDateTime.now());
+        when(repository.findResumosByStatus(eq(StatusEstorno.CANCELADO), any(Limit.class)))
+            .thenReturn(List.of(resumo));
 
         // Act
-        List<EstornoResponseDTO> resultados = estornoService.listarPorStatus(StatusEstorno.CANCELADO);
+        List<EstornoResumo> resultados = estornoService.listarPorStatus(StatusEstorno.CANCELADO);
 
         // Assert
-        assertThat(resultados).hasSize(1);
-        assertThat(resultados.get(0).getTransacao().getDescricao().getStatus()).isEqualTo(StatusEstorno.CANCELADO.name());
-
-        verify(repository).findByStatusOrderByCriadoEmDesc(StatusEstorno.CANCELADO);
+        assertThat(resultados).containsExactly(resumo);
+        verify(repository).findResumosByStatus(StatusEstorno.CANCELADO, Limit.of(500));
+        verifyNoInteractions(pagamentoRepository, mapper);
     }
 
     // ==================== TESTES DE REPROCESSAMENTO (ITEM 8) ====================
@@ -740,4 +753,56 @@ class EstornoServiceTest {
         verify(adquirenteService, never()).processarEstorno(any()); // Não processou
         verify(repository, never()).save(any()); // Não salvou
     }
+
+    // ==================== BUSCA PAGINADA POR CURSOR ====================
+
+    @Test
+    @DisplayName("21. Deve devolver página com cursor do último item quando há mais estornos")
+    void deveBuscarEstornosComProximoCursor() {
+        // Arrange
+        OffsetDateTime agora = OffsetDateTime.now();
+        EstornoResumo maisRecente = estornoCriadoEm(3L, agora);
+        EstornoResumo intermediario = estornoCriadoEm(2L, agora.minusSeconds(1));
+        EstornoResumo excedente = estornoCriadoEm(1L, agora.minusSeconds(2));
+
+        when(estornoBuscaRepository.buscar(StatusEstorno.CANCELADO, "Loja X", null, null, null, 3))
+            .thenReturn(Arrays.asList(maisRecente, intermediario, excedente));
+
+        // Act
+        PaginaDTO<EstornoResumo> pagina = estornoService.buscarEstornos(
+            StatusEstorno.CANCELADO, "Loja X", null, null, null, 2);
+
+        // Assert: lê limite + 1 e entrega só o limite
+        assertThat(pagina.itens()).containsExactly(maisRecente, intermediario);
+        CursorKeyset cursor = CursorKeyset.decodificar(pagina.proximoCursor());
+        assertThat(cursor.id()).isEqualTo(2L);
+        assertThat(cursor.criadoEm().toInstant()).isEqualTo(intermediario.criadoEm().toInstant());
+    }
+
+    @Test
+    @DisplayName("22. Deve continuar a partir do cursor e omitir cursor na última página")
+    void deveContinuarDoCursorNaUltimaPagina() {
+        // Arrange
+        OffsetDateTime agora = OffsetDateTime.now();
+        String cursor = new CursorKeyset(agora, 10L).codificar();
+        EstornoResumo ultimo = estornoCriadoEm(9L, agora.minusSeconds(1));
+
+        when(estornoBuscaRepository.buscar(isNull(), isNull(), isNull(), isNull(), any(CursorKeyset.class), eq(51)))
+            .thenReturn(List.of(ultimo));
+
+        // Act
+        PaginaDTO<EstornoResumo> pagina = estornoService.buscarEstornos(null, null, null, null, cursor, null);
+
+        // Assert
+        assertThat(pagina.itens()).hasSize(1);
+        assertThat(pagina.proximoCursor()).isNull();
+        verify(estornoBuscaRepository).buscar(isNull(), isNull(), isNull(), isNull(),
+            argThat(apos -> apos.id() == 10L), eq(51));
+    }
+
+    private EstornoResumo estornoCriadoEm(Long id, OffsetDateTime criadoEm) {
+        return new EstornoResumo(id, criadoEm, StatusEstorno.CANCELADO, "NSU-" + id, "AUT-" + id,
+            "TXN-123-TEST", "4444********1234", new BigDecimal("100.00"), criadoEm, "Loja X",
+            TipoPagamento.AVISTA, 1);
+    }
 }
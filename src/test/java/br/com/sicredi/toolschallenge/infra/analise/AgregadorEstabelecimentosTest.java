@@ -0,0 +1,238 @@
+package br.com.sicredi.toolschallenge.infra.analise;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.shared.config.AnaliseEstabelecimentoProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Testes unitários do AgregadorEstabelecimentos (janela de 60s em 6 fatias de 10s,
+ * relógio controlado pelo teste).
+ *
+ * Cenários testados:
+ * 1. Indicadores: TPS, taxa de aprovação, p95 da latência e taxa de estorno
+ *    (PENDENTE não é decisão e não conta)
+ * 2. Janela deslizante: eventos de fatias expiradas deixam de contar
+ * 3. Top-K por volume e soma dos demais em "outros"
+ * 4. Limite de estabelecimentos: excedentes são somados em "outros"
+ * 5. Remoção de inativos: estabelecimento volta a ser acompanhado no próximo evento
+ * 6. Registros concorrentes: nenhum evento perdido
+ * 7. Desabilitado: nada é registrado
+ */
+@DisplayName("AgregadorEstabelecimentos - Testes Unitários")
+class AgregadorEstabelecimentosTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong relogio = new AtomicLong(1_000 * SEGUNDO);
+    private AnaliseEstabelecimentoProperties properties;
+    private AgregadorEstabelecimentos agregador;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AnaliseEstabelecimentoProperties();
+        agregador = new AgregadorEstabelecimentos(properties, relogio::get);
+    }
+
+    @Test
+    @DisplayName("1. Indicadores: TPS, taxa de aprovação, p95 da latência e taxa de estorno")
+    void deveCalcularIndicadores() {
+        // Arrange: 65s depois da criação a janela efetiva é de 55s (5 fatias + 5s da atual)
+        avancar(65);
+        registrar("Loja A", StatusPagamento.AUTORIZADO, 80);
+        registrar("Loja A", StatusPagamento.NEGADO, 20);
+        registrar("Loja A", StatusPagamento.PENDENTE, 10);
+        for (int latenciaMs = 1; latenciaMs <= 100; latenciaMs++) {
+            agregador.registrarLatenciaAdquirente("Loja A", TimeUnit.MILLISECONDS.toNanos(latenciaMs));
+        }
+        for (int i = 0; i < 4; i++) {
+            agregador.registrarEstorno("Loja A");
+        }
+
+        // Act
+        PainelEstabelecimentos painel = agregador.painel(10);
+
+        // Assert
+        assertThat(painel.janelaSegundos()).isEqualTo(60);
+        assertThat(painel.estabelecimentosAtivos()).isEqualTo(1);
+        IndicadoresEstabelecimento loja = painel.estabelecimentos().get(0);
+        assertThat(loja.estabelecimento()).isEqualTo("Loja A");
+        assertThat(loja.autorizados()).isEqualTo(80);
+        assertThat(loja.negados()).isEqualTo(20);
+        assertThat(loja.estornos()).isEqualTo(4);
+        assertThat(loja.tps()).isCloseTo(100 / 55.0, within(0.001));
+        assertThat(loja.taxaAprovacao()).isCloseTo(0.8, within(0.001));
+        assertThat(loja.latenciaP95Ms()).isEqualTo(95L);
+        assertThat(loja.taxaEstorno()).isCloseTo(0.05, within(0.001));
+
+        assertThat(painel.outros().estabelecimento()).isEqualTo(AgregadorEstabelecimentos.OUTROS);
+        assertThat(painel.outros().taxaAprovacao()).isNull();
+        assertThat(painel.outros().latenciaP95Ms()).isNull();
+    }
+
+    @Test
+    @DisplayName("2. Janela deslizante: eventos de fatias expiradas deixam de contar")
+    void deveDescartarFatiasExpiradas() {
+        // Arrange
+        avancar(5);
+        registrar("Loja A", StatusPagamento.AUTORIZADO, 10);
+        avancar(50);
+
+        // Act & Assert: 55s depois, ainda na janela
+        assertThat(agregador.painel(10).estabelecimentos().get(0).autorizados()).isEqualTo(10);
+
+        // Act & Assert: 65s depois, a fatia do registro saiu da janela
+        avancar(10);
+        registrar("Loja A", StatusPagamento.AUTORIZADO, 3);
+        assertThat(agregador.painel(10).estabelecimentos().get(0).autorizados()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("3. Top-K por volume e soma dos demais em \"outros\"")
+    void deveSepararTopKEOutros() {
+        // Arrange
+        registrar("Loja A", StatusPagamento.AUTORIZADO, 5);
+        registrar("Loja B", StatusPagamento.AUTORIZADO, 3);
+        registrar("Loja C", StatusPagamento.AUTORIZADO, 2);
+        registrar("Loja D", StatusPagamento.NEGADO, 1);
+        agregador.registrarLatenciaAdquirente("Loja C", TimeUnit.MILLISECONDS.toNanos(120));
+
+        // Act
+        PainelEstabelecimentos painel = agregador.painel(2);
+
+        // Assert
+        assertThat(painel.estabelecimentosAtivos()).isEqualTo(4);
+        assertThat(painel.estabelecimentos())
+            .extracting(IndicadoresEstabelecimento::estabelecimento)
+            .containsExactly("Loja A", "Loja B");
+        assertThat(painel.outros().autorizados()).isEqualTo(2);
+        assertThat(painel.outros().negados()).isEqualTo(1);
+        assertThat(painel.outros().latenciaP95Ms()).isEqualTo(120L);
+    }
+
+    @Test
+    @DisplayName("4. Limite de estabelecimentos: excedentes são somados em \"outros\"")
+    void deveSomarExcedentesEmOutros() {
+        // Arrange
+        properties.setMaximoEstabelecimentos(2);
+        agregador = new AgregadorEstabelecimentos(properties, relogio::get);
+        registrar("Loja A", StatusPagamento.AUTORIZADO, 3);
+        registrar("Loja B", StatusPagamento.AUTORIZADO, 2);
+        registrar("Loja C", StatusPagamento.AUTORIZADO, 7);
+
+        // Act
+        PainelEstabelecimentos painel = agregador.painel(10);
+
+        // Assert
+        assertThat(painel.estabelecimentos())
+            .extracting(IndicadoresEstabelecimento::estabelecimento)
+            .containsExactly("Loja A", "Loja B");
+        assertThat(painel.outros().autorizados()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("5. Remoção de inativos: estabelecimento volta a ser acompanhado no próximo evento")
+    void deveRemoverInativos() {
+        // Arrange
+        registrar("Loja A", StatusPagamento.AUTORIZADO, 2);
+        avancar(30);
+        registrar("Loja B", StatusPagamento.AUTORIZADO, 1);
+        avancar(40);
+
+        // Act
+        int removidos = agregador.removerInativos();
+        registrar("Loja A", StatusPagamento.NEGADO, 1);
+
+        // Assert: Loja B (há 40s) continua; Loja A recomeça do zero
+        assertThat(removidos).isEqualTo(1);
+        PainelEstabelecimentos painel = agregador.painel(10);
+        assertThat(painel.estabelecimentos())
+            .extracting(IndicadoresEstabelecimento::estabelecimento)
+            .containsExactly("Loja A", "Loja B");
+        assertThat(painel.estabelecimentos().get(0).autorizados()).isZero();
+        assertThat(painel.estabelecimentos().get(0).negados()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("6. Registros concorrentes: nenhum evento perdido")
+    void deveRegistrarConcorrentemente() throws Exception {
+        // Arrange
+        int threads = 8;
+        int registrosPorThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // Act
+        try {
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < registrosPorThread; i++) {
+                        String loja = "Loja " + (i % 4);
+                        agregador.registrarAutorizacao(loja, StatusPagamento.AUTORIZADO);
+                        agregador.registrarLatenciaAdquirente(loja, TimeUnit.MILLISECONDS.toNanos(10));
+                        if (i % 100 == 0) {
+                            agregador.removerInativos();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        PainelEstabelecimentos painel = agregador.painel(10);
+        assertThat(painel.estabelecimentos()).hasSize(4);
+        assertThat(painel.estabelecimentos())
+            .extracting(IndicadoresEstabelecimento::autorizados)
+            .containsOnly((long) threads * registrosPorThread / 4);
+    }
+
+    @Test
+    @DisplayName("7. Desabilitado: nada é registrado")
+    void naoDeveRegistrarDesabilitado() {
+        // Arrange
+        properties.setEnabled(false);
+        agregador = new AgregadorEstabelecimentos(properties, relogio::get);
+
+        // Act
+        registrar("Loja A", StatusPagamento.AUTORIZADO, 5);
+        agregador.registrarEstorno("Loja A");
+
+        // Assert
+        PainelEstabelecimentos painel = agregador.painel(10);
+        assertThat(painel.estabelecimentos()).isEmpty();
+        assertThat(painel.outros().autorizados()).isZero();
+        assertThat(painel.outros().estornos()).isZero();
+    }
+
+    private void avancar(long segundos) {
+        relogio.addAndGet(segundos * SEGUNDO);
+    }
+
+    private void registrar(String estabelecimento, StatusPagamento status, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            agregador.registrarAutorizacao(estabelecimento, status);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package br.com.sicredi.toolschallenge.infra.auditoria.escritor;
+
+import br.com.sicredi.toolschallenge.infra.auditoria.EventoAuditoria;
+import br.com.sicredi.toolschallenge.shared.config.AuditoriaProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditoriaEscritorLote - Testes Unitários")
+class AuditoriaEscritorLoteTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AuditoriaEscritorLote escritor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (escritor != null) {
+            escritor.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar um único INSERT em lote quando o lote completar")
+    void deveGravarLoteQuandoCompletar() {
+        // Arrange
+        escritor = criarEscritor(100, 3, 60000);
+
+        // Act
+        escritor.enfileirar(criarEvento("PAG-1"));
+        escritor.enfileirar(criarEvento("PAG-2"));
+        escritor.enfileirar(criarEvento("PAG-3"));
+
+        // Assert
+        verify(jdbcTemplate, timeout(2000)).batchUpdate(eq(AuditoriaEscritorLote.SQL_INSERT),
+            argThat((List<Object[]> parametros) -> parametros.size() == 3
+                && "PAG-1".equals(parametros.get(0)[2])
+                && "{\"id\":\"PAG-1\"}".equals(parametros.get(0)[4])));
+    }
+
+    @Test
+    @DisplayName("Deve gravar lote incompleto após o intervalo de flush")
+    void deveGravarLoteIncompletoAposIntervalo() throws InterruptedException {
+        // Arrange
+        escritor = criarEscritor(100, 500, 50);
+
+        // Act
+        escritor.enfileirar(criarEvento("PAG-1"));
+
+        // Assert
+        verify(jdbcTemplate, timeout(2000)).batchUpdate(eq(AuditoriaEscritorLote.SQL_INSERT),
+            argThat((List<Object[]> parametros) -> parametros.size() == 1));
+
+        // Encerrar aguarda a thread do escritor concluir a contagem do lote
+        escritor.encerrar();
+        escritor = null;
+        assertThat(meterRegistry.counter("auditoria.escritor.gravados").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve gravar na thread chamadora quando o buffer estiver cheio")
+    void deveGravarNaThreadChamadoraQuandoBufferCheio() throws InterruptedException {
+        // Arrange
+        escritor = criarEscritor(1, 1, 60000);
+
+        CountDownLatch gravacaoIniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        when(jdbcTemplate.batchUpdate(eq(AuditoriaEscritorLote.SQL_INSERT), anyList())).thenAnswer(invocation -> {
+            String thread = Thread.currentThread().getName();
+            threads.add(thread);
+            if (thread.equals("auditoria-escritor")) {
+                gravacaoIniciada.countDown();
+                liberar.await();
+            }
+            return new int[0];
+        });
+
+        try {
+            // Act
+            escritor.enfileirar(criarEvento("PAG-1"));  // gravando (bloqueado)
+            gravacaoIniciada.await();
+            escritor.enfileirar(criarEvento("PAG-2"));  // ocupa o buffer
+            escritor.enfileirar(criarEvento("PAG-3"));  // buffer cheio: caller-runs
+
+            // Assert
+            assertThat(threads).contains(Thread.currentThread().getName());
+            assertThat(meterRegistry.counter("auditoria.buffer.rejeitados").count()).isEqualTo(1.0);
+            assertThat(escritor.tamanhoBuffer()).isEqualTo(1);
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve drenar o buffer no encerramento sem perder eventos")
+    void deveDrenarBufferNoEncerramento() throws InterruptedException {
+        // Arrange
+        escritor = criarEscritor(1000, 50, 60000);
+
+        // Act
+        for (int i = 0; i < 120; i++) {
+            escritor.enfileirar(criarEvento("PAG-" + i));
+        }
+        escritor.encerrar();
+        escritor = null;
+
+        // Assert
+        assertThat(meterRegistry.counter("auditoria.escritor.gravados").count()).isEqualTo(120.0);
+        assertThat(meterRegistry.counter("auditoria.buffer.rejeitados").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve regravar um a um quando o lote falhar, descartando só o evento recusado")
+    void deveRegravarUmAUmQuandoLoteFalhar() throws InterruptedException {
+        // Arrange
+        escritor = criarEscritor(100, 3, 60000);
+        when(jdbcTemplate.batchUpdate(eq(AuditoriaEscritorLote.SQL_INSERT), anyList()))
+            .thenThrow(new DataIntegrityViolationException("agregado_id muito longo"));
+        when(jdbcTemplate.update(eq(AuditoriaEscritorLote.SQL_INSERT), any(Object[].class)))
+            .thenAnswer(invocation -> {
+                if ("PAG-2".equals(((Object[]) invocation.getRawArguments()[1])[2])) {
+                    throw new DataIntegrityViolationException("agregado_id muito longo");
+                }
+                return 1;
+            });
+
+        // Act
+        escritor.enfileirar(criarEvento("PAG-1"));
+        escritor.enfileirar(criarEvento("PAG-2"));
+        escritor.enfileirar(criarEvento("PAG-3"));
+        escritor.encerrar();
+        escritor = null;
+
+        // Assert
+        verify(jdbcTemplate, times(3)).update(eq(AuditoriaEscritorLote.SQL_INSERT), any(Object[].class));
+        assertThat(meterRegistry.counter("auditoria.escritor.gravados").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("auditoria.escritor.falhas").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo os eventos que falharem por erro de acesso ao banco")
+    void deveTentarDeNovoAposErroDeAcesso() throws InterruptedException {
+        // Arrange: banco indisponível no lote e no primeiro evento da primeira passada
+        escritor = criarEscritor(100, 2, 60000);
+        when(jdbcTemplate.batchUpdate(eq(AuditoriaEscritorLote.SQL_INSERT), anyList()))
+            .thenThrow(new TransientDataAccessResourceException("conexão recusada"));
+        when(jdbcTemplate.update(eq(AuditoriaEscritorLote.SQL_INSERT), any(Object[].class)))
+            .thenThrow(new TransientDataAccessResourceException("conexão recusada"))
+            .thenReturn(1);
+
+        // Act
+        escritor.enfileirar(criarEvento("PAG-1"));
+        escritor.enfileirar(criarEvento("PAG-2"));
+        escritor.encerrar();
+        escritor = null;
+
+        // Assert: a primeira passada para no erro; a segunda grava os dois
+        verify(jdbcTemplate, times(3)).update(eq(AuditoriaEscritorLote.SQL_INSERT), any(Object[].class));
+        assertThat(meterRegistry.counter("auditoria.escritor.gravados").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("auditoria.escritor.falhas").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve contar como falha apenas depois de esgotar as tentativas")
+    void deveContarFalhaAposEsgotarTentativas() throws InterruptedException {
+        // Arrange
+        escritor = criarEscritor(100, 2, 60000);
+        when(jdbcTemplate.batchUpdate(eq(AuditoriaEscritorLote.SQL_INSERT), anyList()))
+            .thenThrow(new TransientDataAccessResourceException("conexão recusada"));
+        when(jdbcTemplate.update(eq(AuditoriaEscritorLote.SQL_INSERT), any(Object[].class)))
+            .thenThrow(new TransientDataAccessResourceException("conexão recusada"));
+
+        // Act
+        escritor.enfileirar(criarEvento("PAG-1"));
+        escritor.enfileirar(criarEvento("PAG-2"));
+        escritor.encerrar();
+        escritor = null;
+
+        // Assert: uma chamada por tentativa (a passada para no primeiro erro)
+        verify(jdbcTemplate, times(3)).update(eq(AuditoriaEscritorLote.SQL_INSERT), any(Object[].class));
+        assertThat(meterRegistry.counter("auditoria.escritor.gravados").count()).isZero();
+        assertThat(meterRegistry.counter("auditoria.escritor.falhas").count()).isEqualTo(2.0);
+    }
+
+    private AuditoriaEscritorLote criarEscritor(int capacidade, int tamanhoLote, long intervaloMs) {
+        AuditoriaProperties properties = new AuditoriaProperties();
+        properties.setCapacidadeBuffer(capacidade);
+        properties.setTamanhoLote(tamanhoLote);
+        properties.setIntervaloFlushMs(intervaloMs);
+        properties.setBackoffGravacaoMs(1);
+
+        AuditoriaEscritorLote novo = new AuditoriaEscritorLote(jdbcTemplate, new ObjectMapper(), properties, meterRegistry);
+        novo.iniciar();
+        return novo;
+    }
+
+    private EventoAuditoria criarEvento(String agregadoId) {
+        return EventoAuditoria.builder()
+            .agregadoTipo("PAGAMENTO")
+            .agregadoId(agregadoId)
+            .eventoTipo("PAGAMENTO_CRIADO")
+            .dados(Map.of("id", agregadoId))
+            .usuario("SISTEMA")
+            .criadoEm(OffsetDateTime.now())
+            .build();
+    }
+}
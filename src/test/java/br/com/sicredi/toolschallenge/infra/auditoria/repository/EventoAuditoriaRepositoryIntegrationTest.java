@@ -0,0 +1,121 @@
+package br.com.sicredi.toolschallenge.infra.auditoria.repository;
+
+import br.com.sicredi.toolschallenge.config.PostgreSQLIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da retenção da auditoria (PostgreSQL via Testcontainers:
+ * partições, triggers de contagem da V16 e infra.remover_particao_auditoria da V19).
+ *
+ * Cenários testados:
+ * 1. Partição expirada é removida uma por chamada, descontando as contagens do mês
+ * 2. DETACH bloqueado retorna lock_timeout sem alterar partição nem contagens
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("EventoAuditoriaRepository - Retenção por partição com contagens")
+class EventoAuditoriaRepositoryIntegrationTest extends PostgreSQLIntegrationTest {
+
+    private static final String PARTICAO_EXPIRADA = "infra.evento_auditoria_p202001";
+    private static final String AGREGADO_TIPO = "RETENCAO_TESTE";
+    private static final int DIAS_RETENCAO = 90;
+
+    @Autowired
+    private EventoAuditoriaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("1. Partição expirada é removida uma por chamada, descontando as contagens do mês")
+    void deveRemoverParticaoExpiradaDescontandoContagens() {
+        // Arrange
+        criarEventosExpirados();
+        assertThat(repository.somarContagemPorAgregadoTipo(AGREGADO_TIPO)).isEqualTo(2);
+
+        // Act
+        int primeira = repository.removerParticaoExpirada(DIAS_RETENCAO, 1000);
+        int segunda = repository.removerParticaoExpirada(DIAS_RETENCAO, 1000);
+
+        // Assert
+        assertThat(primeira).isEqualTo(1);
+        assertThat(segunda).isZero();
+        assertThat(particaoExiste()).isFalse();
+        assertThat(repository.somarContagemPorAgregadoTipo(AGREGADO_TIPO)).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("2. DETACH bloqueado retorna lock_timeout sem alterar partição nem contagens")
+    void deveRetornarLockTimeoutSemAlterarParticao() throws Exception {
+        // Arrange: uma transação de leitura segura ACCESS SHARE na auditoria
+        criarEventosExpirados();
+        CountDownLatch lida = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Void> leitura = CompletableFuture.runAsync(() ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject("SELECT count(*) FROM infra.evento_auditoria", Long.class);
+                lida.countDown();
+                aguardar(liberar);
+            }));
+        assertThat(lida.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            // Act
+            int resultado = repository.removerParticaoExpirada(DIAS_RETENCAO, 100);
+
+            // Assert
+            assertThat(resultado).isEqualTo(-1);
+            assertThat(particaoExiste()).isTrue();
+            assertThat(repository.somarContagemPorAgregadoTipo(AGREGADO_TIPO)).isEqualTo(2);
+        } finally {
+            liberar.countDown();
+            leitura.get(10, TimeUnit.SECONDS);
+        }
+
+        // Act: sem a leitura concorrente, a nova tentativa remove a partição
+        assertThat(repository.removerParticaoExpirada(DIAS_RETENCAO, 1000)).isEqualTo(1);
+        assertThat(repository.somarContagemPorAgregadoTipo(AGREGADO_TIPO)).isZero();
+    }
+
+    private void criarEventosExpirados() {
+        jdbcTemplate.queryForObject("SELECT infra.criar_particao_auditoria(DATE '2020-01-15')", String.class);
+        jdbcTemplate.update("""
+            INSERT INTO infra.evento_auditoria (evento_tipo, agregado_tipo, agregado_id, criado_em)
+            VALUES ('TESTE', ?, 'A-1', TIMESTAMPTZ '2020-01-10 12:00:00+00'),
+                   ('TESTE', ?, 'A-2', TIMESTAMPTZ '2020-01-31 23:59:00+00')
+            """, AGREGADO_TIPO, AGREGADO_TIPO);
+    }
+
+    private boolean particaoExiste() {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, PARTICAO_EXPIRADA);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
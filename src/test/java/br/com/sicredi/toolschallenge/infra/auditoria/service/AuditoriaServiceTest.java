@@ -1,12 +1,15 @@
 package br.com.sicredi.toolschallenge.infra.auditoria.service;
 
 import br.com.sicredi.toolschallenge.infra.auditoria.EventoAuditoria;
+import br.com.sicredi.toolschallenge.infra.auditoria.escritor.AuditoriaEscritorLote;
 import br.com.sicredi.toolschallenge.infra.auditoria.repository.EventoAuditoriaRepository;
+import br.com.sicredi.toolschallenge.shared.config.AuditoriaProperties;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 
@@ -26,6 +29,12 @@ class AuditoriaServiceTest {
     @Mock
     private EventoAuditoriaRepository repository;
 
+    @Mock
+    private AuditoriaEscritorLote escritorLote;
+
+    @Spy
+    private AuditoriaProperties auditoriaProperties = new AuditoriaProperties();
+
     @InjectMocks
     private AuditoriaService service;
 
@@ -38,21 +47,12 @@ class AuditoriaServiceTest {
         String eventoTipo = "PAGAMENTO_CRIADO";
         Map<String, Object> payload = Map.of("valor", 100.50, "status", "AUTORIZADO");
 
-        EventoAuditoria eventoEsperado = EventoAuditoria.builder()
-            .id(1L)
-            .agregadoTipo(agregadoTipo)
-            .agregadoId(agregadoId)
-            .eventoTipo(eventoTipo)
-            .dados(payload)
-            .build();
-
-        when(repository.save(any(EventoAuditoria.class))).thenReturn(eventoEsperado);
-
         // Act
         service.registrarEvento(agregadoTipo, agregadoId, eventoTipo, payload);
 
         // Assert
-        verify(repository).save(argThat(evento ->
+        verify(repository, never()).save(any());
+        verify(escritorLote).enfileirar(argThat(evento ->
             evento.getAgregadoTipo().equals(agregadoTipo) &&
             evento.getAgregadoId().equals(agregadoId) &&
             evento.getEventoTipo().equals(eventoTipo) &&
@@ -71,22 +71,11 @@ class AuditoriaServiceTest {
         Map<String, Object> payload = Map.of("valorEstornado", 50.25);
         Map<String, Object> metadados = Map.of("ip", "192.168.1.1", "userAgent", "Mozilla");
 
-        EventoAuditoria eventoEsperado = EventoAuditoria.builder()
-            .id(2L)
-            .agregadoTipo(agregadoTipo)
-            .agregadoId(agregadoId)
-            .eventoTipo(eventoTipo)
-            .dados(payload)
-            .metadados(metadados)
-            .build();
-
-        when(repository.save(any(EventoAuditoria.class))).thenReturn(eventoEsperado);
-
         // Act
         service.registrarEventoComMetadados(agregadoTipo, agregadoId, eventoTipo, payload, metadados);
 
         // Assert
-        verify(repository).save(argThat(evento ->
+        verify(escritorLote).enfileirar(argThat(evento ->
             evento.getMetadados() != null &&
             evento.getMetadados().equals(metadados)
         ));
@@ -101,14 +90,14 @@ class AuditoriaServiceTest {
         String eventoTipo = "PAGAMENTO_FALHOU";
         Map<String, Object> payload = Map.of("erro", "Timeout");
 
-        when(repository.save(any(EventoAuditoria.class)))
-            .thenThrow(new RuntimeException("Database error"));
+        doThrow(new RuntimeException("Database error"))
+            .when(escritorLote).enfileirar(any(EventoAuditoria.class));
 
         // Act - Não deve lançar exceção
         service.registrarEvento(agregadoTipo, agregadoId, eventoTipo, payload);
 
         // Assert - Apenas verificar que tentou salvar
-        verify(repository).save(any(EventoAuditoria.class));
+        verify(escritorLote).enfileirar(any(EventoAuditoria.class));
     }
 
     @Test
@@ -180,15 +169,15 @@ class AuditoriaServiceTest {
     }
 
     @Test
-    @DisplayName("Deve buscar últimos eventos com limite")
+    @DisplayName("Deve buscar últimos eventos com limite na janela recente")
     void deveBuscarUltimosEventosComLimite() {
         // Arrange
-        int quantidade = 10;
+        int quantidade = 1;
         
         EventoAuditoria evento = criarEvento(1L, "PAGAMENTO", "PAG-001", "CRIADO");
         List<EventoAuditoria> eventos = List.of(evento);
 
-        when(repository.findUltimosEventos(any(PageRequest.class))).thenReturn(eventos);
+        when(repository.findUltimosEventosDesde(any(OffsetDateTime.class), any(PageRequest.class))).thenReturn(eventos);
 
         // Act
         List<EventoAuditoria> resultado = service.buscarUltimosEventos(quantidade);
@@ -197,19 +186,41 @@ class AuditoriaServiceTest {
         assertThat(resultado).hasSize(1);
         assertThat(resultado.get(0)).isEqualTo(evento);
         
-        verify(repository).findUltimosEventos(argThat(pageable -> 
-            pageable.getPageSize() == quantidade && 
-            pageable.getPageNumber() == 0
-        ));
+        verify(repository).findUltimosEventosDesde(
+            argThat(desde -> desde.isBefore(OffsetDateTime.now().minusDays(30))),
+            argThat(pageable -> pageable.getPageSize() == quantidade && pageable.getPageNumber() == 0)
+        );
+        verify(repository, never()).findUltimosEventos(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar sem limite de data quando a janela recente não tiver eventos suficientes")
+    void deveBuscarSemLimiteDeDataQuandoJanelaInsuficiente() {
+        // Arrange
+        int quantidade = 10;
+        
+        EventoAuditoria evento = criarEvento(1L, "PAGAMENTO", "PAG-001", "CRIADO");
+        EventoAuditoria antigo = criarEvento(2L, "PAGAMENTO", "PAG-002", "CRIADO");
+
+        when(repository.findUltimosEventosDesde(any(OffsetDateTime.class), any(PageRequest.class)))
+            .thenReturn(List.of(evento));
+        when(repository.findUltimosEventos(any(PageRequest.class))).thenReturn(List.of(evento, antigo));
+
+        // Act
+        List<EventoAuditoria> resultado = service.buscarUltimosEventos(quantidade);
+
+        // Assert
+        assertThat(resultado).containsExactly(evento, antigo);
+        verify(repository).findUltimosEventos(argThat(pageable -> pageable.getPageSize() == quantidade));
     }
 
     @Test
     @DisplayName("Deve obter estatísticas de auditoria")
     void deveObterEstatisticasDeAuditoria() {
         // Arrange
-        when(repository.count()).thenReturn(100L);
-        when(repository.countByAgregadoTipo("PAGAMENTO")).thenReturn(70L);
-        when(repository.countByAgregadoTipo("ESTORNO")).thenReturn(30L);
+        when(repository.somarContagem()).thenReturn(100L);
+        when(repository.somarContagemPorAgregadoTipo("PAGAMENTO")).thenReturn(70L);
+        when(repository.somarContagemPorAgregadoTipo("ESTORNO")).thenReturn(30L);
 
         // Act
         Map<String, Long> estatisticas = service.obterEstatisticas();
@@ -220,39 +231,55 @@ class AuditoriaServiceTest {
             .containsEntry("eventosPagamento", 70L)
             .containsEntry("eventosEstorno", 30L);
         
-        verify(repository).count();
-        verify(repository).countByAgregadoTipo("PAGAMENTO");
-        verify(repository).countByAgregadoTipo("ESTORNO");
+        verify(repository).somarContagem();
+        verify(repository).somarContagemPorAgregadoTipo("PAGAMENTO");
+        verify(repository).somarContagemPorAgregadoTipo("ESTORNO");
+        verify(repository, never()).count();
     }
 
     @Test
-    @DisplayName("Deve limpar eventos antigos")
+    @DisplayName("Deve limpar eventos antigos removendo partições")
     void deveLimparEventosAntigos() {
         // Arrange
         int diasRetencao = 90;
+        when(repository.removerParticaoExpirada(diasRetencao, 1000)).thenReturn(1, 1, 0);
 
         // Act
-        service.limparEventosAntigos(diasRetencao);
+        int removidas = service.limparEventosAntigos(diasRetencao);
 
-        // Assert
-        verify(repository).deleteEventosAntigos(any(OffsetDateTime.class));
+        // Assert: uma partição por chamada (transação)
+        assertThat(removidas).isEqualTo(2);
+        verify(repository, times(3)).removerParticaoExpirada(diasRetencao, 1000);
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo a remoção de partição de auditoria após lock_timeout e desistir no limite")
+    void deveTentarDeNovoRemocaoAposLockTimeout() {
+        // Arrange
+        auditoriaProperties.setLockTimeoutRemocaoParticaoMs(1);
+        auditoriaProperties.setTentativasRemocaoParticao(2);
+        when(repository.removerParticaoExpirada(90, 1)).thenReturn(-1, 1, -1, -1);
+
+        // Act
+        int removidas = service.limparEventosAntigos(90);
+
+        // Assert: 1 timeout, 1 removida e mais 2 timeouts (limite de 2 novas tentativas excedido)
+        assertThat(removidas).isEqualTo(1);
+        verify(repository, times(4)).removerParticaoExpirada(90, 1);
     }
 
     @Test
-    @DisplayName("Deve calcular data limite corretamente ao limpar eventos antigos")
-    void deveCalcularDataLimiteCorretamenteAoLimpar() {
+    @DisplayName("Deve criar partições futuras de auditoria")
+    void deveCriarParticoesFuturas() {
         // Arrange
-        int diasRetencao = 30;
-        OffsetDateTime agora = OffsetDateTime.now();
+        when(repository.criarParticoesFuturas(3)).thenReturn(2);
 
         // Act
-        service.limparEventosAntigos(diasRetencao);
+        int criadas = service.criarParticoesFuturas(3);
 
         // Assert
-        verify(repository).deleteEventosAntigos(argThat(dataLimite -> {
-            long diffDays = java.time.Duration.between(dataLimite, agora).toDays();
-            return diffDays >= 29 && diffDays <= 30;  // Aproximadamente 30 dias
-        }));
+        assertThat(criadas).isEqualTo(2);
+        verify(repository).criarParticoesFuturas(3);
     }
 
     // Método auxiliar para criar eventos de teste
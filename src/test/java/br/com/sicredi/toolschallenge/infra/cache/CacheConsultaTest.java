@@ -0,0 +1,216 @@
+package br.com.sicredi.toolschallenge.infra.cache;
+
+import br.com.sicredi.toolschallenge.shared.config.CacheConsultaProperties;
+import br.com.sicredi.toolschallenge.shared.exception.RecursoNaoEncontradoException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do CacheConsulta (Caffeine + Redis).
+ *
+ * Cenários testados:
+ * 1. Miss nas duas camadas: carrega do banco e grava no Redis com TTL do status
+ * 2. Segunda consulta: atendida pela camada local
+ * 3. Acerto no Redis: não consulta o banco
+ * 4. Single-flight: consultas simultâneas geram um único carregamento
+ * 5. Exceção do carregador: repassada e não cacheada
+ * 6. Invalidação durante o carregamento: valor lido não é cacheado
+ * 7. Desabilitado: sempre delega ao carregador
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CacheConsulta - Testes Unitários")
+class CacheConsultaTest {
+
+    private static final String CHAVE = "0192f3a0-0000-7000-8000-000000000001";
+    private static final String CHAVE_REDIS = "cache-consulta:pagamento:" + CHAVE;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CacheConsultaProperties properties;
+    private CacheConsulta<Resposta> cache;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        properties = new CacheConsultaProperties();
+        cache = new CacheConsulta<>("pagamento", Resposta.class, r -> "AUTORIZADO".equals(r.status()),
+                properties, redisTemplate, objectMapper, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("1. Deve carregar do banco e gravar no Redis com TTL de status terminal")
+    void deveCarregarDoBancoEGravarNoRedis() {
+        // Act
+        Resposta resposta = cache.obter(CHAVE, () -> new Resposta(CHAVE, "AUTORIZADO"));
+
+        // Assert
+        assertThat(resposta.status()).isEqualTo("AUTORIZADO");
+        verify(valueOperations).set(eq(CHAVE_REDIS), anyString(),
+                eq(properties.getTtlRedisTerminalSegundos()), eq(TimeUnit.SECONDS));
+        assertThat(meterRegistry.counter("cache.consulta", "cache", "pagamento", "resultado", "origem").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("2. Deve atender a segunda consulta pela camada local")
+    void deveAtenderSegundaConsultaPelaCamadaLocal() {
+        // Arrange
+        AtomicInteger carregamentos = new AtomicInteger();
+        cache.obter(CHAVE, () -> carregar(carregamentos, "PENDENTE"));
+
+        // Act
+        Resposta resposta = cache.obter(CHAVE, () -> carregar(carregamentos, "PENDENTE"));
+
+        // Assert
+        assertThat(resposta.status()).isEqualTo("PENDENTE");
+        assertThat(carregamentos).hasValue(1);
+        verify(valueOperations, times(1)).get(CHAVE_REDIS);
+        verify(valueOperations).set(eq(CHAVE_REDIS), anyString(),
+                eq(properties.getTtlNaoTerminalSegundos()), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("3. Deve usar o Redis sem consultar o banco")
+    void deveUsarRedisSemConsultarBanco() throws Exception {
+        // Arrange
+        when(valueOperations.get(CHAVE_REDIS))
+                .thenReturn(objectMapper.writeValueAsString(new Resposta(CHAVE, "NEGADO")));
+        AtomicInteger carregamentos = new AtomicInteger();
+
+        // Act
+        Resposta resposta = cache.obter(CHAVE, () -> carregar(carregamentos, "PENDENTE"));
+
+        // Assert
+        assertThat(resposta.status()).isEqualTo("NEGADO");
+        assertThat(carregamentos).hasValue(0);
+        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("4. Deve fazer um único carregamento para consultas simultâneas")
+    void deveFazerUnicoCarregamentoParaConsultasSimultaneas() throws Exception {
+        // Arrange
+        AtomicInteger carregamentos = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        int consultas = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(consultas);
+
+        try {
+            // Act
+            List<Future<Resposta>> futuros = new ArrayList<>();
+            for (int i = 0; i < consultas; i++) {
+                futuros.add(executor.submit(() -> cache.obter(CHAVE, () -> {
+                    carregamentos.incrementAndGet();
+                    aguardar(liberar);
+                    return new Resposta(CHAVE, "AUTORIZADO");
+                })));
+            }
+            Thread.sleep(200);
+            liberar.countDown();
+
+            // Assert
+            for (Future<Resposta> futuro : futuros) {
+                assertThat(futuro.get(5, TimeUnit.SECONDS).status()).isEqualTo("AUTORIZADO");
+            }
+            assertThat(carregamentos).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("5. Deve repassar exceção do carregador sem cachear")
+    void deveRepassarExcecaoSemCachear() {
+        // Act / Assert
+        assertThatThrownBy(() -> cache.obter(CHAVE, () -> {
+            throw new RecursoNaoEncontradoException("Pagamento", CHAVE);
+        })).isInstanceOf(RecursoNaoEncontradoException.class);
+
+        Resposta resposta = cache.obter(CHAVE, () -> new Resposta(CHAVE, "AUTORIZADO"));
+        assertThat(resposta.status()).isEqualTo("AUTORIZADO");
+    }
+
+    @Test
+    @DisplayName("6. Não deve cachear valor lido antes de uma invalidação")
+    void naoDeveCachearValorLidoAntesDeInvalidacao() {
+        // Arrange: o status muda (e invalida) enquanto o carregamento está em andamento
+        Resposta lida = cache.obter(CHAVE, () -> {
+            cache.invalidar(CHAVE);
+            return new Resposta(CHAVE, "PENDENTE");
+        });
+
+        // Act
+        Resposta seguinte = cache.obter(CHAVE, () -> new Resposta(CHAVE, "AUTORIZADO"));
+
+        // Assert
+        assertThat(lida.status()).isEqualTo("PENDENTE");
+        assertThat(seguinte.status()).isEqualTo("AUTORIZADO");
+        verify(redisTemplate).delete(CHAVE_REDIS);
+    }
+
+    @Test
+    @DisplayName("7. Deve delegar sempre ao carregador quando desabilitado")
+    void deveDelegarQuandoDesabilitado() {
+        // Arrange
+        CacheConsulta<Resposta> desabilitado = CacheConsulta.desabilitado("pagamento");
+        AtomicInteger carregamentos = new AtomicInteger();
+
+        // Act
+        desabilitado.obter(CHAVE, () -> carregar(carregamentos, "AUTORIZADO"));
+        desabilitado.obter(CHAVE, () -> carregar(carregamentos, "AUTORIZADO"));
+
+        // Assert
+        assertThat(carregamentos).hasValue(2);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static Resposta carregar(AtomicInteger carregamentos, String status) {
+        carregamentos.incrementAndGet();
+        return new Resposta(CHAVE, status);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Resposta(String id, String status) {
+    }
+}
@@ -0,0 +1,227 @@
+package br.com.sicredi.toolschallenge.infra.contagem.repository;
+
+import br.com.sicredi.toolschallenge.config.PostgreSQLIntegrationTest;
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração das contagens por minuto da V16 (PostgreSQL via
+ * Testcontainers: triggers de contagem e consulta.compactar_contagens).
+ *
+ * Cada teste roda na transação do @DataJpaTest e é desfeito no rollback.
+ *
+ * Cenários testados:
+ * 1. Mudança de status desconta -1 do status antigo e soma +1 no novo, na fatia de cada pagamento
+ * 2. Compactação é idempotente e absorve incrementos tardios no bucket de hora
+ * 3. Eventos nos limites de minuto, hora e dia (UTC) caem em buckets distintos
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ContagemRepository.class)
+@DisplayName("ContagemRepository - Buckets de contagem por minuto")
+class ContagemRepositoryIntegrationTest extends PostgreSQLIntegrationTest {
+
+    @Autowired
+    private ContagemRepository contagemRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("1. Mudança de status desconta -1 do status antigo e soma +1 no novo, na fatia de cada pagamento")
+    void deveMoverContagemEntreStatusNaFatiaDoPagamento() {
+        // Arrange: dois pagamentos no mesmo minuto, em fatias diferentes (ids consecutivos)
+        String estabelecimento = "Loja contagem 1";
+        OffsetDateTime minuto = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MINUTES);
+        Pagamento primeiro = pagamentoRepository.saveAndFlush(pagamento("CT-1A", estabelecimento, minuto.plusSeconds(10)));
+        Pagamento segundo = pagamentoRepository.saveAndFlush(pagamento("CT-1B", estabelecimento, minuto.plusSeconds(20)));
+        assertThat(primeiro.getId() % 16).isNotEqualTo(segundo.getId() % 16);
+
+        // Act
+        primeiro.setStatus(StatusPagamento.AUTORIZADO);
+        pagamentoRepository.saveAndFlush(primeiro);
+        segundo.setStatus(StatusPagamento.NEGADO);
+        pagamentoRepository.saveAndFlush(segundo);
+        segundo.setStatus(StatusPagamento.AUTORIZADO);
+        pagamentoRepository.saveAndFlush(segundo);
+
+        // Assert: soma por status no período
+        assertThat(contar(StatusPagamento.PENDENTE, estabelecimento, minuto, minuto)).isZero();
+        assertThat(contar(StatusPagamento.NEGADO, estabelecimento, minuto, minuto)).isZero();
+        assertThat(contar(StatusPagamento.AUTORIZADO, estabelecimento, minuto, minuto)).isEqualTo(2);
+
+        // Assert: cada pagamento move a contagem apenas na própria fatia
+        assertThat(fatias(estabelecimento, "PENDENTE")).containsOnly(
+            Map.entry(fatia(primeiro), 0L), Map.entry(fatia(segundo), 0L));
+        assertThat(fatias(estabelecimento, "NEGADO")).containsOnly(Map.entry(fatia(segundo), 0L));
+        assertThat(fatias(estabelecimento, "AUTORIZADO")).containsOnly(
+            Map.entry(fatia(primeiro), 1L), Map.entry(fatia(segundo), 1L));
+    }
+
+    @Test
+    @DisplayName("2. Compactação é idempotente e absorve incrementos tardios no bucket de hora")
+    void compactacaoDeveSerIdempotente() {
+        // Arrange: buckets de minuto de 10 dias atrás, em fatias diferentes
+        String estabelecimento = "Loja contagem 2";
+        OffsetDateTime hora = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS).minusDays(10);
+        contarMinuto(hora.plusMinutes(5), estabelecimento, "AUTORIZADO", 1, 3);
+        contarMinuto(hora.plusMinutes(5), estabelecimento, "AUTORIZADO", 2, 2);
+        contarMinuto(hora.plusMinutes(59), estabelecimento, "AUTORIZADO", 7, 1);
+        // Mudança de status tardia que zera o bucket: não gera linha compactada
+        contarMinuto(hora.plusMinutes(10), estabelecimento, "PENDENTE", 3, 1);
+        contarMinuto(hora.plusMinutes(10), estabelecimento, "PENDENTE", 3, -1);
+
+        // Act
+        int primeira = contagemRepository.compactar(1, 30);
+        List<Map<String, Object>> compactadas = buckets(estabelecimento);
+        int segunda = contagemRepository.compactar(1, 30);
+
+        // Assert
+        assertThat(primeira).isGreaterThanOrEqualTo(4);
+        assertThat(segunda).isZero();
+        assertThat(buckets(estabelecimento)).isEqualTo(compactadas);
+        assertThat(compactadas).singleElement().satisfies(bucket -> {
+            assertThat(bucket).containsEntry("granularidade", "HORA").containsEntry("status", "AUTORIZADO")
+                .containsEntry("fatia", (short) 0).containsEntry("quantidade", 6L);
+            assertThat(((OffsetDateTime) bucket.get("inicio")).toInstant()).isEqualTo(hora.toInstant());
+        });
+
+        // Act: incremento tardio no minuto já compactado
+        contarMinuto(hora.plusMinutes(30), estabelecimento, "AUTORIZADO", 4, -1);
+        contagemRepository.compactar(1, 30);
+
+        // Assert
+        assertThat(buckets(estabelecimento)).singleElement()
+            .satisfies(bucket -> assertThat(bucket).containsEntry("quantidade", 5L));
+    }
+
+    @Test
+    @DisplayName("3. Eventos nos limites de minuto, hora e dia (UTC) caem em buckets distintos")
+    void deveSepararEventosNosLimitesDosBuckets() {
+        // Arrange: meia-noite UTC de 10 dias atrás
+        String estabelecimento = "Loja contagem 3";
+        OffsetDateTime dia = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS).minusDays(10);
+        OffsetDateTime antesDaMeiaNoite = dia.minusNanos(1_000_000);
+        pagamentoRepository.saveAndFlush(pagamento("CT-3A", estabelecimento, antesDaMeiaNoite));
+        pagamentoRepository.saveAndFlush(pagamento("CT-3B", estabelecimento, dia));
+        pagamentoRepository.saveAndFlush(pagamento("CT-3C", estabelecimento, dia.plusMinutes(59).plusSeconds(59)));
+        pagamentoRepository.saveAndFlush(pagamento("CT-3D", estabelecimento, dia.plusHours(1)));
+
+        // Assert: buckets de minuto (o período se aplica ao início do bucket)
+        OffsetDateTime ultimoMinuto = dia.minusMinutes(1);
+        assertThat(contar(StatusPagamento.PENDENTE, estabelecimento, ultimoMinuto, ultimoMinuto)).isEqualTo(1);
+        assertThat(contar(StatusPagamento.PENDENTE, estabelecimento, antesDaMeiaNoite, antesDaMeiaNoite)).isZero();
+        assertThat(contar(StatusPagamento.PENDENTE, estabelecimento, dia, dia)).isEqualTo(1);
+        assertThat(contar(StatusPagamento.PENDENTE, estabelecimento, dia, dia.plusMinutes(59))).isEqualTo(2);
+
+        // Act: minuto -> hora
+        contagemRepository.compactar(1, 30);
+
+        // Assert
+        assertThat(inicios(estabelecimento, "HORA")).containsExactly(
+            Map.entry(dia.minusHours(1).toInstant(), 1L),
+            Map.entry(dia.toInstant(), 2L),
+            Map.entry(dia.plusHours(1).toInstant(), 1L));
+
+        // Act: hora -> dia
+        contagemRepository.compactar(1, 1);
+
+        // Assert
+        assertThat(inicios(estabelecimento, "DIA")).containsExactly(
+            Map.entry(dia.minusDays(1).toInstant(), 1L),
+            Map.entry(dia.toInstant(), 3L));
+        assertThat(contar(StatusPagamento.PENDENTE, estabelecimento, dia.minusDays(1), dia.plusDays(1))).isEqualTo(4);
+    }
+
+    private long contar(StatusPagamento status, String estabelecimento, OffsetDateTime inicio, OffsetDateTime fim) {
+        return pagamentoRepository.countByStatusEstabelecimentoAndPeriodo(status, estabelecimento, inicio, fim);
+    }
+
+    private void contarMinuto(OffsetDateTime criadoEm, String estabelecimento, String status, long id, long delta) {
+        jdbcTemplate.queryForList("SELECT consulta.contar_status('PAGAMENTO', ?, ?, ?, ?, ?)",
+            criadoEm, status, estabelecimento, id, delta);
+    }
+
+    private Map<Short, Long> fatias(String estabelecimento, String status) {
+        return jdbcTemplate.query("""
+            SELECT fatia, quantidade FROM consulta.contagem_status
+            WHERE tipo = 'PAGAMENTO' AND granularidade = 'MINUTO' AND estabelecimento = ? AND status = ?
+            """,
+            rs -> {
+                Map<Short, Long> resultado = new HashMap<>();
+                while (rs.next()) {
+                    resultado.put(rs.getShort("fatia"), rs.getLong("quantidade"));
+                }
+                return resultado;
+            },
+            estabelecimento, status);
+    }
+
+    private List<Map<String, Object>> buckets(String estabelecimento) {
+        return jdbcTemplate.query("""
+            SELECT granularidade, inicio, status, fatia, quantidade FROM consulta.contagem_status
+            WHERE tipo = 'PAGAMENTO' AND estabelecimento = ?
+            ORDER BY granularidade, inicio, status, fatia
+            """,
+            (rs, linha) -> Map.<String, Object>of(
+                "granularidade", rs.getString("granularidade"),
+                "inicio", rs.getObject("inicio", OffsetDateTime.class),
+                "status", rs.getString("status"),
+                "fatia", rs.getShort("fatia"),
+                "quantidade", rs.getLong("quantidade")),
+            estabelecimento);
+    }
+
+    private List<Map.Entry<Instant, Long>> inicios(String estabelecimento, String granularidade) {
+        return jdbcTemplate.query("""
+            SELECT inicio, quantidade FROM consulta.contagem_status
+            WHERE tipo = 'PAGAMENTO' AND estabelecimento = ? AND granularidade = ?
+            ORDER BY inicio
+            """,
+            (rs, linha) -> Map.entry(rs.getObject("inicio", OffsetDateTime.class).toInstant(), rs.getLong("quantidade")),
+            estabelecimento, granularidade);
+    }
+
+    private static short fatia(Pagamento pagamento) {
+        return (short) (pagamento.getId() % 16);
+    }
+
+    private static Pagamento pagamento(String idTransacao, String estabelecimento, OffsetDateTime criadoEm) {
+        return Pagamento.builder()
+            .idTransacao(idTransacao)
+            .status(StatusPagamento.PENDENTE)
+            .valor(new BigDecimal("99.90"))
+            .dataHora(criadoEm)
+            .estabelecimento(estabelecimento)
+            .tipoPagamento(TipoPagamento.AVISTA)
+            .parcelas(1)
+            .cartaoMascarado("4444********1234")
+            .criadoEm(criadoEm)
+            .build();
+    }
+}
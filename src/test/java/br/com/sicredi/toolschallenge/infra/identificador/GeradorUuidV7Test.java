@@ -0,0 +1,107 @@
+package br.com.sicredi.toolschallenge.infra.identificador;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários do GeradorUuidV7.
+ *
+ * Cenários testados:
+ * 1. Versão 7, variante RFC e timestamp no prefixo
+ * 2. Texto ordenado pelo instante de geração (ordem do índice VARCHAR)
+ * 3. Vazão com threads concorrentes maior que UUID.randomUUID() (SecureRandom)
+ */
+@DisplayName("GeradorUuidV7 - Testes Unitários")
+class GeradorUuidV7Test {
+
+    private static final long AGORA = 1_762_000_000_000L;
+
+    @Test
+    @DisplayName("1. Deve gerar UUID versão 7 com o timestamp nos 48 bits mais altos")
+    void deveGerarUuidVersao7ComTimestamp() {
+        // Arrange
+        GeradorUuidV7 gerador = new GeradorUuidV7(() -> AGORA);
+
+        // Act
+        UUID uuid = gerador.gerar();
+
+        // Assert
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(GeradorUuidV7.timestampDe(uuid)).isEqualTo(AGORA);
+        assertThat(gerador.gerar()).isNotEqualTo(uuid);
+    }
+
+    @Test
+    @DisplayName("2. Deve gerar textos em ordem crescente conforme o relógio avança")
+    void deveGerarTextosOrdenadosPeloTempo() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong(AGORA);
+        GeradorUuidV7 gerador = new GeradorUuidV7(relogio::getAndIncrement);
+
+        // Act
+        List<String> gerados = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            gerados.add(gerador.gerar().toString());
+        }
+
+        // Assert
+        assertThat(gerados).isSorted();
+    }
+
+    @Test
+    @DisplayName("3. Deve gerar mais IDs por segundo que UUID.randomUUID() com threads concorrentes")
+    void deveSuperarUuidAleatorioComThreadsConcorrentes() throws Exception {
+        // Arrange
+        GeradorUuidV7 gerador = new GeradorUuidV7();
+
+        // Act
+        double vazaoV7 = medirVazao(gerador::gerar);
+        double vazaoAleatorio = medirVazao(UUID::randomUUID);
+
+        // Assert
+        assertThat(vazaoV7).isGreaterThan(vazaoAleatorio);
+    }
+
+    private double medirVazao(Supplier<UUID> fonte) throws Exception {
+        int threads = 8;
+        int porThread = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    long soma = 0;
+                    for (int i = 0; i < porThread; i++) {
+                        soma += fonte.get().getLeastSignificantBits();
+                    }
+                    return soma;
+                }));
+            }
+
+            long inicio = System.nanoTime();
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+            return threads * porThread / ((System.nanoTime() - inicio) / 1_000_000_000.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.sicredi.toolschallenge.infra.outbox.processor;
+
+import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxAckAgregador - Testes Unitários")
+class OutboxAckAgregadorTest {
+
+    @Mock
+    private OutboxService outboxService;
+
+    private OutboxAckAgregador agregador;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setTamanhoLoteAck(2);
+        agregador = new OutboxAckAgregador(outboxService, properties);
+    }
+
+    @Test
+    @DisplayName("Deve gravar sucessos em lotes com um UPDATE por lote")
+    void deveGravarSucessosEmLotes() {
+        // Arrange
+        agregador.registrarSucesso(1L);
+        agregador.registrarSucesso(2L);
+        agregador.registrarSucesso(3L);
+
+        // Act
+        agregador.descarregar();
+
+        // Assert
+        verify(outboxService).marcarComoProcessados(List.of(1L, 2L));
+        verify(outboxService).marcarComoProcessados(List.of(3L));
+        verify(outboxService, never()).marcarComoProcessado(any());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar erros pela mensagem")
+    void deveAgruparErrosPelaMensagem() {
+        // Arrange
+        agregador.registrarErro(1L, "Timeout");
+        agregador.registrarErro(2L, "Broker indisponível");
+        agregador.registrarErro(3L, "Timeout");
+
+        // Act
+        agregador.descarregar();
+
+        // Assert
+        verify(outboxService).marcarComoErro(List.of(1L, 3L), "Timeout");
+        verify(outboxService).marcarComoErro(List.of(2L), "Broker indisponível");
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o banco quando não há acks acumulados")
+    void naoDeveAcessarBancoSemAcks() {
+        // Act
+        agregador.descarregar();
+
+        // Assert
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    @DisplayName("Deve continuar descarregando quando um lote falhar")
+    void deveContinuarDescarregandoQuandoUmLoteFalhar() {
+        // Arrange
+        agregador.registrarSucesso(1L);
+        agregador.registrarSucesso(2L);
+        agregador.registrarErro(3L, "Timeout");
+        when(outboxService.marcarComoProcessados(anyList())).thenThrow(new RuntimeException("Banco indisponível"));
+
+        // Act
+        agregador.descarregar();
+
+        // Assert
+        verify(outboxService).marcarComoErro(List.of(3L), "Timeout");
+    }
+}
@@ -0,0 +1,282 @@
+package br.com.sicredi.toolschallenge.infra.outbox.processor;
+
+import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
+import br.com.sicredi.toolschallenge.infra.outbox.service.KafkaPublisherService;
+import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxDispatcher - Testes Unitários")
+class OutboxDispatcherTest {
+
+    @Mock
+    private KafkaPublisherService kafkaPublisherService;
+
+    @Mock
+    private OutboxAckAgregador ackAgregador;
+
+    @Mock
+    private OutboxService outboxService;
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setWorkers(4);
+        dispatcher = new OutboxDispatcher(kafkaPublisherService, ackAgregador, outboxService, properties);
+        dispatcher.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve publicar eventos do mesmo agregado em ordem e no mesmo worker")
+    void devePublicarEventosDoMesmoAgregadoEmOrdemENoMesmoWorker() {
+        // Arrange
+        List<OutboxEvento> eventos = new ArrayList<>();
+        for (long i = 1; i <= 200; i++) {
+            eventos.add(criarEvento(i, "PAG-" + (i % 7)));
+        }
+
+        Map<String, List<Long>> ordemPorAgregado = new ConcurrentHashMap<>();
+        Map<String, String> threadPorAgregado = new ConcurrentHashMap<>();
+        List<String> threadsComConflito = Collections.synchronizedList(new ArrayList<>());
+
+        when(kafkaPublisherService.publicarEvento(any(OutboxEvento.class))).thenAnswer(invocation -> {
+            OutboxEvento evento = invocation.getArgument(0);
+            String thread = Thread.currentThread().getName();
+            ordemPorAgregado.computeIfAbsent(evento.getAgregadoId(), k -> Collections.synchronizedList(new ArrayList<>()))
+                .add(evento.getId());
+            String anterior = threadPorAgregado.putIfAbsent(evento.getAgregadoId(), thread);
+            if (anterior != null && !anterior.equals(thread)) {
+                threadsComConflito.add(evento.getAgregadoId());
+            }
+            return CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+
+        // Act
+        dispatcher.despachar(eventos).join();
+
+        // Assert
+        assertThat(threadsComConflito).isEmpty();
+        assertThat(ordemPorAgregado).hasSize(7);
+        assertThat(ordemPorAgregado.values()).allSatisfy(ids -> assertThat(ids).isSorted());
+        assertThat(threadPorAgregado.values()).allSatisfy(thread -> assertThat(thread).startsWith("outbox-worker-"));
+        verify(ackAgregador, times(200)).registrarSucesso(any());
+    }
+
+    @Test
+    @DisplayName("Deve marcar evento como erro quando publicação falhar")
+    void deveMarcarEventoComoErroQuandoPublicacaoFalhar() {
+        // Arrange
+        OutboxEvento evento = criarEvento(10L, "PAG-ERRO");
+        when(kafkaPublisherService.publicarEvento(evento))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker indisponível")));
+
+        // Act
+        dispatcher.despachar(List.of(evento)).join();
+
+        // Assert
+        verify(ackAgregador).registrarErro(10L, "Broker indisponível");
+        verify(ackAgregador, never()).registrarSucesso(any());
+    }
+
+    @Test
+    @DisplayName("Deve publicar evento imediato e recusar quando a fila estiver cheia")
+    void devePublicarEventoImediatoERecusarQuandoFilaCheia() {
+        // Arrange
+        OutboxProperties properties = new OutboxProperties();
+        properties.setWorkers(1);
+        properties.setCapacidadePublicacaoImediata(1);
+        OutboxDispatcher dispatcherLimitado = new OutboxDispatcher(kafkaPublisherService, ackAgregador, outboxService, properties);
+        dispatcherLimitado.iniciar();
+
+        CompletableFuture<SendResult<String, String>> envioBloqueado = new CompletableFuture<>();
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(kafkaPublisherService.publicarEvento(any(OutboxEvento.class))).thenAnswer(invocation -> {
+            liberar.await();
+            return envioBloqueado;
+        });
+
+        try {
+            // Act
+            boolean primeiro = dispatcherLimitado.despacharImediato(criarEvento(1L, "PAG-1"), List.of());
+            boolean segundo = dispatcherLimitado.despacharImediato(criarEvento(2L, "PAG-2"), List.of());
+            liberar.countDown();
+            envioBloqueado.complete(resultadoEnvio());
+
+            // Assert
+            assertThat(primeiro).isTrue();
+            assertThat(segundo).isFalse();
+            verify(ackAgregador, timeout(1000)).registrarSucesso(1L);
+        } finally {
+            liberar.countDown();
+            try {
+                dispatcherLimitado.encerrar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar evento imediato quando o agregado tiver eventos anteriores fora da fila")
+    void deveRecusarEventoImediatoComAnterioresForaDaFila() {
+        // Act
+        boolean aceito = dispatcher.despacharImediato(criarEvento(2L, "PAG-1"), List.of(1L));
+
+        // Assert
+        assertThat(aceito).isFalse();
+        verifyNoInteractions(kafkaPublisherService);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar evento imediato atrás de anterior do mesmo agregado já na fila, em ordem")
+    void deveAceitarEventoImediatoAtrasDeAnteriorNaFila() throws InterruptedException {
+        // Arrange
+        OutboxDispatcher dispatcherUnico = dispatcherComUmWorker();
+        OutboxEvento primeiro = criarEvento(1L, "PAG-1");
+        OutboxEvento segundo = criarEvento(2L, "PAG-1");
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(kafkaPublisherService.publicarEvento(any(OutboxEvento.class))).thenAnswer(invocation -> {
+            liberar.await();
+            return CompletableFuture.completedFuture(resultadoEnvio());
+        });
+
+        try {
+            // Act
+            boolean primeiroAceito = dispatcherUnico.despacharImediato(primeiro, List.of());
+            boolean segundoAceito = dispatcherUnico.despacharImediato(segundo, List.of(1L));
+            liberar.countDown();
+
+            // Assert
+            assertThat(primeiroAceito).isTrue();
+            assertThat(segundoAceito).isTrue();
+            verify(ackAgregador, timeout(1000)).registrarSucesso(2L);
+            InOrder ordem = inOrder(kafkaPublisherService);
+            ordem.verify(kafkaPublisherService).publicarEvento(primeiro);
+            ordem.verify(kafkaPublisherService).publicarEvento(segundo);
+        } finally {
+            liberar.countDown();
+            dispatcherUnico.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve devolver ao polling o evento cujo lease expirou na fila e os seguintes do agregado")
+    void deveDevolverAoPollingEventoComLeaseExpirado() throws InterruptedException {
+        // Arrange: um evento de outro agregado segura o worker enquanto os dois entram na fila
+        OutboxDispatcher dispatcherUnico = dispatcherComUmWorker();
+        OutboxEvento bloqueador = criarEvento(1L, "PAG-0");
+        OutboxEvento expirado = criarEvento(2L, "PAG-1");
+        expirado.setBloqueadoAte(OffsetDateTime.now().minusSeconds(1));
+        OutboxEvento seguinte = criarEvento(3L, "PAG-1");
+        seguinte.setBloqueadoAte(OffsetDateTime.now().plusSeconds(5));
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(kafkaPublisherService.publicarEvento(bloqueador)).thenAnswer(invocation -> {
+            liberar.await();
+            return CompletableFuture.completedFuture(resultadoEnvio());
+        });
+        when(outboxService.renovarLeaseImediato(eq(expirado), any(OffsetDateTime.class))).thenReturn(false);
+
+        // Act
+        try {
+            assertThat(dispatcherUnico.despacharImediato(bloqueador, List.of())).isTrue();
+            assertThat(dispatcherUnico.despacharImediato(expirado, List.of())).isTrue();
+            assertThat(dispatcherUnico.despacharImediato(seguinte, List.of(2L))).isTrue();
+            liberar.countDown();
+        } finally {
+            liberar.countDown();
+            dispatcherUnico.encerrar();
+        }
+
+        // Assert
+        verify(kafkaPublisherService, never()).publicarEvento(expirado);
+        verify(kafkaPublisherService, never()).publicarEvento(seguinte);
+        verify(outboxService, never()).renovarLeaseImediato(eq(seguinte), any(OffsetDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Deve estender o lease antes do envio quando a espera na fila consumir metade dele")
+    void deveEstenderLeaseAntesDoEnvio() {
+        // Arrange: lease de 5s com 1s restante
+        OutboxEvento evento = criarEvento(1L, "PAG-1");
+        evento.setBloqueadoAte(OffsetDateTime.now().plusSeconds(1));
+        when(outboxService.renovarLeaseImediato(eq(evento), any(OffsetDateTime.class))).thenReturn(true);
+        when(kafkaPublisherService.publicarEvento(evento))
+            .thenReturn(CompletableFuture.completedFuture(resultadoEnvio()));
+
+        // Act
+        boolean aceito = dispatcher.despacharImediato(evento, List.of());
+
+        // Assert
+        assertThat(aceito).isTrue();
+        verify(ackAgregador, timeout(1000)).registrarSucesso(1L);
+        assertThat(evento.getBloqueadoAte()).isAfter(OffsetDateTime.now().plusSeconds(20));
+    }
+
+    @Test
+    @DisplayName("Deve escolher sempre o mesmo worker para o mesmo agregado")
+    void deveEscolherSempreOMesmoWorkerParaOMesmoAgregado() {
+        // Act
+        int primeiro = dispatcher.indiceWorker("PAG-123");
+        int segundo = dispatcher.indiceWorker("PAG-123");
+
+        // Assert
+        assertThat(primeiro).isEqualTo(segundo).isBetween(0, 3);
+        assertThat(dispatcher.indiceWorker(null)).isZero();
+    }
+
+    private OutboxDispatcher dispatcherComUmWorker() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setWorkers(1);
+        OutboxDispatcher dispatcherUnico = new OutboxDispatcher(kafkaPublisherService, ackAgregador, outboxService, properties);
+        dispatcherUnico.iniciar();
+        return dispatcherUnico;
+    }
+
+    private OutboxEvento criarEvento(Long id, String agregadoId) {
+        return OutboxEvento.builder()
+            .id(id)
+            .agregadoId(agregadoId)
+            .agregadoTipo("Pagamento")
+            .eventoTipo("PagamentoCriado")
+            .payload(Map.of("id", agregadoId))
+            .topicoKafka("pagamento.eventos")
+            .status("PENDENTE")
+            .tentativas(0)
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SendResult<String, String> resultadoEnvio() {
+        return mock(SendResult.class);
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.sicredi.toolschallenge.infra.outbox.processor;
+
+import br.com.sicredi.toolschallenge.config.PostgreSQLIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração do NOTIFY do outbox (PostgreSQL via Testcontainers:
+ * trigger trg_outbox_notificar com a tabela infra.outbox_ouvinte da V20).
+ *
+ * Cenários testados:
+ * 1. Sem listener registrado (modo POLLING), o INSERT no outbox não notifica
+ * 2. Com listener registrado, o INSERT notifica no commit
+ * 3. Registro vencido deixa de notificar
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("OutboxNotificacaoListener - NOTIFY só com listener registrado")
+class OutboxNotificacaoIntegrationTest extends PostgreSQLIntegrationTest {
+
+    private static final String AGREGADO = "NOTIFY-TESTE";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Connection escuta;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        escuta = dataSource.getConnection();
+        try (Statement statement = escuta.createStatement()) {
+            statement.execute("LISTEN outbox_evento");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        escuta.close();
+        jdbcTemplate.update("DELETE FROM infra.outbox WHERE agregado_id = ?", AGREGADO);
+        jdbcTemplate.update("DELETE FROM infra.outbox_ouvinte");
+    }
+
+    @Test
+    @DisplayName("1. Sem listener registrado, o INSERT no outbox não notifica")
+    void naoDeveNotificarSemListenerRegistrado() throws Exception {
+        // Act
+        inserirEvento();
+
+        // Assert
+        assertThat(notificacoes()).isZero();
+    }
+
+    @Test
+    @DisplayName("2. Com listener registrado, o INSERT notifica no commit")
+    void deveNotificarComListenerRegistrado() throws Exception {
+        // Arrange
+        jdbcTemplate.update(OutboxNotificacaoListener.SQL_REGISTRAR, "instancia-1", 30);
+
+        // Act
+        inserirEvento();
+
+        // Assert
+        assertThat(notificacoes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("3. Registro vencido deixa de notificar")
+    void naoDeveNotificarComRegistroVencido() throws Exception {
+        // Arrange
+        jdbcTemplate.update("INSERT INTO infra.outbox_ouvinte (instancia, ativo_ate) VALUES (?, now() - INTERVAL '1 second')",
+            "instancia-caiu");
+
+        // Act
+        inserirEvento();
+
+        // Assert
+        assertThat(notificacoes()).isZero();
+    }
+
+    private void inserirEvento() {
+        jdbcTemplate.update("""
+            INSERT INTO infra.outbox (agregado_id, agregado_tipo, evento_tipo, payload, topico_kafka, status, tentativas)
+            VALUES (?, 'Pagamento', 'PagamentoCriado', '{}'::jsonb, 'pagamentos', 'PENDENTE', 0)
+            """, AGREGADO);
+    }
+
+    private int notificacoes() throws Exception {
+        PGNotification[] recebidas = escuta.unwrap(PGConnection.class).getNotifications(500);
+        return recebidas == null ? 0 : recebidas.length;
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.sicredi.toolschallenge.infra.outbox.processor;
+
+import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
+import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxProcessor - Testes Unitários")
+class OutboxProcessorTest {
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private OutboxDispatcher outboxDispatcher;
+
+    private OutboxProperties properties;
+
+    private OutboxProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        properties.setMaxLotesPorCiclo(3);
+        processor = new OutboxProcessor(outboxService, outboxDispatcher, properties);
+    }
+
+    @Test
+    @DisplayName("Deve continuar reivindicando enquanto os lotes vierem cheios")
+    void deveContinuarReivindicandoEnquantoLotesVieremCheios() {
+        // Arrange
+        when(outboxService.reivindicarEventosPendentes(2, 30))
+            .thenReturn(eventos(2))
+            .thenReturn(eventos(2))
+            .thenReturn(eventos(1));
+        when(outboxDispatcher.despachar(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        processor.processarEventosPendentes();
+
+        // Assert
+        verify(outboxService, times(3)).reivindicarEventosPendentes(2, 30);
+        verify(outboxDispatcher, times(3)).despachar(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar limite de lotes por ciclo")
+    void deveRespeitarLimiteDeLotesPorCiclo() {
+        // Arrange
+        when(outboxService.reivindicarEventosPendentes(2, 30)).thenReturn(eventos(2));
+        when(outboxDispatcher.despachar(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        processor.processarEventosPendentes();
+
+        // Assert
+        verify(outboxService, times(3)).reivindicarEventosPendentes(2, 30);
+    }
+
+    @Test
+    @DisplayName("Deve pular polling quando notificação estiver ativa e dentro do intervalo de fallback")
+    void devePularPollingQuandoNotificacaoAtiva() {
+        // Arrange
+        when(outboxService.reivindicarEventosPendentes(2, 30)).thenReturn(List.of());
+        processor.definirNotificacaoAtiva(true);
+        processor.acordar();
+
+        // Act
+        processor.processarEventosPendentes();
+
+        // Assert
+        verify(outboxService, times(1)).reivindicarEventosPendentes(2, 30);
+    }
+
+    @Test
+    @DisplayName("Deve manter polling normal quando notificação estiver inativa")
+    void deveManterPollingNormalQuandoNotificacaoInativa() {
+        // Arrange
+        when(outboxService.reivindicarEventosPendentes(2, 30)).thenReturn(List.of());
+        processor.acordar();
+
+        // Act
+        processor.processarEventosPendentes();
+
+        // Assert
+        verify(outboxService, times(2)).reivindicarEventosPendentes(2, 30);
+    }
+
+    @Test
+    @DisplayName("Deve drenar novamente quando acordado durante um ciclo em andamento")
+    void deveDrenarNovamenteQuandoAcordadoDuranteCiclo() {
+        // Arrange
+        when(outboxService.reivindicarEventosPendentes(2, 30))
+            .thenAnswer(invocation -> {
+                // Simula NOTIFY chegando durante o ciclo (outra thread)
+                processor.acordar();
+                return List.of();
+            })
+            .thenReturn(List.of());
+
+        // Act
+        processor.processarEventosPendentes();
+
+        // Assert
+        verify(outboxService, times(2)).reivindicarEventosPendentes(2, 30);
+    }
+
+    private List<OutboxEvento> eventos(int quantidade) {
+        List<OutboxEvento> eventos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            eventos.add(OutboxEvento.builder().id((long) i).agregadoId("PAG-" + i).build());
+        }
+        return eventos;
+    }
+}
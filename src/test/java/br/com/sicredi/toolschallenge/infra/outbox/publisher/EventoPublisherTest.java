@@ -0,0 +1,138 @@
+package br.com.sicredi.toolschallenge.infra.outbox.publisher;
+
+import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
+import br.com.sicredi.toolschallenge.infra.outbox.processor.OutboxDispatcher;
+import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService;
+import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService.EventoCriado;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventoPublisher - Testes Unitários")
+class EventoPublisherTest {
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private OutboxDispatcher outboxDispatcher;
+
+    private OutboxProperties outboxProperties;
+
+    private EventoPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        outboxProperties = new OutboxProperties();
+        publisher = new EventoPublisher(outboxService, new ObjectMapper(), outboxDispatcher, outboxProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Deve despachar evento imediatamente após o commit")
+    void deveDespacharEventoImediatamenteAposCommit() {
+        // Arrange
+        iniciarTransacao();
+        OutboxEvento salvo = OutboxEvento.builder().id(1L).agregadoId("TXN-1").build();
+        when(outboxService.criarEventoReivindicado(eq("TXN-1"), eq("Pagamento"), eq("PagamentoCriado"), anyMap(),
+                eq("pagamento.eventos"), any(OffsetDateTime.class))).thenReturn(new EventoCriado(salvo, List.of()));
+
+        // Act
+        publisher.publicarPagamentoCriado(Map.of("idTransacao", "TXN-1"));
+
+        // Assert - nada é publicado antes do commit
+        verify(outboxDispatcher, never()).despacharImediato(any(), anyList());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(outboxDispatcher).despacharImediato(salvo, List.of());
+    }
+
+    @Test
+    @DisplayName("Deve informar ao dispatcher os eventos anteriores não processados do agregado")
+    void deveInformarEventosAnterioresNaoProcessados() {
+        // Arrange
+        iniciarTransacao();
+        OutboxEvento salvo = OutboxEvento.builder().id(5L).agregadoId("TXN-3").build();
+        when(outboxService.criarEventoReivindicado(eq("TXN-3"), eq("Pagamento"), eq("PagamentoStatusAlterado"), anyMap(),
+                eq("pagamento.eventos"), any(OffsetDateTime.class))).thenReturn(new EventoCriado(salvo, List.of(3L, 4L)));
+
+        // Act
+        publisher.publicarPagamentoStatusAlterado(Map.of("idTransacao", "TXN-3"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        verify(outboxDispatcher).despacharImediato(salvo, List.of(3L, 4L));
+    }
+
+    @Test
+    @DisplayName("Não deve despachar evento quando a transação sofrer rollback")
+    void naoDeveDespacharEventoEmRollback() {
+        // Arrange
+        iniciarTransacao();
+        when(outboxService.criarEventoReivindicado(anyString(), anyString(), anyString(), anyMap(), anyString(),
+                any(OffsetDateTime.class))).thenReturn(new EventoCriado(OutboxEvento.builder().id(2L).build(), List.of()));
+
+        // Act
+        publisher.publicarPagamentoStatusAlterado(Map.of("idTransacao", "TXN-2"));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verify(outboxDispatcher, never()).despacharImediato(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve deixar evento para o polling quando não houver transação")
+    void deveDeixarEventoParaPollingSemTransacao() {
+        // Act
+        publisher.publicarEstornoCriado(Map.of("idTransacao", "EST-1"));
+
+        // Assert
+        verify(outboxService).criarEvento(eq("EST-1"), eq("Estorno"), eq("EstornoCriado"), anyMap(), eq("estorno.eventos"));
+        verifyNoInteractions(outboxDispatcher);
+    }
+
+    @Test
+    @DisplayName("Deve deixar evento para o polling quando publicação imediata estiver desabilitada")
+    void deveDeixarEventoParaPollingQuandoDesabilitada() {
+        // Arrange
+        outboxProperties.setPublicacaoImediata(false);
+        iniciarTransacao();
+
+        // Act
+        publisher.publicarEstornoStatusAlterado(Map.of("idTransacao", "EST-2"));
+
+        // Assert
+        verify(outboxService).criarEvento(eq("EST-2"), eq("Estorno"), eq("EstornoStatusAlterado"), anyMap(), eq("estorno.eventos"));
+        verifyNoInteractions(outboxDispatcher);
+    }
+
+    private void iniciarTransacao() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.sicredi.toolschallenge.infra.outbox.repository;
+
+import br.com.sicredi.toolschallenge.config.PostgreSQLIntegrationTest;
+import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da reivindicação do outbox (PostgreSQL via Testcontainers).
+ *
+ * Cenários testados:
+ * 1. Evento N com erro segura o N+1 do mesmo agregado, sem afetar outros agregados
+ * 2. Evento anterior PENDENTE com lease vencido segura o seguinte
+ * 3. Retry só reenvia o evento mais antigo com erro do agregado
+ * 4. N+1 é liberado depois que N é processado
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("OutboxEventoRepository - Ordem por agregado na reivindicação")
+class OutboxEventoRepositoryIntegrationTest extends PostgreSQLIntegrationTest {
+
+    private static final int MAX_TENTATIVAS = 3;
+
+    @Autowired
+    private OutboxEventoRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Remove os eventos de exemplo da V5 (desfeito no rollback do teste)
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("1. Evento N com erro segura o N+1 do mesmo agregado")
+    void eventoComErroDeveSegurarOSeguinte() {
+        // Arrange
+        OutboxEvento falhou = salvar("TX-1", "ERRO", null, OffsetDateTime.now().plusMinutes(5));
+        OutboxEvento seguinte = salvar("TX-1", "PENDENTE", null, null);
+        OutboxEvento outroAgregado = salvar("TX-2", "PENDENTE", null, null);
+
+        // Act
+        List<OutboxEvento> reivindicados = repository.reivindicarEventosPendentes(10);
+
+        // Assert
+        assertThat(reivindicados).extracting(OutboxEvento::getId)
+            .containsExactly(outroAgregado.getId())
+            .doesNotContain(falhou.getId(), seguinte.getId());
+    }
+
+    @Test
+    @DisplayName("2. Evento anterior PENDENTE com lease vencido segura o seguinte")
+    void eventoAnteriorComLeaseVencidoDeveSegurarOSeguinte() {
+        // Arrange
+        OutboxEvento anterior = salvar("TX-3", "PENDENTE", OffsetDateTime.now().minusMinutes(1), null);
+        salvar("TX-3", "PENDENTE", null, null);
+
+        // Act
+        List<OutboxEvento> reivindicados = repository.reivindicarEventosPendentes(10);
+
+        // Assert
+        assertThat(reivindicados).extracting(OutboxEvento::getId).containsExactly(anterior.getId());
+    }
+
+    @Test
+    @DisplayName("3. Retry só reenvia o evento mais antigo com erro do agregado")
+    void retryDeveRespeitarOrdemDoAgregado() {
+        // Arrange
+        OffsetDateTime vencida = OffsetDateTime.now().minusSeconds(1);
+        OutboxEvento primeiro = salvar("TX-4", "ERRO", null, vencida);
+        salvar("TX-4", "ERRO", null, vencida);
+
+        // Act
+        List<OutboxEvento> reivindicados = repository.reivindicarEventosParaRetry(MAX_TENTATIVAS, 10);
+
+        // Assert
+        assertThat(reivindicados).extracting(OutboxEvento::getId).containsExactly(primeiro.getId());
+    }
+
+    @Test
+    @DisplayName("4. N+1 é liberado depois que N é processado")
+    void seguinteDeveSerLiberadoAposProcessamento() {
+        // Arrange
+        OutboxEvento falhou = salvar("TX-5", "ERRO", null, OffsetDateTime.now().plusMinutes(5));
+        OutboxEvento seguinte = salvar("TX-5", "PENDENTE", null, null);
+        assertThat(repository.reivindicarEventosPendentes(10)).isEmpty();
+
+        // Act
+        repository.marcarComoProcessados(List.of(falhou.getId()), OffsetDateTime.now());
+
+        // Assert
+        assertThat(repository.reivindicarEventosPendentes(10))
+            .extracting(OutboxEvento::getId).containsExactly(seguinte.getId());
+    }
+
+    private OutboxEvento salvar(String agregadoId, String status, OffsetDateTime bloqueadoAte,
+                                OffsetDateTime proximaTentativaEm) {
+        return repository.saveAndFlush(OutboxEvento.builder()
+            .agregadoId(agregadoId)
+            .agregadoTipo("Pagamento")
+            .eventoTipo("PagamentoStatusAlterado")
+            .payload(Map.of("idTransacao", agregadoId))
+            .topicoKafka("pagamentos")
+            .status(status)
+            .tentativas("ERRO".equals(status) ? 1 : 0)
+            .bloqueadoAte(bloqueadoAte)
+            .proximaTentativaEm(proximaTentativaEm)
+            .build());
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.sicredi.toolschallenge.infra.outbox.service;
+
+import br.com.sicredi.toolschallenge.config.PostgreSQLIntegrationTest;
+import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
+import br.com.sicredi.toolschallenge.infra.outbox.repository.OutboxEventoRepository;
+import br.com.sicredi.toolschallenge.infra.outbox.service.OutboxService.EventoCriado;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da criação de eventos da publicação imediata
+ * (PostgreSQL via Testcontainers: INSERT com os anteriores não processados).
+ *
+ * Cada teste roda na transação do @DataJpaTest e é desfeito no rollback.
+ *
+ * Cenários testados:
+ * 1. O insert devolve os anteriores PENDENTE e ERRO do agregado, sem o próprio evento
+ * 2. Agregado sem eventos anteriores não processados devolve lista vazia
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("OutboxService - Criação com eventos anteriores do agregado")
+class OutboxServiceIntegrationTest extends PostgreSQLIntegrationTest {
+
+    @Autowired
+    private OutboxEventoRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private OutboxService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OutboxService(repository, new OutboxProperties(), jdbcTemplate, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("1. O insert devolve os anteriores PENDENTE e ERRO do agregado, sem o próprio evento")
+    void deveDevolverAnterioresPendentesEComErro() {
+        // Arrange
+        OutboxEvento pendente = salvar("TX-ANT-1", "PENDENTE");
+        OutboxEvento comErro = salvar("TX-ANT-1", "ERRO");
+        salvar("TX-ANT-1", "PROCESSADO");
+        salvar("TX-ANT-2", "PENDENTE");
+        OffsetDateTime bloqueadoAte = OffsetDateTime.now().plusSeconds(5);
+
+        // Act
+        EventoCriado criado = service.criarEventoReivindicado("TX-ANT-1", "Pagamento", "PagamentoStatusAlterado",
+            Map.of("status", "AUTORIZADO"), "pagamento.eventos", bloqueadoAte);
+
+        // Assert
+        assertThat(criado.anterioresNaoProcessados()).containsExactly(pendente.getId(), comErro.getId());
+        assertThat(criado.evento().getId()).isGreaterThan(comErro.getId());
+        assertThat(repository.findById(criado.evento().getId())).hasValueSatisfying(salvo -> {
+            assertThat(salvo.getStatus()).isEqualTo("PENDENTE");
+            assertThat(salvo.getPayload()).containsEntry("status", "AUTORIZADO");
+            assertThat(salvo.getBloqueadoAte()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("2. Agregado sem eventos anteriores não processados devolve lista vazia")
+    void deveDevolverListaVaziaSemAnteriores() {
+        // Arrange
+        salvar("TX-ANT-3", "PROCESSADO");
+
+        // Act
+        EventoCriado primeiro = service.criarEventoReivindicado("TX-ANT-3", "Pagamento", "PagamentoCriado",
+            Map.of(), "pagamento.eventos", OffsetDateTime.now().plusSeconds(5));
+        EventoCriado segundo = service.criarEventoReivindicado("TX-ANT-3", "Pagamento", "PagamentoStatusAlterado",
+            Map.of(), "pagamento.eventos", OffsetDateTime.now().plusSeconds(5));
+
+        // Assert: o segundo enxerga o primeiro, criado na mesma transação
+        assertThat(primeiro.anterioresNaoProcessados()).isEmpty();
+        assertThat(segundo.anterioresNaoProcessados()).containsExactly(primeiro.evento().getId());
+    }
+
+    private OutboxEvento salvar(String agregadoId, String status) {
+        return repository.saveAndFlush(OutboxEvento.builder()
+            .agregadoId(agregadoId)
+            .agregadoTipo("Pagamento")
+            .eventoTipo("PagamentoCriado")
+            .payload(Map.of())
+            .topicoKafka("pagamento.eventos")
+            .status(status)
+            .tentativas(0)
+            .build());
+    }
+}
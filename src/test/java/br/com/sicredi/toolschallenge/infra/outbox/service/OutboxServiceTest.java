@@ -2,11 +2,13 @@ package br.com.sicredi.toolschallenge.infra.outbox.service;
 
 import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
 import br.com.sicredi.toolschallenge.infra.outbox.repository.OutboxEventoRepository;
+import br.com.sicredi.toolschallenge.shared.config.OutboxProperties;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.OffsetDateTime;
@@ -25,6 +27,9 @@ class OutboxServiceTest {
     @Mock
     private OutboxEventoRepository repository;
 
+    @Spy
+    private OutboxProperties outboxProperties = new OutboxProperties();
+
     @InjectMocks
     private OutboxService service;
 
@@ -111,22 +116,87 @@ class OutboxServiceTest {
     }
 
     @Test
-    @DisplayName("Deve buscar eventos para retry")
-    void deveBuscarEventosParaRetry() {
+    @DisplayName("Deve reivindicar eventos pendentes gravando lease")
+    void deveReivindicarEventosPendentesGravandoLease() {
+        // Arrange
+        OutboxEvento evento1 = criarEvento(1L, "PAG-001", "PENDENTE");
+        OutboxEvento evento2 = criarEvento(2L, "PAG-002", "PENDENTE");
+
+        when(repository.reivindicarEventosPendentes(100)).thenReturn(List.of(evento1, evento2));
+
+        // Act
+        OffsetDateTime antes = OffsetDateTime.now();
+        List<OutboxEvento> resultado = service.reivindicarEventosPendentes(100, 30);
+
+        // Assert
+        assertThat(resultado).containsExactly(evento1, evento2);
+        assertThat(resultado).allSatisfy(evento ->
+            assertThat(evento.getBloqueadoAte()).isAfterOrEqualTo(antes.plusSeconds(30)));
+
+        verify(repository).renovarLease(eq(List.of(1L, 2L)), any(OffsetDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Não deve gravar lease quando não há eventos para reivindicar")
+    void naoDeveGravarLeaseQuandoNaoHaEventosParaReivindicar() {
+        // Arrange
+        when(repository.reivindicarEventosPendentes(100)).thenReturn(List.of());
+
+        // Act
+        List<OutboxEvento> resultado = service.reivindicarEventosPendentes(100, 30);
+
+        // Assert
+        assertThat(resultado).isEmpty();
+        verify(repository, never()).renovarLease(anyList(), any(OffsetDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Deve estender o lease da publicação imediata só enquanto o lease do insert vale")
+    void deveEstenderLeaseDaPublicacaoImediata() {
+        // Arrange
+        OffsetDateTime leaseInsert = OffsetDateTime.now().plusSeconds(1);
+        OffsetDateTime novoLease = leaseInsert.plusSeconds(30);
+        OutboxEvento evento = criarEvento(1L, "PAG-001", "PENDENTE");
+        evento.setBloqueadoAte(leaseInsert);
+        when(repository.renovarLeaseImediato(1L, leaseInsert.plusSeconds(1), novoLease)).thenReturn(1, 0);
+
+        // Act & Assert
+        assertThat(service.renovarLeaseImediato(evento, novoLease)).isTrue();
+        assertThat(service.renovarLeaseImediato(evento, novoLease)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve reivindicar eventos para retry adiando a próxima tentativa")
+    void deveReivindicarEventosParaRetry() {
         // Arrange
         OutboxEvento evento = criarEvento(1L, "PAG-001", "ERRO");
-        List<OutboxEvento> eventosParaRetry = List.of(evento);
+        outboxProperties.setMaxTentativas(5);
 
-        when(repository.findEventosParaRetry()).thenReturn(eventosParaRetry);
+        when(repository.reivindicarEventosParaRetry(5, 100)).thenReturn(List.of(evento));
 
         // Act
-        List<OutboxEvento> resultado = service.buscarEventosParaRetry();
+        OffsetDateTime antes = OffsetDateTime.now();
+        List<OutboxEvento> resultado = service.reivindicarEventosParaRetry(100, 30);
 
         // Assert
-        assertThat(resultado).hasSize(1);
-        assertThat(resultado.get(0)).isEqualTo(evento);
-        
-        verify(repository).findEventosParaRetry();
+        assertThat(resultado).containsExactly(evento);
+        assertThat(evento.getProximaTentativaEm()).isAfterOrEqualTo(antes.plusSeconds(30));
+
+        verify(repository).adiarProximaTentativa(eq(List.of(1L)), any(OffsetDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Não deve adiar tentativas quando nenhum retry venceu")
+    void naoDeveAdiarTentativasQuandoNenhumRetryVenceu() {
+        // Arrange
+        when(repository.reivindicarEventosParaRetry(3, 100)).thenReturn(List.of());
+
+        // Act
+        List<OutboxEvento> resultado = service.reivindicarEventosParaRetry(100, 30);
+
+        // Assert
+        assertThat(resultado).isEmpty();
+        verify(repository, never()).adiarProximaTentativa(anyList(), any(OffsetDateTime.class));
     }
 
     @Test
@@ -167,45 +237,99 @@ class OutboxServiceTest {
     }
 
     @Test
-    @DisplayName("Deve marcar evento como erro")
+    @DisplayName("Deve marcar evento como erro agendando backoff")
     void deveMarcarEventoComoErro() {
         // Arrange
         Long eventoId = 456L;
         String mensagemErro = "Kafka timeout";
-        OutboxEvento evento = criarEvento(eventoId, "EST-001", "PENDENTE");
-
-        when(repository.findById(eventoId)).thenReturn(Optional.of(evento));
-        when(repository.save(any(OutboxEvento.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         service.marcarComoErro(eventoId, mensagemErro);
 
         // Assert
-        verify(repository).findById(eventoId);
-        verify(repository).save(argThat(e -> 
-            e.getStatus().equals("ERRO") &&
-            e.getUltimoErro().equals(mensagemErro) &&
-            e.getTentativas() == 1
-        ));
+        verify(repository).marcarComoErro(List.of(eventoId), mensagemErro, 3, 2, 300);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve marcar lote de eventos como processados em um único UPDATE")
+    void deveMarcarLoteDeEventosComoProcessados() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(repository.marcarComoProcessados(eq(ids), any(OffsetDateTime.class))).thenReturn(3);
+
+        // Act
+        int resultado = service.marcarComoProcessados(ids);
+
+        // Assert
+        assertThat(resultado).isEqualTo(3);
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any(OutboxEvento.class));
     }
 
     @Test
-    @DisplayName("Deve limpar eventos processados antigos")
+    @DisplayName("Deve marcar lote de eventos como erro em um único UPDATE")
+    void deveMarcarLoteDeEventosComoErro() {
+        // Arrange
+        List<Long> ids = List.of(4L, 5L);
+        outboxProperties.setMaxTentativas(5);
+        outboxProperties.setBackoffBaseSegundos(1);
+        outboxProperties.setBackoffMaximoSegundos(60);
+        when(repository.marcarComoErro(ids, "Kafka timeout", 5, 1, 60)).thenReturn(2);
+
+        // Act
+        int resultado = service.marcarComoErro(ids, "Kafka timeout");
+
+        // Assert
+        assertThat(resultado).isEqualTo(2);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve limpar eventos processados antigos removendo partições")
     void deveLimparEventosProcessadosAntigos() {
         // Arrange
         int diasRetencao = 30;
-        int quantidadeRemovida = 42;
 
-        when(repository.deleteEventosProcessadosAntigos(any(OffsetDateTime.class)))
-            .thenReturn(quantidadeRemovida);
+        when(repository.removerParticaoExpirada(diasRetencao, 1000)).thenReturn(1, 1, 0);
 
         // Act
         int resultado = service.limparEventosProcessadosAntigos(diasRetencao);
 
         // Assert
-        assertThat(resultado).isEqualTo(42);
+        assertThat(resultado).isEqualTo(2);
         
-        verify(repository).deleteEventosProcessadosAntigos(any(OffsetDateTime.class));
+        verify(repository, times(3)).removerParticaoExpirada(diasRetencao, 1000);
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo a remoção de partição após lock_timeout e desistir no limite")
+    void deveTentarDeNovoRemocaoAposLockTimeout() {
+        // Arrange
+        outboxProperties.setLockTimeoutRemocaoParticaoMs(1);
+        outboxProperties.setTentativasRemocaoParticao(2);
+        when(repository.removerParticaoExpirada(30, 1)).thenReturn(-1, 1, -1, -1);
+
+        // Act
+        int resultado = service.limparEventosProcessadosAntigos(30);
+
+        // Assert: 1 timeout, 1 removida e mais 2 timeouts (limite de 2 novas tentativas excedido)
+        assertThat(resultado).isEqualTo(1);
+        verify(repository, times(4)).removerParticaoExpirada(30, 1);
+    }
+
+    @Test
+    @DisplayName("Deve criar partições futuras do outbox")
+    void deveCriarParticoesFuturas() {
+        // Arrange
+        when(repository.criarParticoesFuturas(7)).thenReturn(1);
+
+        // Act
+        int resultado = service.criarParticoesFuturas(7);
+
+        // Assert
+        assertThat(resultado).isEqualTo(1);
+        verify(repository).criarParticoesFuturas(7);
     }
 
     @Test
@@ -0,0 +1,267 @@
+package br.com.sicredi.toolschallenge.infra.replica;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários do RoteadorDataSource com ReplicasLeitura e JanelaLeituraEscrita.
+ *
+ * O atraso de cada réplica é simulado (sem banco); a transação corrente é
+ * simulada pelo TransactionSynchronizationManager.
+ *
+ * Cenários testados:
+ * 1. Sem transação: primário
+ * 2. Transação somente leitura: réplicas em rodízio
+ * 3. Réplica com atraso acima do máximo ou sem resposta: fora do rodízio
+ * 4. Nenhuma réplica disponível (inclusive antes da primeira verificação): primário
+ * 5. Escrita: primário; após o commit, leituras do mesmo cliente vão ao primário
+ * 6. Escrita desfeita (rollback): não abre a janela do cliente
+ * 7. Métrica datasource.roteamento por destino e motivo
+ * 8. Atraso desconhecido (NULL) medido na réplica: fora do rodízio
+ */
+@DisplayName("RoteadorDataSource - Testes Unitários")
+class RoteadorDataSourceTest {
+
+    private static final long LAG_MAXIMO_MS = 1000;
+
+    private final DataSource primario = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+    private final Map<String, Long> lags = new HashMap<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReplicasLeitura replicas;
+    private RoteadorDataSource roteador;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> bancos = new LinkedHashMap<>();
+        bancos.put("replica-1", replica1);
+        bancos.put("replica-2", replica2);
+        replicas = new ReplicasLeitura(bancos, LAG_MAXIMO_MS, meterRegistry) {
+            @Override
+            long medirLag(String nome, DataSource dataSource) {
+                return lags.get(nome);
+            }
+        };
+
+        roteador = new RoteadorDataSource(primario, replicas,
+                new JanelaLeituraEscrita(Duration.ofSeconds(30)), meterRegistry);
+        roteador.afterPropertiesSet();
+
+        lags.put("replica-1", 0L);
+        lags.put("replica-2", 200L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("1. Deve usar o primário fora de transação")
+    void deveUsarPrimarioForaDeTransacao() {
+        // Arrange
+        replicas.verificar();
+
+        // Act & Assert
+        assertThat(roteador.determineCurrentLookupKey()).isEqualTo(RoteadorDataSource.PRIMARIO);
+    }
+
+    @Test
+    @DisplayName("2. Deve distribuir transações somente leitura entre as réplicas")
+    void deveDistribuirLeiturasEntreReplicas() {
+        // Arrange
+        replicas.verificar();
+        iniciarTransacao(true);
+
+        // Act
+        List<Object> destinos = List.of(
+                roteador.determineCurrentLookupKey(),
+                roteador.determineCurrentLookupKey(),
+                roteador.determineCurrentLookupKey());
+
+        // Assert
+        assertThat(destinos).containsExactly("replica-1", "replica-2", "replica-1");
+    }
+
+    @Test
+    @DisplayName("3. Deve tirar do rodízio a réplica atrasada ou sem resposta")
+    void deveTirarReplicaAtrasadaDoRodizio() {
+        // Arrange
+        lags.put("replica-2", LAG_MAXIMO_MS + 1);
+        replicas.verificar();
+        iniciarTransacao(true);
+
+        // Act & Assert
+        assertThat(roteador.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(roteador.determineCurrentLookupKey()).isEqualTo("replica-1");
+
+        // Arrange: réplica 1 sem resposta, réplica 2 recuperada
+        lags.put("replica-1", -1L);
+        lags.put("replica-2", 0L);
+        replicas.verificar();
+
+        // Act & Assert
+        assertThat(roteador.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value())
+                .isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("4. Deve usar o primário sem réplica disponível")
+    void deveUsarPrimarioSemReplicaDisponivel() {
+        // Arrange: antes da primeira verificação
+        iniciarTransacao(true);
+
+        // Act & Assert
+        assertThat(roteador.determineCurrentLookupKey()).isEqualTo(RoteadorDataSource.PRIMARIO);
+
+        // Arrange: todas acima do atraso máximo
+        lags.put("replica-1", LAG_MAXIMO_MS * 5);
+        lags.put("replica-2", -1L);
+        replicas.verificar();
+
+        // Act & Assert
+        assertThat(roteador.determineCurrentLookupKey()).isEqualTo(RoteadorDataSource.PRIMARIO);
+        assertThat(meterRegistry.get("datasource.replicas.disponiveis").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("5. Deve ler do primário logo após a escrita do mesmo cliente")
+    void deveLerDoPrimarioAposEscritaDoMesmoCliente() {
+        // Arrange
+        replicas.verificar();
+        autenticar("cliente-a");
+        iniciarTransacao(false);
+
+        // Act: escrita e commit
+        Object destinoEscrita = roteador.determineCurrentLookupKey();
+        concluirTransacao(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertThat(destinoEscrita).isEqualTo(RoteadorDataSource.PRIMARIO);
+
+        iniciarTransacao(true);
+        assertThat(roteador.determineCurrentLookupKey()).isEqualTo(RoteadorDataSource.PRIMARIO);
+
+        autenticar("cliente-b");
+        assertThat(roteador.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    @DisplayName("6. Não deve abrir a janela do cliente em escrita desfeita")
+    void naoDeveAbrirJanelaEmEscritaDesfeita() {
+        // Arrange
+        replicas.verificar();
+        autenticar("cliente-a");
+        iniciarTransacao(false);
+
+        // Act: escrita e rollback
+        roteador.determineCurrentLookupKey();
+        concluirTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        iniciarTransacao(true);
+        assertThat(roteador.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    @DisplayName("7. Deve contar as conexões por destino e motivo")
+    void deveContarConexoesPorDestinoEMotivo() {
+        // Arrange
+        replicas.verificar();
+        autenticar("cliente-a");
+
+        // Act
+        roteador.determineCurrentLookupKey();
+        iniciarTransacao(false);
+        roteador.determineCurrentLookupKey();
+        concluirTransacao(TransactionSynchronization.STATUS_COMMITTED);
+        iniciarTransacao(true);
+        roteador.determineCurrentLookupKey();
+        autenticar("cliente-b");
+        roteador.determineCurrentLookupKey();
+        roteador.determineCurrentLookupKey();
+
+        // Assert
+        assertThat(contagem("primario", "sem-transacao")).isEqualTo(1);
+        assertThat(contagem("primario", "escrita")).isEqualTo(1);
+        assertThat(contagem("primario", "leitura-apos-escrita")).isEqualTo(1);
+        assertThat(contagem("replica", "leitura")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("8. Deve tratar atraso desconhecido como acima do máximo")
+    void deveTratarAtrasoDesconhecidoComoAcimaDoMaximo() throws Exception {
+        // Arrange: réplica desconectada do primário (SQL_LAG devolve NULL)
+        DataSource desconectada = mock(DataSource.class);
+        Connection conexao = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultado = mock(ResultSet.class);
+        when(desconectada.getConnection()).thenReturn(conexao);
+        when(conexao.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicasLeitura.SQL_LAG)).thenReturn(resultado);
+        when(resultado.next()).thenReturn(true);
+        when(resultado.getDouble(1)).thenReturn(0.0);
+        when(resultado.wasNull()).thenReturn(true);
+        ReplicasLeitura medidas = new ReplicasLeitura(Map.of("replica-3", desconectada), LAG_MAXIMO_MS,
+                new SimpleMeterRegistry());
+
+        // Act
+        medidas.verificar();
+
+        // Assert
+        assertThat(medidas.medirLag("replica-3", desconectada)).isEqualTo(-1);
+        assertThat(medidas.proxima()).isNull();
+    }
+
+    private void iniciarTransacao(boolean somenteLeitura) {
+        TransactionSynchronizationManager.clear();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(somenteLeitura);
+    }
+
+    private void concluirTransacao(int status) {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+        }
+        sincronizacoes.forEach(sincronizacao -> sincronizacao.afterCompletion(status));
+        TransactionSynchronizationManager.clear();
+    }
+
+    private static void autenticar(String cliente) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(cliente, null, List.of()));
+    }
+
+    private double contagem(String destino, String motivo) {
+        return meterRegistry.get("datasource.roteamento").tag("destino", destino).tag("motivo", motivo)
+                .counter().count();
+    }
+}
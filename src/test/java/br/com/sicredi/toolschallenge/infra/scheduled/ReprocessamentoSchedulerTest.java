@@ -11,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CountDownLatch;
+
 import static org.mockito.Mockito.*;
 
 /**
@@ -191,6 +193,31 @@ class ReprocessamentoSchedulerTest {
     // Testes de Múltiplas Execuções
     // ========================================================================
 
+    @Test
+    @DisplayName("Não deve iniciar job de pagamentos enquanto a execução anterior não terminar")
+    void naoDeveSobreporExecucoesDoJobPagamentos() throws Exception {
+        // Arrange
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            emExecucao.countDown();
+            liberar.await();
+            return null;
+        }).when(pagamentoService).reprocessarPagamentosPendentes();
+
+        Thread primeiraExecucao = new Thread(scheduler::reprocessarPagamentosPendentes);
+        primeiraExecucao.start();
+        emExecucao.await();
+
+        // Act - Ciclo seguinte chega com o job anterior ainda rodando
+        scheduler.reprocessarPagamentosPendentes();
+        liberar.countDown();
+        primeiraExecucao.join();
+
+        // Assert
+        verify(pagamentoService, times(1)).reprocessarPagamentosPendentes();
+    }
+
     @Test
     @DisplayName("Deve permitir múltiplas execuções consecutivas do job de estornos")
     void devePermitirMultiplasExecucoesJobEstornos() {
@@ -0,0 +1,84 @@
+package br.com.sicredi.toolschallenge.infra.snowflake;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga do GeradorSnowflake.
+ *
+ * Várias threads geram IDs ao mesmo tempo no mesmo gerador. O teto teórico é
+ * de 4096 IDs/ms por instância (12 bits de sequência); o gerador deve chegar
+ * a milhões de IDs/s sem repetir nenhum e com cada thread vendo IDs crescentes.
+ */
+@DisplayName("GeradorSnowflake - Teste de Carga")
+class GeradorSnowflakeCargaTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_POR_THREAD = 500_000;
+
+    @Test
+    @DisplayName("Deve gerar milhões de IDs por segundo sem repetição entre threads")
+    void deveGerarMilhoesDeIdsPorSegundoSemRepeticao() throws Exception {
+        // Arrange
+        GeradorSnowflake gerador = new GeradorSnowflake(GeradorSnowflake.EPOCH_PADRAO_MS, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try {
+            Future<?>[] futuros = new Future<?>[THREADS];
+            long[][] gerados = new long[THREADS][IDS_POR_THREAD];
+            for (int t = 0; t < THREADS; t++) {
+                long[] ids = gerados[t];
+                futuros[t] = executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < IDS_POR_THREAD; i++) {
+                        ids[i] = gerador.proximoId();
+                    }
+                    return null;
+                });
+            }
+
+            // Act
+            long inicio = System.nanoTime();
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+            double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+            double vazao = THREADS * IDS_POR_THREAD / segundos;
+
+            // Assert: crescentes por thread
+            int foraDeOrdem = 0;
+            for (long[] ids : gerados) {
+                for (int i = 1; i < ids.length; i++) {
+                    if (ids[i] <= ids[i - 1]) {
+                        foraDeOrdem++;
+                    }
+                }
+            }
+            assertThat(foraDeOrdem).isZero();
+
+            // Assert: nenhum ID repetido entre threads
+            long[] todos = Arrays.stream(gerados).flatMapToLong(Arrays::stream).sorted().toArray();
+            int repetidos = 0;
+            for (int i = 1; i < todos.length; i++) {
+                if (todos[i] == todos[i - 1]) {
+                    repetidos++;
+                }
+            }
+            assertThat(repetidos).isZero();
+
+            assertThat(vazao).isGreaterThan(1_000_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.sicredi.toolschallenge.infra.snowflake;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários do GeradorSnowflake.
+ *
+ * Cenários testados:
+ * 1. Layout: timestamp, worker id e sequência extraídos do ID
+ * 2. Mesmo milissegundo: sequência incrementa
+ * 3. Sequência esgotada: aguarda o próximo milissegundo
+ * 4. Regressão do relógio dentro da tolerância: IDs continuam crescentes
+ * 5. Regressão além da tolerância: geração recusada
+ * 6. Lease perdido: geração recusada
+ * 7. Worker id fora da faixa: rejeitado
+ */
+@DisplayName("GeradorSnowflake - Testes Unitários")
+class GeradorSnowflakeTest {
+
+    private static final long EPOCH = GeradorSnowflake.EPOCH_PADRAO_MS;
+    private static final long AGORA = EPOCH + 1_000_000L;
+
+    @Test
+    @DisplayName("1. Deve embutir timestamp e worker id no ID")
+    void deveEmbutirTimestampEWorkerId() {
+        // Arrange
+        GeradorSnowflake gerador = new GeradorSnowflake(EPOCH, 513, 1000, () -> AGORA, () -> true);
+
+        // Act
+        long id = gerador.proximoId();
+
+        // Assert
+        assertThat(id).isPositive();
+        assertThat(gerador.timestampDe(id)).isEqualTo(AGORA);
+        assertThat(GeradorSnowflake.workerIdDe(id)).isEqualTo(513);
+    }
+
+    @Test
+    @DisplayName("2. Deve incrementar a sequência no mesmo milissegundo")
+    void deveIncrementarSequenciaNoMesmoMilissegundo() {
+        // Arrange
+        GeradorSnowflake gerador = new GeradorSnowflake(EPOCH, 1, 1000, () -> AGORA, () -> true);
+
+        // Act
+        long primeiro = gerador.proximoId();
+        long segundo = gerador.proximoId();
+
+        // Assert
+        assertThat(segundo).isEqualTo(primeiro + 1);
+        assertThat(gerador.timestampDe(segundo)).isEqualTo(AGORA);
+        assertThat(GeradorSnowflake.workerIdDe(segundo)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("3. Deve aguardar o próximo milissegundo quando a sequência esgota")
+    void deveAguardarProximoMilissegundoQuandoSequenciaEsgota() {
+        // Arrange: o relógio só avança depois de 4096 leituras no mesmo milissegundo
+        AtomicLong leituras = new AtomicLong();
+        GeradorSnowflake gerador = new GeradorSnowflake(EPOCH, 1, 1000,
+            () -> leituras.incrementAndGet() <= 4200 ? AGORA : AGORA + 1, () -> true);
+
+        // Act
+        long ultimo = 0;
+        for (int i = 0; i < 4097; i++) {
+            long id = gerador.proximoId();
+            assertThat(id).isGreaterThan(ultimo);
+            ultimo = id;
+        }
+
+        // Assert: o 4097º ID está no milissegundo seguinte, com o mesmo worker id
+        assertThat(gerador.timestampDe(ultimo)).isEqualTo(AGORA + 1);
+        assertThat(GeradorSnowflake.workerIdDe(ultimo)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("4. Deve continuar crescente quando o relógio regride dentro da tolerância")
+    void deveContinuarCrescenteQuandoRelogioRegrideDentroDaTolerancia() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong(AGORA);
+        GeradorSnowflake gerador = new GeradorSnowflake(EPOCH, 1, 1000, relogio::get, () -> true);
+        long antes = gerador.proximoId();
+
+        // Act
+        relogio.set(AGORA - 500);
+        long depois = gerador.proximoId();
+
+        // Assert
+        assertThat(depois).isGreaterThan(antes);
+        assertThat(gerador.timestampDe(depois)).isEqualTo(AGORA);
+    }
+
+    @Test
+    @DisplayName("5. Deve recusar gerar IDs quando o relógio regride além da tolerância")
+    void deveRecusarQuandoRelogioRegrideAlemDaTolerancia() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong(AGORA);
+        GeradorSnowflake gerador = new GeradorSnowflake(EPOCH, 1, 1000, relogio::get, () -> true);
+        gerador.proximoId();
+
+        // Act
+        relogio.set(AGORA - 5000);
+
+        // Assert
+        assertThatThrownBy(gerador::proximoId)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Relógio regrediu");
+    }
+
+    @Test
+    @DisplayName("6. Deve recusar gerar IDs quando o lease do worker id é perdido")
+    void deveRecusarQuandoLeasePerdido() {
+        // Arrange
+        AtomicBoolean leaseValido = new AtomicBoolean(true);
+        GeradorSnowflake gerador = new GeradorSnowflake(EPOCH, 1, 1000, () -> AGORA, leaseValido::get);
+        gerador.proximoId();
+
+        // Act
+        leaseValido.set(false);
+
+        // Assert
+        assertThatThrownBy(gerador::proximoId)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Lease do worker id 1 perdido");
+    }
+
+    @Test
+    @DisplayName("7. Deve rejeitar worker id fora da faixa de 10 bits")
+    void deveRejeitarWorkerIdForaDaFaixa() {
+        assertThatThrownBy(() -> new GeradorSnowflake(EPOCH, 1024))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GeradorSnowflake(EPOCH, -1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
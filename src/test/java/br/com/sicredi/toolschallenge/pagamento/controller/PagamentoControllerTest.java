@@ -3,10 +3,15 @@ package br.com.sicredi.toolschallenge.pagamento.controller;
 import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
 import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
 import br.com.sicredi.toolschallenge.pagamento.dto.*;
+import br.com.sicredi.toolschallenge.pagamento.service.PagamentoExportacaoService;
+import br.com.sicredi.toolschallenge.pagamento.service.PagamentoLoteService;
 import br.com.sicredi.toolschallenge.pagamento.service.PagamentoService;
 import br.com.sicredi.toolschallenge.shared.exception.GlobalExceptionHandler;
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
 import br.com.sicredi.toolschallenge.shared.exception.RecursoNaoEncontradoException;
+import br.com.sicredi.toolschallenge.shared.paginacao.PaginaDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +31,8 @@ import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,12 +52,18 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - Idempotência: Testes movidos para PagamentoIntegrationTest (requerem infraestrutura)
  * - Segurança: Testes de 401/403 estão em SecurityIntegrationTest
  * 
- * Cenários testados (5):
+ * Cenários testados (11):
  * 1. POST /pagamentos com Idempotency-Key → 201 Created
  * 2. GET /pagamentos/{id} encontrado → 200 OK
  * 3. GET /pagamentos/{id} não encontrado → 404 Not Found
  * 4. GET /pagamentos → 200 OK (lista todos)
  * 5. POST /pagamentos com validação inválida → 400 Bad Request
+ * 6. POST /pagamentos/assincrono → 202 Accepted com Location
+ * 7. POST /pagamentos/lote → 200 OK com resultado por item
+ * 8. GET /pagamentos/busca → 200 OK com itens e próximo cursor
+ * 9. GET /pagamentos/busca com cursor inválido → 400 Bad Request
+ * 10. GET /pagamentos/export?formato=csv → 200 OK com gzip e anexo
+ * 11. GET /pagamentos/export com formato inválido → 400 Bad Request
  */
 @WebMvcTest(controllers = PagamentoController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -68,6 +81,12 @@ class PagamentoControllerTest {
     @MockBean
     private PagamentoService pagamentoService;
 
+    @MockBean
+    private PagamentoLoteService pagamentoLoteService;
+
+    @MockBean
+    private PagamentoExportacaoService pagamentoExportacaoService;
+
     // Mock necessário: IdempotenciaInterceptor está registrado no WebMvcConfigurer
     @MockBean
     private br.com.sicredi.toolschallenge.infra.idempotencia.service.IdempotenciaService idempotenciaService;
@@ -246,36 +265,16 @@ class PagamentoControllerTest {
     @DisplayName("4. GET /pagamentos → 200 OK (lista todos)")
     void deveListarTodosPagamentos() throws Exception {
         // Arrange
-        TransacaoDTO transacao1 = TransacaoDTO.builder()
-            .id("1000235689003") // 13 dígitos
-            .descricao(DescricaoDTO.builder()
-                .estabelecimento("Loja ABC")
-                .valor(new BigDecimal("100.00"))
-                .build())
-            .status(StatusPagamento.AUTORIZADO.name())
-            .build();
-
-        TransacaoDTO transacao2 = TransacaoDTO.builder()
-            .id("1000235689004") // 13 dígitos
-            .descricao(DescricaoDTO.builder()
-                .estabelecimento("Loja XYZ")
-                .valor(new BigDecimal("200.00"))
-                .build())
-            .status(StatusPagamento.NEGADO.name())
-            .build();
-
-        PagamentoResponseDTO pagamento1 = PagamentoResponseDTO.builder()
-            .transacao(transacao1)
-            .build();
-
-        PagamentoResponseDTO pagamento2 = PagamentoResponseDTO.builder()
-            .transacao(transacao2)
-            .build();
-
-        List<PagamentoResponseDTO> pagamentos = Arrays.asList(pagamento1, pagamento2);
+        OffsetDateTime dataHora = OffsetDateTime.parse("2025-11-10T12:00:00-03:00");
+        PagamentoResumo pagamento1 = new PagamentoResumo(2L, dataHora, "1000235689003", StatusPagamento.AUTORIZADO,
+            new BigDecimal("100.00"), dataHora, "Loja ABC", TipoPagamento.AVISTA, 1,
+            "1234567890", "147258369", "4444********1234");
+        PagamentoResumo pagamento2 = new PagamentoResumo(1L, dataHora, "1000235689004", StatusPagamento.NEGADO,
+            new BigDecimal("200.00"), dataHora, "Loja XYZ", TipoPagamento.PARCELADO_LOJA, 3,
+            null, null, "4444********5678");
 
         when(pagamentoService.listarPagamentos())
-            .thenReturn(pagamentos);
+            .thenReturn(Arrays.asList(pagamento1, pagamento2));
 
         // Act & Assert
         mockMvc.perform(get("/pagamentos"))
@@ -286,7 +285,14 @@ class PagamentoControllerTest {
             .andExpect(jsonPath("$[0].transacao.descricao.valor").value(100.00))
             .andExpect(jsonPath("$[1].transacao.descricao.estabelecimento").value("Loja XYZ"))
             .andExpect(jsonPath("$[1].transacao.status").value("NEGADO"))
-            .andExpect(jsonPath("$[1].transacao.descricao.valor").value(200.00));
+            .andExpect(jsonPath("$[1].transacao.descricao.valor").value(200.00))
+            // Projeção escrita no formato de PagamentoResponseDTO
+            .andExpect(jsonPath("$[0].transacao.id").value("1000235689003"))
+            .andExpect(jsonPath("$[0].transacao.descricao.dataHora").value("2025-11-10T12:00:00-03:00"))
+            .andExpect(jsonPath("$[0].transacao.formaPagamento.tipo").value("AVISTA"))
+            .andExpect(jsonPath("$[0].transacao.nsu").value("1234567890"))
+            .andExpect(jsonPath("$[1].transacao.nsu").doesNotExist())
+            .andExpect(jsonPath("$[0].criadoEm").doesNotExist());
 
         verify(pagamentoService, times(1)).listarPagamentos();
     }
@@ -342,4 +348,243 @@ class PagamentoControllerTest {
 
         verify(pagamentoService, never()).criarPagamento(any(PagamentoRequestDTO.class));
     }
+
+    /**
+     * Cenário 6: POST /pagamentos/assincrono
+     * 
+     * Dado: Request válido com header Url-Callback
+     * Quando: POST /pagamentos/assincrono
+     * Então: 
+     *   - Status 202 Accepted
+     *   - Location aponta para GET /pagamentos/{idTransacao}
+     *   - Body contém DTO com status PENDENTE
+     */
+    @Test
+    @DisplayName("6. POST /pagamentos/assincrono → 202 Accepted com Location")
+    void deveAceitarPagamentoAssincrono() throws Exception {
+        // Arrange
+        String idTransacao = "1000235689006";
+        String urlCallback = "https://loja.exemplo.com/retorno";
+
+        DescricaoDTO descricao = DescricaoDTO.builder()
+            .valor(new BigDecimal("80.00"))
+            .dataHora(OffsetDateTime.now())
+            .estabelecimento("Loja Z")
+            .build();
+
+        FormaPagamentoDTO formaPagamento = FormaPagamentoDTO.builder()
+            .tipo(TipoPagamento.AVISTA)
+            .parcelas(1)
+            .build();
+
+        PagamentoRequestDTO request = PagamentoRequestDTO.builder()
+            .transacao(TransacaoDTO.builder()
+                .cartao("4111********1111")
+                .id(idTransacao)
+                .descricao(descricao)
+                .formaPagamento(formaPagamento)
+                .build())
+            .build();
+
+        PagamentoResponseDTO responseEsperado = PagamentoResponseDTO.builder()
+            .transacao(TransacaoDTO.builder()
+                .cartao("4111********1111")
+                .id(idTransacao)
+                .descricao(descricao)
+                .formaPagamento(formaPagamento)
+                .status(StatusPagamento.PENDENTE.name())
+                .build())
+            .build();
+
+        when(pagamentoService.submeterPagamento(any(PagamentoRequestDTO.class), eq(urlCallback)))
+            .thenReturn(responseEsperado);
+
+        // Act & Assert
+        mockMvc.perform(post("/pagamentos/assincrono")
+                .header("Chave-Idempotencia", UUID.randomUUID().toString())
+                .header("Url-Callback", urlCallback)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Location", Matchers.endsWith("/pagamentos/" + idTransacao)))
+            .andExpect(jsonPath("$.transacao.id").value(idTransacao))
+            .andExpect(jsonPath("$.transacao.status").value("PENDENTE"));
+
+        verify(pagamentoService, times(1)).submeterPagamento(any(PagamentoRequestDTO.class), eq(urlCallback));
+        verify(pagamentoService, never()).criarPagamento(any(PagamentoRequestDTO.class));
+    }
+
+    /**
+     * Cenário 7: POST /pagamentos/lote
+     * 
+     * Dado: Lote com dois itens, cada um com sua chave de idempotência
+     * Quando: POST /pagamentos/lote (sem header Chave-Idempotencia)
+     * Então: 
+     *   - Status 200 OK
+     *   - Body contém o resultado de cada item, na ordem
+     */
+    @Test
+    @DisplayName("7. POST /pagamentos/lote → 200 OK com resultado por item")
+    void deveCriarPagamentosEmLote() throws Exception {
+        // Arrange
+        TransacaoDTO transacao = TransacaoDTO.builder()
+            .cartao("4111********1111")
+            .id("1000235689007")
+            .descricao(DescricaoDTO.builder()
+                .valor(new BigDecimal("90.00"))
+                .dataHora(OffsetDateTime.now())
+                .estabelecimento("Marketplace")
+                .build())
+            .formaPagamento(FormaPagamentoDTO.builder()
+                .tipo(TipoPagamento.AVISTA)
+                .parcelas(1)
+                .build())
+            .build();
+
+        PagamentoLoteRequestDTO request = PagamentoLoteRequestDTO.builder()
+            .pagamentos(List.of(
+                ItemLotePagamentoDTO.builder().chaveIdempotencia("chave-1").transacao(transacao).build(),
+                ItemLotePagamentoDTO.builder().chaveIdempotencia("chave-2").transacao(transacao).build()))
+            .build();
+
+        PagamentoResponseDTO pagamento = PagamentoResponseDTO.builder()
+            .transacao(TransacaoDTO.builder()
+                .id("1000235689007")
+                .status(StatusPagamento.AUTORIZADO.name())
+                .build())
+            .build();
+
+        PagamentoLoteResponseDTO responseEsperado = PagamentoLoteResponseDTO.builder()
+            .total(2)
+            .criados(1)
+            .repetidos(1)
+            .resultados(List.of(
+                ItemLoteResultadoDTO.builder().chaveIdempotencia("chave-1")
+                    .situacao(ItemLoteResultadoDTO.CRIADO).pagamento(pagamento).build(),
+                ItemLoteResultadoDTO.builder().chaveIdempotencia("chave-2")
+                    .situacao(ItemLoteResultadoDTO.REPETIDO).pagamento(pagamento).build()))
+            .build();
+
+        when(pagamentoLoteService.processarLote(any(PagamentoLoteRequestDTO.class), eq("POST /pagamentos/lote")))
+            .thenReturn(responseEsperado);
+
+        // Act & Assert
+        mockMvc.perform(post("/pagamentos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(2))
+            .andExpect(jsonPath("$.resultados", hasSize(2)))
+            .andExpect(jsonPath("$.resultados[0].situacao").value("CRIADO"))
+            .andExpect(jsonPath("$.resultados[1].situacao").value("REPETIDO"))
+            .andExpect(jsonPath("$.resultados[0].pagamento.transacao.status").value("AUTORIZADO"));
+
+        verify(pagamentoLoteService, times(1)).processarLote(any(PagamentoLoteRequestDTO.class), eq("POST /pagamentos/lote"));
+    }
+
+    /**
+     * Cenário 8: GET /pagamentos/busca com filtros
+     * 
+     * Dado: Há mais pagamentos que o limite pedido
+     * Quando: GET /pagamentos/busca?status=AUTORIZADO&estabelecimento=Loja ABC&de=...&limite=1
+     * Então: 
+     *   - Status 200 OK
+     *   - Body contém os itens e o próximo cursor
+     *   - Filtros repassados ao service
+     */
+    @Test
+    @DisplayName("8. GET /pagamentos/busca → 200 OK com itens e próximo cursor")
+    void deveBuscarPagamentosComCursor() throws Exception {
+        // Arrange
+        OffsetDateTime criadoEm = OffsetDateTime.parse("2025-11-10T12:00:00Z");
+        PagamentoResumo pagamento = new PagamentoResumo(42L, criadoEm, "1000235689003", StatusPagamento.AUTORIZADO,
+            new BigDecimal("100.00"), criadoEm, "Loja ABC", TipoPagamento.AVISTA, 1,
+            "1234567890", "147258369", "4444********1234");
+        OffsetDateTime de = OffsetDateTime.parse("2025-11-01T00:00:00-03:00");
+
+        when(pagamentoService.buscarPagamentos(StatusPagamento.AUTORIZADO, "Loja ABC", de, null, null, 1))
+            .thenReturn(new PaginaDTO<>(List.of(pagamento), "MjAyNS0xMS0xMFQxMjowMDowMFp8NDI"));
+
+        // Act & Assert
+        mockMvc.perform(get("/pagamentos/busca")
+                .param("status", "AUTORIZADO")
+                .param("estabelecimento", "Loja ABC")
+                .param("de", "2025-11-01T00:00:00-03:00")
+                .param("limite", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens", hasSize(1)))
+            .andExpect(jsonPath("$.itens[0].transacao.descricao.estabelecimento").value("Loja ABC"))
+            .andExpect(jsonPath("$.proximoCursor").value("MjAyNS0xMS0xMFQxMjowMDowMFp8NDI"));
+
+        verify(pagamentoService, times(1)).buscarPagamentos(StatusPagamento.AUTORIZADO, "Loja ABC", de, null, null, 1);
+    }
+
+    /**
+     * Cenário 9: GET /pagamentos/busca com cursor inválido
+     * 
+     * Dado: Cursor adulterado pelo cliente
+     * Quando: GET /pagamentos/busca?cursor=...
+     * Então: Status 400 Bad Request
+     */
+    @Test
+    @DisplayName("9. GET /pagamentos/busca com cursor inválido → 400 Bad Request")
+    void deveRetornar400ComCursorInvalido() throws Exception {
+        // Arrange
+        when(pagamentoService.buscarPagamentos(isNull(), isNull(), isNull(), isNull(), eq("adulterado"), isNull()))
+            .thenThrow(new NegocioException("Cursor de paginação inválido"));
+
+        // Act & Assert
+        mockMvc.perform(get("/pagamentos/busca").param("cursor", "adulterado"))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Cenário 10: GET /pagamentos/export em CSV
+     * 
+     * Dado: Período válido
+     * Quando: GET /pagamentos/export?de=...&ate=...&formato=csv
+     * Então: 
+     *   - Status 200 OK
+     *   - Headers de CSV compactado com gzip e anexo
+     *   - Service chamado com o período e o formato
+     */
+    @Test
+    @DisplayName("10. GET /pagamentos/export?formato=csv → 200 OK com gzip e anexo")
+    void deveExportarPagamentosEmCsv() throws Exception {
+        // Arrange
+        OffsetDateTime de = OffsetDateTime.parse("2025-11-10T00:00:00-03:00");
+        OffsetDateTime ate = OffsetDateTime.parse("2025-11-11T00:00:00-03:00");
+
+        // Act & Assert
+        mockMvc.perform(get("/pagamentos/export")
+                .param("de", "2025-11-10T00:00:00-03:00")
+                .param("ate", "2025-11-11T00:00:00-03:00")
+                .param("formato", "csv"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", Matchers.startsWith("text/csv")))
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().string("Content-Disposition", containsString("pagamentos.csv")));
+
+        verify(pagamentoExportacaoService).exportar(eq(de), eq(ate), eq(FormatoExportacao.CSV), any());
+    }
+
+    /**
+     * Cenário 11: GET /pagamentos/export com formato inválido
+     * 
+     * Dado: formato=xml
+     * Quando: GET /pagamentos/export
+     * Então: Status 400 Bad Request, antes de qualquer byte exportado
+     */
+    @Test
+    @DisplayName("11. GET /pagamentos/export com formato inválido → 400 Bad Request")
+    void deveRetornar400ComFormatoDeExportacaoInvalido() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/pagamentos/export")
+                .param("de", "2025-11-10T00:00:00-03:00")
+                .param("ate", "2025-11-11T00:00:00-03:00")
+                .param("formato", "xml"))
+            .andExpect(status().isBadRequest());
+
+        verify(pagamentoExportacaoService, never()).exportar(any(), any(), any(), any());
+    }
 }
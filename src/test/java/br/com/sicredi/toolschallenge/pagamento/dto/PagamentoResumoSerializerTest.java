@@ -0,0 +1,85 @@
+package br.com.sicredi.toolschallenge.pagamento.dto;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários do PagamentoResumoSerializer.
+ *
+ * A projeção deve gerar o mesmo JSON que Pagamento → PagamentoMapper.toDTO.
+ *
+ * Cenários testados:
+ * 1. Pagamento AUTORIZADO completo
+ * 2. Pagamento PENDENTE sem NSU, código de autorização e estabelecimento
+ * 3. Pagamento parcelado com parcelas inválidas (getters de validação no JSON)
+ */
+@DisplayName("PagamentoResumoSerializer - Testes Unitários")
+class PagamentoResumoSerializerTest {
+
+    private static final OffsetDateTime DATA_HORA = OffsetDateTime.parse("2025-11-10T18:30:15-03:00");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final PagamentoMapper mapper = new PagamentoMapper();
+
+    @Test
+    @DisplayName("1. Deve gerar o mesmo JSON do DTO para pagamento autorizado")
+    void deveGerarMesmoJsonParaPagamentoAutorizado() throws Exception {
+        assertMesmoJson(pagamento(StatusPagamento.AUTORIZADO, "PetShop Mundo Cão",
+            TipoPagamento.AVISTA, 1, "1234567890", "147258369"));
+    }
+
+    @Test
+    @DisplayName("2. Deve omitir e escrever nulos como o DTO")
+    void deveTratarNulosComoDto() throws Exception {
+        assertMesmoJson(pagamento(StatusPagamento.PENDENTE, null, TipoPagamento.AVISTA, 1, null, null));
+    }
+
+    @Test
+    @DisplayName("3. Deve escrever os getters de validação das parcelas como o DTO")
+    void deveEscreverValidacaoDasParcelas() throws Exception {
+        assertMesmoJson(pagamento(StatusPagamento.NEGADO, "Loja", TipoPagamento.PARCELADO_EMISSOR, 1, null, null));
+    }
+
+    private void assertMesmoJson(Pagamento pagamento) throws Exception {
+        // Act
+        String viaDto = objectMapper.writeValueAsString(mapper.toDTO(pagamento));
+        String viaProjecao = objectMapper.writeValueAsString(resumo(pagamento));
+
+        // Assert
+        assertThat(objectMapper.readTree(viaProjecao)).isEqualTo(objectMapper.readTree(viaDto));
+    }
+
+    private static Pagamento pagamento(StatusPagamento status, String estabelecimento, TipoPagamento tipo,
+                                       int parcelas, String nsu, String codigoAutorizacao) {
+        return Pagamento.builder()
+            .id(7L)
+            .idTransacao("0192f3a0-0000-7000-8000-000000000001")
+            .status(status)
+            .valor(new BigDecimal("500.50"))
+            .dataHora(DATA_HORA)
+            .estabelecimento(estabelecimento)
+            .tipoPagamento(tipo)
+            .parcelas(parcelas)
+            .nsu(nsu)
+            .codigoAutorizacao(codigoAutorizacao)
+            .cartaoMascarado("4444********1234")
+            .criadoEm(DATA_HORA)
+            .build();
+    }
+
+    private static PagamentoResumo resumo(Pagamento p) {
+        return new PagamentoResumo(p.getId(), p.getCriadoEm(), p.getIdTransacao(), p.getStatus(), p.getValor(),
+            p.getDataHora(), p.getEstabelecimento(), p.getTipoPagamento(), p.getParcelas(), p.getNsu(),
+            p.getCodigoAutorizacao(), p.getCartaoMascarado());
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.sicredi.toolschallenge.pagamento.processor;
+
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.TransacaoDTO;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.DnsResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários do envio do callback (HTTP real contra um servidor local).
+ *
+ * O DNS é simulado: o host público da URL resolve para o servidor local em
+ * 127.0.0.1, como um atacante faria trocando o registro depois da submissão.
+ *
+ * Cenários testados:
+ * 1. Host que resolve para endereço interno no envio é recusado sem conexão,
+ *    com uma única resolução (a mesma que abriria a conexão)
+ */
+@DisplayName("CallbackNotificador - Testes Unitários")
+class CallbackNotificadorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger recebidos = new AtomicInteger();
+    private final AtomicInteger resolucoes = new AtomicInteger();
+
+    private HttpServer servidor;
+    private CallbackNotificador notificador;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        servidor.createContext("/", troca -> {
+            recebidos.incrementAndGet();
+            troca.sendResponseHeaders(204, -1);
+            troca.close();
+        });
+        servidor.start();
+
+        DnsResolver dnsTrocado = new DnsResolver() {
+            @Override
+            public InetAddress[] resolve(String host) {
+                resolucoes.incrementAndGet();
+                return new InetAddress[] {InetAddress.getLoopbackAddress()};
+            }
+
+            @Override
+            public String resolveCanonicalHostname(String host) throws UnknownHostException {
+                return host;
+            }
+        };
+        notificador = new CallbackNotificador(new PagamentoProperties(), meterRegistry, dnsTrocado);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        notificador.close();
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("1. Host que resolve para endereço interno no envio é recusado sem conexão")
+    void deveRecusarHostQueResolveParaEnderecoInternoNoEnvio() {
+        // Act
+        notificador.notificar("http://loja.exemplo.com:" + servidor.getAddress().getPort() + "/retorno",
+            pagamento());
+
+        // Assert
+        assertThat(recebidos.get()).isZero();
+        assertThat(resolucoes.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("pagamento.callback", "resultado", "recusado").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("pagamento.callback", "resultado", "sucesso").count()).isZero();
+    }
+
+    private static PagamentoResponseDTO pagamento() {
+        return PagamentoResponseDTO.builder()
+            .transacao(TransacaoDTO.builder().id("1000235689001").build())
+            .build();
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.sicredi.toolschallenge.pagamento.processor;
+
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários das regras de destino da URL de callback (SSRF).
+ *
+ * Cenários testados:
+ * 1. URL pública http/https é aceita
+ * 2. Esquema, URL relativa e localhost/IPs internos literais são recusados
+ * 3. Allowlist de hosts: exato e "*.dominio"
+ * 4. Resolução: host que resolve para endereço interno é recusado no envio
+ * 5. Classificação de endereços internos e públicos
+ */
+@DisplayName("DestinoCallback - Testes Unitários")
+class DestinoCallbackTest {
+
+    @Test
+    @DisplayName("1. URL pública http/https é aceita")
+    void deveAceitarUrlPublica() {
+        // Act
+        URI uri = DestinoCallback.validar("https://loja.exemplo.com/retorno?id=1", List.of());
+
+        // Assert
+        assertThat(uri.getHost()).isEqualTo("loja.exemplo.com");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "file:///etc/passwd",
+        "gopher://loja.exemplo.com/",
+        "/retorno",
+        "http://localhost:8080/actuator",
+        "http://api.localhost/",
+        "http://127.0.0.1/",
+        "http://2130706433/",
+        "http://169.254.169.254/latest/meta-data/",
+        "http://10.0.0.5/",
+        "http://172.16.1.1/",
+        "http://192.168.0.10/",
+        "http://100.64.0.1/",
+        "http://0.0.0.0/",
+        "http://[::1]/",
+        "http://[fd00:ec2::254]/",
+        "http://[fe80::1]/",
+        "http://[::ffff:127.0.0.1]/"
+    })
+    @DisplayName("2. Esquema, URL relativa e localhost/IPs internos literais são recusados")
+    void deveRecusarDestinoInvalidoOuInterno(String url) {
+        assertThatThrownBy(() -> DestinoCallback.validar(url, List.of()))
+            .isInstanceOf(NegocioException.class);
+    }
+
+    @Test
+    @DisplayName("3. Allowlist de hosts: exato e \"*.dominio\"")
+    void deveAplicarAllowlist() {
+        // Arrange
+        List<String> permitidos = List.of("retorno.exemplo.com", "*.loja.exemplo.com");
+
+        // Act & Assert
+        assertThat(DestinoCallback.validar("https://retorno.exemplo.com/x", permitidos)).isNotNull();
+        assertThat(DestinoCallback.validar("https://api.loja.exemplo.com/x", permitidos)).isNotNull();
+        assertThatThrownBy(() -> DestinoCallback.validar("https://outro.exemplo.com/x", permitidos))
+            .isInstanceOf(NegocioException.class)
+            .hasMessageContaining("não permitido");
+        assertThatThrownBy(() -> DestinoCallback.validar("https://loja.exemplo.com.atacante.net/x", permitidos))
+            .isInstanceOf(NegocioException.class);
+    }
+
+    @Test
+    @DisplayName("4. Resolução: host que resolve para endereço interno é recusado no envio")
+    void deveRecusarHostQueResolveParaEnderecoInterno() throws Exception {
+        assertThatThrownBy(() -> DestinoCallback.validarEnderecos(InetAddress.getAllByName("localhost")))
+            .isInstanceOf(NegocioException.class)
+            .hasMessageContaining("endereço interno");
+        assertThatThrownBy(() -> DestinoCallback.validarEnderecos(new InetAddress[] {
+                InetAddress.getByName("8.8.8.8"), InetAddress.getByName("10.0.0.1")}))
+            .isInstanceOf(NegocioException.class);
+    }
+
+    @Test
+    @DisplayName("5. Classificação de endereços internos e públicos")
+    void deveClassificarEnderecos() throws Exception {
+        assertThat(DestinoCallback.interno(InetAddress.getByName("169.254.169.254"))).isTrue();
+        assertThat(DestinoCallback.interno(InetAddress.getByName("100.127.255.255"))).isTrue();
+        assertThat(DestinoCallback.interno(InetAddress.getByName("255.255.255.255"))).isTrue();
+        assertThat(DestinoCallback.interno(InetAddress.getByName("::127.0.0.1"))).isTrue();
+        assertThat(DestinoCallback.interno(InetAddress.getByName("100.128.0.1"))).isFalse();
+        assertThat(DestinoCallback.interno(InetAddress.getByName("8.8.8.8"))).isFalse();
+        assertThat(DestinoCallback.interno(InetAddress.getByName("2001:4860:4860::8888"))).isFalse();
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.sicredi.toolschallenge.pagamento.processor;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.FilaAutorizacao;
+import br.com.sicredi.toolschallenge.pagamento.service.PagamentoService;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários da drenagem da fila de autorização assíncrona.
+ *
+ * Cenários testados:
+ * 1. Executor que descarta itens (DESCARTAR) não prende o agendador além do prazo do lote
+ * 2. Executor que devolve o item à thread chamadora (CHAMADOR) não autoriza no agendador
+ * 3. Executor que recusa itens conclui o lote com erro e encerra o ciclo
+ * 4. Lease dos itens em andamento é estendido enquanto a autorização demora
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FilaAutorizacaoProcessor - Testes Unitários")
+class FilaAutorizacaoProcessorTest {
+
+    @Mock
+    private PagamentoService pagamentoService;
+
+    @Mock
+    private CallbackNotificador callbackNotificador;
+
+    private PagamentoProperties pagamentoProperties;
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @BeforeEach
+    void setUp() {
+        pagamentoProperties = new PagamentoProperties();
+        pagamentoProperties.getAssincrono().setTamanhoLote(2);
+        pagamentoProperties.getAssincrono().setEsperaMaximaLoteMs(300);
+
+        taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(1);
+        taskScheduler.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("1. Executor que descarta itens não prende o agendador além do prazo do lote")
+    void deveRetornarNoPrazoQuandoExecutorDescarta() {
+        // Arrange: lote cheio e executor que descarta silenciosamente
+        when(pagamentoService.reivindicarFilaAutorizacao(anyInt(), anyInt())).thenReturn(lote());
+        FilaAutorizacaoProcessor processor = processor(tarefa -> { });
+
+        // Act
+        long inicio = System.currentTimeMillis();
+        processor.processarFila();
+        long duracao = System.currentTimeMillis() - inicio;
+
+        // Assert: um único lote, encerrado pelo prazo
+        assertThat(duracao).isBetween(300L, 5_000L);
+        verify(pagamentoService, times(1)).reivindicarFilaAutorizacao(anyInt(), anyInt());
+        verify(pagamentoService, never()).autorizarDaFila(any());
+    }
+
+    @Test
+    @DisplayName("2. Executor que devolve o item à thread chamadora não autoriza no agendador")
+    void naoDeveAutorizarNaThreadDoAgendador() {
+        // Arrange: executor com CallerRuns saturado
+        when(pagamentoService.reivindicarFilaAutorizacao(anyInt(), anyInt())).thenReturn(lote());
+        FilaAutorizacaoProcessor processor = processor(Runnable::run);
+
+        // Act
+        processor.processarFila();
+
+        // Assert
+        verify(pagamentoService, never()).autorizarDaFila(any());
+        verify(pagamentoService, times(1)).reivindicarFilaAutorizacao(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("3. Executor que recusa itens conclui o lote com erro e encerra o ciclo")
+    void deveEncerrarCicloQuandoExecutorRecusa() {
+        // Arrange
+        when(pagamentoService.reivindicarFilaAutorizacao(anyInt(), anyInt())).thenReturn(lote());
+        FilaAutorizacaoProcessor processor = processor(tarefa -> {
+            throw new RejectedExecutionException("fila cheia");
+        });
+
+        // Act
+        processor.processarFila();
+
+        // Assert
+        verify(pagamentoService, never()).autorizarDaFila(any());
+        verify(pagamentoService, times(1)).reivindicarFilaAutorizacao(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("4. Lease dos itens em andamento é estendido enquanto a autorização demora")
+    void deveEstenderLeaseDuranteAutorizacaoLenta() {
+        // Arrange: lease de 1s (extensão a cada ~333ms) e autorização de 800ms
+        pagamentoProperties.getAssincrono().setLeaseSegundos(1);
+        pagamentoProperties.getAssincrono().setEsperaMaximaLoteMs(5_000);
+        FilaAutorizacao item = FilaAutorizacao.builder().id(1L).idPagamento(10L).build();
+        when(pagamentoService.reivindicarFilaAutorizacao(anyInt(), anyInt())).thenReturn(List.of(item));
+        when(pagamentoService.autorizarDaFila(item)).thenAnswer(invocacao -> {
+            Thread.sleep(800);
+            return Optional.empty();
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act
+            processor(executor).processarFila();
+
+            // Assert
+            verify(pagamentoService).autorizarDaFila(item);
+            verify(pagamentoService, atLeastOnce()).estenderLeaseFilaAutorizacao(eq(List.of(1L)), eq(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FilaAutorizacaoProcessor processor(Executor executor) {
+        return new FilaAutorizacaoProcessor(pagamentoService, callbackNotificador, pagamentoProperties,
+            executor, taskScheduler);
+    }
+
+    private static List<FilaAutorizacao> lote() {
+        return List.of(
+            FilaAutorizacao.builder().id(1L).idPagamento(10L).build(),
+            FilaAutorizacao.builder().id(2L).idPagamento(20L).build());
+    }
+}
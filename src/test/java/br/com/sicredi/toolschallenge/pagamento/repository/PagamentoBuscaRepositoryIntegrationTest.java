@@ -0,0 +1,129 @@
+package br.com.sicredi.toolschallenge.pagamento.repository;
+
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResumo;
+import br.com.sicredi.toolschallenge.shared.paginacao.CursorKeyset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração do PagamentoBuscaRepository (H2).
+ *
+ * Cenários testados:
+ * 1. Percorrer todas as páginas entrega cada pagamento uma vez, na ordem (criado_em, id) decrescente,
+ *    inclusive com vários pagamentos no mesmo instante
+ * 2. Filtros de status, estabelecimento e período combinados com o cursor
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:busca;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(PagamentoBuscaRepository.class)
+@DisplayName("PagamentoBuscaRepository - Testes de Integração")
+class PagamentoBuscaRepositoryIntegrationTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+
+    @Autowired
+    private PagamentoRepository repository;
+
+    @Autowired
+    private PagamentoBuscaRepository buscaRepository;
+
+    private final List<Pagamento> pagamentos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 30 pagamentos, 3 por instante: o id desempata dentro do mesmo criado_em
+        for (int i = 0; i < 30; i++) {
+            pagamentos.add(repository.save(Pagamento.builder()
+                .idTransacao("BUSCA-" + i)
+                .status(i % 2 == 0 ? StatusPagamento.AUTORIZADO : StatusPagamento.NEGADO)
+                .valor(new BigDecimal("10.00"))
+                .dataHora(BASE)
+                .estabelecimento(i % 3 == 0 ? "Loja A" : "Loja B")
+                .tipoPagamento(TipoPagamento.AVISTA)
+                .parcelas(1)
+                .cartaoMascarado("4444********1234")
+                .criadoEm(BASE.minusSeconds(i / 3))
+                .build()));
+        }
+        repository.flush();
+    }
+
+    @Test
+    @DisplayName("1. Deve percorrer todas as páginas sem repetir nem pular pagamentos")
+    void devePercorrerTodasAsPaginas() {
+        // Act
+        List<Long> lidos = new ArrayList<>();
+        int paginas = 0;
+        CursorKeyset cursor = null;
+        do {
+            List<PagamentoResumo> pagina = buscaRepository.buscar(null, null, null, null, cursor, 7);
+            pagina.forEach(p -> lidos.add(p.id()));
+            paginas++;
+            cursor = pagina.size() < 7 ? null : proximo(pagina);
+        } while (cursor != null);
+
+        // Assert
+        List<Long> esperados = pagamentos.stream()
+            .sorted((a, b) -> {
+                int porData = b.getCriadoEm().compareTo(a.getCriadoEm());
+                return porData != 0 ? porData : Long.compare(b.getId(), a.getId());
+            })
+            .map(Pagamento::getId)
+            .toList();
+        assertThat(lidos).containsExactlyElementsOf(esperados);
+        assertThat(paginas).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("2. Deve aplicar status, estabelecimento e período junto com o cursor")
+    void deveAplicarFiltrosComCursor() {
+        // Arrange: período [BASE - 7s, BASE - 1s)
+        OffsetDateTime de = BASE.minusSeconds(7);
+        OffsetDateTime ate = BASE.minusSeconds(1);
+
+        // Act
+        List<PagamentoResumo> primeira = buscaRepository.buscar(
+            StatusPagamento.AUTORIZADO, "Loja B", de, ate, null, 2);
+        List<PagamentoResumo> segunda = buscaRepository.buscar(
+            StatusPagamento.AUTORIZADO, "Loja B", de, ate, proximo(primeira), 2);
+
+        // Assert
+        List<PagamentoResumo> todos = new ArrayList<>(primeira);
+        todos.addAll(segunda);
+        assertThat(todos).allSatisfy(p -> {
+            assertThat(p.status()).isEqualTo(StatusPagamento.AUTORIZADO);
+            assertThat(p.estabelecimento()).isEqualTo("Loja B");
+            assertThat(p.criadoEm()).isAfterOrEqualTo(de).isBefore(ate);
+        });
+        // No período i vai de 6 a 23; par e não múltiplo de 3: 8, 10, 14, 16, 20, 22
+        assertThat(todos).extracting(PagamentoResumo::idTransacao)
+            .containsExactly("BUSCA-8", "BUSCA-10", "BUSCA-14", "BUSCA-16");
+    }
+
+    private static CursorKeyset proximo(List<PagamentoResumo> pagina) {
+        return pagina.get(pagina.size() - 1).cursor();
+    }
+}
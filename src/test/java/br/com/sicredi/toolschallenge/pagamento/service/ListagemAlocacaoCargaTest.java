@@ -0,0 +1,179 @@
+package br.com.sicredi.toolschallenge.pagamento.service;
+
+import br.com.sicredi.toolschallenge.estorno.domain.Estorno;
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.estorno.dto.EstornoMapper;
+import br.com.sicredi.toolschallenge.estorno.repository.EstornoRepository;
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoMapper;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga (alocação) das listagens de pagamentos e estornos (H2).
+ *
+ * Mede os bytes alocados pela thread para montar e serializar uma resposta
+ * de 100 itens, da consulta ao JSON:
+ * - antes: entidades hidratadas → mappers (DTOs aninhados via builders) → Jackson
+ * - depois: projeções (SELECT new) → serializer direto
+ *
+ * O contexto de persistência é limpo a cada resposta, como em uma requisição
+ * nova. A projeção deve alocar menos por resposta nos dois casos; os valores
+ * medidos aparecem na descrição das asserções.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:alocacao;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("Listagens por projeção - Teste de Carga (alocação)")
+class ListagemAlocacaoCargaTest {
+
+    private static final int ITENS = 100;
+    private static final int AQUECIMENTO = 300;
+    private static final int RESPOSTAS = 1_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final PagamentoMapper pagamentoMapper = new PagamentoMapper();
+    private final EstornoMapper estornoMapper = new EstornoMapper();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private EstornoRepository estornoRepository;
+
+    @BeforeEach
+    void setUp() {
+        OffsetDateTime agora = OffsetDateTime.now();
+        for (int i = 0; i < ITENS; i++) {
+            String idTransacao = "ALOC-" + i;
+            entityManager.persist(Pagamento.builder()
+                .idTransacao(idTransacao)
+                .status(StatusPagamento.AUTORIZADO)
+                .valor(new BigDecimal("123.45"))
+                .dataHora(agora)
+                .estabelecimento("Loja " + (i % 10))
+                .tipoPagamento(TipoPagamento.AVISTA)
+                .parcelas(1)
+                .nsu(Integer.toString(1_000_000_000 + i))
+                .codigoAutorizacao(Integer.toString(100_000_000 + i))
+                .cartaoMascarado("4444********1234")
+                .build());
+            entityManager.persist(Estorno.builder()
+                .idTransacao(idTransacao)
+                .idEstorno("EST-" + idTransacao)
+                .status(StatusEstorno.CANCELADO)
+                .valor(new BigDecimal("123.45"))
+                .dataHora(agora)
+                .nsu(Integer.toString(2_000_000_000 + i))
+                .codigoAutorizacao(Integer.toString(200_000_000 + i))
+                .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Deve alocar menos por resposta de pagamentos com projeção")
+    void deveAlocarMenosPorRespostaDePagamentos() {
+        // Act
+        long antes = bytesPorResposta(() -> {
+            List<Pagamento> pagamentos = entityManager.createQuery(
+                    "SELECT p FROM Pagamento p ORDER BY p.criadoEm DESC, p.id DESC", Pagamento.class)
+                .setMaxResults(ITENS)
+                .getResultList();
+            return pagamentos.stream().map(pagamentoMapper::toDTO).toList();
+        });
+        long depois = bytesPorResposta(pagamentoRepository::findUltimosResumos);
+
+        // Assert
+        assertThat(depois)
+            .as("bytes por resposta de %d pagamentos: entidade+DTO=%d, projeção=%d", ITENS, antes, depois)
+            .isLessThan(antes);
+    }
+
+    @Test
+    @DisplayName("Deve alocar menos por resposta de estornos com projeção")
+    void deveAlocarMenosPorRespostaDeEstornos() {
+        // Act
+        long antes = bytesPorResposta(() -> {
+            List<Estorno> estornos = entityManager.createQuery(
+                    "SELECT e FROM Estorno e ORDER BY e.criadoEm DESC, e.id DESC", Estorno.class)
+                .setMaxResults(ITENS)
+                .getResultList();
+            Map<String, Pagamento> pagamentos = entityManager.createQuery(
+                    "SELECT p FROM Pagamento p WHERE p.idTransacao IN :ids", Pagamento.class)
+                .setParameter("ids", estornos.stream().map(Estorno::getIdTransacao).collect(Collectors.toSet()))
+                .getResultList().stream()
+                .collect(Collectors.toMap(Pagamento::getIdTransacao, Function.identity()));
+            return estornos.stream()
+                .map(estorno -> estornoMapper.paraDTO(estorno, pagamentos.get(estorno.getIdTransacao())))
+                .toList();
+        });
+        long depois = bytesPorResposta(estornoRepository::findUltimosResumos);
+
+        // Assert
+        assertThat(depois)
+            .as("bytes por resposta de %d estornos: entidade+DTO=%d, projeção=%d", ITENS, antes, depois)
+            .isLessThan(antes);
+    }
+
+    /**
+     * Média de bytes alocados pela thread para montar e serializar uma resposta.
+     */
+    private long bytesPorResposta(Supplier<List<?>> listagem) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            responder(listagem);
+        }
+
+        long inicio = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < RESPOSTAS; i++) {
+            responder(listagem);
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - inicio) / RESPOSTAS;
+    }
+
+    private void responder(Supplier<List<?>> listagem) {
+        entityManager.clear();
+        List<?> itens = listagem.get();
+        if (itens.size() != ITENS) {
+            throw new IllegalStateException("Listagem com " + itens.size() + " itens");
+        }
+        try {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), itens);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.sicredi.toolschallenge.pagamento.service;
+
+import br.com.sicredi.toolschallenge.pagamento.dto.FormatoExportacao;
+import br.com.sicredi.toolschallenge.pagamento.dto.LinhaExportacaoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoExportacaoRepository;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga da exportação de pagamentos (H2, JDBC real).
+ *
+ * Os pagamentos são gravados no banco e lidos pelo PagamentoExportacaoRepository
+ * com o cursor forward-only e o fetch size configurado, dentro da transação do
+ * teste (como no PagamentoExportacaoService); a saída compactada é descartada.
+ * O heap ocupado após GC é medido antes da consulta e ao longo da exportação:
+ * se alguma etapa acumulasse as linhas, ele cresceria proporcionalmente; em
+ * streaming, fica estável.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:exportacao;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("PagamentoExportacaoService - Teste de Carga")
+class PagamentoExportacaoCargaTest {
+
+    private static final int LINHAS = 200_000;
+    private static final int INTERVALO_AMOSTRA = 25_000;
+    private static final int TAMANHO_FETCH = 500;
+    private static final long CRESCIMENTO_MAXIMO_BYTES = 32L * 1024 * 1024;
+
+    private static final OffsetDateTime INICIO =
+        OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS).minusDays(1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<Integer> tiposResultSet = new ArrayList<>();
+    private final List<Integer> tamanhosFetch = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+    private PagamentoProperties pagamentoProperties;
+
+    @BeforeEach
+    void setUp() {
+        // Registra as configurações de cada statement depois que o repositório o prepara
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            protected void applyStatementSettings(Statement statement) throws SQLException {
+                super.applyStatementSettings(statement);
+                tiposResultSet.add(statement.getResultSetType());
+                tamanhosFetch.add(statement.getFetchSize());
+            }
+        };
+        pagamentoProperties = new PagamentoProperties();
+        pagamentoProperties.getExportacao().setTamanhoFetch(TAMANHO_FETCH);
+
+        jdbcTemplate.update("""
+            INSERT INTO pagamento.pagamento
+                (id_transacao, status, valor, moeda, data_hora, estabelecimento, tipo_pagamento, parcelas,
+                 nsu, codigo_autorizacao, cartao_mascarado, tentativas_reprocessamento, criado_em, atualizado_em)
+            SELECT '0192f3a0-0000-7000-8000-' || (100000000000 + X),
+                   CASE WHEN MOD(X, 10) = 0 THEN 'NEGADO' ELSE 'AUTORIZADO' END,
+                   MOD(X, 100000) / 100.0,
+                   'BRL',
+                   DATEADD(MILLISECOND, X, CAST(? AS TIMESTAMP WITH TIME ZONE)),
+                   'Loja ' || MOD(X, 500),
+                   'AVISTA',
+                   1,
+                   CAST(1000000000 + X AS VARCHAR),
+                   CAST(100000000 + X AS VARCHAR),
+                   '4444********1234',
+                   0,
+                   DATEADD(MILLISECOND, X, CAST(? AS TIMESTAMP WITH TIME ZONE)),
+                   DATEADD(MILLISECOND, X, CAST(? AS TIMESTAMP WITH TIME ZONE))
+            FROM SYSTEM_RANGE(1, ?)
+            """, INICIO, INICIO, INICIO, LINHAS);
+    }
+
+    @Test
+    @DisplayName("Deve exportar centenas de milhares de linhas do banco com heap constante")
+    void deveExportarComHeapConstante() throws Exception {
+        for (FormatoExportacao formato : FormatoExportacao.values()) {
+            // Arrange
+            MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+            List<Long> amostras = new ArrayList<>();
+            PagamentoExportacaoService service = new PagamentoExportacaoService(
+                repositorioAmostrado(memoria, amostras), new ObjectMapper());
+            ContadorBytes saida = new ContadorBytes();
+            tiposResultSet.clear();
+            tamanhosFetch.clear();
+
+            // Act
+            long exportados = service.exportar(INICIO, INICIO.plusDays(1), formato, saida);
+
+            // Assert
+            long minimo = amostras.stream().mapToLong(Long::longValue).min().orElseThrow();
+            long maximo = amostras.stream().mapToLong(Long::longValue).max().orElseThrow();
+            assertThat(exportados).isEqualTo(LINHAS);
+            assertThat(saida.bytes).isGreaterThan(0);
+            assertThat(tiposResultSet).containsExactly(ResultSet.TYPE_FORWARD_ONLY);
+            assertThat(tamanhosFetch).containsExactly(TAMANHO_FETCH);
+            assertThat(amostras).hasSize(LINHAS / INTERVALO_AMOSTRA + 1);
+            assertThat(maximo - minimo)
+                .as("crescimento do heap exportando %s", formato)
+                .isLessThan(CRESCIMENTO_MAXIMO_BYTES);
+        }
+    }
+
+    /**
+     * Repositório real que mede o heap a cada INTERVALO_AMOSTRA linhas entregues.
+     */
+    private PagamentoExportacaoRepository repositorioAmostrado(MemoryMXBean memoria, List<Long> amostras) {
+        return new PagamentoExportacaoRepository(jdbcTemplate, pagamentoProperties) {
+            @Override
+            public void percorrerPorPeriodo(OffsetDateTime de, OffsetDateTime ate,
+                                            Consumer<LinhaExportacaoPagamento> consumidor) {
+                // Linha de base antes da consulta: um resultado materializado apareceria na primeira amostra
+                amostrar(memoria, amostras);
+                int[] lidas = {0};
+                super.percorrerPorPeriodo(de, ate, linha -> {
+                    consumidor.accept(linha);
+                    if (++lidas[0] % INTERVALO_AMOSTRA == 0) {
+                        amostrar(memoria, amostras);
+                    }
+                });
+            }
+        };
+    }
+
+    private static void amostrar(MemoryMXBean memoria, List<Long> amostras) {
+        memoria.gc();
+        amostras.add(memoria.getHeapMemoryUsage().getUsed());
+    }
+
+    private static final class ContadorBytes extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.sicredi.toolschallenge.pagamento.service;
+
+import br.com.sicredi.toolschallenge.pagamento.dto.FormatoExportacao;
+import br.com.sicredi.toolschallenge.pagamento.dto.LinhaExportacaoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoExportacaoRepository;
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Testes unitários do PagamentoExportacaoService.
+ *
+ * Cenários testados:
+ * 1. NDJSON: um objeto por linha, compactado com gzip
+ * 2. CSV: cabeçalho e campos com vírgula/aspas entre aspas
+ * 3. Período invertido: NegocioException sem consultar o banco
+ * 4. Cliente desconectado: IOException repassada
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PagamentoExportacaoService - Testes Unitários")
+class PagamentoExportacaoServiceTest {
+
+    private static final OffsetDateTime DE = OffsetDateTime.parse("2025-11-10T00:00:00-03:00");
+    private static final OffsetDateTime ATE = OffsetDateTime.parse("2025-11-11T00:00:00-03:00");
+
+    @Mock
+    private PagamentoExportacaoRepository repository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private PagamentoExportacaoService service;
+
+    @Test
+    @DisplayName("1. Deve exportar um objeto JSON por linha compactado com gzip")
+    void deveExportarNdjson() throws Exception {
+        // Arrange
+        entregar(linha("TX-1", "Loja A"), linha("TX-2", "Loja B"));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        long exportados = service.exportar(DE, ATE, FormatoExportacao.NDJSON, saida);
+
+        // Assert
+        String[] linhas = descompactar(saida).split("\n");
+        assertThat(exportados).isEqualTo(2);
+        assertThat(linhas).hasSize(2);
+        JsonNode primeira = objectMapper.readTree(linhas[0]);
+        assertThat(primeira.get("idTransacao").asText()).isEqualTo("TX-1");
+        assertThat(primeira.get("valor").decimalValue()).isEqualByComparingTo("150.50");
+        assertThat(primeira.get("nsu").isNull()).isTrue();
+        assertThat(primeira.get("criadoEm").asText()).isEqualTo("2025-11-10T10:00-03:00");
+        assertThat(objectMapper.readTree(linhas[1]).get("estabelecimento").asText()).isEqualTo("Loja B");
+    }
+
+    @Test
+    @DisplayName("2. Deve exportar CSV com cabeçalho e campos especiais entre aspas")
+    void deveExportarCsv() throws Exception {
+        // Arrange
+        entregar(linha("TX-1", "Loja \"Centro\", Porto Alegre"));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        service.exportar(DE, ATE, FormatoExportacao.CSV, saida);
+
+        // Assert
+        String[] linhas = descompactar(saida).split("\r\n");
+        assertThat(linhas[0]).isEqualTo(String.join(",", PagamentoExportacaoService.COLUNAS));
+        assertThat(linhas[1]).isEqualTo(
+            "TX-1,AUTORIZADO,150.50,BRL,2025-11-10T10:00-03:00,\"Loja \"\"Centro\"\", Porto Alegre\","
+                + "AVISTA,1,,,4444********1234,2025-11-10T10:00-03:00");
+    }
+
+    @Test
+    @DisplayName("3. Deve rejeitar período invertido sem consultar o banco")
+    void deveRejeitarPeriodoInvertido() {
+        // Act / Assert
+        assertThatThrownBy(() -> service.exportar(ATE, DE, FormatoExportacao.NDJSON, new ByteArrayOutputStream()))
+            .isInstanceOf(NegocioException.class);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("4. Deve repassar IOException quando o cliente desconecta")
+    void deveRepassarIOExceptionQuandoClienteDesconecta() {
+        // Arrange: saída que aceita o cabeçalho gzip (10 bytes) e falha no primeiro bloco compactado
+        entregar(linha("TX-1", "Loja A"));
+        OutputStream desconectado = new OutputStream() {
+            private int escritos;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                escritos += len;
+                if (escritos > 10) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        // Act / Assert
+        assertThatThrownBy(() -> service.exportar(DE, ATE, FormatoExportacao.NDJSON, desconectado))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Broken pipe");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void entregar(LinhaExportacaoPagamento... linhas) {
+        doAnswer(invocation -> {
+            Consumer<LinhaExportacaoPagamento> consumidor = invocation.getArgument(2);
+            List.of(linhas).forEach(consumidor);
+            return null;
+        }).when(repository).percorrerPorPeriodo(eq(DE), eq(ATE), any(Consumer.class));
+    }
+
+    private static LinhaExportacaoPagamento linha(String idTransacao, String estabelecimento) {
+        OffsetDateTime criadoEm = OffsetDateTime.parse("2025-11-10T10:00:00-03:00");
+        return new LinhaExportacaoPagamento(idTransacao, "AUTORIZADO", new BigDecimal("150.50"), "BRL", criadoEm,
+            estabelecimento, "AVISTA", 1, null, null, "4444********1234", criadoEm);
+    }
+
+    private static String descompactar(ByteArrayOutputStream saida) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(saida.toByteArray()))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
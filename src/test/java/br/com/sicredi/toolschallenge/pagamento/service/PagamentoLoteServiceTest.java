@@ -0,0 +1,138 @@
+package br.com.sicredi.toolschallenge.pagamento.service;
+
+import br.com.sicredi.toolschallenge.infra.idempotencia.service.IdempotenciaService;
+import br.com.sicredi.toolschallenge.infra.idempotencia.service.IdempotenciaService.RespostaIdempotente;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.dto.DescricaoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.FormaPagamentoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.ItemLotePagamentoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.ItemLoteResultadoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoLoteRequestDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoLoteResponseDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.TransacaoDTO;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da idempotência por item no lote de pagamentos.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PagamentoLoteService - Testes Unitários")
+class PagamentoLoteServiceTest {
+
+    private static final String ENDPOINT = "POST /pagamentos/lote";
+
+    @Mock
+    private PagamentoService pagamentoService;
+
+    @Mock
+    private IdempotenciaService idempotenciaService;
+
+    @Spy
+    private PagamentoProperties pagamentoProperties = new PagamentoProperties();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @InjectMocks
+    private PagamentoLoteService loteService;
+
+    @Test
+    @DisplayName("1. Deve criar itens novos, devolver repetidos e recusar chave duplicada no lote")
+    void deveTratarIdempotenciaPorItem() {
+        // Arrange
+        when(idempotenciaService.buscarResposta("nova")).thenReturn(Optional.empty());
+        when(idempotenciaService.buscarResposta("usada")).thenReturn(Optional.of(
+            new RespostaIdempotente(Map.of("transacao", Map.of("id", "TX-ANTERIOR", "status", "AUTORIZADO")), 201)));
+        when(pagamentoService.criarPagamentosEmLote(anyList()))
+            .thenReturn(List.of(Optional.of(resposta("TX-NOVA"))));
+
+        PagamentoLoteRequestDTO lote = new PagamentoLoteRequestDTO(List.of(item("nova"), item("usada"), item("nova")));
+
+        // Act
+        PagamentoLoteResponseDTO response = loteService.processarLote(lote, ENDPOINT);
+
+        // Assert
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getCriados()).isEqualTo(1);
+        assertThat(response.getRepetidos()).isEqualTo(1);
+        assertThat(response.getErros()).isEqualTo(1);
+        assertThat(response.getResultados()).extracting(ItemLoteResultadoDTO::getSituacao)
+            .containsExactly(ItemLoteResultadoDTO.CRIADO, ItemLoteResultadoDTO.REPETIDO, ItemLoteResultadoDTO.ERRO);
+        assertThat(response.getResultados().get(1).getPagamento().getTransacao().getId()).isEqualTo("TX-ANTERIOR");
+
+        verify(pagamentoService).criarPagamentosEmLote(argThat(l -> l.size() == 1));
+        verify(idempotenciaService).salvarResposta(eq("nova"), eq("TX-NOVA"), eq(ENDPOINT), anyMap(), eq(201), eq(86400L));
+    }
+
+    @Test
+    @DisplayName("2. Item não gravado deve ser ERRO sem armazenar resposta de idempotência")
+    void deveMarcarErroQuandoItemNaoGravado() {
+        // Arrange
+        when(idempotenciaService.buscarResposta(anyString())).thenReturn(Optional.empty());
+        when(pagamentoService.criarPagamentosEmLote(anyList())).thenReturn(List.of(Optional.empty()));
+
+        // Act
+        PagamentoLoteResponseDTO response = loteService.processarLote(
+            new PagamentoLoteRequestDTO(List.of(item("falha"))), ENDPOINT);
+
+        // Assert
+        assertThat(response.getErros()).isEqualTo(1);
+        verify(idempotenciaService, never()).salvarResposta(any(), any(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("3. Deve rejeitar lote acima do tamanho máximo")
+    void deveRejeitarLoteAcimaDoMaximo() {
+        pagamentoProperties.getLote().setTamanhoMaximo(1);
+
+        assertThatThrownBy(() -> loteService.processarLote(
+                new PagamentoLoteRequestDTO(List.of(item("a"), item("b"))), ENDPOINT))
+            .isInstanceOf(NegocioException.class);
+
+        verifyNoInteractions(pagamentoService, idempotenciaService);
+    }
+
+    private ItemLotePagamentoDTO item(String chave) {
+        return ItemLotePagamentoDTO.builder()
+            .chaveIdempotencia(chave)
+            .transacao(TransacaoDTO.builder()
+                .cartao("4111********1111")
+                .descricao(DescricaoDTO.builder()
+                    .valor(new BigDecimal("10.00"))
+                    .estabelecimento("Marketplace")
+                    .build())
+                .formaPagamento(FormaPagamentoDTO.builder()
+                    .tipo(TipoPagamento.AVISTA)
+                    .parcelas(1)
+                    .build())
+                .build())
+            .build();
+    }
+
+    private PagamentoResponseDTO resposta(String idTransacao) {
+        return PagamentoResponseDTO.builder()
+            .transacao(TransacaoDTO.builder().id(idTransacao).status("AUTORIZADO").build())
+            .build();
+    }
+}
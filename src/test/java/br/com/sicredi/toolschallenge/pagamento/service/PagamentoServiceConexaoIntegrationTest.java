@@ -0,0 +1,212 @@
+package br.com.sicredi.toolschallenge.pagamento.service;
+
+import br.com.sicredi.toolschallenge.adquirente.domain.StatusAutorizacao;
+import br.com.sicredi.toolschallenge.adquirente.dto.AutorizacaoRequest;
+import br.com.sicredi.toolschallenge.adquirente.dto.AutorizacaoResponse;
+import br.com.sicredi.toolschallenge.adquirente.service.AdquirenteService;
+import br.com.sicredi.toolschallenge.infra.cache.CacheConsulta;
+import br.com.sicredi.toolschallenge.infra.identificador.GeradorIdentificador;
+import br.com.sicredi.toolschallenge.infra.outbox.publisher.EventoPublisher;
+import br.com.sicredi.toolschallenge.infra.replica.TransacaoLeitura;
+import br.com.sicredi.toolschallenge.infra.snowflake.GeradorSnowflake;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.dto.DescricaoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.FormaPagamentoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoMapper;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoRequestDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.TransacaoDTO;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoBuscaRepository;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoLoteRepository;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
+import br.com.sicredi.toolschallenge.shared.config.BuscaProperties;
+import br.com.sicredi.toolschallenge.shared.config.IdentificadorProperties;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import br.com.sicredi.toolschallenge.shared.config.ReprocessamentoProperties;
+import br.com.sicredi.toolschallenge.infra.analise.AgregadorEstabelecimentos;
+import br.com.sicredi.toolschallenge.shared.config.AnaliseEstabelecimentoProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes de integração da ocupação de conexões em criarPagamento.
+ * 
+ * Usa H2 com um pool Hikari de apenas 2 conexões e um adquirente que demora:
+ * - Durante a chamada ao adquirente nenhuma conexão fica retida
+ * - Mais pagamentos simultâneos que o tamanho do pool chegam ao adquirente
+ *   (com a transação aberta durante a chamada, só 2 chegariam e os demais
+ *   esgotariam o connection-timeout)
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:conexoes;DB_CLOSE_DELAY=-1",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.connection-timeout=1000",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@Import({PagamentoService.class, PagamentoLoteRepository.class, PagamentoBuscaRepository.class, PagamentoMapper.class,
+    PagamentoProperties.class, BuscaProperties.class, GeradorIdentificador.class, IdentificadorProperties.class,
+    TransacaoLeitura.class, AgregadorEstabelecimentos.class, AnaliseEstabelecimentoProperties.class,
+    PagamentoServiceConexaoIntegrationTest.Config.class})
+@DisplayName("PagamentoService - Testes de Integração de Conexões")
+class PagamentoServiceConexaoIntegrationTest {
+
+    private static final int PAGAMENTOS_SIMULTANEOS = 8;
+
+    private static final AtomicInteger autorizacoes = new AtomicInteger();
+
+    @Autowired
+    private PagamentoService pagamentoService;
+
+    @Autowired
+    private PagamentoRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private AdquirenteService adquirenteService;
+
+    @MockBean
+    private EventoPublisher eventoPublisher;
+
+    @MockBean
+    private ReprocessamentoProperties reprocessamentoProperties;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        Executor adquirenteExecutor() {
+            return Executors.newCachedThreadPool();
+        }
+
+        @Bean
+        GeradorSnowflake geradorSnowflake() {
+            return new GeradorSnowflake(GeradorSnowflake.EPOCH_PADRAO_MS, 1);
+        }
+
+        @Bean
+        CacheConsulta<PagamentoResponseDTO> cachePagamentos() {
+            return CacheConsulta.desabilitado("pagamento");
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve reter conexão durante a chamada ao adquirente")
+    void naoDeveReterConexaoDuranteChamadaAoAdquirente() {
+        // Arrange
+        AtomicInteger conexoesAtivasNaChamada = new AtomicInteger(-1);
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenAnswer(invocation -> {
+            conexoesAtivasNaChamada.set(hikari().getHikariPoolMXBean().getActiveConnections());
+            return autorizado();
+        });
+
+        // Act
+        PagamentoResponseDTO response = pagamentoService.criarPagamento(criarRequest());
+
+        // Assert
+        assertThat(conexoesAtivasNaChamada).hasValue(0);
+        assertThat(response.getTransacao().getStatus()).isEqualTo("AUTORIZADO");
+        assertThat(repository.findByIdTransacao(response.getTransacao().getId()))
+            .hasValueSatisfying(p -> assertThat(p.getStatus()).isEqualTo(StatusPagamento.AUTORIZADO));
+        assertThat(hikari().getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve atender mais pagamentos simultâneos que o tamanho do pool de conexões")
+    void deveAtenderMaisPagamentosSimultaneosQueOPool() throws Exception {
+        // Arrange: o adquirente só responde quando todos os pagamentos estiverem na chamada
+        CountDownLatch todosNoAdquirente = new CountDownLatch(PAGAMENTOS_SIMULTANEOS);
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenAnswer(invocation -> {
+            todosNoAdquirente.countDown();
+            todosNoAdquirente.await(5, TimeUnit.SECONDS);
+            return autorizado();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(PAGAMENTOS_SIMULTANEOS);
+        try {
+            // Act
+            List<Future<PagamentoResponseDTO>> respostas = new ArrayList<>();
+            for (int i = 0; i < PAGAMENTOS_SIMULTANEOS; i++) {
+                respostas.add(executor.submit(() -> pagamentoService.criarPagamento(criarRequest())));
+            }
+
+            // Assert
+            assertThat(todosNoAdquirente.await(10, TimeUnit.SECONDS)).isTrue();
+            for (Future<PagamentoResponseDTO> resposta : respostas) {
+                assertThat(resposta.get(10, TimeUnit.SECONDS).getTransacao().getStatus())
+                    .isEqualTo("AUTORIZADO");
+            }
+            assertThat(hikari().getMaximumPoolSize()).isLessThan(PAGAMENTOS_SIMULTANEOS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private HikariDataSource hikari() {
+        return (HikariDataSource) dataSource;
+    }
+
+    private AutorizacaoResponse autorizado() {
+        int sequencia = autorizacoes.incrementAndGet();
+        return new AutorizacaoResponse(StatusAutorizacao.AUTORIZADO,
+            String.format("%010d", sequencia), String.format("A%08d", sequencia));
+    }
+
+    private PagamentoRequestDTO criarRequest() {
+        return PagamentoRequestDTO.builder()
+            .transacao(TransacaoDTO.builder()
+                .cartao("4111********1111")
+                .id("1000235689001")
+                .descricao(DescricaoDTO.builder()
+                    .valor(new BigDecimal("150.00"))
+                    .dataHora(OffsetDateTime.now())
+                    .estabelecimento("Loja X")
+                    .build())
+                .formaPagamento(FormaPagamentoDTO.builder()
+                    .tipo(TipoPagamento.AVISTA)
+                    .parcelas(1)
+                    .build())
+                .build())
+            .build();
+    }
+}
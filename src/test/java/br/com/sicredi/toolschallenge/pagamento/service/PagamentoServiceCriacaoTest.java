@@ -0,0 +1,609 @@
+package br.com.sicredi.toolschallenge.pagamento.service;
+
+import br.com.sicredi.toolschallenge.adquirente.domain.StatusAutorizacao;
+import br.com.sicredi.toolschallenge.adquirente.dto.AutorizacaoRequest;
+import br.com.sicredi.toolschallenge.adquirente.dto.AutorizacaoResponse;
+import br.com.sicredi.toolschallenge.adquirente.service.AdquirenteService;
+import br.com.sicredi.toolschallenge.infra.cache.CacheConsulta;
+import br.com.sicredi.toolschallenge.infra.identificador.GeradorIdentificador;
+import br.com.sicredi.toolschallenge.infra.outbox.publisher.EventoPublisher;
+import br.com.sicredi.toolschallenge.infra.snowflake.GeradorSnowflake;
+import br.com.sicredi.toolschallenge.pagamento.domain.FilaAutorizacao;
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.dto.DescricaoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.FormaPagamentoDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoMapper;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoRequestDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.PagamentoResponseDTO;
+import br.com.sicredi.toolschallenge.pagamento.dto.TransacaoDTO;
+import br.com.sicredi.toolschallenge.pagamento.events.PagamentoCriadoEvento;
+import br.com.sicredi.toolschallenge.pagamento.repository.FilaAutorizacaoRepository;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoBuscaRepository;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoLoteRepository;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
+import br.com.sicredi.toolschallenge.shared.config.BuscaProperties;
+import br.com.sicredi.toolschallenge.shared.config.IdentificadorProperties;
+import br.com.sicredi.toolschallenge.shared.config.PagamentoProperties;
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import br.com.sicredi.toolschallenge.infra.analise.AgregadorEstabelecimentos;
+import br.com.sicredi.toolschallenge.shared.config.AnaliseEstabelecimentoProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários de criação de pagamento.
+ * 
+ * Cobertura:
+ * - Modo padrão: grava PENDENTE e depois o resultado (INSERT + UPDATE)
+ * - Autorizar antes de persistir: um único INSERT com o status final
+ * - Autorizar antes de persistir com orçamento esgotado: PENDENTE primeiro,
+ *   sem chamar o adquirente duas vezes
+ * - Espera máxima esgotada: responde PENDENTE e aplica a resposta quando chegar
+ * - Executor do adquirente saturado: PENDENTE na fila, nunca na thread da requisição
+ * - Submissão assíncrona: grava PENDENTE + item da fila, sem chamar o adquirente
+ * - Autorização pela fila: aplica o resultado e remove o item na mesma transação
+ * - Lote: INSERT em lote PENDENTE, autorização dos itens gravados e UPDATE em lote,
+ *   com fallback item a item e timeout de autorização
+ * - Lote maior que o bulkhead: concorrência limitada e itens sem vaga na fila
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("PagamentoService - Testes Unitários de Criação")
+class PagamentoServiceCriacaoTest {
+
+    @Mock
+    private PagamentoRepository repository;
+
+    @Mock
+    private FilaAutorizacaoRepository filaAutorizacaoRepository;
+
+    @Mock
+    private PagamentoLoteRepository pagamentoLoteRepository;
+
+    @Mock
+    private PagamentoBuscaRepository pagamentoBuscaRepository;
+
+    @Mock
+    private AdquirenteService adquirenteService;
+
+    @Mock
+    private EventoPublisher eventoPublisher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private PagamentoMapper mapper = new PagamentoMapper();
+
+    @Spy
+    private PagamentoProperties pagamentoProperties = new PagamentoProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ExecutorService adquirenteExecutor = Executors.newCachedThreadPool();
+
+    @Spy
+    private GeradorSnowflake geradorSnowflake = new GeradorSnowflake(GeradorSnowflake.EPOCH_PADRAO_MS, 1);
+
+    @Spy
+    private GeradorIdentificador geradorIdentificador = new GeradorIdentificador(new IdentificadorProperties());
+
+    @Spy
+    private CacheConsulta<PagamentoResponseDTO> cachePagamentos = CacheConsulta.desabilitado("pagamento");
+
+    @Spy
+    private BuscaProperties buscaProperties = new BuscaProperties();
+
+    @Spy
+    private AgregadorEstabelecimentos agregadorEstabelecimentos =
+        new AgregadorEstabelecimentos(new AnaliseEstabelecimentoProperties());
+
+    @InjectMocks
+    private PagamentoService pagamentoService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
+        when(repository.save(any(Pagamento.class))).thenAnswer(invocation -> {
+            Pagamento pagamento = invocation.getArgument(0);
+            if (pagamento.getId() == null) {
+                pagamento.setId(1L);
+            }
+            return pagamento;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        adquirenteExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("1. Modo padrão deve gravar PENDENTE e depois o resultado")
+    void deveGravarPendenteEDepoisResultadoNoModoPadrao() {
+        // Arrange
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenReturn(autorizado());
+
+        // Act
+        PagamentoResponseDTO response = pagamentoService.criarPagamento(criarRequest());
+
+        // Assert
+        assertThat(response.getTransacao().getStatus()).isEqualTo("AUTORIZADO");
+        verify(repository, times(2)).save(any(Pagamento.class));
+        verify(eventoPublisher).publicarPagamentoCriado(any());
+        verify(eventoPublisher).publicarPagamentoStatusAlterado(any());
+    }
+
+    @Test
+    @DisplayName("2. Deve gravar uma única vez com status final quando o adquirente responde no orçamento")
+    void deveGravarUmaUnicaVezQuandoAdquirenteRespondeNoOrcamento() {
+        // Arrange
+        pagamentoProperties.setAutorizarAntesDePersistir(true);
+        pagamentoProperties.setOrcamentoAutorizacaoMs(2000);
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenReturn(autorizado());
+
+        // Act
+        PagamentoResponseDTO response = pagamentoService.criarPagamento(criarRequest());
+
+        // Assert
+        assertThat(response.getTransacao().getStatus()).isEqualTo("AUTORIZADO");
+        assertThat(response.getTransacao().getNsu()).isEqualTo("0000000001");
+
+        ArgumentCaptor<PagamentoCriadoEvento> evento = ArgumentCaptor.forClass(PagamentoCriadoEvento.class);
+        verify(repository, times(1)).save(any(Pagamento.class));
+        verify(eventoPublisher).publicarPagamentoCriado(evento.capture());
+        verify(eventoPublisher, never()).publicarPagamentoStatusAlterado(any());
+        assertThat(evento.getValue().getStatus()).isEqualTo("AUTORIZADO");
+        assertThat(meterRegistry.counter("pagamento.criacao", "modo", "insercao_unica").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("3. Deve gravar PENDENTE primeiro quando o orçamento esgota, sem chamar o adquirente duas vezes")
+    void deveGravarPendentePrimeiroQuandoOrcamentoEsgota() {
+        // Arrange
+        pagamentoProperties.setAutorizarAntesDePersistir(true);
+        pagamentoProperties.setOrcamentoAutorizacaoMs(20);
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return autorizado();
+        });
+
+        // Act
+        PagamentoResponseDTO response = pagamentoService.criarPagamento(criarRequest());
+
+        // Assert
+        assertThat(response.getTransacao().getStatus()).isEqualTo("AUTORIZADO");
+        verify(adquirenteService, times(1)).autorizarPagamento(any(AutorizacaoRequest.class));
+        verify(repository, times(2)).save(any(Pagamento.class));
+        verify(eventoPublisher).publicarPagamentoCriado(argThat(e ->
+            "PENDENTE".equals(((PagamentoCriadoEvento) e).getStatus())));
+        verify(eventoPublisher).publicarPagamentoStatusAlterado(any());
+        assertThat(meterRegistry.counter("pagamento.criacao", "modo", "pendente_primeiro").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("3.1 Deve responder PENDENTE após a espera máxima e aplicar a resposta quando ela chegar")
+    void deveResponderPendenteAposEsperaMaxima() {
+        // Arrange
+        pagamentoProperties.setAutorizarAntesDePersistir(true);
+        pagamentoProperties.setOrcamentoAutorizacaoMs(20);
+        pagamentoProperties.setEsperaMaximaAutorizacaoMs(100);
+        when(repository.findById(1L)).thenAnswer(invocation -> Optional.of(pagamentoPendente()));
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(400);
+            return autorizado();
+        });
+
+        // Act
+        long inicio = System.nanoTime();
+        PagamentoResponseDTO response = pagamentoService.criarPagamento(criarRequest());
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        // Assert
+        assertThat(response.getTransacao().getStatus()).isEqualTo("PENDENTE");
+        assertThat(duracaoMs).isLessThan(400);
+        verify(repository, timeout(2000)).save(argThat(p -> p.getStatus() == StatusPagamento.AUTORIZADO));
+        verify(eventoPublisher, timeout(2000)).publicarPagamentoStatusAlterado(any());
+        verify(adquirenteService, times(1)).autorizarPagamento(any(AutorizacaoRequest.class));
+        assertThat(meterRegistry.counter("pagamento.criacao.autorizacao_atrasada").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("3.2 Executor do adquirente saturado deve gravar PENDENTE na fila sem chamar o adquirente")
+    void deveEnfileirarQuandoExecutorDoAdquirenteSaturado() {
+        // Arrange
+        pagamentoProperties.setAutorizarAntesDePersistir(true);
+        doThrow(new RejectedExecutionException("saturado")).when(adquirenteExecutor).execute(any(Runnable.class));
+
+        // Act
+        PagamentoResponseDTO response = pagamentoService.criarPagamento(criarRequest());
+
+        // Assert
+        assertThat(response.getTransacao().getStatus()).isEqualTo("PENDENTE");
+        verify(filaAutorizacaoRepository).save(argThat(item -> item.getIdPagamento() == 1L));
+        verify(repository, times(1)).save(any(Pagamento.class));
+        verifyNoInteractions(adquirenteService);
+        assertThat(meterRegistry.counter("pagamento.criacao", "modo", "fila").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("3.3 Executor com política CHAMADOR não deve chamar o adquirente na thread da requisição")
+    void naoDeveChamarAdquirenteNaThreadDaRequisicao() {
+        // Arrange
+        pagamentoProperties.setAutorizarAntesDePersistir(true);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(adquirenteExecutor).execute(any(Runnable.class));
+
+        // Act
+        PagamentoResponseDTO response = pagamentoService.criarPagamento(criarRequest());
+
+        // Assert
+        assertThat(response.getTransacao().getStatus()).isEqualTo("PENDENTE");
+        verify(filaAutorizacaoRepository).save(any(FilaAutorizacao.class));
+        verifyNoInteractions(adquirenteService);
+    }
+
+    @Test
+    @DisplayName("4. Submissão assíncrona deve gravar PENDENTE e enfileirar sem chamar o adquirente")
+    void deveEnfileirarSemChamarAdquirenteNaSubmissaoAssincrona() {
+        // Act
+        PagamentoResponseDTO response = pagamentoService.submeterPagamento(criarRequest(), "https://loja.exemplo.com/retorno");
+
+        // Assert
+        assertThat(response.getTransacao().getStatus()).isEqualTo("PENDENTE");
+        ArgumentCaptor<FilaAutorizacao> item = ArgumentCaptor.forClass(FilaAutorizacao.class);
+        verify(filaAutorizacaoRepository).save(item.capture());
+        assertThat(item.getValue().getIdPagamento()).isEqualTo(1L);
+        assertThat(item.getValue().getUrlCallback()).isEqualTo("https://loja.exemplo.com/retorno");
+        verify(eventoPublisher).publicarPagamentoCriado(any());
+        verifyNoInteractions(adquirenteService);
+    }
+
+    @Test
+    @DisplayName("5. Submissão assíncrona deve rejeitar URL de callback inválida")
+    void deveRejeitarUrlCallbackInvalida() {
+        assertThatThrownBy(() -> pagamentoService.submeterPagamento(criarRequest(), "file:///etc/passwd"))
+            .isInstanceOf(NegocioException.class);
+
+        verify(repository, never()).save(any(Pagamento.class));
+        verify(filaAutorizacaoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("5.1 Submissão assíncrona deve rejeitar callback para endereço interno ou host fora da allowlist")
+    void deveRejeitarUrlCallbackInternaOuForaDaAllowlist() {
+        // Act & Assert
+        assertThatThrownBy(() -> pagamentoService.submeterPagamento(criarRequest(), "http://169.254.169.254/latest/meta-data/"))
+            .isInstanceOf(NegocioException.class)
+            .hasMessageContaining("endereço interno");
+
+        pagamentoProperties.getAssincrono().setHostsCallbackPermitidos(List.of("*.exemplo.com"));
+        assertThatThrownBy(() -> pagamentoService.submeterPagamento(criarRequest(), "https://loja.atacante.net/retorno"))
+            .isInstanceOf(NegocioException.class)
+            .hasMessageContaining("não permitido");
+
+        verify(repository, never()).save(any(Pagamento.class));
+        verify(filaAutorizacaoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("6. Autorização pela fila deve aplicar o resultado e remover o item")
+    void deveAplicarResultadoERemoverItemDaFila() {
+        // Arrange
+        Pagamento pendente = pagamentoPendente();
+        when(repository.findById(1L)).thenReturn(Optional.of(pendente));
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenReturn(autorizado());
+
+        // Act
+        Optional<PagamentoResponseDTO> resultado = pagamentoService.autorizarDaFila(itemFila(1));
+
+        // Assert
+        assertThat(resultado).hasValueSatisfying(r ->
+            assertThat(r.getTransacao().getStatus()).isEqualTo("AUTORIZADO"));
+        verify(filaAutorizacaoRepository).remover(10L);
+        verify(eventoPublisher).publicarPagamentoStatusAlterado(any());
+        verify(agregadorEstabelecimentos, times(1)).registrarAutorizacao("Loja X", StatusPagamento.AUTORIZADO);
+    }
+
+    @Test
+    @DisplayName("7. Item deve permanecer na fila enquanto o adquirente responder PENDENTE")
+    void deveManterItemNaFilaQuandoAdquirenteIndisponivel() {
+        // Arrange
+        Pagamento pendente = pagamentoPendente();
+        when(repository.findById(1L)).thenReturn(Optional.of(pendente));
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class)))
+            .thenReturn(new AutorizacaoResponse(StatusAutorizacao.PENDENTE, null, null));
+
+        // Act
+        Optional<PagamentoResponseDTO> resultado = pagamentoService.autorizarDaFila(itemFila(1));
+
+        // Assert
+        assertThat(resultado).isEmpty();
+        verify(filaAutorizacaoRepository, never()).remover(any());
+        verify(repository, never()).save(any(Pagamento.class));
+        verify(agregadorEstabelecimentos, never()).registrarAutorizacao(any(), any());
+    }
+
+    @Test
+    @DisplayName("8. Item deve sair da fila após o máximo de tentativas, deixando o pagamento para o reprocessamento")
+    void deveRemoverItemAposMaximoDeTentativas() {
+        // Arrange
+        Pagamento pendente = pagamentoPendente();
+        when(repository.findById(1L)).thenReturn(Optional.of(pendente));
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class)))
+            .thenReturn(new AutorizacaoResponse(StatusAutorizacao.PENDENTE, null, null));
+
+        // Act
+        Optional<PagamentoResponseDTO> resultado = pagamentoService.autorizarDaFila(
+            itemFila(pagamentoProperties.getAssincrono().getMaxTentativas()));
+
+        // Assert
+        assertThat(resultado).isEmpty();
+        verify(filaAutorizacaoRepository).remover(10L);
+        verify(repository, never()).save(any(Pagamento.class));
+    }
+
+    @Test
+    @DisplayName("9. Lote deve gravar PENDENTE em lote, autorizar e gravar os resultados em lote")
+    void deveGravarLotePendenteEResultadosEmLote() {
+        // Arrange
+        List<StatusPagamento> statusNoInsert = new ArrayList<>();
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenReturn(autorizado());
+        when(pagamentoLoteRepository.inserirEmLote(anyList())).thenAnswer(invocation -> {
+            List<Pagamento> pagamentos = invocation.getArgument(0);
+            for (int i = 0; i < pagamentos.size(); i++) {
+                pagamentos.get(i).setId(i + 1L);
+                statusNoInsert.add(pagamentos.get(i).getStatus());
+            }
+            return pagamentos;
+        });
+
+        // Act
+        List<Optional<PagamentoResponseDTO>> resultados = pagamentoService.criarPagamentosEmLote(
+            List.of(criarRequest(), criarRequest(), criarRequest()));
+
+        // Assert
+        assertThat(resultados).hasSize(3).allSatisfy(r ->
+            assertThat(r).hasValueSatisfying(p -> assertThat(p.getTransacao().getStatus()).isEqualTo("AUTORIZADO")));
+        assertThat(statusNoInsert).containsOnly(StatusPagamento.PENDENTE);
+        verify(adquirenteService, times(3)).autorizarPagamento(any(AutorizacaoRequest.class));
+        verify(pagamentoLoteRepository, times(1)).inserirEmLote(argThat(l -> l.size() == 3));
+        verify(pagamentoLoteRepository, times(1)).atualizarResultadoEmLote(argThat(l -> l.size() == 3));
+        verify(eventoPublisher, times(1)).publicarPagamentosCriados(argThat(l -> l.size() == 3));
+        verify(eventoPublisher, times(3)).publicarPagamentoStatusAlterado(any());
+        verify(eventPublisher, times(6)).publishEvent(any(Object.class));
+        verify(repository, never()).save(any(Pagamento.class));
+    }
+
+    @Test
+    @DisplayName("10. Lote deve gravar item a item quando o INSERT em lote falhar, sem autorizar o item não gravado")
+    void deveGravarItemAItemQuandoLoteFalhar() {
+        // Arrange
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenReturn(autorizado());
+        when(pagamentoLoteRepository.inserirEmLote(anyList()))
+            .thenThrow(new org.springframework.dao.DataIntegrityViolationException("uk_pagamento_snowflake_id"));
+        AtomicInteger insercoes = new AtomicInteger();
+        when(repository.save(any(Pagamento.class))).thenAnswer(invocation -> {
+            Pagamento pagamento = invocation.getArgument(0);
+            if (pagamento.getId() == null) {
+                if (insercoes.incrementAndGet() == 2) {
+                    throw new org.springframework.dao.DataIntegrityViolationException("uk_pagamento_id_transacao");
+                }
+                pagamento.setId((long) insercoes.get());
+            }
+            return pagamento;
+        });
+
+        // Act
+        List<Optional<PagamentoResponseDTO>> resultados = pagamentoService.criarPagamentosEmLote(
+            List.of(criarRequest(), criarRequest()));
+
+        // Assert
+        assertThat(resultados).hasSize(2);
+        assertThat(resultados.get(0)).hasValueSatisfying(p ->
+            assertThat(p.getTransacao().getStatus()).isEqualTo("AUTORIZADO"));
+        assertThat(resultados.get(1)).isEmpty();
+        verify(adquirenteService, times(1)).autorizarPagamento(any(AutorizacaoRequest.class));
+        verify(eventoPublisher, times(1)).publicarPagamentoCriado(argThat(e ->
+            "PENDENTE".equals(((PagamentoCriadoEvento) e).getStatus())));
+        verify(pagamentoLoteRepository, times(1)).atualizarResultadoEmLote(argThat(l -> l.size() == 1));
+    }
+
+    @Test
+    @DisplayName("11. Lote deve responder PENDENTE após o timeout e aplicar a resposta quando ela chegar")
+    void deveAplicarRespostaAtrasadaDoLote() {
+        // Arrange
+        pagamentoProperties.getLote().setTimeoutAutorizacaoMs(20);
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return autorizado();
+        });
+        when(pagamentoLoteRepository.inserirEmLote(anyList())).thenAnswer(invocation -> {
+            List<Pagamento> pagamentos = invocation.getArgument(0);
+            pagamentos.get(0).setId(1L);
+            return pagamentos;
+        });
+
+        // Act
+        List<Optional<PagamentoResponseDTO>> resultados = pagamentoService.criarPagamentosEmLote(List.of(criarRequest()));
+
+        // Assert
+        assertThat(resultados.get(0)).hasValueSatisfying(p ->
+            assertThat(p.getTransacao().getStatus()).isEqualTo("PENDENTE"));
+        verify(repository, timeout(2000)).save(argThat(p -> p.getStatus() == StatusPagamento.AUTORIZADO));
+        verify(eventoPublisher, timeout(2000)).publicarPagamentoStatusAlterado(any());
+        verify(adquirenteService, times(1)).autorizarPagamento(any(AutorizacaoRequest.class));
+        verify(pagamentoLoteRepository, never()).atualizarResultadoEmLote(anyList());
+        assertThat(meterRegistry.counter("pagamento.lote.autorizacao_atrasada").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("12. Lote maior que o bulkhead deve respeitar a concorrência máxima e autorizar todos os itens")
+    void deveLimitarConcorrenciaDoLoteAbaixoDoBulkhead() {
+        // Arrange
+        int tamanho = 60;
+        pagamentoProperties.getLote().setConcorrenciaMaxima(5);
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger picoConcorrencia = new AtomicInteger();
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenAnswer(invocation -> {
+            picoConcorrencia.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            emAndamento.decrementAndGet();
+            return autorizado();
+        });
+        when(pagamentoLoteRepository.inserirEmLote(anyList())).thenAnswer(invocation -> {
+            List<Pagamento> pagamentos = invocation.getArgument(0);
+            for (int i = 0; i < pagamentos.size(); i++) {
+                pagamentos.get(i).setId(i + 1L);
+            }
+            return pagamentos;
+        });
+        List<PagamentoRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            requests.add(criarRequest());
+        }
+
+        // Act
+        List<Optional<PagamentoResponseDTO>> resultados = pagamentoService.criarPagamentosEmLote(requests);
+
+        // Assert
+        assertThat(resultados).hasSize(tamanho).allSatisfy(r ->
+            assertThat(r).hasValueSatisfying(p -> assertThat(p.getTransacao().getStatus()).isEqualTo("AUTORIZADO")));
+        assertThat(picoConcorrencia.get()).isLessThanOrEqualTo(5);
+        verify(adquirenteService, times(tamanho)).autorizarPagamento(any(AutorizacaoRequest.class));
+        verify(filaAutorizacaoRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("13. Itens do lote sem vaga até o timeout devem ir para a fila sem chamar o adquirente")
+    void deveEnfileirarItensDoLoteSemVaga() {
+        // Arrange
+        pagamentoProperties.getLote().setConcorrenciaMaxima(1);
+        pagamentoProperties.getLote().setTimeoutAutorizacaoMs(50);
+        when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return autorizado();
+        });
+        when(pagamentoLoteRepository.inserirEmLote(anyList())).thenAnswer(invocation -> {
+            List<Pagamento> pagamentos = invocation.getArgument(0);
+            for (int i = 0; i < pagamentos.size(); i++) {
+                pagamentos.get(i).setId(i + 1L);
+            }
+            return pagamentos;
+        });
+
+        // Act
+        List<Optional<PagamentoResponseDTO>> resultados = pagamentoService.criarPagamentosEmLote(
+            List.of(criarRequest(), criarRequest(), criarRequest()));
+
+        // Assert
+        assertThat(resultados).hasSize(3).allSatisfy(r ->
+            assertThat(r).hasValueSatisfying(p -> assertThat(p.getTransacao().getStatus()).isEqualTo("PENDENTE")));
+        verify(adquirenteService, times(1)).autorizarPagamento(any(AutorizacaoRequest.class));
+        verify(filaAutorizacaoRepository, times(1)).saveAll(argThat(itens -> ((List<?>) itens).size() == 2));
+        assertThat(meterRegistry.counter("pagamento.lote.enfileirados").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("14. Lote com executor saturado deve enfileirar sem chamar o adquirente na thread da requisição")
+    void deveEnfileirarLoteQuandoExecutorRecusar() {
+        // Arrange
+        doThrow(new RejectedExecutionException("saturado")).when(adquirenteExecutor).execute(any(Runnable.class));
+        when(pagamentoLoteRepository.inserirEmLote(anyList())).thenAnswer(invocation -> {
+            List<Pagamento> pagamentos = invocation.getArgument(0);
+            for (int i = 0; i < pagamentos.size(); i++) {
+                pagamentos.get(i).setId(i + 1L);
+            }
+            return pagamentos;
+        });
+
+        // Act
+        List<Optional<PagamentoResponseDTO>> resultados = pagamentoService.criarPagamentosEmLote(
+            List.of(criarRequest(), criarRequest()));
+
+        // Assert
+        assertThat(resultados).hasSize(2).allSatisfy(r ->
+            assertThat(r).hasValueSatisfying(p -> assertThat(p.getTransacao().getStatus()).isEqualTo("PENDENTE")));
+        verify(adquirenteService, never()).autorizarPagamento(any(AutorizacaoRequest.class));
+        verify(filaAutorizacaoRepository, times(1)).saveAll(argThat(itens -> ((List<?>) itens).size() == 2));
+    }
+
+    private Pagamento pagamentoPendente() {
+        Pagamento pagamento = mapper.toEntity(criarRequest());
+        pagamento.setId(1L);
+        pagamento.setStatus(StatusPagamento.PENDENTE);
+        return pagamento;
+    }
+
+    private FilaAutorizacao itemFila(int tentativas) {
+        return FilaAutorizacao.builder()
+            .id(10L)
+            .idPagamento(1L)
+            .tentativas(tentativas)
+            .build();
+    }
+
+    private AutorizacaoResponse autorizado() {
+        return new AutorizacaoResponse(StatusAutorizacao.AUTORIZADO, "0000000001", "AUTH00001");
+    }
+
+    private PagamentoRequestDTO criarRequest() {
+        return PagamentoRequestDTO.builder()
+            .transacao(TransacaoDTO.builder()
+                .cartao("4111********1111")
+                .id("1000235689001")
+                .descricao(DescricaoDTO.builder()
+                    .valor(new BigDecimal("150.00"))
+                    .dataHora(OffsetDateTime.now())
+                    .estabelecimento("Loja X")
+                    .build())
+                .formaPagamento(FormaPagamentoDTO.builder()
+                    .tipo(TipoPagamento.AVISTA)
+                    .parcelas(1)
+                    .build())
+                .build())
+            .build();
+    }
+}
@@ -9,6 +9,8 @@ import br.com.sicredi.toolschallenge.infra.outbox.publisher.EventoPublisher;
 import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
 import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
 import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
+import br.com.sicredi.toolschallenge.infra.analise.AgregadorEstabelecimentos;
+import br.com.sicredi.toolschallenge.shared.config.AnaliseEstabelecimentoProperties;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,9 +19,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -35,6 +39,7 @@ import static org.mockito.Mockito.*;
  * - Reprocessamento com NEGADO (PENDENTE → NEGADO)
  * - Reprocessamento com max tentativas atingidas (DLQ)
  * - Batch vazio (retorna sem erro)
+ * - Carência para pagamentos recém-criados
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("PagamentoService - Testes Unitários de Reprocessamento")
@@ -58,6 +63,10 @@ class PagamentoServiceTest {
     @Mock
     private Counter dlqCounter;
 
+    @Spy
+    private AgregadorEstabelecimentos agregadorEstabelecimentos =
+        new AgregadorEstabelecimentos(new AnaliseEstabelecimentoProperties());
+
     @InjectMocks
     private PagamentoService pagamentoService;
 
@@ -103,7 +112,7 @@ class PagamentoServiceTest {
         pagamentoPendente.setTentativasReprocessamento(0);
         pagamentoPendente.setValor(new BigDecimal("100.00"));
 
-        when(repository.findPagamentosPendentes())
+        when(repository.findPagamentosPendentes(any(OffsetDateTime.class)))
             .thenReturn(Arrays.asList(pagamentoPendente));
         when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class)))
             .thenReturn(autorizacaoAprovada);
@@ -113,7 +122,7 @@ class PagamentoServiceTest {
         pagamentoService.reprocessarPagamentosPendentes();
 
         // Assert
-        verify(repository).findPagamentosPendentes();
+        verify(repository).findPagamentosPendentes(any(OffsetDateTime.class));
         verify(adquirenteService).autorizarPagamento(any(AutorizacaoRequest.class));
         verify(repository).save(argThat(p -> 
             p.getStatus() == StatusPagamento.AUTORIZADO &&
@@ -135,7 +144,7 @@ class PagamentoServiceTest {
         pagamentoPendente.setTentativasReprocessamento(1); // Já tentou 1x
         pagamentoPendente.setValor(new BigDecimal("200.00"));
 
-        when(repository.findPagamentosPendentes())
+        when(repository.findPagamentosPendentes(any(OffsetDateTime.class)))
             .thenReturn(Arrays.asList(pagamentoPendente));
         when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class)))
             .thenReturn(autorizacaoPendente); // Ainda pendente (Circuit Breaker OPEN)
@@ -145,7 +154,7 @@ class PagamentoServiceTest {
         pagamentoService.reprocessarPagamentosPendentes();
 
         // Assert
-        verify(repository).findPagamentosPendentes();
+        verify(repository).findPagamentosPendentes(any(OffsetDateTime.class));
         verify(adquirenteService).autorizarPagamento(any(AutorizacaoRequest.class));
         verify(repository).save(argThat(p -> 
             p.getStatus() == StatusPagamento.PENDENTE &&
@@ -165,7 +174,7 @@ class PagamentoServiceTest {
         pagamentoPendente.setTentativasReprocessamento(0);
         pagamentoPendente.setValor(new BigDecimal("50.00"));
 
-        when(repository.findPagamentosPendentes())
+        when(repository.findPagamentosPendentes(any(OffsetDateTime.class)))
             .thenReturn(Arrays.asList(pagamentoPendente));
         when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class)))
             .thenReturn(autorizacaoNegada); // Adquirente negou
@@ -175,7 +184,7 @@ class PagamentoServiceTest {
         pagamentoService.reprocessarPagamentosPendentes();
 
         // Assert
-        verify(repository).findPagamentosPendentes();
+        verify(repository).findPagamentosPendentes(any(OffsetDateTime.class));
         verify(adquirenteService).autorizarPagamento(any(AutorizacaoRequest.class));
         verify(repository).save(argThat(p -> 
             p.getStatus() == StatusPagamento.NEGADO &&
@@ -195,14 +204,14 @@ class PagamentoServiceTest {
         pagamentoDLQ.setTentativasReprocessamento(3); // MAX = 3
         pagamentoDLQ.setValor(new BigDecimal("75.00"));
 
-        when(repository.findPagamentosPendentes())
+        when(repository.findPagamentosPendentes(any(OffsetDateTime.class)))
             .thenReturn(Arrays.asList(pagamentoDLQ));
 
         // Act
         pagamentoService.reprocessarPagamentosPendentes();
 
         // Assert
-        verify(repository).findPagamentosPendentes();
+        verify(repository).findPagamentosPendentes(any(OffsetDateTime.class));
         verify(adquirenteService, never()).autorizarPagamento(any()); // NÃO tentou reprocessar
         verify(repository, never()).save(any()); // NÃO salvou
         verify(eventoPublisher, never()).publicarPagamentoStatusAlterado(any());
@@ -212,14 +221,14 @@ class PagamentoServiceTest {
     @DisplayName("5. Deve retornar sem erro quando batch está vazio")
     void deveRetornarSemErroQuandoBatchVazio() {
         // Arrange
-        when(repository.findPagamentosPendentes())
+        when(repository.findPagamentosPendentes(any(OffsetDateTime.class)))
             .thenReturn(Collections.emptyList()); // Lista vazia
 
         // Act
         pagamentoService.reprocessarPagamentosPendentes();
 
         // Assert
-        verify(repository).findPagamentosPendentes();
+        verify(repository).findPagamentosPendentes(any(OffsetDateTime.class));
         verify(adquirenteService, never()).autorizarPagamento(any());
         verify(repository, never()).save(any());
         verify(eventoPublisher, never()).publicarPagamentoStatusAlterado(any());
@@ -250,7 +259,7 @@ class PagamentoServiceTest {
         pag3.setTentativasReprocessamento(3); // DLQ
         pag3.setValor(new BigDecimal("300.00"));
 
-        when(repository.findPagamentosPendentes())
+        when(repository.findPagamentosPendentes(any(OffsetDateTime.class)))
             .thenReturn(Arrays.asList(pag1, pag2, pag3));
         when(adquirenteService.autorizarPagamento(any(AutorizacaoRequest.class)))
             .thenReturn(autorizacaoAprovada); // Todos que forem reprocessados terão sucesso
@@ -260,7 +269,7 @@ class PagamentoServiceTest {
         pagamentoService.reprocessarPagamentosPendentes();
 
         // Assert
-        verify(repository).findPagamentosPendentes();
+        verify(repository).findPagamentosPendentes(any(OffsetDateTime.class));
         verify(adquirenteService, times(2)).autorizarPagamento(any()); // 2x (pag1 e pag2, pag3 foi para DLQ)
         verify(repository, times(2)).save(any()); // 2x salvamentos
         verify(eventoPublisher, times(2)).publicarPagamentoStatusAlterado(any()); // 2x eventos
@@ -284,7 +293,7 @@ class PagamentoServiceTest {
         pag2.setTentativasReprocessamento(0);
         pag2.setValor(new BigDecimal("200.00"));
 
-        when(repository.findPagamentosPendentes())
+        when(repository.findPagamentosPendentes(any(OffsetDateTime.class)))
             .thenReturn(Arrays.asList(pag1, pag2));
         
         // Primeiro pagamento lança exceção, segundo funciona
@@ -298,7 +307,7 @@ class PagamentoServiceTest {
         pagamentoService.reprocessarPagamentosPendentes();
 
         // Assert - Deve processar os 2 pagamentos (1 com erro, 1 com sucesso)
-        verify(repository).findPagamentosPendentes();
+        verify(repository).findPagamentosPendentes(any(OffsetDateTime.class));
         verify(adquirenteService, times(2)).autorizarPagamento(any());
         verify(repository, times(1)).save(argThat(p -> 
             p.getIdTransacao().equals("TXN-OK-2") && p.getStatus() == StatusPagamento.AUTORIZADO
@@ -321,7 +330,7 @@ class PagamentoServiceTest {
         pagamentoDLQ.setTentativasReprocessamento(3); // MAX = 3
         pagamentoDLQ.setValor(new BigDecimal("999.99"));
 
-        when(repository.findPagamentosPendentes())
+        when(repository.findPagamentosPendentes(any(OffsetDateTime.class)))
             .thenReturn(Arrays.asList(pagamentoDLQ));
 
         // Act
@@ -330,8 +339,25 @@ class PagamentoServiceTest {
         // Assert - Verificar que counter DLQ foi incrementado
         verify(meterRegistry).counter("reprocessamento.dlq.total", "tipo", "pagamento");
         verify(dlqCounter).increment(); // Counter foi incrementado
-        verify(repository).findPagamentosPendentes();
+        verify(repository).findPagamentosPendentes(any(OffsetDateTime.class));
         verify(adquirenteService, never()).autorizarPagamento(any()); // Não processou
         verify(repository, never()).save(any()); // Não salvou
     }
+
+    @Test
+    @DisplayName("9. Deve ignorar pagamentos criados dentro da carência (ainda aguardando o adquirente)")
+    void deveIgnorarPagamentosDentroDaCarencia() {
+        // Arrange
+        when(reprocessamentoProperties.getCarenciaSegundos()).thenReturn(60);
+        when(repository.findPagamentosPendentes(any(OffsetDateTime.class)))
+            .thenReturn(Collections.emptyList());
+
+        // Act
+        OffsetDateTime antes = OffsetDateTime.now();
+        pagamentoService.reprocessarPagamentosPendentes();
+
+        // Assert - Limite de criação = agora - 60s
+        verify(repository).findPagamentosPendentes(argThat(limite ->
+            !limite.isAfter(antes.minusSeconds(59)) && limite.isAfter(antes.minusSeconds(61))));
+    }
 }
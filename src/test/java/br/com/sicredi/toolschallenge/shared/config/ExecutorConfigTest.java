@@ -0,0 +1,146 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExecutorConfig - Testes Unitários")
+class ExecutorConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ThreadPoolTaskExecutor> executores = new ArrayList<>();
+
+    private ExecutorConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ExecutorConfig(new ExecutoresProperties(), meterRegistry, new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executores.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    @Test
+    @DisplayName("Deve criar executor nomeado com fila limitada")
+    void deveCriarExecutorNomeadoComFilaLimitada() throws InterruptedException {
+        // Arrange
+        ThreadPoolTaskExecutor executor = iniciar("auditoria",
+            new ExecutoresProperties.Pool(2, 4, 1000, ExecutoresProperties.PoliticaRejeicao.CHAMADOR));
+        AtomicReference<String> thread = new AtomicReference<>();
+        CountDownLatch executado = new CountDownLatch(1);
+
+        // Act
+        executor.execute(() -> {
+            thread.set(Thread.currentThread().getName());
+            executado.countDown();
+        });
+        executado.await();
+
+        // Assert
+        assertThat(thread.get()).startsWith("auditoria-");
+        assertThat(executor.getCorePoolSize()).isEqualTo(2);
+        assertThat(executor.getMaxPoolSize()).isEqualTo(4);
+        assertThat(executor.getQueueCapacity()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Deve executar na thread chamadora e contar rejeição quando saturado")
+    void deveExecutarNaThreadChamadoraQuandoSaturado() throws InterruptedException {
+        // Arrange
+        ThreadPoolTaskExecutor executor = iniciar("teste",
+            new ExecutoresProperties.Pool(1, 1, 1, ExecutoresProperties.PoliticaRejeicao.CHAMADOR));
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicReference<String> thread = new AtomicReference<>();
+
+        try {
+            executor.execute(() -> aguardar(liberar));  // ocupa a thread
+            executor.execute(() -> aguardar(liberar));  // ocupa a fila
+
+            // Act
+            executor.execute(() -> thread.set(Thread.currentThread().getName()));
+
+            // Assert
+            assertThat(thread.get()).isEqualTo(Thread.currentThread().getName());
+            assertThat(meterRegistry.counter("executor.rejeitadas", "nome", "teste").count()).isEqualTo(1.0);
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar tarefa quando saturado com política DESCARTAR")
+    void deveDescartarTarefaQuandoSaturado() {
+        // Arrange
+        ThreadPoolTaskExecutor executor = iniciar("outbox-ack",
+            new ExecutoresProperties.Pool(1, 1, 1, ExecutoresProperties.PoliticaRejeicao.DESCARTAR));
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger descartadaExecutada = new AtomicInteger();
+
+        try {
+            executor.execute(() -> aguardar(liberar));
+            executor.execute(() -> aguardar(liberar));
+
+            // Act
+            executor.execute(descartadaExecutada::incrementAndGet);
+
+            // Assert
+            assertThat(descartadaExecutada).hasValue(0);
+            assertThat(meterRegistry.counter("executor.rejeitadas", "nome", "outbox-ack").count()).isEqualTo(1.0);
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar tarefa quando saturado com política REJEITAR")
+    void deveRecusarTarefaQuandoSaturado() {
+        // Arrange
+        ThreadPoolTaskExecutor executor = iniciar("adquirente",
+            new ExecutoresProperties.Pool(1, 1, 0, ExecutoresProperties.PoliticaRejeicao.REJEITAR));
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger recusadaExecutada = new AtomicInteger();
+
+        try {
+            executor.execute(() -> aguardar(liberar));
+
+            // Act & Assert
+            assertThatThrownBy(() -> executor.execute(recusadaExecutada::incrementAndGet))
+                .isInstanceOf(RejectedExecutionException.class);
+            assertThat(recusadaExecutada).hasValue(0);
+            assertThat(meterRegistry.counter("executor.rejeitadas", "nome", "adquirente").count()).isEqualTo(1.0);
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    private ThreadPoolTaskExecutor iniciar(String nome, ExecutoresProperties.Pool pool) {
+        ThreadPoolTaskExecutor executor = config.criarExecutor(nome, pool);
+        executor.initialize();
+        executores.add(executor);
+        return executor;
+    }
+
+    private void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
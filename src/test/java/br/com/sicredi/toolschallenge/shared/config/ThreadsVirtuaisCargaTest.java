@@ -0,0 +1,123 @@
+package br.com.sicredi.toolschallenge.shared.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga do modo virtual threads (executa apenas em Java 21+: ./mvnw -Pjava21 test).
+ *
+ * Simula requisições que passam a maior parte do tempo aguardando o adquirente
+ * e compara o pool de plataforma padrão do Tomcat (200 threads) com uma
+ * virtual thread por requisição.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@DisplayName("Threads Virtuais - Teste de Carga")
+class ThreadsVirtuaisCargaTest {
+
+    private static final int REQUISICOES = 2000;
+    private static final int THREADS_TOMCAT = 200;
+    private static final long LATENCIA_ADQUIRENTE_MS = 100;
+
+    @Test
+    @DisplayName("Deve atender mais requisições por segundo com virtual threads quando limitado pela latência do adquirente")
+    void deveAumentarVazaoComThreadsVirtuais() throws InterruptedException {
+        // Arrange
+        ThreadPoolTaskExecutor plataforma = new ThreadPoolTaskExecutor();
+        plataforma.setThreadNamePrefix("http-nio-");
+        plataforma.setCorePoolSize(THREADS_TOMCAT);
+        plataforma.setMaxPoolSize(THREADS_TOMCAT);
+        plataforma.setQueueCapacity(REQUISICOES);
+        plataforma.initialize();
+
+        VirtualThreadTaskExecutor virtual = new VirtualThreadTaskExecutor("http-virtual-");
+
+        try {
+            // Act
+            double vazaoPlataforma = medirVazao(plataforma);
+            double vazaoVirtual = medirVazao(virtual);
+
+            // Assert: 200 threads x 100ms = ~2000 req/s; virtual threads não têm esse teto
+            assertThat(vazaoPlataforma).isLessThan(THREADS_TOMCAT * (1000.0 / LATENCIA_ADQUIRENTE_MS) * 1.1);
+            assertThat(vazaoVirtual).isGreaterThan(vazaoPlataforma * 2);
+        } finally {
+            plataforma.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve criar virtual threads nos executores nomeados quando habilitado")
+    void deveCriarThreadsVirtuaisNosExecutoresQuandoHabilitado() throws Exception {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+        ExecutorConfig config = new ExecutorConfig(new ExecutoresProperties(), new SimpleMeterRegistry(), environment);
+        ThreadPoolTaskExecutor executor = config.criarExecutor("auditoria",
+            new ExecutoresProperties.Pool(2, 4, 10, ExecutoresProperties.PoliticaRejeicao.CHAMADOR));
+        executor.initialize();
+
+        AtomicBoolean virtual = new AtomicBoolean();
+        CountDownLatch executado = new CountDownLatch(1);
+
+        try {
+            // Act
+            executor.execute(() -> {
+                virtual.set(isVirtual(Thread.currentThread()));
+                executado.countDown();
+            });
+
+            // Assert
+            assertThat(executado.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(virtual).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Dispara as requisições e mede requisições concluídas por segundo.
+     */
+    private double medirVazao(TaskExecutor executor) throws InterruptedException {
+        CountDownLatch concluidas = new CountDownLatch(REQUISICOES);
+        long inicio = System.nanoTime();
+
+        for (int i = 0; i < REQUISICOES; i++) {
+            executor.execute(() -> {
+                aguardarAdquirente();
+                concluidas.countDown();
+            });
+        }
+
+        assertThat(concluidas.await(60, TimeUnit.SECONDS)).isTrue();
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        return REQUISICOES / segundos;
+    }
+
+    private void aguardarAdquirente() {
+        try {
+            Thread.sleep(LATENCIA_ADQUIRENTE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Thread.isVirtual() só existe a partir do Java 21 (o build padrão compila para 17)
+    private boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.sicredi.toolschallenge.shared.paginacao;
+
+import br.com.sicredi.toolschallenge.shared.exception.NegocioException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários do CursorKeyset.
+ *
+ * Cenários testados:
+ * 1. Codificar e decodificar preserva o instante (com microssegundos) e o id
+ * 2. Cursor ausente: primeira página
+ * 3. Cursor adulterado: NegocioException (400)
+ */
+@DisplayName("CursorKeyset - Testes Unitários")
+class CursorKeysetTest {
+
+    @Test
+    @DisplayName("1. Deve decodificar o mesmo instante e id que foram codificados")
+    void deveDecodificarOMesmoInstanteEId() {
+        // Arrange
+        OffsetDateTime criadoEm = OffsetDateTime.of(2025, 11, 10, 9, 30, 15, 123_456_000, ZoneOffset.ofHours(-3));
+        CursorKeyset cursor = new CursorKeyset(criadoEm, 42L);
+
+        // Act
+        String opaco = cursor.codificar();
+        CursorKeyset decodificado = CursorKeyset.decodificar(opaco);
+
+        // Assert
+        assertThat(opaco).doesNotContain("|", "=", "+", "/");
+        assertThat(decodificado.criadoEm().toInstant()).isEqualTo(criadoEm.toInstant());
+        assertThat(decodificado.id()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("2. Deve tratar cursor ausente como primeira página")
+    void deveTratarCursorAusenteComoPrimeiraPagina() {
+        // Act / Assert
+        assertThat(CursorKeyset.decodificar(null)).isNull();
+        assertThat(CursorKeyset.decodificar(" ")).isNull();
+    }
+
+    @Test
+    @DisplayName("3. Deve rejeitar cursor adulterado")
+    void deveRejeitarCursorAdulterado() {
+        // Act / Assert
+        assertThatThrownBy(() -> CursorKeyset.decodificar("nao-e-um-cursor"))
+            .isInstanceOf(NegocioException.class)
+            .hasMessageContaining("Cursor");
+        assertThatThrownBy(() -> CursorKeyset.decodificar("%%%"))
+            .isInstanceOf(NegocioException.class);
+    }
+}
@@ -0,0 +1,300 @@
+package br.com.sicredi.toolschallenge.situacao.consumer;
+
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.estorno.events.EstornoCriadoEvento;
+import br.com.sicredi.toolschallenge.estorno.events.EstornoStatusAlteradoEvento;
+import br.com.sicredi.toolschallenge.infra.outbox.OutboxEvento;
+import br.com.sicredi.toolschallenge.infra.outbox.service.KafkaPublisherService;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.events.PagamentoCriadoEvento;
+import br.com.sicredi.toolschallenge.pagamento.events.PagamentoStatusAlteradoEvento;
+import br.com.sicredi.toolschallenge.shared.config.KafkaConfig;
+import br.com.sicredi.toolschallenge.shared.config.SituacaoProperties;
+import br.com.sicredi.toolschallenge.situacao.domain.SituacaoTransacao;
+import br.com.sicredi.toolschallenge.situacao.repository.SituacaoTransacaoProjecaoRepository;
+import br.com.sicredi.toolschallenge.situacao.repository.SituacaoTransacaoRepository;
+import br.com.sicredi.toolschallenge.situacao.service.SituacaoTransacaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Testes de integração do modelo de leitura de situação (Kafka embarcado + H2).
+ *
+ * As mensagens são publicadas pelo KafkaPublisherService (mesmo formato do
+ * outbox) e aplicadas pelo SituacaoTransacaoConsumer. Os tópicos têm uma
+ * partição: uma mensagem "marcadora" publicada depois de outra no mesmo tópico
+ * só é aplicada depois dela, o que permite verificar eventos sem efeito.
+ *
+ * Cenários testados:
+ * 1. Pagamento criado e autorizado
+ * 2. Estorno recebido antes do pagamento converge para a mesma situação
+ * 3. PagamentoCriado reentregue não desfaz o status AUTORIZADO
+ * 4. Evento de um estorno mais antigo não substitui o estorno atual
+ * 5. Mensagem malformada é descartada e o consumo continua
+ *
+ * A reconstrução usa INSERT ... ON CONFLICT e é testada no PostgreSQL
+ * (SituacaoTransacaoProjecaoRepositoryIntegrationTest).
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:situacao-transacao;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+    "situacao.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EmbeddedKafka(
+    partitions = 1,
+    topics = {"pagamento.eventos", "estorno.eventos"},
+    bootstrapServersProperty = "spring.kafka.bootstrap-servers"
+)
+@ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({
+    KafkaConfig.class,
+    SituacaoProperties.class,
+    KafkaPublisherService.class,
+    SituacaoTransacaoConsumer.class,
+    SituacaoTransacaoService.class,
+    SituacaoTransacaoProjecaoRepository.class,
+    SituacaoTransacaoConsumerIntegrationTest.Metricas.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("SituacaoTransacaoConsumer - Modelo de leitura via Kafka")
+class SituacaoTransacaoConsumerIntegrationTest {
+
+    private static final long ESPERA_MS = 20_000;
+
+    @TestConfiguration
+    static class Metricas {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private KafkaPublisherService kafkaPublisherService;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private SituacaoTransacaoRepository situacaoTransacaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM consulta.situacao_transacao");
+    }
+
+    @Test
+    @DisplayName("1. Pagamento criado e autorizado")
+    void deveAplicarPagamentoCriadoEAutorizado() throws Exception {
+        // Act
+        publicarPagamentoCriado("TX-1", StatusPagamento.PENDENTE);
+        publicarPagamentoStatusAlterado("TX-1", StatusPagamento.AUTORIZADO);
+
+        // Assert
+        SituacaoTransacao situacao = aguardar("TX-1", s -> s.getStatusPagamento() == StatusPagamento.AUTORIZADO);
+        assertThat(situacao.getValor()).isEqualByComparingTo("150.50");
+        assertThat(situacao.getEstabelecimento()).isEqualTo("Loja TX-1");
+        assertThat(situacao.getTipoPagamento()).isEqualTo(TipoPagamento.AVISTA);
+        assertThat(situacao.getDataHora()).isNotNull();
+        assertThat(situacao.getIdEstorno()).isNull();
+    }
+
+    @Test
+    @DisplayName("2. Estorno recebido antes do pagamento converge para a mesma situação")
+    void deveConvergirComEstornoAntesDoPagamento() throws Exception {
+        // Arrange: estorno chega primeiro (tópicos diferentes não têm ordem entre si)
+        publicarEstornoCriado("TX-2", 20L, "EST-20");
+        publicarEstornoStatusAlterado("TX-2", 20L, "EST-20", StatusEstorno.CANCELADO);
+        aguardar("TX-2", s -> s.getStatusEstorno() == StatusEstorno.CANCELADO && s.getStatusPagamento() == null);
+
+        // Act
+        publicarPagamentoCriado("TX-2", StatusPagamento.AUTORIZADO);
+
+        // Assert
+        SituacaoTransacao situacao = aguardar("TX-2", s -> s.getStatusPagamento() == StatusPagamento.AUTORIZADO);
+        assertThat(situacao.getIdEstorno()).isEqualTo("EST-20");
+        assertThat(situacao.getStatusEstorno()).isEqualTo(StatusEstorno.CANCELADO);
+        assertThat(situacao.getValorEstorno()).isEqualByComparingTo("150.50");
+    }
+
+    @Test
+    @DisplayName("3. PagamentoCriado reentregue não desfaz o status AUTORIZADO")
+    void naoDeveRegredirComEventoReentregue() throws Exception {
+        // Arrange
+        publicarPagamentoCriado("TX-3", StatusPagamento.PENDENTE);
+        publicarPagamentoStatusAlterado("TX-3", StatusPagamento.AUTORIZADO);
+        aguardar("TX-3", s -> s.getStatusPagamento() == StatusPagamento.AUTORIZADO);
+
+        // Act: reentrega do evento de criação, seguida de uma marcadora no mesmo tópico
+        publicarPagamentoCriado("TX-3", StatusPagamento.PENDENTE);
+        publicarPagamentoCriado("TX-3-MARCADORA", StatusPagamento.PENDENTE);
+        aguardar("TX-3-MARCADORA", s -> true);
+
+        // Assert
+        assertThat(buscar("TX-3").getStatusPagamento()).isEqualTo(StatusPagamento.AUTORIZADO);
+    }
+
+    @Test
+    @DisplayName("4. Evento de um estorno mais antigo não substitui o estorno atual")
+    void naoDeveSubstituirEstornoMaisNovo() throws Exception {
+        // Arrange
+        publicarEstornoCriado("TX-4", 41L, "EST-41");
+        aguardar("TX-4", s -> "EST-41".equals(s.getIdEstorno()));
+
+        // Act: status atrasado do estorno anterior, seguido de uma marcadora
+        publicarEstornoStatusAlterado("TX-4", 40L, "EST-40", StatusEstorno.NEGADO);
+        publicarEstornoCriado("TX-4-MARCADORA", 42L, "EST-42");
+        aguardar("TX-4-MARCADORA", s -> true);
+
+        // Assert
+        SituacaoTransacao situacao = buscar("TX-4");
+        assertThat(situacao.getIdEstorno()).isEqualTo("EST-41");
+        assertThat(situacao.getStatusEstorno()).isEqualTo(StatusEstorno.PENDENTE);
+        assertThat(situacao.getSequenciaEstorno()).isEqualTo(41L);
+    }
+
+    @Test
+    @DisplayName("5. Mensagem malformada é descartada e o consumo continua")
+    void deveDescartarMensagemMalformada() throws Exception {
+        // Act
+        kafkaTemplate.send("pagamento.eventos", "TX-5", "{nao-e-json").get(10, TimeUnit.SECONDS);
+        publicarPagamentoCriado("TX-5", StatusPagamento.PENDENTE);
+
+        // Assert
+        assertThat(aguardar("TX-5", s -> true).getStatusPagamento()).isEqualTo(StatusPagamento.PENDENTE);
+    }
+
+    // ========== Publicação (formato do outbox) ==========
+
+    private void publicarPagamentoCriado(String idTransacao, StatusPagamento status) throws Exception {
+        publicar(idTransacao, "Pagamento", "PagamentoCriado", "pagamento.eventos",
+            PagamentoCriadoEvento.builder()
+                .idPagamento(1L)
+                .idTransacao(idTransacao)
+                .descricao("Loja " + idTransacao)
+                .valor(new BigDecimal("150.50"))
+                .metodoPagamento(TipoPagamento.AVISTA.name())
+                .formaPagamento(TipoPagamento.AVISTA.name())
+                .status(status.name())
+                .criadoEm(OffsetDateTime.now())
+                .build());
+    }
+
+    private void publicarPagamentoStatusAlterado(String idTransacao, StatusPagamento status) throws Exception {
+        publicar(idTransacao, "Pagamento", "PagamentoStatusAlterado", "pagamento.eventos",
+            PagamentoStatusAlteradoEvento.builder()
+                .idPagamento(1L)
+                .idTransacao(idTransacao)
+                .statusAnterior(StatusPagamento.PENDENTE.name())
+                .statusNovo(status.name())
+                .alteradoEm(OffsetDateTime.now())
+                .build());
+    }
+
+    private void publicarEstornoCriado(String idTransacao, Long sequencia, String idEstorno) throws Exception {
+        publicar(idEstorno, "Estorno", "EstornoCriado", "estorno.eventos",
+            EstornoCriadoEvento.builder()
+                .idEstorno(sequencia)
+                .idPagamento(1L)
+                .idTransacao(idEstorno)
+                .idTransacaoPagamento(idTransacao)
+                .valorEstorno(new BigDecimal("150.50"))
+                .status(StatusEstorno.PENDENTE.name())
+                .criadoEm(OffsetDateTime.now())
+                .build());
+    }
+
+    private void publicarEstornoStatusAlterado(String idTransacao, Long sequencia, String idEstorno,
+                                               StatusEstorno status) throws Exception {
+        publicar(idEstorno, "Estorno", "EstornoStatusAlterado", "estorno.eventos",
+            EstornoStatusAlteradoEvento.builder()
+                .idEstorno(sequencia)
+                .idPagamento(1L)
+                .idTransacao(idEstorno)
+                .idTransacaoPagamento(idTransacao)
+                .statusAnterior(StatusEstorno.PENDENTE.name())
+                .statusNovo(status.name())
+                .alteradoEm(OffsetDateTime.now())
+                .build());
+    }
+
+    /**
+     * Publica como o OutboxProcessor e aguarda o ack (ordem de envio = ordem na partição).
+     */
+    @SuppressWarnings("unchecked")
+    private void publicar(String agregadoId, String agregadoTipo, String eventoTipo, String topico,
+                          Object evento) throws Exception {
+        OutboxEvento outbox = OutboxEvento.builder()
+            .id(System.nanoTime())
+            .agregadoId(agregadoId)
+            .agregadoTipo(agregadoTipo)
+            .eventoTipo(eventoTipo)
+            .payload(objectMapper.convertValue(evento, Map.class))
+            .topicoKafka(topico)
+            .criadoEm(OffsetDateTime.now())
+            .build();
+        kafkaPublisherService.publicarEvento(outbox).get(10, TimeUnit.SECONDS);
+    }
+
+    // ========== Apoio ==========
+
+    /**
+     * Consulta o modelo de leitura até a condição valer (consistência eventual).
+     */
+    private SituacaoTransacao aguardar(String idTransacao, Predicate<SituacaoTransacao> condicao)
+            throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MS;
+        while (System.currentTimeMillis() < limite) {
+            Optional<SituacaoTransacao> situacao = situacaoTransacaoRepository.findById(idTransacao);
+            if (situacao.isPresent() && condicao.test(situacao.get())) {
+                return situacao.get();
+            }
+            Thread.sleep(50);
+        }
+        return fail("Situação de %s não chegou ao estado esperado em %dms", idTransacao, ESPERA_MS);
+    }
+
+    private SituacaoTransacao buscar(String idTransacao) {
+        return situacaoTransacaoRepository.findById(idTransacao)
+            .orElseGet(() -> fail("Situação de %s não encontrada", idTransacao));
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.sicredi.toolschallenge.situacao.controller;
+
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.shared.exception.GlobalExceptionHandler;
+import br.com.sicredi.toolschallenge.shared.exception.RecursoNaoEncontradoException;
+import br.com.sicredi.toolschallenge.situacao.dto.SituacaoTransacaoDTO;
+import br.com.sicredi.toolschallenge.situacao.dto.SituacaoTransacaoDTO.SituacaoEstorno;
+import br.com.sicredi.toolschallenge.situacao.dto.SituacaoTransacaoDTO.SituacaoPagamento;
+import br.com.sicredi.toolschallenge.situacao.service.SituacaoTransacaoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes unitários REST para SituacaoTransacaoController (Slice Web).
+ *
+ * Mesma configuração do EstornoControllerTest: filtros desligados, permissões
+ * via @WithMockUser e mocks dos @Component de segurança e idempotência.
+ *
+ * Cenários testados:
+ * 1. GET /situacoes/{idTransacao} com pagamento e estorno → 200 OK
+ * 2. GET /situacoes/{idTransacao} sem estorno → 200 OK sem o campo estorno
+ * 3. GET /situacoes/{idTransacao} não encontrada → 404 Not Found
+ * 4. POST /situacoes/reconstrucao → 200 OK com a quantidade de transações
+ */
+@WebMvcTest(controllers = SituacaoTransacaoController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(GlobalExceptionHandler.class)
+@WithMockUser(authorities = {"pagamentos:read", "pagamentos:write", "estornos:read", "estornos:write"})
+@DisplayName("SituacaoTransacaoController - Testes REST API")
+class SituacaoTransacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SituacaoTransacaoService situacaoTransacaoService;
+
+    @MockBean
+    private br.com.sicredi.toolschallenge.infra.idempotencia.service.IdempotenciaService idempotenciaService;
+
+    @MockBean
+    private br.com.sicredi.toolschallenge.shared.security.JwtService jwtService;
+
+    @MockBean
+    private br.com.sicredi.toolschallenge.shared.security.JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    @DisplayName("1. GET /situacoes/{idTransacao} com pagamento e estorno → 200 OK")
+    void deveRetornarSituacaoComEstorno() throws Exception {
+        // Arrange
+        when(situacaoTransacaoService.buscar("TX-1")).thenReturn(new SituacaoTransacaoDTO(
+            "TX-1",
+            new SituacaoPagamento(StatusPagamento.AUTORIZADO, new BigDecimal("150.50"),
+                OffsetDateTime.parse("2025-11-10T18:30:15-03:00"), "Loja Exemplo", TipoPagamento.AVISTA),
+            new SituacaoEstorno("EST-1", StatusEstorno.CANCELADO, new BigDecimal("150.50")),
+            OffsetDateTime.parse("2025-11-10T18:35:02-03:00")));
+
+        // Act & Assert
+        mockMvc.perform(get("/situacoes/{idTransacao}", "TX-1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.idTransacao").value("TX-1"))
+            .andExpect(jsonPath("$.pagamento.status").value("AUTORIZADO"))
+            .andExpect(jsonPath("$.pagamento.estabelecimento").value("Loja Exemplo"))
+            .andExpect(jsonPath("$.pagamento.tipo").value("AVISTA"))
+            .andExpect(jsonPath("$.estorno.idEstorno").value("EST-1"))
+            .andExpect(jsonPath("$.estorno.status").value("CANCELADO"));
+
+        verify(situacaoTransacaoService, times(1)).buscar("TX-1");
+    }
+
+    @Test
+    @DisplayName("2. GET /situacoes/{idTransacao} sem estorno → 200 OK sem o campo estorno")
+    void deveOmitirEstornoInexistente() throws Exception {
+        // Arrange
+        when(situacaoTransacaoService.buscar("TX-2")).thenReturn(new SituacaoTransacaoDTO(
+            "TX-2",
+            new SituacaoPagamento(StatusPagamento.PENDENTE, new BigDecimal("10.00"),
+                OffsetDateTime.parse("2025-11-10T18:30:15-03:00"), "Loja Exemplo", TipoPagamento.AVISTA),
+            null,
+            OffsetDateTime.parse("2025-11-10T18:30:16-03:00")));
+
+        // Act & Assert
+        mockMvc.perform(get("/situacoes/{idTransacao}", "TX-2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pagamento.status").value("PENDENTE"))
+            .andExpect(jsonPath("$.estorno").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("3. GET /situacoes/{idTransacao} não encontrada → 404 Not Found")
+    void deveRetornar404QuandoNaoEncontrada() throws Exception {
+        // Arrange
+        when(situacaoTransacaoService.buscar("TX-X"))
+            .thenThrow(new RecursoNaoEncontradoException("Situação da transação", "TX-X"));
+
+        // Act & Assert
+        mockMvc.perform(get("/situacoes/{idTransacao}", "TX-X"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("4. POST /situacoes/reconstrucao → 200 OK com a quantidade de transações")
+    void deveReconstruir() throws Exception {
+        // Arrange
+        when(situacaoTransacaoService.reconstruir()).thenReturn(1250);
+
+        // Act & Assert
+        mockMvc.perform(post("/situacoes/reconstrucao"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.transacoes").value(1250));
+
+        verify(situacaoTransacaoService, times(1)).reconstruir();
+    }
+}
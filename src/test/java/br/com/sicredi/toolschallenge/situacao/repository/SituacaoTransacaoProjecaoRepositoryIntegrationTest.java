@@ -0,0 +1,223 @@
+package br.com.sicredi.toolschallenge.situacao.repository;
+
+import br.com.sicredi.toolschallenge.config.PostgreSQLIntegrationTest;
+import br.com.sicredi.toolschallenge.estorno.domain.Estorno;
+import br.com.sicredi.toolschallenge.estorno.domain.StatusEstorno;
+import br.com.sicredi.toolschallenge.estorno.repository.EstornoRepository;
+import br.com.sicredi.toolschallenge.pagamento.domain.Pagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.StatusPagamento;
+import br.com.sicredi.toolschallenge.pagamento.domain.TipoPagamento;
+import br.com.sicredi.toolschallenge.pagamento.repository.PagamentoRepository;
+import br.com.sicredi.toolschallenge.situacao.domain.SituacaoTransacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Testes de integração da reconstrução do modelo de leitura de situação
+ * (PostgreSQL via Testcontainers: o upsert usa INSERT ... ON CONFLICT).
+ *
+ * Cenários testados:
+ * 1. Reconstrução a partir das tabelas, sem linhas órfãs e com o último estorno
+ * 2. Situação gravada pelo consumidor depois da leitura das tabelas não volta atrás
+ * 3. INSERT do consumidor concorrente com a reconstrução não viola a chave
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SituacaoTransacaoProjecaoRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("SituacaoTransacaoProjecaoRepository - Reconstrução com o consumidor ativo")
+class SituacaoTransacaoProjecaoRepositoryIntegrationTest extends PostgreSQLIntegrationTest {
+
+    @Autowired
+    private SituacaoTransacaoProjecaoRepository projecaoRepository;
+
+    @Autowired
+    private SituacaoTransacaoRepository situacaoTransacaoRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private EstornoRepository estornoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.execute(
+            "TRUNCATE consulta.situacao_transacao, estorno.estorno, pagamento.pagamento CASCADE");
+    }
+
+    @Test
+    @DisplayName("1. Reconstrução a partir das tabelas, sem linhas órfãs e com o último estorno")
+    void deveReconstruirAPartirDasTabelas() {
+        // Arrange: tabelas de origem e um modelo de leitura desatualizado
+        OffsetDateTime agora = OffsetDateTime.now();
+        pagamentoRepository.save(pagamento("TX-1A", StatusPagamento.AUTORIZADO, agora));
+        pagamentoRepository.save(pagamento("TX-1B", StatusPagamento.NEGADO, agora));
+        estornoRepository.save(estorno("TX-1A", "EST-1A-1", StatusEstorno.NEGADO, agora));
+        Estorno ultimo = estornoRepository.save(estorno("TX-1A", "EST-1A-2", StatusEstorno.PENDENTE, agora));
+        projecaoRepository.registrarPagamento("TX-1-OBSOLETA", "PENDENTE", BigDecimal.TEN, agora,
+            "Loja obsoleta", "AVISTA");
+
+        // Act
+        int transacoes = reconstruir();
+
+        // Assert
+        assertThat(transacoes).isEqualTo(2);
+        assertThat(situacaoTransacaoRepository.findById("TX-1-OBSOLETA")).isEmpty();
+
+        SituacaoTransacao estornada = buscar("TX-1A");
+        assertThat(estornada.getStatusPagamento()).isEqualTo(StatusPagamento.AUTORIZADO);
+        assertThat(estornada.getEstabelecimento()).isEqualTo("Loja TX-1A");
+        assertThat(estornada.getIdEstorno()).isEqualTo("EST-1A-2");
+        assertThat(estornada.getStatusEstorno()).isEqualTo(StatusEstorno.PENDENTE);
+        assertThat(estornada.getSequenciaEstorno()).isEqualTo(ultimo.getId());
+
+        SituacaoTransacao negada = buscar("TX-1B");
+        assertThat(negada.getStatusPagamento()).isEqualTo(StatusPagamento.NEGADO);
+        assertThat(negada.getIdEstorno()).isNull();
+
+        // Act: eventos posteriores continuam avançando a situação reconstruída
+        projecaoRepository.atualizarStatusEstorno("TX-1A", ultimo.getId(), "EST-1A-2", "CANCELADO");
+
+        // Assert
+        assertThat(buscar("TX-1A").getStatusEstorno()).isEqualTo(StatusEstorno.CANCELADO);
+    }
+
+    @Test
+    @DisplayName("2. Situação gravada pelo consumidor depois da leitura das tabelas não volta atrás")
+    void naoDeveDesfazerEventoMaisNovoQueAsTabelas() {
+        // Arrange: tabelas com PENDENTE e o consumidor já à frente (AUTORIZADO, estorno mais novo)
+        OffsetDateTime agora = OffsetDateTime.now();
+        pagamentoRepository.save(pagamento("TX-2", StatusPagamento.PENDENTE, agora));
+        Estorno antigo = estornoRepository.save(estorno("TX-2", "EST-2-1", StatusEstorno.PENDENTE, agora));
+        projecaoRepository.registrarPagamento("TX-2", "PENDENTE", new BigDecimal("99.90"), agora,
+            "Loja TX-2", "AVISTA");
+        projecaoRepository.atualizarStatusPagamento("TX-2", "AUTORIZADO");
+        projecaoRepository.registrarEstorno("TX-2", antigo.getId() + 1, "EST-2-2", "CANCELADO",
+            new BigDecimal("99.90"));
+
+        // Act
+        reconstruir();
+
+        // Assert
+        SituacaoTransacao situacao = buscar("TX-2");
+        assertThat(situacao.getStatusPagamento()).isEqualTo(StatusPagamento.AUTORIZADO);
+        assertThat(situacao.getIdEstorno()).isEqualTo("EST-2-2");
+        assertThat(situacao.getStatusEstorno()).isEqualTo(StatusEstorno.CANCELADO);
+        assertThat(situacao.getSequenciaEstorno()).isEqualTo(antigo.getId() + 1);
+    }
+
+    @Test
+    @DisplayName("3. INSERT do consumidor concorrente com a reconstrução não viola a chave")
+    void naoDeveViolarChaveComInsertConcorrente() throws Exception {
+        // Arrange: o consumidor insere a linha e segura a transação aberta
+        OffsetDateTime agora = OffsetDateTime.now();
+        pagamentoRepository.save(pagamento("TX-3", StatusPagamento.AUTORIZADO, agora));
+        CountDownLatch inserida = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Void> consumidor = CompletableFuture.runAsync(() ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                projecaoRepository.registrarPagamento("TX-3", "PENDENTE", new BigDecimal("99.90"), agora,
+                    "Loja TX-3", "AVISTA");
+                inserida.countDown();
+                aguardar(liberar);
+            }));
+        assertThat(inserida.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Act: a reconstrução bloqueia na chave inserida e segue após o commit do consumidor
+        CompletableFuture<Integer> reconstrucao = CompletableFuture.supplyAsync(this::reconstruir);
+        aguardarBloqueio();
+        liberar.countDown();
+        consumidor.get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(reconstrucao.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(buscar("TX-3").getStatusPagamento()).isEqualTo(StatusPagamento.AUTORIZADO);
+    }
+
+    private int reconstruir() {
+        return new TransactionTemplate(transactionManager).execute(status -> projecaoRepository.reconstruir());
+    }
+
+    /**
+     * Espera alguma sessão aguardando lock (a reconstrução na chave do consumidor).
+     */
+    private void aguardarBloqueio() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < limite) {
+            Integer bloqueadas = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class);
+            if (bloqueadas != null && bloqueadas > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("A reconstrução não chegou a esperar pela linha do consumidor");
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SituacaoTransacao buscar(String idTransacao) {
+        return situacaoTransacaoRepository.findById(idTransacao)
+            .orElseGet(() -> fail("Situação de %s não encontrada", idTransacao));
+    }
+
+    private static Pagamento pagamento(String idTransacao, StatusPagamento status, OffsetDateTime dataHora) {
+        return Pagamento.builder()
+            .idTransacao(idTransacao)
+            .status(status)
+            .valor(new BigDecimal("99.90"))
+            .dataHora(dataHora)
+            .estabelecimento("Loja " + idTransacao)
+            .tipoPagamento(TipoPagamento.AVISTA)
+            .parcelas(1)
+            .cartaoMascarado("4444********1234")
+            .build();
+    }
+
+    private static Estorno estorno(String idTransacao, String idEstorno, StatusEstorno status,
+                                   OffsetDateTime dataHora) {
+        return Estorno.builder()
+            .idTransacao(idTransacao)
+            .idEstorno(idEstorno)
+            .status(status)
+            .valor(new BigDecimal("99.90"))
+            .dataHora(dataHora)
+            .build();
+    }
+}